@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.benchmarks.model.Category;
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Bootstraps the {@link SessionFactoryImplementor} used by the benchmarks against a private in-memory
+ * H2 database, and populates it with the benchmark model.
+ */
+public final class BenchmarkEnvironment {
+	/**
+	 * The number of {@link Category} rows created by {@link #populate}
+	 */
+	public static final int CATEGORY_COUNT = 100;
+
+	private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+	private final StandardServiceRegistry serviceRegistry;
+	private final SessionFactoryImplementor sessionFactory;
+
+	/**
+	 * Builds a new environment.
+	 *
+	 * @param settings Settings applied on top of the benchmark defaults; may be {@code null}
+	 */
+	public BenchmarkEnvironment(Map<String,String> settings) {
+		final Configuration configuration = new Configuration()
+				.addAnnotatedClass( Category.class )
+				.addAnnotatedClass( Item.class )
+				.setProperty( AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect" )
+				.setProperty( AvailableSettings.DRIVER, "org.h2.Driver" )
+				.setProperty(
+						AvailableSettings.URL,
+						"jdbc:h2:mem:benchmark" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1"
+				)
+				.setProperty( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		if ( settings != null ) {
+			for ( Map.Entry<String,String> setting : settings.entrySet() ) {
+				configuration.setProperty( setting.getKey(), setting.getValue() );
+			}
+		}
+
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySettings( configuration.getProperties() )
+				.build();
+		sessionFactory = (SessionFactoryImplementor) configuration.buildSessionFactory( serviceRegistry );
+	}
+
+	public SessionFactoryImplementor getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * Inserts {@link #CATEGORY_COUNT} categories and {@code itemCount} items, with item ids
+	 * ranging from 1 to {@code itemCount} (inclusive).
+	 *
+	 * @param itemCount The number of {@link Item} rows to insert
+	 */
+	public void populate(int itemCount) {
+		final StatelessSession session = sessionFactory.openStatelessSession();
+		try {
+			final Transaction transaction = session.beginTransaction();
+			final Category[] categories = new Category[CATEGORY_COUNT];
+			for ( int i = 0; i < CATEGORY_COUNT; i++ ) {
+				categories[i] = new Category( (long) i + 1, "category-" + ( i + 1 ) );
+				session.insert( categories[i] );
+			}
+			for ( long id = 1; id <= itemCount; id++ ) {
+				session.insert( new Item( id, categories[(int) ( id % CATEGORY_COUNT )] ) );
+			}
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * Releases the SessionFactory (dropping the schema) and the service registry.
+	 */
+	public void close() {
+		sessionFactory.close();
+		StandardServiceRegistryBuilder.destroy( serviceRegistry );
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.flush;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.benchmarks.model.Item;
+
+/**
+ * Measures {@code AbstractFlushingEventListener.flushEverythingToExecutions} (reached through
+ * {@link Session#flush()}) for persistence contexts holding a growing number of managed entities.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( value = 2, jvmArgsAppend = "-Xmx2g" )
+public class FlushBenchmark {
+	@Param( { "1000", "10000", "100000" } )
+	public int managedEntities;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+	private List items;
+	private int counter;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+		environment.populate( managedEntities );
+	}
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = environment.getSessionFactory().openSession();
+		session.beginTransaction();
+		items = session.createQuery( "from Item" ).list();
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+		items = null;
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	/**
+	 * Nothing is dirty: the cost is the dirty check of every managed entity.
+	 */
+	@Benchmark
+	public void flushClean() {
+		session.flush();
+	}
+
+	/**
+	 * A single entity is dirty: the cost is the dirty check plus one update.
+	 */
+	@Benchmark
+	public void flushOneDirty() {
+		final Item item = (Item) items.get( counter++ % items.size() );
+		item.setQuantity( item.getQuantity() + 1 );
+		session.flush();
+	}
+}
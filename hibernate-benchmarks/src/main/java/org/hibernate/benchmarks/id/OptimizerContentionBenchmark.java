@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.id;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+
+/**
+ * Measures {@link Optimizer#generate} when shared by many threads, as it is by all the sessions inserting entities
+ * of the same type.  The database sequence is simulated in memory, so the scores reflect the optimizer itself.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class OptimizerContentionBenchmark {
+	@Param( { "hilo", "hilo-striped", "pooled", "pooled-striped", "pooled-lo", "pooled-lo-striped" } )
+	public String optimizerName;
+
+	@Param( { "50" } )
+	public int incrementSize;
+
+	private Optimizer optimizer;
+	private AccessCallback sequence;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		optimizer = OptimizerFactory.buildOptimizer( optimizerName, Long.class, incrementSize, 1 );
+		sequence = new InMemorySequence( optimizer.applyIncrementSizeToSourceValues() ? incrementSize : 1 );
+	}
+
+	@Benchmark
+	public Serializable generate() {
+		return optimizer.generate( sequence );
+	}
+
+	@Benchmark
+	@Threads( 64 )
+	public Serializable generateContended() {
+		return optimizer.generate( sequence );
+	}
+
+	private static class InMemorySequence implements AccessCallback {
+		private final AtomicLong value = new AtomicLong( 1 );
+		private final int increment;
+
+		private InMemorySequence(int increment) {
+			this.increment = increment;
+		}
+
+		@Override
+		public IntegralDataTypeHolder getNextValue() {
+			return IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class )
+					.initialize( value.getAndAdd( increment ) );
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+	}
+}
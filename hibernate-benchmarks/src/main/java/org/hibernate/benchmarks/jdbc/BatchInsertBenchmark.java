@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Measures insert throughput through {@code BatchingBatch} (or {@code NonBatchingBatch} when
+ * {@link #batchSize} is 1).  Scores are per inserted row.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class BatchInsertBenchmark {
+	private static final int ROWS_PER_FLUSH = 1000;
+
+	@Param( { "1", "25", "100" } )
+	public int batchSize;
+
+	private BenchmarkEnvironment environment;
+	private long nextId;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString( batchSize ) );
+		environment = new BenchmarkEnvironment( settings );
+	}
+
+	@TearDown( Level.Iteration )
+	public void deleteItems() {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			session.beginTransaction();
+			session.createQuery( "delete from Item" ).executeUpdate();
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation( ROWS_PER_FLUSH )
+	public void insert() {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			session.beginTransaction();
+			for ( int i = 0; i < ROWS_PER_FLUSH; i++ ) {
+				session.save( new Item( ++nextId, null ) );
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
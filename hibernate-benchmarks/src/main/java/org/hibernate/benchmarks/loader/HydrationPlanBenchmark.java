@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.loader;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.persister.entity.HydrationPlan;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+
+/**
+ * Measures {@code AbstractEntityPersister.hydrate} over the rows of a result set, with the hydration plan built
+ * once (as the loaders do) and rebuilt for every row (as they did before the plans were cached).  Both benchmarks
+ * execute the same query, so the difference between their scores is the cost of building the plans.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class HydrationPlanBenchmark {
+	private static final int ITEM_COUNT = 10000;
+
+	@Param( { "100", "1000", "10000" } )
+	public int rows;
+
+	private BenchmarkEnvironment environment;
+	private OuterJoinLoadable persister;
+	private String[][] propertyColumns;
+	private String sql;
+	private HydrationPlan plan;
+	private Session session;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+		environment.populate( ITEM_COUNT );
+
+		persister = (OuterJoinLoadable) environment.getSessionFactory().getEntityPersister( Item.class.getName() );
+		// select the property columns under their own names, so that they are their own aliases
+		propertyColumns = new String[persister.getPropertyNames().length][];
+		final Set<String> columns = new LinkedHashSet<String>();
+		for ( int i = 0; i < propertyColumns.length; i++ ) {
+			propertyColumns[i] = persister.getPropertyColumnNames( i );
+			for ( String column : propertyColumns[i] ) {
+				columns.add( column );
+			}
+		}
+		sql = "select " + StringHelper.join( ", ", columns.iterator() )
+				+ " from " + persister.getTableName()
+				+ " where " + persister.getIdentifierColumnNames()[0] + " <= ?";
+		plan = persister.buildHydrationPlan( persister, propertyColumns, false );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = environment.getSessionFactory().openSession();
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.close();
+	}
+
+	@Benchmark
+	public long cachedPlan() throws SQLException {
+		return hydrateRows( true );
+	}
+
+	@Benchmark
+	public long planPerRow() throws SQLException {
+		return hydrateRows( false );
+	}
+
+	private long hydrateRows(boolean cachedPlan) throws SQLException {
+		final SessionImplementor sessionImplementor = (SessionImplementor) session;
+		final PreparedStatement statement = sessionImplementor.connection().prepareStatement( sql );
+		try {
+			statement.setLong( 1, rows );
+			final ResultSet resultSet = statement.executeQuery();
+			final Item item = new Item();
+			long id = 0;
+			long hydrated = 0;
+			while ( resultSet.next() ) {
+				final Object[] values = cachedPlan
+						? persister.hydrate( resultSet, ++id, item, plan, sessionImplementor )
+						: persister.hydrate( resultSet, ++id, item, persister, propertyColumns, false, sessionImplementor );
+				hydrated += values.length;
+			}
+			resultSet.close();
+			return hydrated;
+		}
+		finally {
+			statement.close();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.benchmarks.model.Item;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Measures the throughput of {@code Session.get} when many threads share the same entity loader, with and without
+ * {@link AvailableSettings#WRAP_RESULT_SETS result set wrapping}.  The scores of the contended benchmarks should
+ * scale with the number of threads (up to the number of cores) rather than flatten out.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class ResultSetWrappingContentionBenchmark {
+	private static final int ITEM_COUNT = 10000;
+
+	@Param( { "false", "true" } )
+	public boolean wrapResultSets;
+
+	private BenchmarkEnvironment environment;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		final Map<String,String> settings = new HashMap<String,String>();
+		settings.put( AvailableSettings.WRAP_RESULT_SETS, Boolean.toString( wrapResultSets ) );
+		// one connection per benchmark thread
+		settings.put( AvailableSettings.POOL_SIZE, "64" );
+		environment = new BenchmarkEnvironment( settings );
+		environment.populate( ITEM_COUNT );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Benchmark
+	public Object get(Ids ids) {
+		return get( ids.next() );
+	}
+
+	@Benchmark
+	@Threads( 8 )
+	public Object get8Threads(Ids ids) {
+		return get( ids.next() );
+	}
+
+	@Benchmark
+	@Threads( 64 )
+	public Object get64Threads(Ids ids) {
+		return get( ids.next() );
+	}
+
+	private Object get(Long id) {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			return session.get( Item.class, id );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * The ids read by a benchmark thread.
+	 */
+	@State( Scope.Thread )
+	public static class Ids {
+		private long nextId;
+
+		Long next() {
+			nextId = ( nextId % ITEM_COUNT ) + 1;
+			return nextId;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.query;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Filter;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+/**
+ * Measures {@link QueryPlanCache} lookups of already translated HQL, and the translation itself on a cache miss.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class QueryPlanCacheBenchmark {
+	private static final String[] QUERIES = new String[] {
+			"from Item",
+			"from Item i where i.id = :id",
+			"from Item i where i.name like :name order by i.id",
+			"select i.id, i.name from Item i where i.price > :price",
+			"select i from Item i join i.category c where c.name = :name",
+			"select c.name, count(i) from Item i join i.category c group by c.name",
+			"update Item set quantity = quantity + 1 where id = :id",
+			"delete from Item where id = :id"
+	};
+
+	private static final Map<String,Filter> NO_FILTERS = Collections.emptyMap();
+
+	private BenchmarkEnvironment environment;
+	private QueryPlanCache queryPlanCache;
+
+	@State( Scope.Thread )
+	public static class Cursor {
+		private int position;
+
+		String next() {
+			position = ( position + 1 ) % QUERIES.length;
+			return QUERIES[position];
+		}
+	}
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+		queryPlanCache = environment.getSessionFactory().getQueryPlanCache();
+		for ( String query : QUERIES ) {
+			queryPlanCache.getHQLQueryPlan( query, false, NO_FILTERS );
+		}
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	@Benchmark
+	public HQLQueryPlan cachedPlan(Cursor cursor) {
+		return queryPlanCache.getHQLQueryPlan( cursor.next(), false, NO_FILTERS );
+	}
+
+	@Benchmark
+	@Threads( 8 )
+	public HQLQueryPlan cachedPlanContended(Cursor cursor) {
+		return queryPlanCache.getHQLQueryPlan( cursor.next(), false, NO_FILTERS );
+	}
+
+	@Benchmark
+	@OutputTimeUnit( TimeUnit.MICROSECONDS )
+	public HQLQueryPlan planTranslation(Cursor cursor) {
+		return new QueryPlanCache( environment.getSessionFactory() )
+				.getHQLQueryPlan( cursor.next(), false, NO_FILTERS );
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmarks.session;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.benchmarks.BenchmarkEnvironment;
+import org.hibernate.benchmarks.model.Item;
+
+/**
+ * Measures {@code SessionImpl.get} and {@code SessionImpl.load}, both when the entity has to be read from the
+ * database and when it is already managed by the persistence context.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class SessionGetLoadBenchmark {
+	private static final int ITEM_COUNT = 10000;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+	private long nextId;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment( null );
+		environment.populate( ITEM_COUNT );
+	}
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = environment.getSessionFactory().openSession();
+		session.beginTransaction();
+		// make sure the entity used by the persistence-context benchmarks is managed
+		session.get( Item.class, 1L );
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+
+	private Long nextId() {
+		nextId = ( nextId % ITEM_COUNT ) + 1;
+		return nextId;
+	}
+
+	@Benchmark
+	public Object getFromDatabase() {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			return session.get( Item.class, nextId() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object getFromPersistenceContext() {
+		return session.get( Item.class, 1L );
+	}
+
+	@Benchmark
+	public Object loadProxy() {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			return session.load( Item.class, nextId() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object loadAndInitialize() {
+		final Session session = environment.getSessionFactory().openSession();
+		try {
+			final Object item = session.load( Item.class, nextId() );
+			Hibernate.initialize( item );
+			return item;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Object loadFromPersistenceContext() {
+		return session.load( Item.class, 1L );
+	}
+}
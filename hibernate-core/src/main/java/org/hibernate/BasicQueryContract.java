@@ -217,6 +217,9 @@ public interface BasicQueryContract {
 	 *
 	 * @param readOnly true, entities and proxies loaded by the query will be put in read-only mode
 	 *                 false, entities and proxies loaded by the query will be put in modifiable mode
+	 *
+	 * @throws IllegalStateException if {@code false} is passed for a read-only session
+	 * (see {@link SessionBuilder#readOnly(boolean)})
 	 */
 	public BasicQueryContract setReadOnly(boolean readOnly);
 
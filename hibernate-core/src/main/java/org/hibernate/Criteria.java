@@ -456,6 +456,8 @@ public interface Criteria extends CriteriaSpecification {
 	 * @param readOnly true, entities and proxies loaded by the criteria will be put in read-only mode
 	 *                 false, entities and proxies loaded by the criteria will be put in modifiable mode
 	 * @return {@code this}, for method chaining
+	 * @throws IllegalStateException if {@code false} is passed for a read-only session
+	 * (see {@link SessionBuilder#readOnly(boolean)})
 	 */
 	public Criteria setReadOnly(boolean readOnly);
 
@@ -31,6 +31,7 @@ import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.HibernateIterator;
 import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.ConcurrentInitializer;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 
@@ -79,6 +80,35 @@ public final class Hibernate {
 		}
 	}
 
+	/**
+	 * Force initialization of several proxies or persistent collections of the same session, executing the queries
+	 * that load them concurrently, each on its own connection.
+	 * <p/>
+	 * The results are applied to the session on the calling thread, just like {@link #initialize} would do for
+	 * each argument in turn.  Since the concurrent queries run outside of the session's transaction they only see
+	 * committed data; queries needing the session's transaction (for example to acquire pessimistic locks) are
+	 * executed on the session's connection as usual.  The number of concurrent queries is limited by
+	 * {@link org.hibernate.cfg.AvailableSettings#CONCURRENT_INITIALIZATION_THREADS}.
+	 * <p/>
+	 * While a transaction is in progress the arguments are initialized one after another, exactly like
+	 * {@link #initialize}, unless {@link org.hibernate.cfg.AvailableSettings#CONCURRENT_INITIALIZATION_IN_TRANSACTION}
+	 * is enabled and the transaction has not written any data yet.
+	 *
+	 * @param proxies persistable objects, proxies, persistent collections or <tt>null</tt>s
+	 * @throws HibernateException if we can't initialize a proxy at this time, eg. the <tt>Session</tt> was closed
+	 */
+	public static void initializeConcurrently(Object... proxies) throws HibernateException {
+		final SessionImplementor session = ConcurrentInitializer.getSession( proxies );
+		if ( session == null ) {
+			for ( Object proxy : proxies ) {
+				initialize( proxy );
+			}
+		}
+		else {
+			session.getFactory().getConcurrentInitializer().initialize( session, proxies );
+		}
+	}
+
 	/**
 	 * Check if the proxy or persistent collection is initialized.
 	 *
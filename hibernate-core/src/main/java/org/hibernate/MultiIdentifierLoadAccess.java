@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Loads multiple entities of the same type by their primary identifiers.
+ * <p/>
+ * Entities already associated with the session, or present in the second-level cache, are resolved from there;
+ * the remaining ones are loaded using as few SQL statements as possible, each restricting the primary key using
+ * an IN-list sized according to {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()}.
+ *
+ * @see Session#byMultipleIds(Class)
+ * @see Session#byMultipleIds(String)
+ */
+public interface MultiIdentifierLoadAccess {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entities.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess with(LockOptions lockOptions);
+
+	/**
+	 * Specify the maximum number of identifiers to be restricted by a single SQL statement.  By default the
+	 * limit is dictated by the Dialect; a Dialect imposing no limit means all the identifiers are loaded using
+	 * a single statement.
+	 *
+	 * @param batchSize The maximum number of identifiers per statement.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess withBatchSize(int batchSize);
+
+	/**
+	 * Return the persistent instances with the given identifiers.  The returned list has the same size and
+	 * order as the given identifiers; an element is {@code null} if there is no persistent instance with the
+	 * corresponding identifier.  Like {@link IdentifierLoadAccess#load}, this method never returns uninitialized
+	 * instances.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the given identifiers
+	 */
+	public List multiLoad(Serializable... ids);
+
+	/**
+	 * Return the persistent instances with the given identifiers.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the given identifiers
+	 *
+	 * @see #multiLoad(Serializable...)
+	 */
+	public List multiLoad(List<? extends Serializable> ids);
+}
@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.util.List;
+
+/**
+ * Loads multiple entities of the same type by their natural identifiers.
+ * <p/>
+ * The natural ids resolved by the session, or by the second-level natural-id cache, are loaded as by
+ * {@link NaturalIdLoadAccess#load}; the remaining entities are loaded using as few SQL statements as possible, each
+ * restricting the natural id of up to {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()} entities.
+ *
+ * @see Session#byMultipleNaturalIds(Class)
+ * @see Session#byMultipleNaturalIds(String)
+ * @see org.hibernate.cfg.AvailableSettings#NATURAL_ID_NEGATIVE_CACHE_SIZE
+ */
+public interface MultiNaturalIdLoadAccess {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entities.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiNaturalIdLoadAccess with(LockOptions lockOptions);
+
+	/**
+	 * Specify the maximum number of natural ids to be restricted by a single SQL statement.  By default the limit
+	 * is dictated by the Dialect; a Dialect imposing no limit means all the natural ids are loaded using a single
+	 * statement.
+	 *
+	 * @param batchSize The maximum number of natural ids per statement.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiNaturalIdLoadAccess withBatchSize(int batchSize);
+
+	/**
+	 * For entities with mutable natural ids, should Hibernate perform "synchronization" prior to performing
+	 * lookups?  The default is to perform "synchronization" (for correctness).
+	 * <p/>
+	 * See {@link NaturalIdLoadAccess#setSynchronizationEnabled} for detailed discussion.
+	 *
+	 * @param enabled Should synchronization be performed?  {@code true} indicates synchronization will be performed;
+	 * {@code false} indicates it will be circumvented.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiNaturalIdLoadAccess setSynchronizationEnabled(boolean enabled);
+
+	/**
+	 * Return the persistent instances with the given natural ids.  The returned list has the same size and order
+	 * as the given natural ids; an element is {@code null} if there is no persistent instance with the
+	 * corresponding natural id.  This method never returns uninitialized instances.
+	 * <p/>
+	 * For an entity whose natural id is made up of a single attribute, a natural id is the value of that attribute;
+	 * otherwise it is a {@code Map} of the natural-id attribute values keyed by attribute name.
+	 *
+	 * @param naturalIds The natural ids
+	 *
+	 * @return The persistent instances, in the order of the given natural ids
+	 */
+	public List multiLoad(Object... naturalIds);
+
+	/**
+	 * Return the persistent instances with the given natural ids.
+	 *
+	 * @param naturalIds The natural ids
+	 *
+	 * @return The persistent instances, in the order of the given natural ids
+	 *
+	 * @see #multiLoad(Object...)
+	 */
+	public List multiLoad(List<?> naturalIds);
+}
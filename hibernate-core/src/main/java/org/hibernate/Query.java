@@ -275,6 +275,39 @@ public interface Query extends BasicQueryContract {
 	 */
 	public ScrollableResults scroll(ScrollMode scrollMode);
 
+	/**
+	 * Should {@link #scroll} stream the results?  A streaming scroll evicts the entities it instantiated for a row
+	 * as soon as the cursor moves on (or the results are closed), so that iterating a large result keeps a
+	 * constant-size persistence context without calling {@link Session#clear()} every few rows.  Each scroll keeps
+	 * track of its own rows, so scrolls may be nested.
+	 * <p/>
+	 * Only the entities read from the row itself are evicted.  Entities that were already associated with the
+	 * session, entities loaded by other means while on the row (by {@link Session#get}, or by initializing a lazy
+	 * association), and new, deleted or modified entities are left in the session, so that no pending change is
+	 * lost.  Uninitialized lazy collections of evicted entities can only be initialized while the cursor is
+	 * positioned on their row.
+	 * <p/>
+	 * Combine with {@link ScrollMode#FORWARD_ONLY} and a {@link #setFetchSize fetch size} to have the JDBC driver
+	 * stream the underlying result set too.  The fetch size is passed to the driver as is; with MySQL Connector/J,
+	 * add {@code useCursorFetch=true} to the connection URL for it to fetch rows in chunks of that size while
+	 * lazy associations load on the same connection, rather than reading the whole result set into memory.
+	 * Has no effect on {@link #list()} and {@link #iterate()}, nor on queries of a {@link StatelessSession}.
+	 *
+	 * @param streaming {@code true} to stream the results of {@link #scroll}
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public Query setStreaming(boolean streaming);
+
+	/**
+	 * Will {@link #scroll} stream the results?
+	 *
+	 * @return {@code true} if the results of {@link #scroll} are streamed
+	 *
+	 * @see #setStreaming(boolean)
+	 */
+	public boolean isStreaming();
+
 	/**
 	 * Return the query results as a <tt>List</tt>. If the query contains
 	 * multiple results per row, the results are returned in an instance
@@ -804,6 +804,30 @@ public interface Session extends SharedSessionContract {
 	 */
 	public IdentifierLoadAccess byId(Class entityClass);
 
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by primary key at once.
+	 *
+	 * @param entityName The entity name of the entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified entity name cannot be resolved as an entity name
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName);
+
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by primary key at once.
+	 *
+	 * @param entityClass The entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified Class cannot be resolved as a mapped entity
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass);
+
 	/**
 	 * Create an {@link NaturalIdLoadAccess} instance to retrieve the specified entity by
 	 * its natural id.
@@ -854,6 +878,32 @@ public interface Session extends SharedSessionContract {
 	 */
 	public SimpleNaturalIdLoadAccess bySimpleNaturalId(Class entityClass);
 
+	/**
+	 * Create a {@link MultiNaturalIdLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by natural id at once.
+	 *
+	 * @param entityName The entity name of the entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by natural ids
+	 *
+	 * @throws HibernateException If the specified entity name cannot be resolved as an entity name, or if the
+	 * entity does not define a natural-id
+	 */
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(String entityName);
+
+	/**
+	 * Create a {@link MultiNaturalIdLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by natural id at once.
+	 *
+	 * @param entityClass The entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by natural ids
+	 *
+	 * @throws HibernateException If the specified Class cannot be resolved as a mapped entity, or if the
+	 * entity does not define a natural-id
+	 */
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(Class entityClass);
+
 	/**
 	 * Enable the named filter for this current session.
 	 *
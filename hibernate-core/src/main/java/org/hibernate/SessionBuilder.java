@@ -117,4 +117,19 @@ public interface SessionBuilder {
 	 * @return {@code this}, for method chaining
 	 */
 	public SessionBuilder tenantIdentifier(String tenantIdentifier);
+
+	/**
+	 * Should the session be opened in read-only mode?  In read-only mode all entities and proxies are loaded
+	 * read-only and no snapshot of their loaded state is kept, which considerably reduces the memory needed
+	 * for sessions loading large numbers of entities purely for reading.  Read-only entities are skipped during
+	 * flush, so changes made to them (or to their collections) are never written to the database.
+	 * <p/>
+	 * Entities cannot be made modifiable in a read-only session; attempting to do so through
+	 * {@link Session#setDefaultReadOnly} or {@link Session#setReadOnly} results in an {@link IllegalStateException}.
+	 *
+	 * @param readOnly Should the session be opened in read-only mode
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public SessionBuilder readOnly(boolean readOnly);
 }
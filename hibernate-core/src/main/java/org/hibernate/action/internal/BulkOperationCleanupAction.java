@@ -33,6 +33,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
@@ -61,6 +62,7 @@ public class BulkOperationCleanupAction implements Executable, Serializable {
 	private final Set<EntityCleanup> entityCleanups = new HashSet<EntityCleanup>();
 	private final Set<CollectionCleanup> collectionCleanups = new HashSet<CollectionCleanup>();
 	private final Set<NaturalIdCleanup> naturalIdCleanups = new HashSet<NaturalIdCleanup>();
+	private final Set<String> naturalIdNegativeCacheCleanups = new HashSet<String>();
 
 	/**
 	 * Constructs an action to cleanup "affected cache regions" based on the
@@ -84,6 +86,9 @@ public class BulkOperationCleanupAction implements Executable, Serializable {
 			if ( persister.hasNaturalIdentifier() && persister.hasNaturalIdCache() ) {
 				naturalIdCleanups.add( new NaturalIdCleanup( persister.getNaturalIdCacheAccessStrategy() ) );
 			}
+			if ( persister.hasNaturalIdentifier() ) {
+				invalidateNaturalIdNegativeCache( factory, persister );
+			}
 
 			final Set<String> roles = factory.getCollectionRolesByEntityParticipant( persister.getEntityName() );
 			if ( roles != null ) {
@@ -129,6 +134,9 @@ public class BulkOperationCleanupAction implements Executable, Serializable {
 				if ( persister.hasNaturalIdentifier() && persister.hasNaturalIdCache() ) {
 					naturalIdCleanups.add( new NaturalIdCleanup( persister.getNaturalIdCacheAccessStrategy() ) );
 				}
+				if ( persister.hasNaturalIdentifier() ) {
+					invalidateNaturalIdNegativeCache( factory, persister );
+				}
 
 				final Set<String> roles = session.getFactory().getCollectionRolesByEntityParticipant( persister.getEntityName() );
 				if ( roles != null ) {
@@ -147,6 +155,18 @@ public class BulkOperationCleanupAction implements Executable, Serializable {
 		this.affectedTableSpaces = spacesList.toArray( new String[ spacesList.size() ] );
 	}
 
+	/**
+	 * The statement may insert rows matching natural ids looked up (and missed) so far, or change the natural ids
+	 * of existing rows.  Forget the missing natural ids of the entity hierarchy now, and again once the transaction
+	 * completed as other transactions may miss them until then.
+	 */
+	private void invalidateNaturalIdNegativeCache(SessionFactoryImplementor factory, EntityPersister persister) {
+		final NaturalIdNegativeCache negativeCache = factory.getNaturalIdNegativeCache();
+		if ( negativeCache != null ) {
+			negativeCache.invalidate( persister );
+			naturalIdNegativeCacheCleanups.add( persister.getEntityName() );
+		}
+	}
 
 	/**
 	 * Check to determine whether the table spaces reported by an entity
@@ -199,6 +219,14 @@ public class BulkOperationCleanupAction implements Executable, Serializable {
 				}
 				entityCleanups.clear();
 
+				final NaturalIdNegativeCache negativeCache = session.getFactory().getNaturalIdNegativeCache();
+				if ( negativeCache != null ) {
+					for ( String entityName : naturalIdNegativeCacheCleanups ) {
+						negativeCache.invalidate( session.getFactory().getEntityPersister( entityName ) );
+					}
+				}
+				naturalIdNegativeCacheCleanups.clear();
+
 				for ( CollectionCleanup cleanup : collectionCleanups ) {
 					cleanup.release();
 				}
@@ -28,6 +28,7 @@ import java.io.Serializable;
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -131,10 +132,16 @@ public final class EntityInsertAction extends AbstractEntityInsertAction {
 			);
 			cacheEntry = persister.getCacheEntryStructure().structure( ce );
 			final CacheKey ck = session.generateCacheKey( id, persister.getIdentifierType(), persister.getRootEntityName() );
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			final long start = stats ? System.nanoTime() : 0;
 			final boolean put = persister.getCacheAccessStrategy().insert( ck, cacheEntry, version );
 			
-			if ( put && factory.getStatistics().isStatisticsEnabled() ) {
-				factory.getStatisticsImplementor().secondLevelCachePut( getPersister().getCacheAccessStrategy().getRegion().getName() );
+			if ( stats ) {
+				final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+				factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+				if ( put ) {
+					factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+				}
 			}
 		}
 
@@ -203,11 +210,23 @@ public final class EntityInsertAction extends AbstractEntityInsertAction {
 		final EntityPersister persister = getPersister();
 		if ( success && isCachePutEnabled( persister, getSession() ) ) {
 			final CacheKey ck = getSession().generateCacheKey( getId(), persister.getIdentifierType(), persister.getRootEntityName() );
-			final boolean put = persister.getCacheAccessStrategy().afterInsert( ck, cacheEntry, version );
-			
-			if ( put && getSession().getFactory().getStatistics().isStatisticsEnabled() ) {
-				getSession().getFactory().getStatisticsImplementor()
-						.secondLevelCachePut( getPersister().getCacheAccessStrategy().getRegion().getName() );
+			final SessionFactoryImplementor factory = getSession().getFactory();
+			final WriteBehindCacheQueue writeBehindQueue = factory.getCacheWriteBehindQueue();
+			if ( writeBehindQueue == null ) {
+				cacheAfterInsert( persister, ck, cacheEntry, version, factory );
+			}
+			else {
+				final Object entry = cacheEntry;
+				final Object entryVersion = version;
+				writeBehindQueue.submit(
+						ck,
+						new Runnable() {
+							@Override
+							public void run() {
+								cacheAfterInsert( persister, ck, entry, entryVersion, factory );
+							}
+						}
+				);
 			}
 		}
 		postCommitInsert();
@@ -225,6 +244,25 @@ public final class EntityInsertAction extends AbstractEntityInsertAction {
 		return false;
 	}
 	
+	private static void cacheAfterInsert(
+			EntityPersister persister,
+			CacheKey ck,
+			Object cacheEntry,
+			Object version,
+			SessionFactoryImplementor factory) {
+		final boolean stats = factory.getStatistics().isStatisticsEnabled();
+		final long start = stats ? System.nanoTime() : 0;
+		final boolean put = persister.getCacheAccessStrategy().afterInsert( ck, cacheEntry, version );
+
+		if ( stats ) {
+			final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+			factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+			if ( put ) {
+				factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+			}
+		}
+	}
+
 	private boolean isCachePutEnabled(EntityPersister persister, SessionImplementor session) {
 		return persister.hasCache()
 				&& !persister.isCacheInvalidationRequired()
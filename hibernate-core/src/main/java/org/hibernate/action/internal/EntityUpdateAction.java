@@ -29,6 +29,7 @@ import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.engine.internal.Versioning;
@@ -205,9 +206,15 @@ public final class EntityUpdateAction extends EntityAction {
 				//TODO: inefficient if that cache is just going to ignore the updated state!
 				final CacheEntry ce = persister.buildCacheEntry( instance,state, nextVersion, getSession() );
 				cacheEntry = persister.getCacheEntryStructure().structure( ce );
+				final boolean stats = factory.getStatistics().isStatisticsEnabled();
+				final long start = stats ? System.nanoTime() : 0;
 				final boolean put = persister.getCacheAccessStrategy().update( ck, cacheEntry, nextVersion, previousVersion );
-				if ( put && factory.getStatistics().isStatisticsEnabled() ) {
-					factory.getStatisticsImplementor().secondLevelCachePut( getPersister().getCacheAccessStrategy().getRegion().getName() );
+				if ( stats ) {
+					final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+					factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+					if ( put ) {
+						factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+					}
 				}
 			}
 		}
@@ -308,19 +315,50 @@ public final class EntityUpdateAction extends EntityAction {
 					persister.getRootEntityName()
 			);
 			
-			if ( success && cacheEntry!=null /*!persister.isCacheInvalidationRequired()*/ ) {
-				final boolean put = persister.getCacheAccessStrategy().afterUpdate( ck, cacheEntry, nextVersion, previousVersion, lock );
-				
-				if ( put && getSession().getFactory().getStatistics().isStatisticsEnabled() ) {
-					getSession().getFactory().getStatisticsImplementor().secondLevelCachePut( getPersister().getCacheAccessStrategy().getRegion().getName() );
-				}
+			final SessionFactoryImplementor factory = getSession().getFactory();
+			final WriteBehindCacheQueue writeBehindQueue = factory.getCacheWriteBehindQueue();
+			if ( writeBehindQueue == null ) {
+				cacheAfterUpdate( success, persister, ck, factory );
 			}
 			else {
-				persister.getCacheAccessStrategy().unlockItem( ck, lock );
+				// the lock stays held until the queued operation releases it
+				final boolean completed = success;
+				writeBehindQueue.submit(
+						ck,
+						new Runnable() {
+							@Override
+							public void run() {
+								cacheAfterUpdate( completed, persister, ck, factory );
+							}
+						}
+				);
 			}
 		}
 		postCommitUpdate();
 	}
 
+	private void cacheAfterUpdate(
+			boolean success,
+			EntityPersister persister,
+			CacheKey ck,
+			SessionFactoryImplementor factory) {
+		if ( success && cacheEntry!=null /*!persister.isCacheInvalidationRequired()*/ ) {
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			final long start = stats ? System.nanoTime() : 0;
+			final boolean put = persister.getCacheAccessStrategy().afterUpdate( ck, cacheEntry, nextVersion, previousVersion, lock );
+
+			if ( stats ) {
+				final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+				factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+				if ( put ) {
+					factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+				}
+			}
+		}
+		else {
+			persister.getCacheAccessStrategy().unlockItem( ck, lock );
+		}
+	}
+
 }
 
@@ -517,7 +517,7 @@ public class Enhancer  {
             createClearDirtyMethod(managedCtClass);
 
            String trackerGetMethod =
-                    "public java.util.List "+EnhancerConstants.TRACKER_GET_NAME+"() { "+
+                    "public java.util.Set "+EnhancerConstants.TRACKER_GET_NAME+"() { "+
                             "if("+ EnhancerConstants.TRACKER_FIELD_NAME+" == null) "+
                             EnhancerConstants.TRACKER_FIELD_NAME+" = new java.util.HashSet();"+
                             EnhancerConstants.TRACKER_COLLECTION_CHANGED_FIELD_NAME+"("+
@@ -1145,10 +1145,11 @@ public class Enhancer  {
         private String entityMethodBody(CtField currentValue) {
             StringBuilder inlineBuilder = new StringBuilder();
             try {
-                inlineBuilder.append("if ( $$_hibernate_getInterceptor() != null ");
+                // the entity tracks its own changes, whether or not an attribute interceptor is attached
+                inlineBuilder.append("if ( ");
                 //primitives || enums
                 if(currentValue.getType().isPrimitive() || currentValue.getType().isEnum()) {
-                    inlineBuilder.append("&& "+currentValue.getName()+" != $1)");
+                    inlineBuilder.append(currentValue.getName()+" != $1)");
                 }
                 //simple data types
                 else if(currentValue.getType().getName().startsWith("java.lang") ||
@@ -1158,7 +1159,7 @@ public class Enhancer  {
                         currentValue.getType().getName().startsWith("java.util.Date") ||
                         currentValue.getType().getName().startsWith("java.util.Calendar")
                         ) {
-                    inlineBuilder.append("&& (("+currentValue.getName()+" == null) || (!" +currentValue.getName()+".equals( $1))))");
+                    inlineBuilder.append("("+currentValue.getName()+" == null) || (!" +currentValue.getName()+".equals( $1)))");
                 }
                 //all other objects
                 else {
@@ -1177,7 +1178,7 @@ public class Enhancer  {
                     }
 
                     //todo: for now just call equals, should probably do something else here
-                    inlineBuilder.append("&& (("+currentValue.getName()+" == null) || (!" +currentValue.getName()+".equals( $1))))");
+                    inlineBuilder.append("("+currentValue.getName()+" == null) || (!" +currentValue.getName()+".equals( $1)))");
                 }
 
                 inlineBuilder.append( EnhancerConstants.TRACKER_CHANGER_NAME+"(\""+currentValue.getName()+"\");");
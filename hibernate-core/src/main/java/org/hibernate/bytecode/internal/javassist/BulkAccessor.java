@@ -24,6 +24,7 @@
 package org.hibernate.bytecode.internal.javassist;
 
 import java.io.Serializable;
+import java.lang.reflect.Member;
 
 /**
  * A JavaBean bulk accessor, which provides methods capable of getting/setting multiple properties
@@ -40,6 +41,7 @@ public abstract class BulkAccessor implements Serializable {
 	protected Class target;
 	protected String[] getters, setters;
 	protected Class[] types;
+	protected boolean instantiable;
 
 	/**
 	 * Protected access constructor so the generated class has access to it.
@@ -103,6 +105,28 @@ public abstract class BulkAccessor implements Serializable {
 		return setters.clone();
 	}
 
+	/**
+	 * Instantiates the bean through its no-argument constructor.  Only accessors created from
+	 * {@link Member members} whose bean class is concrete and has a non-private no-argument
+	 * constructor support instantiation.
+	 *
+	 * @return The new bean instance
+	 *
+	 * @see #isInstantiationSupported()
+	 */
+	public Object newInstance() {
+		throw new BulkAccessorException( "instantiation is not supported for " + target.getName() );
+	}
+
+	/**
+	 * Does this accessor provide a generated {@link #newInstance()}?
+	 *
+	 * @return {@code true} if {@link #newInstance()} is generated.
+	 */
+	public boolean isInstantiationSupported() {
+		return instantiable;
+	}
+
 	/**
 	 * Creates a new instance of <code>BulkAccessor</code>.
 	 * The created instance provides methods for setting/getting
@@ -123,4 +147,25 @@ public abstract class BulkAccessor implements Serializable {
 			Class[] types) {
 		return new BulkAccessorFactory( beanClass, getters, setters, types ).create();
 	}
+
+	/**
+	 * Creates a new instance of <code>BulkAccessor</code> from already resolved accessors.  Each accessor
+	 * is either a {@link java.lang.reflect.Method} (read/written through invokevirtual) or a
+	 * {@link java.lang.reflect.Field} (read/written directly through getfield/putfield).  The generated
+	 * accessor also implements {@link #newInstance()} when the bean class can be instantiated.
+	 *
+	 * @param beanClass the class of the JavaBeans accessed through the created object.
+	 * @param getters the getter methods or fields of the specified properties.
+	 * @param setters the setter methods or fields of the specified properties.
+	 * @param types the types of specified properties.
+	 *
+	 * @return The created BulkAccessor
+	 */
+	public static BulkAccessor create(
+			Class beanClass,
+			Member[] getters,
+			Member[] setters,
+			Class[] types) {
+		return new BulkAccessorFactory( beanClass, getters, setters, types ).create();
+	}
 }
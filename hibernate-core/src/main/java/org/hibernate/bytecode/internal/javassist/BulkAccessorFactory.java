@@ -23,6 +23,9 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.ProtectionDomain;
@@ -33,12 +36,15 @@ import javassist.bytecode.Bytecode;
 import javassist.bytecode.ClassFile;
 import javassist.bytecode.CodeAttribute;
 import javassist.bytecode.ConstPool;
+import javassist.bytecode.Descriptor;
 import javassist.bytecode.MethodInfo;
 import javassist.bytecode.Opcode;
 import javassist.bytecode.StackMapTable;
 import javassist.util.proxy.FactoryHelper;
 import javassist.util.proxy.RuntimeSupport;
 
+import org.hibernate.internal.util.StringHelper;
+
 /**
  * A factory of bulk accessors.
  *
@@ -51,7 +57,9 @@ class BulkAccessorFactory {
 	private static final String OBJECT_CLASS_NAME = Object.class.getName();
 	private static final String GENERATED_GETTER_NAME = "getPropertyValues";
 	private static final String GENERATED_SETTER_NAME = "setPropertyValues";
+	private static final String GENERATED_INSTANTIATOR_NAME = "newInstance";
 	private static final String GET_SETTER_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
+	private static final String INSTANTIATOR_DESC = "()Ljava/lang/Object;";
 	private static final String THROWABLE_CLASS_NAME = Throwable.class.getName();
 	private static final String BULKEXCEPTION_CLASS_NAME = BulkAccessorException.class.getName();
 
@@ -61,6 +69,9 @@ class BulkAccessorFactory {
 	private String[] getterNames;
 	private String[] setterNames;
 	private Class[] types;
+	private Member[] getterMembers;
+	private Member[] setterMembers;
+	private boolean instantiable;
 	public String writeDirectory;
 
 	BulkAccessorFactory(
@@ -75,10 +86,34 @@ class BulkAccessorFactory {
 		this.writeDirectory = null;
 	}
 
+	BulkAccessorFactory(
+			Class target,
+			Member[] getters,
+			Member[] setters,
+			Class[] types) {
+		this.targetBean = target;
+		this.getterMembers = getters;
+		this.setterMembers = setters;
+		this.types = types;
+		this.getterNames = memberNames( getters );
+		this.setterNames = memberNames( setters );
+		this.instantiable = isInstantiable( target );
+		this.writeDirectory = null;
+	}
+
 	BulkAccessor create() {
-		final Method[] getters = new Method[getterNames.length];
-		final Method[] setters = new Method[setterNames.length];
-		findAccessors( targetBean, getterNames, setterNames, types, getters, setters );
+		final Member[] getters;
+		final Member[] setters;
+		if ( getterMembers == null ) {
+			getters = new Method[getterNames.length];
+			setters = new Method[setterNames.length];
+			findAccessors( targetBean, getterNames, setterNames, types, (Method[]) getters, (Method[]) setters );
+		}
+		else {
+			getters = getterMembers;
+			setters = setterMembers;
+			checkAccessors( targetBean, getters, setters, types );
+		}
 
 		final Class beanClass;
 		try {
@@ -107,7 +142,7 @@ class BulkAccessorFactory {
 		return cl.getProtectionDomain();
 	}
 
-	private ClassFile make(Method[] getters, Method[] setters) throws CannotCompileException {
+	private ClassFile make(Member[] getters, Member[] setters) throws CannotCompileException {
 		String className = targetBean.getName();
 		// set the name of bulk accessor.
 		className = className + "_$$_bulkaccess_" + counter++;
@@ -120,6 +155,9 @@ class BulkAccessorFactory {
 		addDefaultConstructor( classfile );
 		addGetter( classfile, getters );
 		addSetter( classfile, setters );
+		if ( instantiable ) {
+			addInstantiator( classfile );
+		}
 		return classfile;
 	}
 
@@ -135,6 +173,7 @@ class BulkAccessorFactory {
 	private Object newInstance(Class type) throws Exception {
 		final BulkAccessor instance = (BulkAccessor) type.newInstance();
 		instance.target = targetBean;
+		instance.instantiable = instantiable;
 		final int len = getterNames.length;
 		instance.getters = new String[len];
 		instance.setters = new String[len];
@@ -173,7 +212,33 @@ class BulkAccessorFactory {
 		classfile.addMethod( constructorMethodInfo );
 	}
 
-	private void addGetter(ClassFile classfile, final Method[] getters) throws CannotCompileException {
+	/**
+	 * Declares a method which instantiates the target bean through its no-argument constructor.
+	 *
+	 * @param classfile The class descriptor
+	 *
+	 * @throws CannotCompileException Indicates trouble with the underlying Javassist calls
+	 */
+	private void addInstantiator(ClassFile classfile) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo instantiatorMethodInfo = new MethodInfo( constPool, GENERATED_INSTANTIATOR_NAME, INSTANTIATOR_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 2, 1 );
+		// new
+		code.addNew( this.targetBean.getName() );
+		// dup
+		code.addOpcode( Opcode.DUP );
+		// invokespecial
+		code.addInvokespecial( this.targetBean.getName(), MethodInfo.nameInit, "()V" );
+		// areturn
+		code.addOpcode( Opcode.ARETURN );
+
+		instantiatorMethodInfo.setCodeAttribute( code.toCodeAttribute() );
+		instantiatorMethodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( instantiatorMethodInfo );
+	}
+
+	private void addGetter(ClassFile classfile, final Member[] getters) throws CannotCompileException {
 		final ConstPool constPool = classfile.getConstPool();
 		final int targetBeanConstPoolIndex = constPool.addClassInfo( this.targetBean.getName() );
 		final String desc = GET_SETTER_DESC;
@@ -190,13 +255,13 @@ class BulkAccessorFactory {
 			code.addAstore( 3 );
 			for ( int i = 0; i < getters.length; ++i ) {
 				if ( getters[i] != null ) {
-					final Method getter = getters[i];
+					final Member getter = getters[i];
 					// aload_2 // args
 					code.addAload( 2 );
 					// iconst_i // continue to aastore
 					// growing stack is 1
 					code.addIconst( i );
-					final Class returnType = getter.getReturnType();
+					final Class returnType = valueType( getter );
 					int typeIndex = -1;
 					if ( returnType.isPrimitive() ) {
 						typeIndex = FactoryHelper.typeIndex( returnType );
@@ -208,15 +273,26 @@ class BulkAccessorFactory {
 
 					// aload_3 // load the raw bean
 					code.addAload( 3 );
-					final String getterSignature = RuntimeSupport.makeDescriptor( getter );
-					final String getterName = getter.getName();
-					if ( this.targetBean.isInterface() ) {
+					if ( getter instanceof Field ) {
+						// getfield
+						code.addGetfield( this.targetBean.getName(), getter.getName(), descriptor( returnType ) );
+					}
+					else if ( this.targetBean.isInterface() ) {
 						// invokeinterface
-						code.addInvokeinterface( targetBeanConstPoolIndex, getterName, getterSignature, 1 );
+						code.addInvokeinterface(
+								targetBeanConstPoolIndex,
+								getter.getName(),
+								RuntimeSupport.makeDescriptor( (Method) getter ),
+								1
+						);
 					}
 					else {
 						// invokevirtual
-						code.addInvokevirtual( targetBeanConstPoolIndex, getterName, getterSignature );
+						code.addInvokevirtual(
+								targetBeanConstPoolIndex,
+								getter.getName(),
+								RuntimeSupport.makeDescriptor( (Method) getter )
+						);
 					}
 
 					if ( typeIndex >= 0 ) {
@@ -243,7 +319,7 @@ class BulkAccessorFactory {
 		classfile.addMethod( getterMethodInfo );
 	}
 
-	private void addSetter(ClassFile classfile, final Method[] setters) throws CannotCompileException {
+	private void addSetter(ClassFile classfile, final Member[] setters) throws CannotCompileException {
 		final ConstPool constPool = classfile.getConstPool();
 		final int targetTypeConstPoolIndex = constPool.addClassInfo( this.targetBean.getName() );
 		final String desc = GET_SETTER_DESC;
@@ -291,8 +367,7 @@ class BulkAccessorFactory {
 				// aaload
 				code.addOpcode( Opcode.AALOAD );
 				// checkcast
-				final Class[] setterParamTypes = setters[i].getParameterTypes();
-				final Class setterParamType = setterParamTypes[0];
+				final Class setterParamType = valueType( setters[i] );
 				if ( setterParamType.isPrimitive() ) {
 					// checkcast (case of primitive type)
 					// invokevirtual (case of primitive type)
@@ -303,16 +378,20 @@ class BulkAccessorFactory {
 					code.addCheckcast( setterParamType.getName() );
 				}
 				/* current stack len = 2 */
-				final String rawSetterMethodDesc = RuntimeSupport.makeDescriptor( setters[i] );
-				if ( !this.targetBean.isInterface() ) {
+				if ( setters[i] instanceof Field ) {
+					// putfield
+					code.addPutfield( this.targetBean.getName(), setters[i].getName(), descriptor( setterParamType ) );
+				}
+				else if ( !this.targetBean.isInterface() ) {
+					final String rawSetterMethodDesc = RuntimeSupport.makeDescriptor( (Method) setters[i] );
 					// invokevirtual
 					code.addInvokevirtual( targetTypeConstPoolIndex, setters[i].getName(), rawSetterMethodDesc );
 				}
 				else {
+					final String rawSetterMethodDesc = RuntimeSupport.makeDescriptor( (Method) setters[i] );
 					// invokeinterface
-					final Class[] params = setters[i].getParameterTypes();
 					int size;
-					if ( params[0].equals( Double.TYPE ) || params[0].equals( Long.TYPE ) ) {
+					if ( setterParamType.equals( Double.TYPE ) || setterParamType.equals( Long.TYPE ) ) {
 						size = 3;
 					}
 					else {
@@ -391,6 +470,85 @@ class BulkAccessorFactory {
 		code.addInvokevirtual( wrapperType, FactoryHelper.unwarpMethods[index], FactoryHelper.unwrapDesc[index] );
 	}
 
+	/**
+	 * The type of the value read by a getter or written by a setter.
+	 */
+	private static Class valueType(Member member) {
+		if ( member instanceof Field ) {
+			return ( (Field) member ).getType();
+		}
+		final Method method = (Method) member;
+		return method.getParameterTypes().length == 0 ? method.getReturnType() : method.getParameterTypes()[0];
+	}
+
+	private static String descriptor(Class type) {
+		return type.isArray() ? type.getName().replace( '.', '/' ) : Descriptor.of( type.getName() );
+	}
+
+	private static String[] memberNames(Member[] members) {
+		final String[] names = new String[members.length];
+		for ( int i = 0; i < members.length; i++ ) {
+			names[i] = members[i] == null ? null : members[i].getName();
+		}
+		return names;
+	}
+
+	private static boolean isInstantiable(Class clazz) {
+		if ( clazz.isInterface() || Modifier.isAbstract( clazz.getModifiers() ) ) {
+			return false;
+		}
+		try {
+			final Constructor constructor = clazz.getDeclaredConstructor();
+			return !Modifier.isPrivate( constructor.getModifiers() );
+		}
+		catch ( NoSuchMethodException e ) {
+			return false;
+		}
+	}
+
+	private static void checkAccessors(Class clazz, Member[] getters, Member[] setters, Class[] types) {
+		final int length = types.length;
+		if ( setters.length != length || getters.length != length ) {
+			throw new BulkAccessorException( "bad number of accessors" );
+		}
+
+		for ( int i = 0; i < length; i++ ) {
+			if ( getters[i] == null || setters[i] == null ) {
+				throw new BulkAccessorException( "cannot find an accessor", i );
+			}
+			checkAccessor( clazz, getters[i], i );
+			checkAccessor( clazz, setters[i], i );
+			if ( valueType( getters[i] ) != types[i] || valueType( setters[i] ) != types[i] ) {
+				throw new BulkAccessorException( "wrong accessor type: " + getters[i].getName(), i );
+			}
+			if ( setters[i] instanceof Field && Modifier.isFinal( setters[i].getModifiers() ) ) {
+				throw new BulkAccessorException( "final field", i );
+			}
+		}
+	}
+
+	private static void checkAccessor(Class clazz, Member member, int index) {
+		if ( Modifier.isPrivate( member.getModifiers() ) ) {
+			throw new BulkAccessorException( "private property", index );
+		}
+		if ( Modifier.isStatic( member.getModifiers() ) ) {
+			throw new BulkAccessorException( "static property", index );
+		}
+		if ( !member.getDeclaringClass().isAssignableFrom( clazz ) ) {
+			throw new BulkAccessorException( "accessor not declared by the bean class hierarchy", index );
+		}
+		if ( !Modifier.isPublic( member.getModifiers() )
+				&& !samePackage( clazz, member.getDeclaringClass() ) ) {
+			// the generated class lives in the bean's package, so it can only see package-level and
+			// protected members declared there
+			throw new BulkAccessorException( "inaccessible property", index );
+		}
+	}
+
+	private static boolean samePackage(Class one, Class other) {
+		return StringHelper.qualifier( one.getName() ).equals( StringHelper.qualifier( other.getName() ) );
+	}
+
 	private static void findAccessors(
 			Class clazz,
 			String[] getterNames,
@@ -23,6 +23,7 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.Set;
 
@@ -32,7 +33,7 @@ import org.hibernate.bytecode.buildtime.spi.ClassFilter;
 import org.hibernate.bytecode.buildtime.spi.FieldFilter;
 import org.hibernate.bytecode.instrumentation.internal.javassist.JavassistHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
-import org.hibernate.bytecode.spi.BytecodeProvider;
+import org.hibernate.bytecode.spi.AccessorGeneratingBytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.bytecode.spi.NotInstrumentedException;
@@ -47,7 +48,7 @@ import org.hibernate.internal.util.StringHelper;
  *
  * @author Steve Ebersole
  */
-public class BytecodeProviderImpl implements BytecodeProvider {
+public class BytecodeProviderImpl implements AccessorGeneratingBytecodeProvider {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
 			BytecodeProviderImpl.class.getName()
@@ -118,6 +119,48 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		return null;
 	}
 
+	@Override
+	public ReflectionOptimizer getReflectionOptimizer(
+			Class clazz,
+			Member[] getters,
+			Member[] setters,
+			Class[] types) {
+		final BulkAccessor bulkAccessor;
+		try {
+			bulkAccessor = BulkAccessor.create( clazz, getters, setters, types );
+			if ( bulkAccessor.isInstantiationSupported() ) {
+				//test out the optimizer:
+				final Object instance = bulkAccessor.newInstance();
+				bulkAccessor.setPropertyValues( instance, bulkAccessor.getPropertyValues( instance ) );
+			}
+		}
+		catch ( Throwable t ) {
+			if ( LOG.isDebugEnabled() ) {
+				final int index = t instanceof BulkAccessorException ? ( (BulkAccessorException) t ).getIndex() : -1;
+				LOG.debugf(
+						"Generated accessor disabled for %s [%s: %s (property %s)]",
+						clazz.getName(),
+						StringHelper.unqualify( t.getClass().getName() ),
+						t.getMessage(),
+						index >= 0 ? getters[index].getName() : "?"
+				);
+			}
+			return null;
+		}
+
+		final ReflectionOptimizer.InstantiationOptimizer instantiationOptimizer;
+		if ( bulkAccessor.isInstantiationSupported() ) {
+			instantiationOptimizer = new BulkInstantiationOptimizerAdapter( bulkAccessor, clazz );
+		}
+		else {
+			instantiationOptimizer = null;
+		}
+		return new ReflectionOptimizerImpl(
+				instantiationOptimizer,
+				new AccessOptimizerAdapter( bulkAccessor, clazz )
+		);
+	}
+
 	@Override
 	public ClassTransformer getTransformer(ClassFilter classFilter, FieldFilter fieldFilter) {
 		return new JavassistClassTransformer( classFilter, fieldFilter );
@@ -0,0 +1,47 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import java.lang.reflect.Member;
+
+/**
+ * Optional contract for {@link BytecodeProvider}s able to generate the accessor of an entity from its already
+ * resolved property accessors, used when {@link org.hibernate.cfg.AvailableSettings#GENERATE_ENTITY_ACCESSORS}
+ * is enabled.  Entities are accessed through reflection when the provider does not implement it.
+ */
+public interface AccessorGeneratingBytecodeProvider extends BytecodeProvider {
+	/**
+	 * Retrieve a ReflectionOptimizer for already resolved property accessors.  Unlike
+	 * {@link #getReflectionOptimizer(Class, String[], String[], Class[])}, the accessors may be
+	 * {@link java.lang.reflect.Field fields} as well as {@link java.lang.reflect.Method methods},
+	 * and may be declared by a superclass of {@code clazz}.
+	 *
+	 * @param clazz The class to be reflected upon.
+	 * @param getters The getter methods or fields of all properties, in property order.
+	 * @param setters The setter methods or fields of all properties, in property order.
+	 * @param types The types of all properties to be accessed.
+	 * @return The reflection optimization delegate, or {@code null} if the accessors cannot be optimized.
+	 */
+	public ReflectionOptimizer getReflectionOptimizer(Class clazz, Member[] getters, Member[] setters, Class[] types);
+}
@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+
+/**
+ * The disassembled rows of a cached query result, stored by column.  A column whose values are all
+ * {@link Long}s or all {@link Integer}s (typically the ids of the returned entities) is stored as a {@code long[]}
+ * or {@code int[]}; any other column as a {@code Serializable[]}.  This avoids keeping a boxed value per entity id
+ * and an array per tuple.
+ *
+ * @see StandardQueryCache
+ */
+final class CompactQueryResult implements Serializable {
+	private final int size;
+	private final Object[] columns;
+
+	private CompactQueryResult(int size, Object[] columns) {
+		this.size = size;
+		this.columns = columns;
+	}
+
+	/**
+	 * Builds the compact form of the given disassembled rows.
+	 *
+	 * @param columns The disassembled values, by column and then by row
+	 * @param size The number of rows
+	 *
+	 * @return The compact result
+	 */
+	static CompactQueryResult fromColumns(Serializable[][] columns, int size) {
+		final Object[] compactColumns = new Object[columns.length];
+		for ( int i = 0; i < columns.length; i++ ) {
+			compactColumns[i] = compact( columns[i] );
+		}
+		return new CompactQueryResult( size, compactColumns );
+	}
+
+	private static Object compact(Serializable[] column) {
+		if ( column.length == 0 ) {
+			return column;
+		}
+		if ( isAll( column, Long.class ) ) {
+			final long[] values = new long[column.length];
+			for ( int i = 0; i < column.length; i++ ) {
+				values[i] = (Long) column[i];
+			}
+			return values;
+		}
+		if ( isAll( column, Integer.class ) ) {
+			final int[] values = new int[column.length];
+			for ( int i = 0; i < column.length; i++ ) {
+				values[i] = (Integer) column[i];
+			}
+			return values;
+		}
+		return column;
+	}
+
+	private static boolean isAll(Serializable[] column, Class<?> type) {
+		for ( Serializable value : column ) {
+			if ( value == null || value.getClass() != type ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The number of rows.
+	 *
+	 * @return The number of rows
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the disassembled values of a column.  Values stored as primitives are boxed, once per call.
+	 *
+	 * @param column The column index
+	 *
+	 * @return The disassembled values, by row; not to be modified
+	 */
+	Serializable[] getColumn(int column) {
+		final Object values = columns[column];
+		if ( values instanceof long[] ) {
+			final long[] longs = (long[]) values;
+			final Serializable[] boxed = new Serializable[longs.length];
+			for ( int i = 0; i < longs.length; i++ ) {
+				boxed[i] = longs[i];
+			}
+			return boxed;
+		}
+		if ( values instanceof int[] ) {
+			final int[] ints = (int[]) values;
+			final Serializable[] boxed = new Serializable[ints.length];
+			for ( int i = 0; i < ints.length; i++ ) {
+				boxed[i] = ints[i];
+			}
+			return boxed;
+		}
+		return (Serializable[]) values;
+	}
+}
@@ -25,7 +25,10 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import javax.persistence.EntityNotFoundException;
@@ -40,8 +43,11 @@ import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cfg.Settings;
+import org.hibernate.engine.internal.ForeignKeys;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -65,6 +71,7 @@ public class StandardQueryCache implements QueryCache {
 
 	private QueryResultsRegion cacheRegion;
 	private UpdateTimestampsCache updateTimestampsCache;
+	private final boolean invalidateById;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -91,6 +98,9 @@ public class StandardQueryCache implements QueryCache {
 
 		this.cacheRegion = settings.getRegionFactory().buildQueryResultsRegion( regionNameToUse, props );
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.invalidateById = settings.getQueryCacheIdInvalidationRegions().contains(
+				regionName == null ? StandardQueryCache.class.getName() : regionName
+		);
 	}
 
 	@Override
@@ -130,17 +140,40 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debugf( "Caching query results in region: %s; timestamp=%s", cacheRegion.getName(), ts );
 		}
 
-		final List cacheable = new ArrayList( result.size() + 1 );
+		final List cacheable = new ArrayList( 2 );
 		logCachedResultDetails( key, null, returnTypes, cacheable );
-		cacheable.add( ts );
-
-		final boolean isSingleResult = returnTypes.length == 1;
-		for ( Object aResult : result ) {
-			final Serializable cacheItem = isSingleResult
-					? returnTypes[0].disassemble( aResult, session, null )
-					: TypeHelper.disassemble( (Object[]) aResult, returnTypes, null, session, null );
-			cacheable.add( cacheItem );
-			logCachedResultRowDetails( returnTypes, aResult );
+		if ( invalidateById ) {
+			cacheable.add( new IdInvalidatedTimestamp( ts, collectIdBuckets( returnTypes, result, session ) ) );
+		}
+		else {
+			cacheable.add( ts );
+		}
+
+		if ( !result.isEmpty() ) {
+			// the rows are cached by column, see CompactQueryResult
+			final boolean isSingleResult = returnTypes.length == 1;
+			final Serializable[][] columns = new Serializable[returnTypes.length][result.size()];
+			int row = 0;
+			for ( Object aResult : result ) {
+				if ( isSingleResult ) {
+					columns[0][row] = returnTypes[0].disassemble( aResult, session, null );
+				}
+				else {
+					final Serializable[] cacheItem = TypeHelper.disassemble(
+							(Object[]) aResult,
+							returnTypes,
+							null,
+							session,
+							null
+					);
+					for ( int i = 0; i < cacheItem.length; i++ ) {
+						columns[i][row] = cacheItem[i];
+					}
+				}
+				logCachedResultRowDetails( returnTypes, aResult );
+				row++;
+			}
+			cacheable.add( CompactQueryResult.fromColumns( columns, row ) );
 		}
 
 		cacheRegion.put( key, cacheable );
@@ -169,8 +202,11 @@ public class StandardQueryCache implements QueryCache {
 			return null;
 		}
 
-		final Long timestamp = (Long) cacheable.get( 0 );
-		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp ) ) {
+		final Object timestamp = cacheable.get( 0 );
+		final boolean upToDate = timestamp instanceof IdInvalidatedTimestamp
+				? isUpToDate( spaces, (IdInvalidatedTimestamp) timestamp )
+				: isUpToDate( spaces, (Long) timestamp );
+		if ( !isNaturalKeyLookup && !upToDate ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
 			}
@@ -180,28 +216,43 @@ public class StandardQueryCache implements QueryCache {
 		if ( DEBUGGING ) {
 			LOG.debug( "Returning cached query results" );
 		}
-		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 1; i < cacheable.size(); i++ ) {
-			if ( singleResult ) {
-				returnTypes[0].beforeAssemble( (Serializable) cacheable.get( i ), session );
+		if ( cacheable.size() == 1 ) {
+			return new ArrayList();
+		}
+		if ( cacheable.size() != 2 || !CompactQueryResult.class.isInstance( cacheable.get( 1 ) ) ) {
+			// cached in another format, by an earlier version
+			if ( DEBUGGING ) {
+				LOG.debug( "Cached query results were not in the expected format" );
 			}
-			else {
-				TypeHelper.beforeAssemble( (Serializable[]) cacheable.get( i ), returnTypes, session );
+			return null;
+		}
+		final CompactQueryResult rows = (CompactQueryResult) cacheable.get( 1 );
+		final Serializable[][] columns = new Serializable[returnTypes.length][];
+		for ( int j = 0; j < returnTypes.length; j++ ) {
+			columns[j] = rows.getColumn( j );
+		}
+		for ( int i = 0; i < rows.size(); i++ ) {
+			for ( int j = 0; j < returnTypes.length; j++ ) {
+				returnTypes[j].beforeAssemble( columns[j][i], session );
 			}
 		}
 
-		final List result = new ArrayList( cacheable.size() - 1 );
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		final boolean singleResult = returnTypes.length == 1;
+
+		final List result = new ArrayList( rows.size() );
+		for ( int i = 0; i < rows.size(); i++ ) {
 			try {
 				if ( singleResult ) {
-					result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
+					result.add( returnTypes[0].assemble( columns[0][i], session, null ) );
 				}
 				else {
-					result.add(
-							TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
-					);
+					final Serializable[] row = new Serializable[returnTypes.length];
+					for ( int j = 0; j < returnTypes.length; j++ ) {
+						row[j] = columns[j][i];
+					}
+					result.add( TypeHelper.assemble( row, returnTypes, session, null ) );
 				}
-				logCachedResultRowDetails( returnTypes, result.get( i - 1 ) );
+				logCachedResultRowDetails( returnTypes, result.get( i ) );
 			}
 			catch ( RuntimeException ex ) {
 				if ( isNaturalKeyLookup ) {
@@ -230,11 +281,78 @@ public class StandardQueryCache implements QueryCache {
 		return updateTimestampsCache.isUpToDate( spaces, timestamp );
 	}
 
+	private boolean isUpToDate(final Set<Serializable> spaces, final IdInvalidatedTimestamp timestamp) {
+		if ( DEBUGGING ) {
+			LOG.debugf( "Checking query spaces are up-to-date for the cached entities: %s", spaces );
+		}
+		return updateTimestampsCache.isUpToDate( spaces, timestamp.idBucketsBySpace, timestamp.timestamp );
+	}
+
+	/**
+	 * Collects the id buckets of the entities in a result, for the query spaces of their entity types; results
+	 * containing other than entities (or entities referenced by other than their primary key) are only
+	 * invalidated by id for the query spaces of the entity types they do contain.
+	 */
+	private static Map<Serializable, BitSet> collectIdBuckets(
+			final Type[] returnTypes,
+			final List result,
+			final SessionImplementor session) {
+		final Map<Serializable, BitSet> idBucketsBySpace = new HashMap<Serializable, BitSet>();
+		for ( int i = 0; i < returnTypes.length; i++ ) {
+			if ( !returnTypes[i].isEntityType() || !( (EntityType) returnTypes[i] ).isReferenceToPrimaryKey() ) {
+				continue;
+			}
+			final EntityPersister persister = session.getFactory().getEntityPersister(
+					( (EntityType) returnTypes[i] ).getAssociatedEntityName()
+			);
+			final BitSet buckets = new BitSet( UpdateTimestampsCache.ID_BUCKETS );
+			for ( Object row : result ) {
+				final Object entity = returnTypes.length == 1 ? row : ( (Object[]) row )[i];
+				if ( entity != null ) {
+					final Serializable id = ForeignKeys.getEntityIdentifierIfNotUnsaved(
+							persister.getEntityName(),
+							entity,
+							session
+					);
+					buckets.set(
+							UpdateTimestampsCache.idBucket(
+									persister.getIdentifierType().getHashCode( id, session.getFactory() )
+							)
+					);
+				}
+			}
+			for ( Serializable space : persister.getQuerySpaces() ) {
+				final BitSet spaceBuckets = idBucketsBySpace.get( space );
+				if ( spaceBuckets == null ) {
+					idBucketsBySpace.put( space, (BitSet) buckets.clone() );
+				}
+				else {
+					spaceBuckets.or( buckets );
+				}
+			}
+		}
+		return idBucketsBySpace;
+	}
+
 	@Override
 	public String toString() {
 		return "StandardQueryCache(" + cacheRegion.getName() + ')';
 	}
 
+	/**
+	 * The timestamp of a result cached by a region invalidated by entity id, along with the buckets of the ids of
+	 * the entities in the result.
+	 */
+	private static final class IdInvalidatedTimestamp implements Serializable {
+		private final Long timestamp;
+		private final Map<Serializable, BitSet> idBucketsBySpace;
+
+		private IdInvalidatedTimestamp(Long timestamp, Map<Serializable, BitSet> idBucketsBySpace) {
+			this.timestamp = timestamp;
+			this.idBucketsBySpace = idBucketsBySpace;
+		}
+	}
+
 	private static void logCachedResultDetails(QueryKey key, Set querySpaces, Type[] returnTypes, List result) {
 		if ( !TRACING ) {
 			return;
@@ -0,0 +1,160 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Remembers the natural ids which were looked up without finding a matching entity, so that repeated lookups of
+ * the same missing natural ids do not go to the database.  Enabled by
+ * {@link org.hibernate.cfg.AvailableSettings#NATURAL_ID_NEGATIVE_CACHE_SIZE}.
+ * <p/>
+ * All the entries of an entity hierarchy are invalidated whenever an entity of the hierarchy is inserted, or the
+ * mutable natural id of one of its entities is updated, both when that happens and again once the transaction
+ * completed; bulk and native statements affecting the hierarchy's tables invalidate it as well.  A lookup records
+ * its miss only if no such invalidation happened while it was querying the database
+ * (see {@link #getStamp}).  Like the second-level cache, the entries are therefore only accurate as long as the
+ * entities are only ever inserted through this SessionFactory; {@link org.hibernate.Cache#evictNaturalIdRegion}
+ * also forgets the entries of the entity hierarchy.
+ *
+ * @see org.hibernate.engine.spi.CacheImplementor#getNaturalIdNegativeCache()
+ */
+public class NaturalIdNegativeCache {
+	private final int maxEntriesPerEntity;
+	private final ConcurrentMap<String, EntityEntries> entriesByRootEntityName =
+			new ConcurrentHashMap<String, EntityEntries>();
+
+	/**
+	 * Constructs a NaturalIdNegativeCache.
+	 *
+	 * @param maxEntriesPerEntity The maximum number of missing natural ids remembered per entity hierarchy
+	 */
+	public NaturalIdNegativeCache(int maxEntriesPerEntity) {
+		if ( maxEntriesPerEntity < 1 ) {
+			throw new IllegalArgumentException( "Maximum number of entries must be greater than zero: " + maxEntriesPerEntity );
+		}
+		this.maxEntriesPerEntity = maxEntriesPerEntity;
+	}
+
+	/**
+	 * Is the given natural id known to match no entity?
+	 *
+	 * @param persister The persister of the entity
+	 * @param naturalIdValues The natural id values, ordered as the persister's natural id properties
+	 * @param session The session performing the lookup
+	 *
+	 * @return {@code true} if a previous lookup of the natural id found no entity
+	 */
+	public boolean contains(EntityPersister persister, Object[] naturalIdValues, SessionImplementor session) {
+		final EntityEntries entries = entriesByRootEntityName.get( persister.getRootEntityName() );
+		return entries != null
+				&& entries.keys.containsKey( new NaturalIdCacheKey( naturalIdValues, persister, session ) );
+	}
+
+	/**
+	 * Get the invalidation stamp of the entity hierarchy, to be obtained before querying the database and then
+	 * passed to {@link #put}.
+	 *
+	 * @param persister The persister of the entity
+	 *
+	 * @return The stamp
+	 */
+	public long getStamp(EntityPersister persister) {
+		return locateEntries( persister ).stamp.get();
+	}
+
+	/**
+	 * Remember that the given natural id matches no entity, unless the entity hierarchy was invalidated since the
+	 * given stamp was obtained.
+	 *
+	 * @param persister The persister of the entity
+	 * @param naturalIdValues The natural id values, ordered as the persister's natural id properties
+	 * @param session The session which performed the lookup
+	 * @param stamp The {@link #getStamp stamp} obtained before querying the database
+	 */
+	public void put(EntityPersister persister, Object[] naturalIdValues, SessionImplementor session, long stamp) {
+		final EntityEntries entries = locateEntries( persister );
+		if ( entries.stamp.get() != stamp ) {
+			return;
+		}
+		final NaturalIdCacheKey key = new NaturalIdCacheKey( naturalIdValues, persister, session );
+		entries.keys.put( key, Boolean.TRUE );
+		if ( entries.stamp.get() != stamp ) {
+			// invalidated concurrently; the invalidation may have missed the entry
+			entries.keys.remove( key );
+		}
+	}
+
+	/**
+	 * Forget all the missing natural ids of the given entity's hierarchy.
+	 *
+	 * @param persister The persister of the entity
+	 */
+	public void invalidate(EntityPersister persister) {
+		final EntityEntries entries = entriesByRootEntityName.get( persister.getRootEntityName() );
+		if ( entries != null ) {
+			entries.stamp.incrementAndGet();
+			entries.keys.clear();
+		}
+	}
+
+	/**
+	 * Forget all the missing natural ids.
+	 */
+	public void clear() {
+		for ( EntityEntries entries : entriesByRootEntityName.values() ) {
+			entries.stamp.incrementAndGet();
+			entries.keys.clear();
+		}
+	}
+
+	private EntityEntries locateEntries(EntityPersister persister) {
+		final String rootEntityName = persister.getRootEntityName();
+		EntityEntries entries = entriesByRootEntityName.get( rootEntityName );
+		if ( entries == null ) {
+			entries = new EntityEntries( maxEntriesPerEntity );
+			final EntityEntries previous = entriesByRootEntityName.putIfAbsent( rootEntityName, entries );
+			if ( previous != null ) {
+				entries = previous;
+			}
+		}
+		return entries;
+	}
+
+	private static class EntityEntries {
+		private final AtomicLong stamp = new AtomicLong();
+		private final Map<NaturalIdCacheKey, Boolean> keys;
+
+		private EntityEntries(int maxEntries) {
+			this.keys = new BoundedConcurrentHashMap<NaturalIdCacheKey, Boolean>( maxEntries );
+		}
+	}
+}
@@ -24,8 +24,15 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.logging.Logger;
 
@@ -40,6 +47,14 @@ import org.hibernate.internal.CoreMessageLogger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * The timestamps are also tracked locally, and the writes to the underlying region are coalesced: the timestamps
+ * written by concurrent transactions are queued and written by whichever thread gets to flush the queue, only the
+ * latest timestamp of a space being written.  Of concurrent writes of a space the one issued last wins, whatever the
+ * order in which they reach the queue, just as if they had been written one after another: a pre-invalidation is
+ * replaced by a later invalidation, but never by an invalidation issued before it.  If {@link org.hibernate.cfg.AvailableSettings#USE_LOCAL_UPDATE_TIMESTAMPS}
+ * is enabled, the up-to-date checks read the local timestamps and only fall back to the region for spaces which have
+ * not been updated since startup.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -52,9 +67,25 @@ public class UpdateTimestampsCache {
 	 */
 	public static final String REGION_NAME = UpdateTimestampsCache.class.getName();
 
+	/**
+	 * The number of buckets the entity ids of a query space are hashed to when tracking the updates of
+	 * individual entities; see {@link org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ID_INVALIDATION_REGIONS}
+	 */
+	public static final int ID_BUCKETS = 1024;
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final boolean trackEntityIds;
+	private final boolean localReads;
+
+	private final ConcurrentMap<Serializable, Timestamp> localTimestamps = new ConcurrentHashMap<Serializable, Timestamp>();
+
+	// the queue of timestamps to write to the region; the write sequences count the queued and written writes
+	private final Object queueLock = new Object();
+	private Map<Serializable, Timestamp> pendingTimestamps = new HashMap<Serializable, Timestamp>();
+	private long queuedSequence;
+	private long writtenSequence;
+	private boolean flushing;
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -70,6 +101,8 @@ public class UpdateTimestampsCache {
 
 		LOG.startingUpdateTimestampsCache( regionName );
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		this.trackEntityIds = !settings.getQueryCacheIdInvalidationRegions().isEmpty();
+		this.localReads = settings.isLocalUpdateTimestampsEnabled();
 	}
 
 	/**
@@ -91,44 +124,229 @@ public class UpdateTimestampsCache {
 	 * @throws CacheException Indicated problem delegating to underlying region.
 	 */
 	public void preinvalidate(Serializable[] spaces) throws CacheException {
-		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+		final long issued = region.nextTimestamp();
+		invalidate( spaces, new Timestamp( issued, issued + region.getTimeout() ), "Pre-invalidating" );
+	}
 
-		final Long ts = region.nextTimestamp() + region.getTimeout();
+	/**
+	 * Perform invalidation.
+	 *
+	 * @param spaces The spaces to pre-invalidate
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public void invalidate(Serializable[] spaces) throws CacheException {
+		final long issued = region.nextTimestamp();
+		invalidate( spaces, new Timestamp( issued, issued ), "Invalidating" );
+	}
 
+	private void invalidate(Serializable[] spaces, Timestamp ts, String operation) {
+		final Map<Serializable, Timestamp> timestamps = new LinkedHashMap<Serializable, Timestamp>();
 		for ( Serializable space : spaces ) {
 			if ( DEBUG_ENABLED ) {
-				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
+				LOG.debugf( "%s space [%s], timestamp: %s", operation, space, ts.value );
 			}
-			//put() has nowait semantics, is this really appropriate?
-			//note that it needs to be async replication, never local or sync
-			region.put( space, ts );
-			if ( stats ) {
-				factory.getStatisticsImplementor().updateTimestampsCachePut();
+			timestamps.put( space, ts );
+			if ( trackEntityIds ) {
+				timestamps.put( new SpaceKey( space, SpaceKey.NOT_BY_ID ), ts );
 			}
 		}
+		write( timestamps );
 	}
 
 	/**
-	 * Perform invalidation.
+	 * Are the updates and deletions of individual entities tracked, i.e. is any query cache region configured
+	 * to be invalidated by entity id?
 	 *
-	 * @param spaces The spaces to pre-invalidate
+	 * @return {@code true} if entity ids are tracked
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ID_INVALIDATION_REGIONS
+	 */
+	public boolean isTrackingEntityIds() {
+		return trackEntityIds;
+	}
+
+	/**
+	 * Determine the bucket the given entity id hash code is tracked in.
+	 *
+	 * @param idHashCode The hash code of the entity id, as determined by its identifier type
+	 *
+	 * @return The bucket, between 0 (inclusive) and {@link #ID_BUCKETS} (exclusive)
+	 */
+	public static int idBucket(int idHashCode) {
+		return ( idHashCode ^ ( idHashCode >>> 16 ) ) & ( ID_BUCKETS - 1 );
+	}
+
+	/**
+	 * Perform pre-invalidation of the given spaces for the update or deletion of individual entities.  Unlike
+	 * {@link #preinvalidate}, results cached by id-invalidated query cache regions are only affected if they
+	 * contain one of the entities.
+	 *
+	 * @param idBucketsBySpace The {@link #idBucket buckets} of the ids of the updated or deleted entities, by space
 	 *
 	 * @throws CacheException Indicated problem delegating to underlying region.
 	 */
-	public void invalidate(Serializable[] spaces) throws CacheException {
-		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+	public void preinvalidateEntities(Map<Serializable, BitSet> idBucketsBySpace) throws CacheException {
+		final long issued = region.nextTimestamp();
+		invalidateEntities(
+				idBucketsBySpace,
+				new Timestamp( issued, issued + region.getTimeout() ),
+				"Pre-invalidating"
+		);
+	}
 
-		final Long ts = region.nextTimestamp();
+	/**
+	 * Perform invalidation of the given spaces for the update or deletion of individual entities.
+	 *
+	 * @param idBucketsBySpace The {@link #idBucket buckets} of the ids of the updated or deleted entities, by space
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 *
+	 * @see #preinvalidateEntities
+	 */
+	public void invalidateEntities(Map<Serializable, BitSet> idBucketsBySpace) throws CacheException {
+		final long issued = region.nextTimestamp();
+		invalidateEntities( idBucketsBySpace, new Timestamp( issued, issued ), "Invalidating" );
+	}
 
-		for (Serializable space : spaces) {
+	private void invalidateEntities(Map<Serializable, BitSet> idBucketsBySpace, Timestamp ts, String operation) {
+		final Map<Serializable, Timestamp> timestamps = new LinkedHashMap<Serializable, Timestamp>();
+		for ( Map.Entry<Serializable, BitSet> entry : idBucketsBySpace.entrySet() ) {
+			final Serializable space = entry.getKey();
 			if ( DEBUG_ENABLED ) {
-				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
+				LOG.debugf( "%s entities %s of space [%s], timestamp: %s", operation, entry.getValue(), space, ts.value );
+			}
+			// results of regions which are not invalidated by id are still invalidated by the whole space
+			timestamps.put( space, ts );
+			final BitSet buckets = entry.getValue();
+			for ( int bucket = buckets.nextSetBit( 0 ); bucket >= 0; bucket = buckets.nextSetBit( bucket + 1 ) ) {
+				timestamps.put( new SpaceKey( space, bucket ), ts );
+			}
+		}
+		write( timestamps );
+	}
+
+	/**
+	 * Record the given timestamps locally and queue them for writing to the region.  Unless the up-to-date checks
+	 * only read the local timestamps, the calling thread does not return before its timestamps (or ones superseding
+	 * them) have been written to the region, by itself or by a concurrently flushing thread.
+	 */
+	private void write(Map<Serializable, Timestamp> timestamps) {
+		final long sequence;
+		synchronized ( queueLock ) {
+			for ( Map.Entry<Serializable, Timestamp> entry : timestamps.entrySet() ) {
+				// a timestamp superseded locally has been queued by the write superseding it
+				if ( merge( localTimestamps, entry.getKey(), entry.getValue() ) ) {
+					pendingTimestamps.put( entry.getKey(), entry.getValue() );
+				}
+			}
+			sequence = ++queuedSequence;
+		}
+		flushPending( sequence );
+	}
+
+	/**
+	 * Record the given timestamp for the given key, unless the timestamp recorded for it supersedes it.
+	 *
+	 * @return {@code true} if the given timestamp was recorded
+	 */
+	private static boolean merge(ConcurrentMap<Serializable, Timestamp> timestamps, Serializable key, Timestamp ts) {
+		while ( true ) {
+			final Timestamp current = timestamps.get( key );
+			if ( current == null ) {
+				if ( timestamps.putIfAbsent( key, ts ) == null ) {
+					return true;
+				}
+			}
+			else if ( !ts.supersedes( current ) ) {
+				return false;
+			}
+			else if ( timestamps.replace( key, current, ts ) ) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Write the queued timestamps to the region, until the write of the given sequence has been written.  Only one
+	 * thread writes at a time; the others wait for it to finish, and take over if their writes are still pending.
+	 * If the up-to-date checks only read the local timestamps, the calling thread does not wait, but leaves its
+	 * timestamps to the thread already writing.
+	 */
+	private void flushPending(long sequence) {
+		long awaitedSequence = sequence;
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				final Map<Serializable, Timestamp> batch;
+				final long batchSequence;
+				synchronized ( queueLock ) {
+					if ( writtenSequence >= awaitedSequence ) {
+						return;
+					}
+					if ( flushing ) {
+						if ( localReads ) {
+							return;
+						}
+						try {
+							queueLock.wait();
+						}
+						catch (InterruptedException e) {
+							interrupted = true;
+						}
+						continue;
+					}
+					flushing = true;
+					batch = pendingTimestamps;
+					batchSequence = queuedSequence;
+					pendingTimestamps = new HashMap<Serializable, Timestamp>();
+				}
+
+				final Iterator<Map.Entry<Serializable, Timestamp>> entries = batch.entrySet().iterator();
+				try {
+					final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+					while ( entries.hasNext() ) {
+						final Map.Entry<Serializable, Timestamp> entry = entries.next();
+						//put() has nowait semantics, is this really appropriate?
+						//note that it needs to be async replication, never local or sync
+						region.put( entry.getKey(), entry.getValue().value );
+						if ( stats ) {
+							factory.getStatisticsImplementor().updateTimestampsCachePut();
+						}
+						entries.remove();
+					}
+				}
+				finally {
+					synchronized ( queueLock ) {
+						// timestamps not written (because of a failure) are queued again, unless superseded meanwhile
+						for ( Map.Entry<Serializable, Timestamp> entry : batch.entrySet() ) {
+							final Timestamp queued = pendingTimestamps.get( entry.getKey() );
+							if ( queued == null || entry.getValue().supersedes( queued ) ) {
+								pendingTimestamps.put( entry.getKey(), entry.getValue() );
+							}
+						}
+						if ( batch.isEmpty() ) {
+							writtenSequence = batchSequence;
+						}
+						flushing = false;
+						queueLock.notifyAll();
+					}
+				}
+
+				if ( localReads ) {
+					// the timestamps queued meanwhile by writers which did not wait would otherwise be left behind
+					synchronized ( queueLock ) {
+						if ( pendingTimestamps.isEmpty() ) {
+							return;
+						}
+						awaitedSequence = queuedSequence;
+					}
+				}
 			}
-			//put() has nowait semantics, is this really appropriate?
-			//note that it needs to be async replication, never local or sync
-			region.put( space, ts );
-			if ( stats ) {
-				factory.getStatisticsImplementor().updateTimestampsCachePut();
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
 			}
 		}
 	}
@@ -147,7 +365,7 @@ public class UpdateTimestampsCache {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = (Long) region.get( space );
+			final Long lastUpdate = getLastUpdate( space );
 			if ( lastUpdate == null ) {
 				if ( stats ) {
 					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
@@ -176,12 +394,87 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
+	/**
+	 * Perform an up-to-date check for the given set of query spaces of a result cached by an id-invalidated query
+	 * cache region.  The spaces for which id buckets are given are only checked for changes other than the updates
+	 * and deletions of entities, and for updates and deletions of entities in the given buckets; all other spaces
+	 * are checked as by {@link #isUpToDate(java.util.Set, Long)}.
+	 *
+	 * @param spaces The spaces to check
+	 * @param idBucketsBySpace The {@link #idBucket buckets} of the ids of the entities in the result, by space
+	 * @param timestamp The timestamp against which to check.
+	 *
+	 * @return Whether all those spaces are up-to-date
+	 *
+	 * @throws CacheException Indicated problem delegating to underlying region.
+	 */
+	public boolean isUpToDate(Set<Serializable> spaces, Map<Serializable, BitSet> idBucketsBySpace, Long timestamp)
+			throws CacheException {
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+
+		for ( Serializable space : spaces ) {
+			final BitSet buckets = idBucketsBySpace.get( space );
+			if ( buckets == null ) {
+				if ( !isUpToDate( space, timestamp, stats ) ) {
+					return false;
+				}
+				continue;
+			}
+			if ( !isUpToDate( new SpaceKey( space, SpaceKey.NOT_BY_ID ), timestamp, stats ) ) {
+				return false;
+			}
+			for ( int bucket = buckets.nextSetBit( 0 ); bucket >= 0; bucket = buckets.nextSetBit( bucket + 1 ) ) {
+				if ( !isUpToDate( new SpaceKey( space, bucket ), timestamp, stats ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isUpToDate(Serializable key, Long timestamp, boolean stats) {
+		final Long lastUpdate = getLastUpdate( key );
+		if ( stats ) {
+			if ( lastUpdate == null ) {
+				factory.getStatisticsImplementor().updateTimestampsCacheMiss();
+			}
+			else {
+				factory.getStatisticsImplementor().updateTimestampsCacheHit();
+			}
+		}
+		return lastUpdate == null || lastUpdate < timestamp;
+	}
+
+	private Long getLastUpdate(Serializable key) {
+		if ( !localReads ) {
+			return (Long) region.get( key );
+		}
+		final Timestamp lastUpdate = localTimestamps.get( key );
+		if ( lastUpdate != null ) {
+			return lastUpdate.value;
+		}
+		// not updated since startup; the region may still know about an update by a previous run
+		final Long regionLastUpdate = (Long) region.get( key );
+		if ( regionLastUpdate == null ) {
+			return null;
+		}
+		final Timestamp concurrentLastUpdate = localTimestamps.putIfAbsent(
+				key,
+				new Timestamp( Long.MIN_VALUE, regionLastUpdate )
+		);
+		return concurrentLastUpdate == null ? regionLastUpdate : concurrentLastUpdate.value;
+	}
+
 	/**
 	 * Clear the update-timestamps data.
 	 *
 	 * @throws CacheException Indicates problem delegating call to underlying region.
 	 */
 	public void clear() throws CacheException {
+		synchronized ( queueLock ) {
+			pendingTimestamps.clear();
+			localTimestamps.clear();
+		}
 		region.evictAll();
 	}
 
@@ -213,4 +506,61 @@ public class UpdateTimestampsCache {
 		return "UpdateTimestampsCache";
 	}
 
+	/**
+	 * A timestamp written for a key, along with the time it was issued at: of two timestamps written for the same key,
+	 * the one issued last supersedes the other.  For a pre-invalidation, the timestamp lies ahead of its issue time.
+	 */
+	private static final class Timestamp {
+		private final long issued;
+		private final Long value;
+
+		private Timestamp(long issued, long value) {
+			this.issued = issued;
+			this.value = value;
+		}
+
+		private boolean supersedes(Timestamp other) {
+			return issued > other.issued || ( issued == other.issued && value > other.value );
+		}
+	}
+
+	/**
+	 * Key of the timestamps tracked for a query space when entity ids are tracked: either the timestamp of the last
+	 * change other than an update or deletion of an entity, or that of the last update or deletion of an entity
+	 * whose id falls into a given bucket.
+	 */
+	private static final class SpaceKey implements Serializable {
+		private static final int NOT_BY_ID = -1;
+
+		private final Serializable space;
+		private final int bucket;
+
+		private SpaceKey(Serializable space, int bucket) {
+			this.space = space;
+			this.bucket = bucket;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final SpaceKey that = (SpaceKey) o;
+			return bucket == that.bucket && space.equals( that.space );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * space.hashCode() + bucket;
+		}
+
+		@Override
+		public String toString() {
+			return bucket == NOT_BY_ID ? space + "#not-by-id" : space + "#" + bucket;
+		}
+	}
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Performs the second-level cache operations of completed transactions in the background, so that the completion
+ * of a transaction does not wait for the cache.  Enabled by {@link AvailableSettings#CACHE_WRITE_BEHIND_THREADS}.
+ * <p/>
+ * The operations on a given cache key are always performed by the same thread, in the order they were submitted.
+ * Any {@link org.hibernate.cache.spi.access.SoftLock} taken before the transaction completed is only released by the
+ * queued operation, so the cached item keeps being treated as locked (and read from the database) until the
+ * operation was performed.
+ *
+ * @see org.hibernate.engine.spi.CacheImplementor#getWriteBehindQueue()
+ */
+public class WriteBehindCacheQueue {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			WriteBehindCacheQueue.class.getName()
+	);
+
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * Queued last on each thread by {@link #stop()}; the thread ends when it takes it.
+	 */
+	private static final Operation STOP = new Operation( null, null );
+
+	private final Lane[] lanes;
+
+	/**
+	 * Held for reading while an operation is being queued, and for writing while stopping, so that no operation
+	 * can be queued behind {@link #STOP}.
+	 */
+	private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+	private boolean stopped;
+
+	/**
+	 * Constructs and starts a WriteBehindCacheQueue.
+	 *
+	 * @param threads The number of background threads
+	 * @param queueSize The maximum number of queued operations per thread
+	 * @param name The name used for the background threads, typically that of the SessionFactory
+	 */
+	public WriteBehindCacheQueue(int threads, int queueSize, String name) {
+		lanes = new Lane[threads];
+		for ( int i = 0; i < threads; i++ ) {
+			lanes[i] = new Lane( queueSize, "Hibernate write-behind cache " + ( name == null ? "" : name + ' ' ) + i );
+			lanes[i].start();
+		}
+	}
+
+	/**
+	 * Queue a cache operation.  Blocks while the queue of the thread the key is assigned to is full, even if the
+	 * calling thread is interrupted; its interrupt status is restored once the operation is queued.
+	 *
+	 * @param key The cache key the operation applies to
+	 * @param operation The operation; must not use the session
+	 *
+	 * @throws CacheException If the queue was already {@link #stop() stopped}; the operation is not performed
+	 */
+	public void submit(CacheKey key, Runnable operation) throws CacheException {
+		final int hash = key.hashCode();
+		final Lane lane = lanes[( ( hash ^ ( hash >>> 16 ) ) & Integer.MAX_VALUE ) % lanes.length];
+		stopLock.readLock().lock();
+		try {
+			if ( stopped ) {
+				throw new CacheException( "Write-behind cache queue was stopped; rejected operation for [" + key + "]" );
+			}
+			// keep the ordering of the key intact rather than dropping the operation
+			putUninterruptibly( lane, new Operation( key, operation ) );
+		}
+		finally {
+			stopLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Perform the operations still queued and stop the background threads.  Operations not performed within the
+	 * shutdown timeout are dropped and logged; operations submitted afterwards are rejected.
+	 */
+	public void stop() {
+		stopLock.writeLock().lock();
+		try {
+			if ( stopped ) {
+				return;
+			}
+			stopped = true;
+			for ( Lane lane : lanes ) {
+				putUninterruptibly( lane, STOP );
+			}
+		}
+		finally {
+			stopLock.writeLock().unlock();
+		}
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( SHUTDOWN_TIMEOUT_SECONDS );
+		for ( Lane lane : lanes ) {
+			try {
+				TimeUnit.NANOSECONDS.timedJoin( lane, Math.max( deadline - System.nanoTime(), 1 ) );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if ( lane.isAlive() ) {
+				final List<Operation> dropped = new ArrayList<Operation>();
+				lane.queue.drainTo( dropped );
+				dropped.remove( STOP );
+				lane.interrupt();
+				LOG.droppedWriteBehindCacheOperations( lane.getName(), dropped.size() );
+				for ( Operation operation : dropped ) {
+					LOG.droppedWriteBehindCacheOperation( operation.key );
+				}
+			}
+		}
+	}
+
+	private static void putUninterruptibly(Lane lane, Operation operation) {
+		boolean interrupted = false;
+		while ( true ) {
+			try {
+				lane.queue.put( operation );
+				break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if ( interrupted ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class Operation {
+		private final CacheKey key;
+		private final Runnable operation;
+
+		private Operation(CacheKey key, Runnable operation) {
+			this.key = key;
+			this.operation = operation;
+		}
+
+		private void perform() {
+			try {
+				operation.run();
+			}
+			catch (RuntimeException e) {
+				LOG.unableToPerformWriteBehindCacheOperation( key, e );
+			}
+		}
+	}
+
+	private static class Lane extends Thread {
+		private final BlockingQueue<Operation> queue;
+
+		private Lane(int queueSize, String name) {
+			super( name );
+			this.queue = new ArrayBlockingQueue<Operation>( queueSize );
+			setDaemon( true );
+		}
+
+		@Override
+		public void run() {
+			while ( true ) {
+				final Operation operation;
+				try {
+					operation = queue.take();
+				}
+				catch (InterruptedException e) {
+					// only stop() interrupts, once it has given up on the queued operations
+					return;
+				}
+				if ( operation == STOP ) {
+					return;
+				}
+				operation.perform();
+			}
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for {@link EntityRegionAccessStrategy} implementations able to read and write a number of
+ * items in one operation, adding a batch load usage pattern:<ul>
+ *     <li><b>BATCH LOADS</b> : {@link #getAll} -> {@link #putAllFromLoad}</li>
+ * </ul>
+ * Batch loading calls {@link #get(Object, long)} and {@link #putFromLoad(Object, Object, long, Object, boolean)}
+ * once per item on the strategies which do not implement it.
+ */
+public interface BulkEntityRegionAccessStrategy extends EntityRegionAccessStrategy {
+	/**
+	 * Attempt to retrieve a number of items from the cache in one operation.  Used when batch fetching
+	 * entities, so that a remote or clustered cache can be probed for the whole batch at once.  Each key has
+	 * the semantic of {@link #get(Object, long)}.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return The cached items keyed by their key; keys with no (readable) cached item are absent.
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+
+	/**
+	 * Attempt to cache a number of items in one operation, after loading them from the database.  Each item
+	 * has the semantic of {@link #putFromLoad(Object, Object, long, Object, boolean)}.
+	 *
+	 * @param keys The item keys
+	 * @param values The items, in the same order as the keys
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param versions The items' version values, in the same order as the keys
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 * @return The number of items actually cached
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException;
+}
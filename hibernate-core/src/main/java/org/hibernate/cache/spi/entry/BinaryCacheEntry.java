@@ -0,0 +1,512 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2008-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * Compact binary CacheEntry format for entities.  The disassembled state is encoded into a {@code byte[]}:
+ * each value is written as a one-byte tag followed by its payload, integral values as zig-zag varints and
+ * strings as their UTF-16 code units (each as a varint, so ASCII takes a byte per character and unpaired
+ * surrogates survive the round trip).  Dates and timestamps are written as their time in milliseconds (plus
+ * nanoseconds for timestamps), big numbers as their two's-complement bytes, enums as their name, {@code byte[]}
+ * as is and disassembled components element by element.  Enum class names are written once per entry; other
+ * values (custom types, ...) fall back to Java serialization, which is the only case writing class descriptors.
+ * <p/>
+ * Since the result is a plain {@code byte[]}, cache regions store it as is: Ehcache keeps it as the value of the
+ * element (the read-write strategies wrap it together with its version, like any other entry) and Infinispan
+ * marshals it as a primitive array, so replicating or overflowing an entry writes no class descriptors for the
+ * entity state.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	private static final byte FORMAT_VERSION = 3;
+
+	private static final byte TAG_NULL = 0;
+	private static final byte TAG_UNFETCHED = 1;
+	private static final byte TAG_TRUE = 2;
+	private static final byte TAG_FALSE = 3;
+	private static final byte TAG_INTEGER = 4;
+	private static final byte TAG_LONG = 5;
+	private static final byte TAG_SHORT = 6;
+	private static final byte TAG_BYTE = 7;
+	private static final byte TAG_CHARACTER = 8;
+	private static final byte TAG_FLOAT = 9;
+	private static final byte TAG_DOUBLE = 10;
+	private static final byte TAG_STRING = 11;
+	private static final byte TAG_SERIALIZED = 12;
+	private static final byte TAG_DATE = 13;
+	private static final byte TAG_SQL_DATE = 14;
+	private static final byte TAG_TIME = 15;
+	private static final byte TAG_TIMESTAMP = 16;
+	private static final byte TAG_BIG_DECIMAL = 17;
+	private static final byte TAG_BIG_INTEGER = 18;
+	private static final byte TAG_BYTES = 19;
+	private static final byte TAG_ENUM = 20;
+	private static final byte TAG_ARRAY = 21;
+
+	private static final Map<Class,Byte> TAGS = new HashMap<Class,Byte>();
+	static {
+		TAGS.put( Boolean.class, TAG_TRUE );
+		TAGS.put( Integer.class, TAG_INTEGER );
+		TAGS.put( Long.class, TAG_LONG );
+		TAGS.put( Short.class, TAG_SHORT );
+		TAGS.put( Byte.class, TAG_BYTE );
+		TAGS.put( Character.class, TAG_CHARACTER );
+		TAGS.put( Float.class, TAG_FLOAT );
+		TAGS.put( Double.class, TAG_DOUBLE );
+		TAGS.put( String.class, TAG_STRING );
+		TAGS.put( Date.class, TAG_DATE );
+		TAGS.put( java.sql.Date.class, TAG_SQL_DATE );
+		TAGS.put( Time.class, TAG_TIME );
+		TAGS.put( Timestamp.class, TAG_TIMESTAMP );
+		TAGS.put( BigDecimal.class, TAG_BIG_DECIMAL );
+		TAGS.put( BigInteger.class, TAG_BIG_INTEGER );
+		TAGS.put( byte[].class, TAG_BYTES );
+		TAGS.put( Object[].class, TAG_ARRAY );
+	}
+
+	/**
+	 * The class each property is expected to disassemble to (or {@code null} if not known from its Type), so
+	 * that the common case needs no lookup of the tag to write.
+	 */
+	private final Class[] expectedClasses;
+	private final byte[] expectedTags;
+
+	/**
+	 * Constructs a BinaryCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public BinaryCacheEntry(EntityPersister persister) {
+		final Type[] types = persister.getPropertyTypes();
+		this.expectedClasses = new Class[types.length];
+		this.expectedTags = new byte[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			final Type type = types[i];
+			if ( type.isAssociationType() || type.isComponentType() || type.isMutable() ) {
+				// these disassemble to something other than their returned class
+				continue;
+			}
+			final Byte tag = TAGS.get( type.getReturnedClass() );
+			if ( tag != null ) {
+				expectedClasses[i] = type.getReturnedClass();
+				expectedTags[i] = tag;
+			}
+		}
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Serializable[] state = entry.getDisassembledState();
+		final Output out = new Output( 16 + state.length * 8 );
+		out.writeByte( FORMAT_VERSION );
+		out.writeString( entry.getSubclass() );
+		out.writeByte( entry.areLazyPropertiesUnfetched() ? 1 : 0 );
+		writeValue( out, entry.getVersion(), TAG_NULL );
+		out.writeVarInt( state.length );
+		for ( int i = 0; i < state.length; i++ ) {
+			final Serializable value = state[i];
+			final byte expectedTag = i < expectedTags.length && value != null && value.getClass() == expectedClasses[i]
+					? expectedTags[i]
+					: TAG_NULL;
+			writeValue( out, value, expectedTag );
+		}
+		return out.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final Input in = new Input( (byte[]) structured );
+		final byte format = in.readByte();
+		if ( format != FORMAT_VERSION ) {
+			throw new CacheException( "Unsupported binary cache entry format : " + format );
+		}
+		final String subclass = in.readString();
+		final boolean lazyPropertiesUnfetched = in.readByte() != 0;
+		final Object version = readValue( in );
+		final Serializable[] state = new Serializable[in.readVarInt()];
+		for ( int i = 0; i < state.length; i++ ) {
+			state[i] = readValue( in );
+		}
+		return new StandardCacheEntryImpl( state, subclass, lazyPropertiesUnfetched, version );
+	}
+
+	private static void writeValue(Output out, Object value, byte expectedTag) {
+		if ( value == null ) {
+			out.writeByte( TAG_NULL );
+			return;
+		}
+		if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			out.writeByte( TAG_UNFETCHED );
+			return;
+		}
+
+		byte tag = expectedTag;
+		if ( tag == TAG_NULL ) {
+			final Byte known = TAGS.get( value.getClass() );
+			if ( known != null ) {
+				tag = known;
+			}
+			else {
+				tag = value instanceof Enum ? TAG_ENUM : TAG_SERIALIZED;
+			}
+		}
+
+		switch ( tag ) {
+			case TAG_TRUE:
+				out.writeByte( (Boolean) value ? TAG_TRUE : TAG_FALSE );
+				break;
+			case TAG_INTEGER:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( (Integer) value ) );
+				break;
+			case TAG_LONG:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( (Long) value ) );
+				break;
+			case TAG_SHORT:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( (Short) value ) );
+				break;
+			case TAG_BYTE:
+				out.writeByte( tag );
+				out.writeByte( (Byte) value );
+				break;
+			case TAG_CHARACTER:
+				out.writeByte( tag );
+				out.writeVarInt( (Character) value );
+				break;
+			case TAG_FLOAT:
+				out.writeByte( tag );
+				out.writeFixed( Float.floatToIntBits( (Float) value ), 4 );
+				break;
+			case TAG_DOUBLE:
+				out.writeByte( tag );
+				out.writeFixed( Double.doubleToLongBits( (Double) value ), 8 );
+				break;
+			case TAG_STRING:
+				out.writeByte( tag );
+				out.writeString( (String) value );
+				break;
+			case TAG_DATE:
+			case TAG_SQL_DATE:
+			case TAG_TIME:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+				break;
+			case TAG_TIMESTAMP:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( ( (Timestamp) value ).getTime() ) );
+				out.writeVarInt( ( (Timestamp) value ).getNanos() );
+				break;
+			case TAG_BIG_DECIMAL:
+				out.writeByte( tag );
+				out.writeVarLong( zigZag( ( (BigDecimal) value ).scale() ) );
+				out.writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+				break;
+			case TAG_BIG_INTEGER:
+				out.writeByte( tag );
+				out.writeBytes( ( (BigInteger) value ).toByteArray() );
+				break;
+			case TAG_BYTES:
+				out.writeByte( tag );
+				out.writeBytes( (byte[]) value );
+				break;
+			case TAG_ENUM:
+				out.writeByte( tag );
+				out.writeClassName( ( (Enum) value ).getDeclaringClass().getName() );
+				out.writeString( ( (Enum) value ).name() );
+				break;
+			case TAG_ARRAY:
+				// a disassembled component
+				final Object[] values = (Object[]) value;
+				out.writeByte( tag );
+				out.writeVarInt( values.length );
+				for ( Object element : values ) {
+					writeValue( out, element, TAG_NULL );
+				}
+				break;
+			default:
+				out.writeByte( TAG_SERIALIZED );
+				out.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+		}
+	}
+
+	private static Serializable readValue(Input in) {
+		final byte tag = in.readByte();
+		switch ( tag ) {
+			case TAG_NULL:
+				return null;
+			case TAG_UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case TAG_TRUE:
+				return Boolean.TRUE;
+			case TAG_FALSE:
+				return Boolean.FALSE;
+			case TAG_INTEGER:
+				return (int) unZigZag( in.readVarLong() );
+			case TAG_LONG:
+				return unZigZag( in.readVarLong() );
+			case TAG_SHORT:
+				return (short) unZigZag( in.readVarLong() );
+			case TAG_BYTE:
+				return in.readByte();
+			case TAG_CHARACTER:
+				return (char) in.readVarInt();
+			case TAG_FLOAT:
+				return Float.intBitsToFloat( (int) in.readFixed( 4 ) );
+			case TAG_DOUBLE:
+				return Double.longBitsToDouble( in.readFixed( 8 ) );
+			case TAG_STRING:
+				return in.readString();
+			case TAG_DATE:
+				return new Date( unZigZag( in.readVarLong() ) );
+			case TAG_SQL_DATE:
+				return new java.sql.Date( unZigZag( in.readVarLong() ) );
+			case TAG_TIME:
+				return new Time( unZigZag( in.readVarLong() ) );
+			case TAG_TIMESTAMP:
+				final Timestamp timestamp = new Timestamp( unZigZag( in.readVarLong() ) );
+				timestamp.setNanos( in.readVarInt() );
+				return timestamp;
+			case TAG_BIG_DECIMAL:
+				final int scale = (int) unZigZag( in.readVarLong() );
+				return new BigDecimal( new BigInteger( in.readBytes() ), scale );
+			case TAG_BIG_INTEGER:
+				return new BigInteger( in.readBytes() );
+			case TAG_BYTES:
+				return in.readBytes();
+			case TAG_ENUM:
+				return readEnum( in.readClassName(), in.readString() );
+			case TAG_ARRAY:
+				final int length = in.readVarInt();
+				if ( length < 0 ) {
+					throw new CacheException( "Corrupt binary cache entry; negative array length" );
+				}
+				final Object[] values = new Object[length];
+				for ( int i = 0; i < length; i++ ) {
+					values[i] = readValue( in );
+				}
+				return values;
+			case TAG_SERIALIZED:
+				return (Serializable) SerializationHelper.deserialize( in.readBytes() );
+			default:
+				throw new CacheException( "Corrupt binary cache entry; unknown value tag : " + tag );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Serializable readEnum(String className, String name) {
+		try {
+			return Enum.valueOf( ReflectHelper.classForName( className ), name );
+		}
+		catch (ClassNotFoundException e) {
+			throw new CacheException( "Unable to load enum class of cached value : " + className, e );
+		}
+	}
+
+	private static long zigZag(long value) {
+		return ( value << 1 ) ^ ( value >> 63 );
+	}
+
+	private static long unZigZag(long value) {
+		return ( value >>> 1 ) ^ -( value & 1 );
+	}
+
+	private static final class Output {
+		private final Map<String,Integer> classNames = new HashMap<String,Integer>();
+		private byte[] buffer;
+		private int position;
+
+		private Output(int initialSize) {
+			this.buffer = new byte[initialSize];
+		}
+
+		private void ensureCapacity(int extra) {
+			if ( position + extra > buffer.length ) {
+				final byte[] grown = new byte[Math.max( buffer.length * 2, position + extra )];
+				System.arraycopy( buffer, 0, grown, 0, position );
+				buffer = grown;
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarInt(int value) {
+			writeVarLong( value & 0xFFFFFFFFL );
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeFixed(long value, int length) {
+			ensureCapacity( length );
+			for ( int i = 0; i < length; i++ ) {
+				buffer[position++] = (byte) ( value >>> ( i * 8 ) );
+			}
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarInt( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeString(String value) {
+			final int length = value.length();
+			writeVarInt( length );
+			for ( int i = 0; i < length; i++ ) {
+				writeVarInt( value.charAt( i ) );
+			}
+		}
+
+		/**
+		 * Writes the index of a class name already written to this entry, or 0 followed by the name.
+		 */
+		private void writeClassName(String className) {
+			final Integer index = classNames.get( className );
+			if ( index != null ) {
+				writeVarInt( index );
+			}
+			else {
+				writeVarInt( 0 );
+				writeString( className );
+				classNames.put( className, classNames.size() + 1 );
+			}
+		}
+
+		private byte[] toByteArray() {
+			final byte[] result = new byte[position];
+			System.arraycopy( buffer, 0, result, 0, position );
+			return result;
+		}
+	}
+
+	private static final class Input {
+		private final List<String> classNames = new ArrayList<String>();
+		private final byte[] buffer;
+		private int position;
+
+		private Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private byte readByte() {
+			if ( position >= buffer.length ) {
+				throw new CacheException( "Corrupt binary cache entry; unexpected end of data" );
+			}
+			return buffer[position++];
+		}
+
+		private int readVarInt() {
+			return (int) readVarLong();
+		}
+
+		private long readVarLong() {
+			long result = 0;
+			for ( int shift = 0; shift < 64; shift += 7 ) {
+				final byte b = readByte();
+				result |= (long) ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return result;
+				}
+			}
+			throw new CacheException( "Corrupt binary cache entry; malformed varint" );
+		}
+
+		private long readFixed(int length) {
+			long result = 0;
+			for ( int i = 0; i < length; i++ ) {
+				result |= (long) ( readByte() & 0xFF ) << ( i * 8 );
+			}
+			return result;
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarInt();
+			if ( length < 0 || position + length > buffer.length ) {
+				throw new CacheException( "Corrupt binary cache entry; unexpected end of data" );
+			}
+			final byte[] bytes = new byte[length];
+			System.arraycopy( buffer, position, bytes, 0, length );
+			position += length;
+			return bytes;
+		}
+
+		private String readString() {
+			final int length = readVarInt();
+			if ( length < 0 || position + length > buffer.length ) {
+				throw new CacheException( "Corrupt binary cache entry; unexpected end of data" );
+			}
+			final char[] chars = new char[length];
+			for ( int i = 0; i < length; i++ ) {
+				chars[i] = (char) readVarInt();
+			}
+			return new String( chars );
+		}
+
+		private String readClassName() {
+			final int index = readVarInt();
+			if ( index == 0 ) {
+				final String className = readString();
+				classNames.add( className );
+				return className;
+			}
+			if ( index < 0 || index > classNames.size() ) {
+				throw new CacheException( "Corrupt binary cache entry; unknown class name reference : " + index );
+			}
+			return classNames.get( index - 1 );
+		}
+	}
+}
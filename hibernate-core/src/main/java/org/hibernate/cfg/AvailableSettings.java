@@ -309,6 +309,23 @@ public interface AvailableSettings {
 	 * The <tt>QueryCacheFactory</tt> implementation class.
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
+	/**
+	 * Comma-separated names of the query cache regions (as passed to {@link org.hibernate.Query#setCacheRegion}, the
+	 * default region being named {@code org.hibernate.cache.internal.StandardQueryCache}) whose cached results are
+	 * invalidated by entity id rather than by query space.  A result cached in such a region is only invalidated by
+	 * the update or deletion of an entity it contains, or by any other change (an insert, a collection change, a bulk
+	 * or native update) to one of its query spaces.
+	 * <p/>
+	 * Updates of entities which are <b>not</b> part of a cached result do not invalidate it, so this is only safe for
+	 * queries whose restrictions do not depend on state that is updated, typically lookups of reference data.
+	 */
+	String QUERY_CACHE_ID_INVALIDATION_REGIONS = "hibernate.cache.query_cache_id_invalidation_regions";
+	/**
+	 * Should the query cache up-to-date checks read the update timestamps tracked locally by the
+	 * {@link org.hibernate.cache.spi.UpdateTimestampsCache} rather than the timestamps region?  Only safe if no other
+	 * process (cluster node or SessionFactory) writes to the timestamps region.  Default is {@code false}.
+	 */
+	String USE_LOCAL_UPDATE_TIMESTAMPS = "hibernate.cache.use_local_update_timestamps";
 	/**
 	 * Enable the second-level cache (enabled by default)
 	 */
@@ -325,11 +342,36 @@ public interface AvailableSettings {
 	 * Enable use of structured second-level cache entries
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
+	/**
+	 * Enable use of compact binary second-level cache entries for entities.  The disassembled state is encoded
+	 * into a {@code byte[]} (see {@link org.hibernate.cache.spi.entry.BinaryCacheEntry}).  Takes precedence over
+	 * {@link #USE_STRUCTURED_CACHE}.  Default is {@code false}.
+	 */
+	String USE_BINARY_CACHE_ENTRIES = "hibernate.cache.use_binary_entries";
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
 	 */
 	String AUTO_EVICT_COLLECTION_CACHE = "hibernate.cache.auto_evict_collection_cache";
+	/**
+	 * The number of background threads performing the second-level cache puts of inserted and updated entities
+	 * after transaction completion (see {@link org.hibernate.cache.spi.WriteBehindCacheQueue}).  Default is
+	 * {@code 0}, meaning these puts are performed synchronously by the completing transaction.
+	 */
+	String CACHE_WRITE_BEHIND_THREADS = "hibernate.cache.write_behind_threads";
+	/**
+	 * The maximum number of queued write-behind cache puts per background thread, see
+	 * {@link #CACHE_WRITE_BEHIND_THREADS}.  Completing transactions wait for room in a full queue.  Default is
+	 * {@code 1000}.
+	 */
+	String CACHE_WRITE_BEHIND_QUEUE_SIZE = "hibernate.cache.write_behind_queue_size";
+	/**
+	 * The maximum number of natural ids, per entity hierarchy, remembered as matching no entity so that repeated
+	 * lookups of missing natural ids do not go to the database (see
+	 * {@link org.hibernate.cache.spi.NaturalIdNegativeCache}).  Default is {@code 0}, meaning such misses are not
+	 * remembered.
+	 */
+	String NATURAL_ID_NEGATIVE_CACHE_SIZE = "hibernate.cache.natural_id_negative_cache_size";
 	/**
 	 * Enable statistics collection
 	 */
@@ -342,6 +384,16 @@ public interface AvailableSettings {
 	 */
 	String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Generate, when the SessionFactory is built, a bytecode accessor class per pojo entity which reads and
+	 * writes all of its persistent properties and instantiates it without reflection.  Unlike
+	 * {@link #USE_REFLECTION_OPTIMIZER} this is a SessionFactory-level setting, and it also covers properties
+	 * using field access.  Properties with custom accessors or private members keep using reflection for the
+	 * whole entity, as do all entities when the bytecode provider does not implement
+	 * {@link org.hibernate.bytecode.spi.AccessorGeneratingBytecodeProvider}.  Default is {@code false}.
+	 */
+	String GENERATE_ENTITY_ACCESSORS = "hibernate.bytecode.generate_entity_accessors";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -360,6 +412,12 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * The number of threads compiling the named queries during the startup check, into the query plan cache.  Using
+	 * more than one thread shortens the startup of applications with many named queries.  Default is 1.
+	 */
+	String QUERY_STARTUP_CHECKING_THREADS = "hibernate.query.startup_check_threads";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -615,6 +673,27 @@ public interface AvailableSettings {
 	 */
 	String BATCH_FETCH_STYLE = "hibernate.batch_fetch_style";
 
+	/**
+	 * The smallest batch size the {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} style tunes a role down to.
+	 * The largest is the batch size defined for the entity/collection, or {@link #DEFAULT_BATCH_FETCH_SIZE}.
+	 * Default is 2.
+	 */
+	String BATCH_FETCH_ADAPTIVE_MIN_SIZE = "hibernate.batch_fetch_adaptive_min_size";
+
+	/**
+	 * The maximum number of queries {@link org.hibernate.Hibernate#initializeConcurrently} runs at the same time,
+	 * each on its own connection.  A value of 1 or less makes it initialize one after another.  Default is 4.
+	 */
+	String CONCURRENT_INITIALIZATION_THREADS = "hibernate.concurrent_initialization_threads";
+
+	/**
+	 * Should {@link org.hibernate.Hibernate#initializeConcurrently} run its queries concurrently while the session's
+	 * transaction is in progress?  The concurrent queries run on other connections and cannot see uncommitted
+	 * changes, so even when enabled it initializes one after another once the transaction has written data.  Changes
+	 * made through {@link org.hibernate.jdbc.Work} are not detected.  Default is false.
+	 */
+	String CONCURRENT_INITIALIZATION_IN_TRANSACTION = "hibernate.concurrent_initialization_in_transaction";
+
 	/**
 	 * Enable direct storage of entity references into the second level cache when applicable (immutable data, etc).
 	 * Default is to not store direct references.
@@ -23,7 +23,9 @@
  */
 package org.hibernate.cfg;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.EntityMode;
@@ -61,6 +63,7 @@ public final class Settings {
 	private boolean autoValidateSchema;
 	private boolean queryCacheEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean binaryCacheEntriesEnabled;
 	private boolean secondLevelCacheEnabled;
 	private boolean autoEvictCollectionCache;
 	private String cacheRegionPrefix;
@@ -74,8 +77,14 @@ public final class Settings {
 	private ConnectionReleaseMode connectionReleaseMode;
 	private RegionFactory regionFactory;
 	private QueryCacheFactory queryCacheFactory;
+	private Set<String> queryCacheIdInvalidationRegions = Collections.emptySet();
+	private boolean localUpdateTimestampsEnabled;
+	private int cacheWriteBehindThreads;
+	private int cacheWriteBehindQueueSize;
+	private int naturalIdNegativeCacheSize;
 	private QueryTranslatorFactory queryTranslatorFactory;
 	private boolean wrapResultSetsEnabled;
+	private boolean generateEntityAccessorsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
 	private EntityMode defaultEntityMode;
@@ -83,6 +92,7 @@ public final class Settings {
 	private boolean dataDefinitionInTransactionSupported;
 	private boolean strictJPAQLCompliance;
 	private boolean namedQueryStartupCheckingEnabled;
+	private int namedQueryStartupCheckingThreads;
 	private EntityTuplizerFactory entityTuplizerFactory;
 	private boolean checkNullability;
 	private NullPrecedence defaultNullPrecedence;
@@ -96,6 +106,9 @@ public final class Settings {
 
 	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private BatchFetchStyle batchFetchStyle;
+	private int adaptiveBatchFetchMinSize;
+	private int concurrentInitializationThreads;
+	private boolean concurrentInitializationInTransactionEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
 	
 	private boolean jtaTrackByThread;
@@ -205,6 +218,26 @@ public final class Settings {
 		return queryCacheFactory;
 	}
 
+	public Set<String> getQueryCacheIdInvalidationRegions() {
+		return queryCacheIdInvalidationRegions;
+	}
+
+	public boolean isLocalUpdateTimestampsEnabled() {
+		return localUpdateTimestampsEnabled;
+	}
+
+	public int getCacheWriteBehindThreads() {
+		return cacheWriteBehindThreads;
+	}
+
+	public int getCacheWriteBehindQueueSize() {
+		return cacheWriteBehindQueueSize;
+	}
+
+	public int getNaturalIdNegativeCacheSize() {
+		return naturalIdNegativeCacheSize;
+	}
+
 	public boolean isStatisticsEnabled() {
 		return statisticsEnabled;
 	}
@@ -233,6 +266,10 @@ public final class Settings {
 		return wrapResultSetsEnabled;
 	}
 
+	public boolean isGenerateEntityAccessorsEnabled() {
+		return generateEntityAccessorsEnabled;
+	}
+
 	public boolean isOrderUpdatesEnabled() {
 		return orderUpdatesEnabled;
 	}
@@ -245,6 +282,10 @@ public final class Settings {
 		return structuredCacheEntriesEnabled;
 	}
 
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
 	}
@@ -273,6 +314,10 @@ public final class Settings {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	public int getNamedQueryStartupCheckingThreads() {
+		return namedQueryStartupCheckingThreads;
+	}
+
 	public EntityTuplizerFactory getEntityTuplizerFactory() {
 		return entityTuplizerFactory;
 	}
@@ -375,6 +420,26 @@ public final class Settings {
 		this.queryCacheFactory = queryCacheFactory;
 	}
 
+	void setQueryCacheIdInvalidationRegions(Set<String> queryCacheIdInvalidationRegions) {
+		this.queryCacheIdInvalidationRegions = queryCacheIdInvalidationRegions;
+	}
+
+	void setLocalUpdateTimestampsEnabled(boolean localUpdateTimestampsEnabled) {
+		this.localUpdateTimestampsEnabled = localUpdateTimestampsEnabled;
+	}
+
+	void setCacheWriteBehindThreads(int cacheWriteBehindThreads) {
+		this.cacheWriteBehindThreads = cacheWriteBehindThreads;
+	}
+
+	void setCacheWriteBehindQueueSize(int cacheWriteBehindQueueSize) {
+		this.cacheWriteBehindQueueSize = cacheWriteBehindQueueSize;
+	}
+
+	void setNaturalIdNegativeCacheSize(int naturalIdNegativeCacheSize) {
+		this.naturalIdNegativeCacheSize = naturalIdNegativeCacheSize;
+	}
+
 	void setStatisticsEnabled(boolean statisticsEnabled) {
 		this.statisticsEnabled = statisticsEnabled;
 	}
@@ -403,6 +468,10 @@ public final class Settings {
 		this.wrapResultSetsEnabled = wrapResultSetsEnabled;
 	}
 
+	void setGenerateEntityAccessorsEnabled(boolean generateEntityAccessorsEnabled) {
+		this.generateEntityAccessorsEnabled = generateEntityAccessorsEnabled;
+	}
+
 	void setOrderUpdatesEnabled(boolean orderUpdatesEnabled) {
 		this.orderUpdatesEnabled = orderUpdatesEnabled;
 	}
@@ -415,6 +484,10 @@ public final class Settings {
 		this.structuredCacheEntriesEnabled = structuredCacheEntriesEnabled;
 	}
 
+	void setBinaryCacheEntriesEnabled(boolean binaryCacheEntriesEnabled) {
+		this.binaryCacheEntriesEnabled = binaryCacheEntriesEnabled;
+	}
+
 	void setDefaultEntityMode(EntityMode defaultEntityMode) {
 		this.defaultEntityMode = defaultEntityMode;
 	}
@@ -439,6 +512,10 @@ public final class Settings {
 		this.namedQueryStartupCheckingEnabled = namedQueryStartupCheckingEnabled;
 	}
 
+	void setNamedQueryStartupCheckingThreads(int namedQueryStartupCheckingThreads) {
+		this.namedQueryStartupCheckingThreads = namedQueryStartupCheckingThreads;
+	}
+
 	void setEntityTuplizerFactory(EntityTuplizerFactory entityTuplizerFactory) {
 		this.entityTuplizerFactory = entityTuplizerFactory;
 	}
@@ -504,6 +581,30 @@ public final class Settings {
 		this.batchFetchStyle = batchFetchStyle;
 	}
 
+	public int getAdaptiveBatchFetchMinSize() {
+		return adaptiveBatchFetchMinSize;
+	}
+
+	void setAdaptiveBatchFetchMinSize(int adaptiveBatchFetchMinSize) {
+		this.adaptiveBatchFetchMinSize = adaptiveBatchFetchMinSize;
+	}
+
+	public int getConcurrentInitializationThreads() {
+		return concurrentInitializationThreads;
+	}
+
+	void setConcurrentInitializationThreads(int concurrentInitializationThreads) {
+		this.concurrentInitializationThreads = concurrentInitializationThreads;
+	}
+
+	public boolean isConcurrentInitializationInTransactionEnabled() {
+		return concurrentInitializationInTransactionEnabled;
+	}
+
+	void setConcurrentInitializationInTransactionEnabled(boolean concurrentInitializationInTransactionEnabled) {
+		this.concurrentInitializationInTransactionEnabled = concurrentInitializationInTransactionEnabled;
+	}
+
 	public void setDirectReferenceCacheEntriesEnabled(boolean directReferenceCacheEntriesEnabled) {
 		this.directReferenceCacheEntriesEnabled = directReferenceCacheEntriesEnabled;
 	}
@@ -24,8 +24,10 @@
 package org.hibernate.cfg;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
 
@@ -204,6 +206,31 @@ public class SettingsFactory implements Serializable {
 		final BatchFetchStyle batchFetchStyle = BatchFetchStyle.interpret( properties.get( AvailableSettings.BATCH_FETCH_STYLE ) );
 		LOG.debugf( "Using BatchFetchStyle : " + batchFetchStyle.name() );
 		settings.setBatchFetchStyle( batchFetchStyle );
+		if ( batchFetchStyle == BatchFetchStyle.ADAPTIVE ) {
+			final int adaptiveMinSize = ConfigurationHelper.getInt(
+					AvailableSettings.BATCH_FETCH_ADAPTIVE_MIN_SIZE, properties, 2
+			);
+			if ( debugEnabled ) {
+				LOG.debugf( "Adaptive batch fetch minimum size: %s", adaptiveMinSize );
+			}
+			settings.setAdaptiveBatchFetchMinSize( adaptiveMinSize );
+		}
+
+		final int concurrentInitializationThreads = ConfigurationHelper.getInt(
+				AvailableSettings.CONCURRENT_INITIALIZATION_THREADS, properties, 4
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Concurrent initialization threads: %s", concurrentInitializationThreads );
+		}
+		settings.setConcurrentInitializationThreads( concurrentInitializationThreads );
+
+		final boolean concurrentInitializationInTransaction = ConfigurationHelper.getBoolean(
+				AvailableSettings.CONCURRENT_INITIALIZATION_IN_TRANSACTION, properties
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Concurrent initialization in transaction: %s", enabledDisabled( concurrentInitializationInTransaction ) );
+		}
+		settings.setConcurrentInitializationInTransactionEnabled( concurrentInitializationInTransaction );
 
 
 		//SQL Generation settings:
@@ -281,6 +308,30 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setSecondLevelCacheEnabled( useSecondLevelCache );
 
+		final int cacheWriteBehindThreads = ConfigurationHelper.getInt(
+				AvailableSettings.CACHE_WRITE_BEHIND_THREADS, properties, 0
+		);
+		final int cacheWriteBehindQueueSize = ConfigurationHelper.getInt(
+				AvailableSettings.CACHE_WRITE_BEHIND_QUEUE_SIZE, properties, 1000
+		);
+		if ( debugEnabled ) {
+			LOG.debugf(
+					"Second-level cache write-behind threads: %s, queue size: %s",
+					cacheWriteBehindThreads,
+					cacheWriteBehindQueueSize
+			);
+		}
+		settings.setCacheWriteBehindThreads( cacheWriteBehindThreads );
+		settings.setCacheWriteBehindQueueSize( cacheWriteBehindQueueSize );
+
+		final int naturalIdNegativeCacheSize = ConfigurationHelper.getInt(
+				AvailableSettings.NATURAL_ID_NEGATIVE_CACHE_SIZE, properties, 0
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Natural-id negative cache size: %s", naturalIdNegativeCacheSize );
+		}
+		settings.setNaturalIdNegativeCacheSize( naturalIdNegativeCacheSize );
+
 		boolean useQueryCache = ConfigurationHelper.getBoolean(AvailableSettings.USE_QUERY_CACHE, properties);
 		if ( debugEnabled ) {
 			LOG.debugf( "Query cache: %s", enabledDisabled(useQueryCache) );
@@ -288,6 +339,26 @@ public class SettingsFactory implements Serializable {
 		settings.setQueryCacheEnabled( useQueryCache );
 		if (useQueryCache) {
 			settings.setQueryCacheFactory( createQueryCacheFactory( properties, serviceRegistry ) );
+			final String idInvalidationRegions = ConfigurationHelper.getString(
+					AvailableSettings.QUERY_CACHE_ID_INVALIDATION_REGIONS, properties
+			);
+			if ( StringHelper.isNotEmpty( idInvalidationRegions ) ) {
+				final Set<String> regionNames = new HashSet<String>();
+				for ( String regionName : StringHelper.split( ", ", idInvalidationRegions ) ) {
+					regionNames.add( regionName );
+				}
+				if ( debugEnabled ) {
+					LOG.debugf( "Query cache regions invalidated by entity id: %s", regionNames );
+				}
+				settings.setQueryCacheIdInvalidationRegions( regionNames );
+			}
+			final boolean useLocalUpdateTimestamps = ConfigurationHelper.getBoolean(
+					AvailableSettings.USE_LOCAL_UPDATE_TIMESTAMPS, properties, false
+			);
+			if ( debugEnabled ) {
+				LOG.debugf( "Local update timestamps: %s", enabledDisabled( useLocalUpdateTimestamps ) );
+			}
+			settings.setLocalUpdateTimestampsEnabled( useLocalUpdateTimestamps );
 		}
 
 		settings.setRegionFactory( serviceRegistry.getService( RegionFactory.class ) );
@@ -315,6 +386,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setStructuredCacheEntriesEnabled( useStructuredCacheEntries );
 
+		boolean useBinaryCacheEntries = ConfigurationHelper.getBoolean( AvailableSettings.USE_BINARY_CACHE_ENTRIES, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Binary second-level cache entries: %s", enabledDisabled(useBinaryCacheEntries) );
+		}
+		settings.setBinaryCacheEntriesEnabled( useBinaryCacheEntries );
+
 		boolean useDirectReferenceCacheEntries = ConfigurationHelper.getBoolean(
 				AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 				properties,
@@ -372,12 +449,28 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDefaultEntityMode( defaultEntityMode );
 
+		boolean generateEntityAccessors = ConfigurationHelper.getBoolean(
+				AvailableSettings.GENERATE_ENTITY_ACCESSORS, properties
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Generated entity accessors: %s", enabledDisabled( generateEntityAccessors ) );
+		}
+		settings.setGenerateEntityAccessorsEnabled( generateEntityAccessors );
+
 		boolean namedQueryChecking = ConfigurationHelper.getBoolean( AvailableSettings.QUERY_STARTUP_CHECKING, properties, true );
 		if ( debugEnabled ) {
 			LOG.debugf( "Named query checking : %s", enabledDisabled(namedQueryChecking) );
 		}
 		settings.setNamedQueryStartupCheckingEnabled( namedQueryChecking );
 
+		final int namedQueryCheckingThreads = ConfigurationHelper.getInt(
+				AvailableSettings.QUERY_STARTUP_CHECKING_THREADS, properties, 1
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Named query checking threads: %s", namedQueryCheckingThreads );
+		}
+		settings.setNamedQueryStartupCheckingThreads( namedQueryCheckingThreads );
+
 		boolean checkNullability = ConfigurationHelper.getBoolean(AvailableSettings.CHECK_NULLABILITY, properties, true);
 		if ( debugEnabled ) {
 			LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled(checkNullability) );
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.IdentifierBagType;
+import org.hibernate.type.ManyToOneType;
+import org.hibernate.type.MapType;
+import org.hibernate.type.Type;
+
+/**
+ * Resolves the entities referenced by the cached state of a one-to-many or many-to-many collection in bulk, before
+ * the collection is assembled from the state.  The entities which are not part of the persistence context are looked
+ * up in the second-level cache with a single {@link org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy#getAll}
+ * call, and the remaining ones are loaded with a select restricting the ids by an IN-list.  Assembling the
+ * collection then only finds entities in the persistence context or consumes the
+ * {@link org.hibernate.engine.spi.BatchFetchQueue#prefetchCacheEntries prefetched} cache entries.
+ *
+ * @see org.hibernate.cache.spi.entry.CollectionCacheEntry
+ */
+public final class CachedCollectionElementLoader {
+	private CachedCollectionElementLoader() {
+	}
+
+	/**
+	 * Resolve the entities referenced by the given cached collection state.
+	 *
+	 * @param persister The collection persister
+	 * @param state The cached (disassembled) collection state
+	 * @param session The session
+	 *
+	 * @return The keys of the entities whose cache entries were prefetched, to be
+	 * {@link org.hibernate.engine.spi.BatchFetchQueue#removePrefetchedCacheEntries removed} once the collection is
+	 * assembled
+	 */
+	public static Set<EntityKey> loadElements(
+			CollectionPersister persister,
+			Serializable[] state,
+			SessionImplementor session) {
+		final Type elementType = persister.getElementType();
+		if ( !( elementType instanceof ManyToOneType ) || !( (EntityType) elementType ).isReferenceToPrimaryKey() ) {
+			return Collections.emptySet();
+		}
+		final EntityPersister elementPersister = session.getFactory().getEntityPersister(
+				( (EntityType) elementType ).getAssociatedEntityName()
+		);
+		if ( !( (EntityType) elementType ).isEager() && elementPersister.hasProxy() ) {
+			// the elements are resolved to proxies anyway
+			return Collections.emptySet();
+		}
+
+		// maps and id-bags cache their keys / ids along with the elements
+		final boolean pairs = persister.getCollectionType() instanceof MapType
+				|| persister.getCollectionType() instanceof IdentifierBagType;
+		final int start = pairs ? 1 : 0;
+		final int step = pairs ? 2 : 1;
+		if ( state.length < start + 2 * step ) {
+			// fewer than two elements
+			return Collections.emptySet();
+		}
+
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final Map<EntityKey, Serializable> unresolved = new LinkedHashMap<EntityKey, Serializable>();
+		for ( int i = start; i < state.length; i += step ) {
+			if ( state[i] == null ) {
+				continue;
+			}
+			final Serializable id = (Serializable) elementPersister.getIdentifierType().assemble( state[i], session, null );
+			final EntityKey key = session.generateEntityKey( id, elementPersister );
+			if ( persistenceContext.getEntity( key ) == null ) {
+				unresolved.put( key, id );
+			}
+		}
+
+		final Set<EntityKey> prefetched = persistenceContext.getBatchFetchQueue().prefetchCacheEntries(
+				elementPersister,
+				unresolved.keySet()
+		);
+		if ( elementPersister instanceof OuterJoinLoadable && unresolved.size() - prefetched.size() > 1 ) {
+			final List<Serializable> idsToLoad = new ArrayList<Serializable>( unresolved.size() - prefetched.size() );
+			for ( Map.Entry<EntityKey, Serializable> entry : unresolved.entrySet() ) {
+				if ( !prefetched.contains( entry.getKey() ) ) {
+					idsToLoad.add( entry.getValue() );
+				}
+			}
+			final int inExpressionCountLimit = session.getFactory().getDialect().getInExpressionCountLimit();
+			DynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(
+					(OuterJoinLoadable) elementPersister,
+					idsToLoad.toArray( new Serializable[idsToLoad.size()] ),
+					inExpressionCountLimit > 0 ? Math.min( inExpressionCountLimit, idsToLoad.size() ) : idsToLoad.size(),
+					LockOptions.NONE,
+					session
+			);
+		}
+		return prefetched;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Collects the second-level cache puts of the entities initialized by a single load, so that they can be written
+ * with one {@link BulkEntityRegionAccessStrategy#putAllFromLoad} call per region rather than one call per entity.
+ *
+ * @see TwoPhaseLoad#initializeEntity(Object, boolean, SessionImplementor, org.hibernate.event.spi.PreLoadEvent, EntityCachePutBatch)
+ */
+public class EntityCachePutBatch {
+	private final Map<EntityRegionAccessStrategy, Puts> puts = new LinkedHashMap<EntityRegionAccessStrategy, Puts>();
+	private final Map<EntityRegionAccessStrategy, Puts> minimalPuts = new LinkedHashMap<EntityRegionAccessStrategy, Puts>();
+
+	/**
+	 * Queue a put.
+	 *
+	 * @param accessStrategy The access strategy of the entity's region
+	 * @param key The item key
+	 * @param value The (structured) cache entry
+	 * @param version The item's version value
+	 * @param minimalPut Whether to use minimal-put semantic for the item
+	 */
+	public void add(
+			EntityRegionAccessStrategy accessStrategy,
+			CacheKey key,
+			Object value,
+			Object version,
+			boolean minimalPut) {
+		final Map<EntityRegionAccessStrategy, Puts> map = minimalPut ? minimalPuts : puts;
+		Puts regionPuts = map.get( accessStrategy );
+		if ( regionPuts == null ) {
+			regionPuts = new Puts();
+			map.put( accessStrategy, regionPuts );
+		}
+		regionPuts.keys.add( key );
+		regionPuts.values.add( value );
+		regionPuts.versions.add( version );
+	}
+
+	/**
+	 * Perform (and then forget) the queued puts.
+	 *
+	 * @param session The session which loaded the entities
+	 */
+	public void execute(SessionImplementor session) {
+		execute( puts, false, session );
+		execute( minimalPuts, true, session );
+	}
+
+	private static void execute(
+			Map<EntityRegionAccessStrategy, Puts> map,
+			boolean minimalPut,
+			SessionImplementor session) {
+		if ( map.isEmpty() ) {
+			return;
+		}
+		final SessionFactoryImplementor factory = session.getFactory();
+		for ( Map.Entry<EntityRegionAccessStrategy, Puts> entry : map.entrySet() ) {
+			final EntityRegionAccessStrategy accessStrategy = entry.getKey();
+			final Puts regionPuts = entry.getValue();
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			final long start = stats ? System.nanoTime() : 0;
+			final int put = putAll( accessStrategy, regionPuts, session.getTimestamp(), minimalPut );
+			if ( stats ) {
+				final String regionName = accessStrategy.getRegion().getName();
+				factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+				for ( int i = 0; i < put; i++ ) {
+					factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+				}
+			}
+		}
+		map.clear();
+	}
+
+	/**
+	 * Put the items with a single call if the access strategy supports it, or one item at a time otherwise.
+	 */
+	private static int putAll(
+			EntityRegionAccessStrategy accessStrategy,
+			Puts regionPuts,
+			long txTimestamp,
+			boolean minimalPut) {
+		if ( accessStrategy instanceof BulkEntityRegionAccessStrategy ) {
+			return ( (BulkEntityRegionAccessStrategy) accessStrategy ).putAllFromLoad(
+					regionPuts.keys.toArray(),
+					regionPuts.values.toArray(),
+					txTimestamp,
+					regionPuts.versions.toArray(),
+					minimalPut
+			);
+		}
+		int put = 0;
+		for ( int i = 0; i < regionPuts.keys.size(); i++ ) {
+			if ( accessStrategy.putFromLoad(
+					regionPuts.keys.get( i ),
+					regionPuts.values.get( i ),
+					txTimestamp,
+					regionPuts.versions.get( i ),
+					minimalPut
+			) ) {
+				put++;
+			}
+		}
+		return put;
+	}
+
+	private static class Puts {
+		private final List<Object> keys = new ArrayList<Object>();
+		private final List<Object> values = new ArrayList<Object>();
+		private final List<Object> versions = new ArrayList<Object>();
+	}
+}
@@ -51,6 +51,7 @@ import org.hibernate.PersistentObjectException;
 import org.hibernate.TransientObjectException;
 import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -71,6 +72,7 @@ import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -149,6 +151,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	private boolean defaultReadOnly;
 	private boolean hasNonReadOnlyEntities;
+	private boolean readOnlyMode;
 
 	private LoadContexts loadContexts;
 	private BatchFetchQueue batchFetchQueue;
@@ -162,18 +165,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SessionImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitiesByKey = new OpenAddressingHashMap<EntityKey, Object>( INIT_COLL_SIZE );
 		entitiesByUniqueKey = new HashMap<EntityUniqueKey, Object>( INIT_COLL_SIZE );
 		//noinspection unchecked
 		proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>( INIT_COLL_SIZE, .75f, 1, ConcurrentReferenceHashMap.ReferenceType.STRONG, ConcurrentReferenceHashMap.ReferenceType.WEAK, null );
-		entitySnapshotsByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitySnapshotsByKey = new OpenAddressingHashMap<EntityKey, Object>( INIT_COLL_SIZE );
 
 		entityEntryContext = new EntityEntryContext();
 //		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		parentsByChild = new IdentityHashMap<Object,Object>( INIT_COLL_SIZE );
 
-		collectionsByKey = new HashMap<CollectionKey, PersistentCollection>( INIT_COLL_SIZE );
+		collectionsByKey = new OpenAddressingHashMap<CollectionKey, PersistentCollection>( INIT_COLL_SIZE );
 		arrayHolders = new IdentityHashMap<Object, PersistentCollection>( INIT_COLL_SIZE );
 
 		nullifiableEntityKeys = new HashSet<EntityKey>();
@@ -227,6 +230,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public void clear() {
+		if ( batchFetchQueue != null ) {
+			// first, while the proxies can still tell which batch-fetched entities were used
+			batchFetchQueue.clear();
+		}
 		for ( Object o : proxiesByKey.values() ) {
 			if ( o == null ) {
 				//entry may be GCd
@@ -251,10 +258,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 		proxiesByKey.clear();
 		nullifiableEntityKeys.clear();
-		if ( batchFetchQueue != null ) {
-			batchFetchQueue.clear();
-		}
-		// defaultReadOnly is unaffected by clear()
+		// defaultReadOnly and readOnlyMode are unaffected by clear()
 		hasNonReadOnlyEntities = false;
 		if ( loadContexts != null ) {
 			loadContexts.cleanup();
@@ -269,9 +273,25 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public void setDefaultReadOnly(boolean defaultReadOnly) {
+		if ( readOnlyMode && !defaultReadOnly ) {
+			throw new IllegalStateException( "Cannot make entities modifiable by default in a read-only session" );
+		}
 		this.defaultReadOnly = defaultReadOnly;
 	}
 
+	@Override
+	public boolean isReadOnlyMode() {
+		return readOnlyMode;
+	}
+
+	@Override
+	public void setReadOnlyMode(boolean readOnlyMode) {
+		this.readOnlyMode = readOnlyMode;
+		if ( readOnlyMode ) {
+			this.defaultReadOnly = true;
+		}
+	}
+
 	@Override
 	public boolean hasNonReadOnlyEntities() {
 		return hasNonReadOnlyEntities;
@@ -1270,6 +1290,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		if ( isReadOnly( object ) == readOnly ) {
 			return;
 		}
+		if ( readOnlyMode && !readOnly ) {
+			throw new IllegalStateException( "Cannot make an entity modifiable in a read-only session" );
+		}
 		if ( object instanceof HibernateProxy ) {
 			final HibernateProxy proxy = (HibernateProxy) object;
 			setProxyReadOnly( proxy, readOnly );
@@ -1346,6 +1369,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		oos.writeBoolean( defaultReadOnly );
 		oos.writeBoolean( hasNonReadOnlyEntities );
+		oos.writeBoolean( readOnlyMode );
 
 		oos.writeInt( entitiesByKey.size() );
 		if ( tracing ) {
@@ -1450,12 +1474,13 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			rtn.defaultReadOnly = ois.readBoolean();
 			// todo : we can actually just determine this from the incoming EntityEntry-s
 			rtn.hasNonReadOnlyEntities = ois.readBoolean();
+			rtn.readOnlyMode = ois.readBoolean();
 
 			int count = ois.readInt();
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = new OpenAddressingHashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, session ), ois.readObject() );
 			}
@@ -1501,7 +1526,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitySnapshotsByKey entries" );
 			}
-			rtn.entitySnapshotsByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitySnapshotsByKey = new OpenAddressingHashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, session ), ois.readObject() );
 			}
@@ -1512,7 +1537,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] collectionsByKey entries" );
 			}
-			rtn.collectionsByKey = new HashMap<CollectionKey,PersistentCollection>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.collectionsByKey = new OpenAddressingHashMap<CollectionKey,PersistentCollection>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.collectionsByKey.put( CollectionKey.deserialize( ois, session ), (PersistentCollection) ois.readObject() );
 			}
@@ -1668,6 +1693,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				return;
 			}
 
+			invalidateNegativeNaturalIdCache( persister, source );
+
 			if ( !persister.hasNaturalIdCache() ) {
 				// nothing to do
 				return;
@@ -1680,6 +1707,29 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			managedSharedCacheEntries( persister, id, naturalIdValues, previousNaturalIdValues, source );
 		}
 
+		private void invalidateNegativeNaturalIdCache(final EntityPersister persister, CachedNaturalIdValueSource source) {
+			final NaturalIdNegativeCache negativeCache = session.getFactory().getNaturalIdNegativeCache();
+			if ( negativeCache == null ) {
+				return;
+			}
+			final boolean naturalIdAdded = source == CachedNaturalIdValueSource.INSERT
+					|| ( source == CachedNaturalIdValueSource.UPDATE && !persister.getEntityMetamodel().hasImmutableNaturalId() );
+			if ( !naturalIdAdded ) {
+				return;
+			}
+
+			// other transactions may look the natural id up (and miss it) until this one completes
+			negativeCache.invalidate( persister );
+			( (EventSource) session ).getActionQueue().registerProcess(
+					new AfterTransactionCompletionProcess() {
+						@Override
+						public void doAfterTransactionCompletion(boolean success, SessionImplementor session) {
+							negativeCache.invalidate( persister );
+						}
+					}
+			);
+		}
+
 		private void managedSharedCacheEntries(
 				EntityPersister persister,
 				final Serializable id,
@@ -136,12 +136,31 @@ public final class TwoPhaseLoad {
 			final boolean readOnly,
 			final SessionImplementor session,
 			final PreLoadEvent preLoadEvent) {
+		initializeEntity( entity, readOnly, session, preLoadEvent, null );
+	}
+
+	/**
+	 * Perform the second step of 2-phase load, as {@link #initializeEntity(Object, boolean, SessionImplementor, PreLoadEvent)},
+	 * but queue the put of the entity into the second-level cache on the given batch instead of performing it.
+	 *
+	 * @param entity The entity being loaded
+	 * @param readOnly Is the entity being loaded as read-only
+	 * @param session The Session
+	 * @param preLoadEvent The (re-used) pre-load event
+	 * @param cachePutBatch The batch collecting the cache puts; {@code null} to put immediately
+	 */
+	public static void initializeEntity(
+			final Object entity,
+			final boolean readOnly,
+			final SessionImplementor session,
+			final PreLoadEvent preLoadEvent,
+			final EntityCachePutBatch cachePutBatch) {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityEntry entityEntry = persistenceContext.getEntry( entity );
 		if ( entityEntry == null ) {
 			throw new AssertionFailure( "possible non-threadsafe access to the session" );
 		}
-		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent );
+		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent, cachePutBatch );
 	}
 
 	private static void doInitializeEntity(
@@ -149,7 +168,8 @@ public final class TwoPhaseLoad {
 			final EntityEntry entityEntry,
 			final boolean readOnly,
 			final SessionImplementor session,
-			final PreLoadEvent preLoadEvent) throws HibernateException {
+			final PreLoadEvent preLoadEvent,
+			final EntityCachePutBatch cachePutBatch) throws HibernateException {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityPersister persister = entityEntry.getPersister();
 		final Serializable id = entityEntry.getId();
@@ -215,7 +235,18 @@ public final class TwoPhaseLoad {
 						version
 				);
 			}
+			else if ( cachePutBatch != null ) {
+				cachePutBatch.add(
+						persister.getCacheAccessStrategy(),
+						cacheKey,
+						persister.getCacheEntryStructure().structure( entry ),
+						version,
+						useMinimalPuts( session, entityEntry )
+				);
+			}
 			else {
+				final boolean stats = factory.getStatistics().isStatisticsEnabled();
+				final long start = stats ? System.nanoTime() : 0;
 				final boolean put = persister.getCacheAccessStrategy().putFromLoad(
 						cacheKey,
 						persister.getCacheEntryStructure().structure( entry ),
@@ -224,8 +255,12 @@ public final class TwoPhaseLoad {
 						useMinimalPuts( session, entityEntry )
 				);
 
-				if ( put && factory.getStatistics().isStatisticsEnabled() ) {
-					factory.getStatisticsImplementor().secondLevelCachePut( persister.getCacheAccessStrategy().getRegion().getName() );
+				if ( stats ) {
+					final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+					factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+					if ( put ) {
+						factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+					}
 				}
 			}
 		}
@@ -0,0 +1,328 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A proxy for a forward-only ResultSet whose rows were read completely into memory, so that they can be processed
+ * after the statement and connection that produced them have been closed (possibly by another thread).
+ * <p/>
+ * Only columns holding plain values are supported; {@link #cache} refuses result sets containing LOB, array or
+ * structured columns, since those values are only usable while the originating connection is open.
+ */
+public class CachedResultSetProxy implements InvocationHandler {
+	private static final Class[] PROXY_INTERFACES = new Class[] { ResultSet.class };
+
+	private final int columnCount;
+	private final Map<String,Integer> columnIndexes;
+	private final List<Object[]> rows;
+	private int position = -1;
+	private boolean wasNull;
+	private boolean closed;
+
+	private CachedResultSetProxy(int columnCount, Map<String,Integer> columnIndexes, List<Object[]> rows) {
+		this.columnCount = columnCount;
+		this.columnIndexes = columnIndexes;
+		this.rows = rows;
+	}
+
+	/**
+	 * Reads the remaining rows of the given ResultSet into memory.  The given ResultSet is not closed.
+	 *
+	 * @param resultSet The ResultSet to read.
+	 *
+	 * @return A proxy over the cached rows, or {@code null} if the ResultSet holds columns that cannot be cached.
+	 *
+	 * @throws SQLException Indicates a problem reading the ResultSet
+	 */
+	public static ResultSet cache(ResultSet resultSet) throws SQLException {
+		final ResultSetMetaData metaData = resultSet.getMetaData();
+		final int columnCount = metaData.getColumnCount();
+		final int[] columnTypes = new int[columnCount];
+		final Map<String,Integer> columnIndexes = new HashMap<String, Integer>();
+		for ( int i = 0; i < columnCount; i++ ) {
+			columnTypes[i] = metaData.getColumnType( i + 1 );
+			if ( !isCacheable( columnTypes[i] ) ) {
+				return null;
+			}
+			final String label = metaData.getColumnLabel( i + 1 ).toUpperCase( Locale.ENGLISH );
+			// like ResultSet#findColumn, the first column with a given label wins
+			if ( !columnIndexes.containsKey( label ) ) {
+				columnIndexes.put( label, i );
+			}
+		}
+
+		final List<Object[]> rows = new ArrayList<Object[]>();
+		while ( resultSet.next() ) {
+			final Object[] row = new Object[columnCount];
+			for ( int i = 0; i < columnCount; i++ ) {
+				row[i] = readValue( resultSet, i + 1, columnTypes[i] );
+			}
+			rows.add( row );
+		}
+
+		return (ResultSet) Proxy.newProxyInstance(
+				ResultSetWrapperProxy.getProxyClassLoader(),
+				PROXY_INTERFACES,
+				new CachedResultSetProxy( columnCount, columnIndexes, rows )
+		);
+	}
+
+	private static boolean isCacheable(int columnType) {
+		switch ( columnType ) {
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.ARRAY:
+			case Types.STRUCT:
+			case Types.REF:
+			case Types.DATALINK:
+			case Types.SQLXML:
+			case Types.JAVA_OBJECT:
+			case Types.OTHER:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	private static Object readValue(ResultSet resultSet, int columnIndex, int columnType) throws SQLException {
+		switch ( columnType ) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+				return resultSet.getString( columnIndex );
+			case Types.BINARY:
+			case Types.VARBINARY:
+			case Types.LONGVARBINARY:
+				return resultSet.getBytes( columnIndex );
+			case Types.DATE:
+				return resultSet.getDate( columnIndex );
+			case Types.TIME:
+				return resultSet.getTime( columnIndex );
+			case Types.TIMESTAMP:
+				return resultSet.getTimestamp( columnIndex );
+			default:
+				return resultSet.getObject( columnIndex );
+		}
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		final String methodName = method.getName();
+		if ( "next".equals( methodName ) ) {
+			checkOpen();
+			if ( position < rows.size() ) {
+				position++;
+			}
+			return position < rows.size();
+		}
+		if ( "wasNull".equals( methodName ) ) {
+			return wasNull;
+		}
+		if ( "findColumn".equals( methodName ) ) {
+			return columnIndex( args[0] ) + 1;
+		}
+		if ( methodName.startsWith( "get" ) && args != null && args.length > 0
+				&& ( args[0] instanceof Integer || args[0] instanceof String ) ) {
+			checkOpen();
+			if ( position < 0 || position >= rows.size() ) {
+				throw new SQLException( "ResultSet is not positioned on a row" );
+			}
+			final Object value = rows.get( position )[ columnIndex( args[0] ) ];
+			wasNull = value == null;
+			final Class targetType = args.length == 2 && args[1] instanceof Class
+					? (Class) args[1]
+					: method.getReturnType();
+			return convert( value, targetType );
+		}
+		if ( "close".equals( methodName ) ) {
+			closed = true;
+			return null;
+		}
+		if ( "isClosed".equals( methodName ) ) {
+			return closed;
+		}
+		if ( "getRow".equals( methodName ) ) {
+			return position < rows.size() ? position + 1 : 0;
+		}
+		if ( "getType".equals( methodName ) ) {
+			return ResultSet.TYPE_FORWARD_ONLY;
+		}
+		if ( "getConcurrency".equals( methodName ) ) {
+			return ResultSet.CONCUR_READ_ONLY;
+		}
+		if ( "getStatement".equals( methodName )
+				|| "getWarnings".equals( methodName )
+				|| "clearWarnings".equals( methodName )
+				|| "setFetchSize".equals( methodName ) ) {
+			return null;
+		}
+		if ( "getFetchSize".equals( methodName ) ) {
+			return 0;
+		}
+		if ( "isWrapperFor".equals( methodName ) ) {
+			return false;
+		}
+		if ( "hashCode".equals( methodName ) ) {
+			return System.identityHashCode( proxy );
+		}
+		if ( "equals".equals( methodName ) ) {
+			return proxy == args[0];
+		}
+		if ( "toString".equals( methodName ) ) {
+			return "CachedResultSet(" + rows.size() + " rows)";
+		}
+		throw new SQLFeatureNotSupportedException( "Not supported by a cached ResultSet : " + methodName );
+	}
+
+	private void checkOpen() throws SQLException {
+		if ( closed ) {
+			throw new SQLException( "ResultSet is closed" );
+		}
+	}
+
+	private int columnIndex(Object column) throws SQLException {
+		if ( column instanceof Integer ) {
+			final int index = (Integer) column;
+			if ( index < 1 || index > columnCount ) {
+				throw new SQLException( "Invalid column index : " + index );
+			}
+			return index - 1;
+		}
+		final Integer index = columnIndexes.get( ( (String) column ).toUpperCase( Locale.ENGLISH ) );
+		if ( index == null ) {
+			throw new SQLException( "Invalid column name : " + column );
+		}
+		return index;
+	}
+
+	private static Object convert(Object value, Class targetType) throws SQLException {
+		if ( targetType.isPrimitive() ) {
+			return convertToPrimitive( value, targetType );
+		}
+		if ( value == null || targetType == Object.class || targetType.isInstance( value ) ) {
+			return value;
+		}
+		if ( targetType == String.class ) {
+			return value.toString();
+		}
+		if ( targetType == BigDecimal.class ) {
+			return new BigDecimal( value.toString() );
+		}
+		if ( value instanceof java.util.Date ) {
+			final long time = ( (java.util.Date) value ).getTime();
+			if ( targetType == java.sql.Timestamp.class ) {
+				return new java.sql.Timestamp( time );
+			}
+			if ( targetType == java.sql.Date.class ) {
+				return new java.sql.Date( time );
+			}
+			if ( targetType == java.sql.Time.class ) {
+				return new java.sql.Time( time );
+			}
+		}
+		if ( targetType == java.io.InputStream.class ) {
+			return new ByteArrayInputStream( value instanceof byte[] ? (byte[]) value : value.toString().getBytes() );
+		}
+		if ( targetType == java.io.Reader.class ) {
+			return new StringReader( value.toString() );
+		}
+		throw new SQLException( "Cannot convert " + value.getClass().getName() + " to " + targetType.getName() );
+	}
+
+	private static Object convertToPrimitive(Object value, Class targetType) throws SQLException {
+		if ( targetType == boolean.class ) {
+			if ( value == null ) {
+				return false;
+			}
+			if ( value instanceof Boolean ) {
+				return value;
+			}
+			if ( value instanceof Number ) {
+				return ( (Number) value ).intValue() != 0;
+			}
+			final String string = value.toString().trim();
+			return "1".equals( string ) || Boolean.valueOf( string );
+		}
+
+		final Number number;
+		if ( value == null ) {
+			number = 0;
+		}
+		else if ( value instanceof Number ) {
+			number = (Number) value;
+		}
+		else if ( value instanceof Boolean ) {
+			number = (Boolean) value ? 1 : 0;
+		}
+		else {
+			try {
+				number = new BigDecimal( value.toString().trim() );
+			}
+			catch ( NumberFormatException e ) {
+				throw new SQLException( "Cannot convert [" + value + "] to " + targetType.getName() );
+			}
+		}
+
+		if ( targetType == int.class ) {
+			return number.intValue();
+		}
+		if ( targetType == long.class ) {
+			return number.longValue();
+		}
+		if ( targetType == short.class ) {
+			return number.shortValue();
+		}
+		if ( targetType == byte.class ) {
+			return number.byteValue();
+		}
+		if ( targetType == double.class ) {
+			return number.doubleValue();
+		}
+		if ( targetType == float.class ) {
+			return number.floatValue();
+		}
+		throw new SQLException( "Cannot convert [" + value + "] to " + targetType.getName() );
+	}
+}
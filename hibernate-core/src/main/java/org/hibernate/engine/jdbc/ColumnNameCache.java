@@ -29,7 +29,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Cache of column-name -> column-index resolutions
+ * Cache of column-name -> column-index resolutions.  A loader shares its cache among all the result sets it reads,
+ * concurrently; lookups never lock.
  *
  * @author Steve Ebersole
  */
@@ -79,6 +79,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	private transient Batch currentBatch;
 
 	private transient long transactionTimeOutInstant = -1;
+	private transient boolean executedWrites;
 
 	private final HashMap<Statement,Set<ResultSet>> xref = new HashMap<Statement,Set<ResultSet>>();
 	private final Set<ResultSet> unassociatedResultSets = new HashSet<ResultSet>();
@@ -207,6 +208,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			}
 		}
 		currentBatch = batchBuilder().buildBatch( key, this );
+		beforeWriteExecution();
 		return currentBatch;
 	}
 
@@ -279,9 +281,20 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		}
 	}
 
+	@Override
+	public void beforeWriteExecution() {
+		executedWrites = true;
+	}
+
+	@Override
+	public boolean hasExecutedWrites() {
+		return executedWrites;
+	}
+
 	@Override
 	public void afterTransaction() {
 		transactionTimeOutInstant = -1;
+		executedWrites = false;
 		if ( connectionReleaseMode() == ConnectionReleaseMode.AFTER_STATEMENT ||
 				connectionReleaseMode() == ConnectionReleaseMode.AFTER_TRANSACTION ) {
 			if ( hasRegisteredResources() ) {
@@ -136,6 +136,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	
 	@Override
 	public int executeUpdate( PreparedStatement statement ) {
+		jdbcCoordinator.beforeWriteExecution();
 		try {
 			return statement.executeUpdate();
 		}
@@ -148,6 +149,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	public int executeUpdate( Statement statement, String sql ) {
 		jdbcCoordinator.getLogicalConnection().getJdbcServices()
 				.getSqlStatementLogger().logStatement( sql );
+		jdbcCoordinator.beforeWriteExecution();
 		try {
 			return statement.executeUpdate( sql );
 		}
@@ -124,6 +124,20 @@ public interface JdbcCoordinator extends Serializable {
 	 */
 	public void afterStatementExecution();
 
+	/**
+	 * Used to signify that a statement modifying data is about to be executed, either directly or as part of a
+	 * {@link #getBatch batch}.
+	 */
+	public void beforeWriteExecution();
+
+	/**
+	 * Has a statement modifying data been executed since the end of the last transaction?  Such changes are not
+	 * visible to other connections until the transaction commits.
+	 *
+	 * @return True if data has been modified; false otherwise.
+	 */
+	public boolean hasExecutedWrites();
+
 	/**
 	 * Perform the requested work handling exceptions, coordinating and handling return processing.
 	 *
@@ -348,6 +348,8 @@ public class CollectionLoadContext {
 
 		final CollectionCacheEntry entry = new CollectionCacheEntry( lce.getCollection(), persister );
 		final CacheKey cacheKey = session.generateCacheKey( lce.getKey(), persister.getKeyType(), persister.getRole() );
+		final boolean stats = factory.getStatistics().isStatisticsEnabled();
+		final long start = stats ? System.nanoTime() : 0;
 		final boolean put = persister.getCacheAccessStrategy().putFromLoad(
 				cacheKey,
 				persister.getCacheEntryStructure().structure( entry ),
@@ -356,8 +358,12 @@ public class CollectionLoadContext {
 				factory.getSettings().isMinimalPutsEnabled() && session.getCacheMode()!= CacheMode.REFRESH
 		);
 
-		if ( put && factory.getStatistics().isStatisticsEnabled() ) {
-			factory.getStatisticsImplementor().secondLevelCachePut( persister.getCacheAccessStrategy().getRegion().getName() );
+		if ( stats ) {
+			final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+			factory.getStatisticsImplementor().secondLevelCachePutTime( regionName, System.nanoTime() - start );
+			if ( put ) {
+				factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+			}
 		}
 	}
 
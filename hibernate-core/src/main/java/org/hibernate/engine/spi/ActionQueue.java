@@ -28,6 +28,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,6 +47,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
 import org.hibernate.action.internal.EntityInsertAction;
@@ -57,6 +59,7 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
@@ -463,8 +466,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set<Serializable> propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				if ( session.getFactory().getUpdateTimestampsCache().isTrackingEntityIds() ) {
+					invalidateSpacesAndEntities( list );
+				}
+				else {
+					Set<Serializable> propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( propertySpaces.toArray( new Serializable[propertySpaces.size()] ) );
+				}
 			}
 		}
 
@@ -499,6 +507,41 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Like {@link #invalidateSpaces}, but for query cache regions invalidated by entity id, invalidates the spaces
+	 * of updated and deleted entities only for those entities.
+	 *
+	 * @param list The executed actions
+	 */
+	private <E extends Executable & Comparable<?> & Serializable> void invalidateSpacesAndEntities(ExecutableList<E> list) {
+		final Set<Serializable> spaces = new HashSet<Serializable>();
+		final Map<Serializable, BitSet> idBucketsBySpace = new HashMap<Serializable, BitSet>();
+		for ( E executable : list ) {
+			if ( executable instanceof EntityUpdateAction || executable instanceof EntityDeleteAction ) {
+				final EntityAction action = (EntityAction) executable;
+				final int bucket = UpdateTimestampsCache.idBucket(
+						action.getPersister().getIdentifierType().getHashCode( action.getId(), session.getFactory() )
+				);
+				for ( Serializable space : action.getPropertySpaces() ) {
+					BitSet buckets = idBucketsBySpace.get( space );
+					if ( buckets == null ) {
+						buckets = new BitSet( UpdateTimestampsCache.ID_BUCKETS );
+						idBucketsBySpace.put( space, buckets );
+					}
+					buckets.set( bucket );
+				}
+			}
+			else {
+				Collections.addAll( spaces, executable.getPropertySpaces() );
+			}
+		}
+		invalidateSpaces( spaces.toArray( new Serializable[spaces.size()] ) );
+		if ( !idBucketsBySpace.isEmpty() ) {
+			afterTransactionProcesses.addEntitiesToInvalidate( idBucketsBySpace );
+			session.getFactory().getUpdateTimestampsCache().preinvalidateEntities( idBucketsBySpace );
+		}
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 * 
@@ -687,6 +730,8 @@ public class ActionQueue {
 	private static class AfterTransactionCompletionProcessQueue {
 		private SessionImplementor session;
 		private Set<String> querySpacesToInvalidate = new HashSet<String>();
+		// the buckets of the ids of updated and deleted entities, when tracked (see UpdateTimestampsCache)
+		private Map<Serializable, BitSet> entityIdBucketsToInvalidate = new HashMap<Serializable, BitSet>();
 		// Concurrency handling required when transaction completion process is dynamically registered
 		// inside event listener (HHH-7478).
 		private Queue<AfterTransactionCompletionProcess> processes = new ConcurrentLinkedQueue<AfterTransactionCompletionProcess>();
@@ -699,6 +744,18 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addEntitiesToInvalidate(Map<Serializable, BitSet> idBucketsBySpace) {
+			for ( Map.Entry<Serializable, BitSet> entry : idBucketsBySpace.entrySet() ) {
+				final BitSet buckets = entityIdBucketsToInvalidate.get( entry.getKey() );
+				if ( buckets == null ) {
+					entityIdBucketsToInvalidate.put( entry.getKey(), (BitSet) entry.getValue().clone() );
+				}
+				else {
+					buckets.or( entry.getValue() );
+				}
+			}
+		}
+
 		public void register(AfterTransactionCompletionProcess process) {
 			if ( process == null ) {
 				return;
@@ -723,8 +780,12 @@ public class ActionQueue {
 
 			if ( session.getFactory().getSettings().isQueryCacheEnabled() ) {
 				session.getFactory().getUpdateTimestampsCache().invalidate( querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ) );
+				if ( !entityIdBucketsToInvalidate.isEmpty() ) {
+					session.getFactory().getUpdateTimestampsCache().invalidateEntities( entityIdBucketsToInvalidate );
+				}
 			}
 			querySpacesToInvalidate.clear();
+			entityIdBucketsToInvalidate.clear();
 		}
 	}
 
@@ -24,20 +24,31 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Map.Entry;
 
 import org.jboss.logging.Logger;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.loader.AdaptiveBatchSizer;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
 
 /**
  * Tracks entity and collection keys that are available for batch
@@ -75,6 +86,18 @@ public class BatchFetchQueue {
 	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
 			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
 
+	/**
+	 * Second-level cache entries read in bulk by {@link #prefetchCacheEntries}, waiting to be consumed by the loads
+	 * of the corresponding entities.
+	 */
+	private final Map<EntityKey, Object> prefetchedCacheEntries = new HashMap<EntityKey, Object>(8);
+
+	/**
+	 * The batch loads performed by {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE} loaders since this queue was
+	 * last cleared, per role; created lazily.
+	 */
+	private Map<AdaptiveBatchSizer, AdaptiveBatchDemand> adaptiveBatchDemands;
+
 	/**
 	 * Constructs a queue for the given context.
 	 *
@@ -90,9 +113,120 @@ public class BatchFetchQueue {
 	 * Called after flushing or clearing the session.
 	 */
 	public void clear() {
+		recordAdaptiveBatchDemands();
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		prefetchedCacheEntries.clear();
+	}
+
+
+	// adaptive batch sizing ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Determine the size of the next batch load of the given role.  Within a unit of work which already batch
+	 * loaded the role, the size of the previous batch load is escalated.
+	 *
+	 * @param sizer The sizer of the role
+	 *
+	 * @return The batch size to use
+	 */
+	public int getAdaptiveBatchSize(AdaptiveBatchSizer sizer) {
+		final AdaptiveBatchDemand demand = adaptiveBatchDemands == null ? null : adaptiveBatchDemands.get( sizer );
+		return demand == null ? sizer.getBatchSize() : sizer.escalate( demand.lastBatchSize );
+	}
+
+	/**
+	 * Record an adaptive load of entities.  Whether the entities loaded along with the requested one are actually
+	 * used is determined, through their proxies, when this queue is cleared.  A lone load which had nothing to
+	 * batch is only recorded as the continuation of earlier batch loads of the entity in this unit of work.
+	 *
+	 * @param sizer The sizer of the entity
+	 * @param batchSize The batch size which was used
+	 * @param persister The entity persister
+	 * @param id The identifier of the requested entity
+	 * @param ids The identifiers of all entities loaded
+	 */
+	public void recordAdaptiveEntityBatch(
+			AdaptiveBatchSizer sizer,
+			int batchSize,
+			EntityPersister persister,
+			Serializable id,
+			Serializable[] ids) {
+		if ( ids.length <= 1 && !hasAdaptiveBatchDemand( sizer ) ) {
+			return;
+		}
+		final AdaptiveBatchDemand demand = locateAdaptiveBatchDemand( sizer );
+		if ( ids.length > 1 ) {
+			demand.lastBatchSize = batchSize;
+		}
+		demand.initialized++;
+		for ( Serializable sibling : ids ) {
+			if ( !persister.getIdentifierType().isEqual( id, sibling ) ) {
+				demand.siblings.add( context.getSession().generateEntityKey( sibling, persister ) );
+			}
+		}
+	}
+
+	/**
+	 * Record an adaptive load of collections.  All collections loaded count as used.  A lone load which had
+	 * nothing to batch is only recorded as the continuation of earlier batch loads of the role in this unit of work.
+	 *
+	 * @param sizer The sizer of the collection role
+	 * @param batchSize The batch size which was used
+	 * @param numberOfKeys The number of collections loaded
+	 */
+	public void recordAdaptiveCollectionBatch(AdaptiveBatchSizer sizer, int batchSize, int numberOfKeys) {
+		if ( numberOfKeys <= 1 && !hasAdaptiveBatchDemand( sizer ) ) {
+			return;
+		}
+		final AdaptiveBatchDemand demand = locateAdaptiveBatchDemand( sizer );
+		if ( numberOfKeys > 1 ) {
+			demand.lastBatchSize = batchSize;
+		}
+		demand.initialized += numberOfKeys;
+	}
+
+	private boolean hasAdaptiveBatchDemand(AdaptiveBatchSizer sizer) {
+		return adaptiveBatchDemands != null && adaptiveBatchDemands.containsKey( sizer );
+	}
+
+	private AdaptiveBatchDemand locateAdaptiveBatchDemand(AdaptiveBatchSizer sizer) {
+		if ( adaptiveBatchDemands == null ) {
+			adaptiveBatchDemands = new HashMap<AdaptiveBatchSizer, AdaptiveBatchDemand>();
+		}
+		AdaptiveBatchDemand demand = adaptiveBatchDemands.get( sizer );
+		if ( demand == null ) {
+			demand = new AdaptiveBatchDemand();
+			adaptiveBatchDemands.put( sizer, demand );
+		}
+		return demand;
+	}
+
+	private void recordAdaptiveBatchDemands() {
+		if ( adaptiveBatchDemands == null ) {
+			return;
+		}
+		for ( Map.Entry<AdaptiveBatchSizer, AdaptiveBatchDemand> entry : adaptiveBatchDemands.entrySet() ) {
+			final AdaptiveBatchDemand demand = entry.getValue();
+			int initialized = demand.initialized;
+			for ( EntityKey sibling : demand.siblings ) {
+				final Object proxy = context.getProxy( sibling );
+				// a sibling without a proxy was needed for an association which could not be proxied
+				if ( !( proxy instanceof HibernateProxy )
+						|| !( (HibernateProxy) proxy ).getHibernateLazyInitializer().isUninitialized() ) {
+					initialized++;
+				}
+			}
+			entry.getKey().recordDemand( initialized );
+		}
+		adaptiveBatchDemands = null;
+	}
+
+	private static class AdaptiveBatchDemand {
+		private final List<EntityKey> siblings = new ArrayList<EntityKey>();
+		private int initialized;
+		private int lastBatchSize;
 	}
 
 
@@ -192,16 +326,26 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
+			// the keys are checked against the cache batchSize at a time, running ahead of the loop below
+			final Iterator<EntityKey> probeIterator = persister.hasCache() ? set.iterator() : null;
+			final Set<EntityKey> cachedKeys = persister.hasCache() ? new HashSet<EntityKey>() : null;
+			int probed = 0;
 			for ( EntityKey key : set ) {
 				if ( checkForEnd && i == end ) {
 					//the first id found after the given id
 					return ids;
 				}
+				if ( probeIterator != null ) {
+					if ( probed == 0 ) {
+						probed = collectCached( probeIterator, batchSize, persister, id, cachedKeys );
+					}
+					probed--;
+				}
 				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, persister ) ) {
+					if ( cachedKeys == null || !cachedKeys.contains( key ) ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
@@ -216,18 +360,152 @@ public class BatchFetchQueue {
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
-		if ( persister.hasCache() ) {
-			CacheKey key = context.getSession().generateCacheKey(
+	/**
+	 * Checks the next (up to) {@code count} keys of the given iterator against the second-level cache in a
+	 * single {@link BulkEntityRegionAccessStrategy#getAll} call, adding the ones
+	 * which are cached to {@code cachedKeys}.
+	 *
+	 * @return The number of keys the iterator was advanced by
+	 */
+	private int collectCached(
+			Iterator<EntityKey> keys,
+			int count,
+			EntityPersister persister,
+			Serializable id,
+			Set<EntityKey> cachedKeys) {
+		final Map<CacheKey, EntityKey> entityKeysByCacheKey = new HashMap<CacheKey, EntityKey>();
+		int advanced = 0;
+		while ( advanced < count && keys.hasNext() ) {
+			final EntityKey entityKey = keys.next();
+			advanced++;
+			if ( !persister.getIdentifierType().isEqual( id, entityKey.getIdentifier() ) ) {
+				final CacheKey cacheKey = context.getSession().generateCacheKey(
+						entityKey.getIdentifier(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+				entityKeysByCacheKey.put( cacheKey, entityKey );
+			}
+		}
+		if ( !entityKeysByCacheKey.isEmpty() ) {
+			final Map<Object, Object> cached = getAll(
+					persister.getCacheAccessStrategy(),
+					entityKeysByCacheKey.keySet(),
+					context.getSession().getTimestamp()
+			);
+			for ( Object cacheKey : cached.keySet() ) {
+				cachedKeys.add( entityKeysByCacheKey.get( cacheKey ) );
+			}
+		}
+		return advanced;
+	}
+
+	// second-level cache prefetch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Read the second-level cache entries of the given entities with a single
+	 * {@link BulkEntityRegionAccessStrategy#getAll} call.  The entries found are held
+	 * until the entities are loaded, which then {@link #removePrefetchedCacheEntry consume} them instead of reading
+	 * the cache once per entity.  Callers must {@link #removePrefetchedCacheEntries remove} the entries which were
+	 * not consumed once done.
+	 *
+	 * @param persister The persister of the entities
+	 * @param keys The keys of the entities
+	 *
+	 * @return The keys of the entities whose cache entries were found
+	 */
+	public Set<EntityKey> prefetchCacheEntries(EntityPersister persister, Collection<EntityKey> keys) {
+		final SessionImplementor session = context.getSession();
+		if ( keys.isEmpty() || !persister.hasCache() || !session.getCacheMode().isGetEnabled() ) {
+			return Collections.emptySet();
+		}
+		final Map<CacheKey, EntityKey> entityKeysByCacheKey = new HashMap<CacheKey, EntityKey>();
+		for ( EntityKey entityKey : keys ) {
+			final CacheKey cacheKey = session.generateCacheKey(
 					entityKey.getIdentifier(),
 					persister.getIdentifierType(),
-					entityKey.getEntityName()
+					persister.getRootEntityName()
 			);
-			return persister.getCacheAccessStrategy().get( key, context.getSession().getTimestamp() ) != null;
+			entityKeysByCacheKey.put( cacheKey, entityKey );
 		}
-		return false;
+		final SessionFactoryImplementor factory = session.getFactory();
+		final boolean stats = factory.getStatistics().isStatisticsEnabled();
+		final long start = stats ? System.nanoTime() : 0;
+		final Map<Object, Object> cached = getAll(
+				persister.getCacheAccessStrategy(),
+				entityKeysByCacheKey.keySet(),
+				session.getTimestamp()
+		);
+		final long elapsed = stats ? System.nanoTime() - start : 0;
+		final Set<EntityKey> found = new HashSet<EntityKey>();
+		for ( Entry<Object, Object> entry : cached.entrySet() ) {
+			final EntityKey entityKey = entityKeysByCacheKey.get( entry.getKey() );
+			prefetchedCacheEntries.put( entityKey, entry.getValue() );
+			found.add( entityKey );
+		}
+		if ( stats ) {
+			// the hits are recorded by the loads consuming the entries
+			final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+			factory.getStatisticsImplementor().secondLevelCacheGetTime( regionName, elapsed );
+			for ( int i = found.size(); i < entityKeysByCacheKey.size(); i++ ) {
+				factory.getStatisticsImplementor().secondLevelCacheMiss( regionName );
+			}
+		}
+		return found;
 	}
-	
+
+	/**
+	 * Read the given keys with a single call if the access strategy supports it, or one key at a time otherwise.
+	 */
+	private static Map<Object, Object> getAll(
+			EntityRegionAccessStrategy accessStrategy,
+			Collection<CacheKey> keys,
+			long txTimestamp) {
+		if ( accessStrategy instanceof BulkEntityRegionAccessStrategy ) {
+			return ( (BulkEntityRegionAccessStrategy) accessStrategy ).getAll( keys, txTimestamp );
+		}
+		final Map<Object, Object> cached = new HashMap<Object, Object>();
+		for ( CacheKey key : keys ) {
+			final Object entry = accessStrategy.get( key, txTimestamp );
+			if ( entry != null ) {
+				cached.put( key, entry );
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * Are there second-level cache entries read by {@link #prefetchCacheEntries} waiting to be consumed?  Lets the
+	 * loads skip building an {@link EntityKey} just to probe for one.
+	 *
+	 * @return {@code true} if there are prefetched cache entries
+	 */
+	public boolean hasPrefetchedCacheEntries() {
+		return !prefetchedCacheEntries.isEmpty();
+	}
+
+	/**
+	 * Consume a second-level cache entry read by {@link #prefetchCacheEntries}.
+	 *
+	 * @param key The key of the entity being loaded
+	 *
+	 * @return The cache entry, or {@code null} if none was prefetched
+	 */
+	public Object removePrefetchedCacheEntry(EntityKey key) {
+		return prefetchedCacheEntries.isEmpty() ? null : prefetchedCacheEntries.remove( key );
+	}
+
+	/**
+	 * Discard the second-level cache entries read by {@link #prefetchCacheEntries} which were not consumed.
+	 *
+	 * @param keys The keys of the entities
+	 */
+	public void removePrefetchedCacheEntries(Collection<EntityKey> keys) {
+		if ( !prefetchedCacheEntries.isEmpty() ) {
+			prefetchedCacheEntries.keySet().removeAll( keys );
+		}
+	}
+
 
 	// collection batch support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -28,10 +28,12 @@ import java.util.Map;
 
 import org.hibernate.Cache;
 import org.hibernate.HibernateException;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.service.Service;
 
 /**
@@ -75,6 +77,24 @@ public interface CacheImplementor extends Service, Cache, Serializable {
 	 */
 	public UpdateTimestampsCache getUpdateTimestampsCache();
 
+	/**
+	 * Get the queue of the second-level cache operations performed in the background after transaction completion.
+	 *
+	 * @return The queue, or {@code null} if these operations are performed synchronously
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WRITE_BEHIND_THREADS
+	 */
+	public WriteBehindCacheQueue getWriteBehindQueue();
+
+	/**
+	 * Get the cache of the natural ids known to match no entity.
+	 *
+	 * @return The cache, or {@code null} if such misses are not remembered
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#NATURAL_ID_NEGATIVE_CACHE_SIZE
+	 */
+	public NaturalIdNegativeCache getNaturalIdNegativeCache();
+
 	/**
 	 * Clean up the default {@code QueryCache}.
 	 *
@@ -303,8 +303,13 @@ public final class EntityEntry implements Serializable {
 	@SuppressWarnings( {"SimplifiableIfStatement"})
 	private boolean isUnequivocallyNonDirty(Object entity) {
 
-        if(entity instanceof SelfDirtinessTracker)
-            return ((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes();
+		if ( entity instanceof SelfDirtinessTracker && loadedState != null ) {
+			// the enhanced entity tracks its own changes; without a loaded state (reattached via update()) we
+			// cannot rely on that, as changes made while detached were not necessarily tracked.  Values of
+			// mutable types can be changed in place, without the tracker noticing
+			return ! ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes()
+					&& ! getPersister().hasMutableProperties();
+		}
 
 		final CustomEntityDirtinessStrategy customEntityDirtinessStrategy =
 				persistenceContext.getSession().getFactory().getCustomEntityDirtinessStrategy();
@@ -660,6 +660,27 @@ public interface PersistenceContext {
 	 */
 	public void setDefaultReadOnly(boolean readOnly);
 
+	/**
+	 * Is this persistence context in read-only mode?  In read-only mode every entity and proxy is loaded
+	 * read-only, no snapshots of loaded state are ever kept and read-only entities (along with their collections)
+	 * are not visited during flush at all.
+	 *
+	 * @return {@code true} if the persistence context is in read-only mode.
+	 *
+	 * @see org.hibernate.SessionBuilder#readOnly(boolean)
+	 */
+	public boolean isReadOnlyMode();
+
+	/**
+	 * Put this persistence context into (or out of) read-only mode.  Entering read-only mode also makes
+	 * entities and proxies read-only by default.
+	 *
+	 * @param readOnlyMode {@code true} to put the persistence context into read-only mode
+	 *
+	 * @see #isReadOnlyMode()
+	 */
+	public void setReadOnlyMode(boolean readOnlyMode);
+
 	/**
 	 * Is the entity or proxy read-only?
 	 * <p/>
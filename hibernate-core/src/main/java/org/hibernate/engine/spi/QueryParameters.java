@@ -71,6 +71,7 @@ public final class QueryParameters {
 	private boolean callable = false;
 	private boolean autodiscovertypes = false;
 	private boolean isNaturalKeyLookup;
+	private boolean streaming;
 
 	private final ResultTransformer resultTransformer; // why is all others non final ?
 
@@ -440,6 +441,10 @@ public final class QueryParameters {
 	 *
 	 */
 	public boolean isReadOnly(SessionImplementor session) {
+		if ( session.getPersistenceContext().isReadOnlyMode() ) {
+			// an explicit setting cannot make entities modifiable in a read-only session
+			return true;
+		}
 		return isReadOnlyInitialized
 				? isReadOnly()
 				: session.getPersistenceContext().isDefaultReadOnly();
@@ -563,6 +568,22 @@ public final class QueryParameters {
 		this.isNaturalKeyLookup = isNaturalKeyLookup;
 	}
 
+	/**
+	 * Should a scroll over these parameters stream its results, evicting the entities loaded for a row
+	 * once the cursor moves past it?
+	 *
+	 * @return {@code true} for a streaming scroll
+	 *
+	 * @see org.hibernate.Query#setStreaming(boolean)
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	public void setAutoDiscoverScalarTypes(boolean autodiscovertypes) {
 		this.autodiscovertypes = autodiscovertypes;
 	}
@@ -589,6 +610,7 @@ public final class QueryParameters {
 		copy.processedSQL = this.processedSQL;
 		copy.processedPositionalParameterTypes = this.processedPositionalParameterTypes;
 		copy.processedPositionalParameterValues = this.processedPositionalParameterValues;
+		copy.streaming = this.streaming;
 		return copy;
 	}
 
@@ -46,4 +46,10 @@ public interface SelfDirtinessTracker {
      * Clear the stored dirty attributes
      */
     void $$_hibernate_clearDirtyAttributes();
+
+    /**
+     * Mark the named attribute as changed; used when Hibernate itself alters the attribute through reflection,
+     * bypassing the enhanced writer
+     */
+    void $$_hibernate_trackChange(String attributeName);
 }
@@ -39,6 +39,8 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.MultiNaturalIdLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Query;
 import org.hibernate.ReplicationMode;
@@ -705,6 +707,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.byId( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return session.byMultipleIds( entityName );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return session.byMultipleIds( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return session.byNaturalId( entityName );
@@ -725,6 +737,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.bySimpleNaturalId( entityClass );
 	}
 
+	@Override
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(String entityName) {
+		return session.byMultipleNaturalIds( entityName );
+	}
+
+	@Override
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(Class entityClass) {
+		return session.byMultipleNaturalIds( entityClass );
+	}
+
 	@Override
 	public Filter enableFilter(String filterName) {
 		return session.enableFilter( filterName );
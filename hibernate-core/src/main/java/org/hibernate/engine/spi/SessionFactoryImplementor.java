@@ -35,9 +35,11 @@ import org.hibernate.MappingException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.cfg.Settings;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.Dialect;
@@ -50,6 +52,8 @@ import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.exception.spi.SQLExceptionConverter;
 import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.internal.NamedQueryRepository;
+import org.hibernate.loader.AdaptiveBatchSizer;
+import org.hibernate.loader.ConcurrentInitializer;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.procedure.ProcedureCallMemento;
@@ -187,6 +191,39 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 	 * Get the cache of table update timestamps
 	 */
 	public UpdateTimestampsCache getUpdateTimestampsCache();
+
+	/**
+	 * Get the queue of the second-level cache operations performed in the background after transaction completion
+	 *
+	 * @return The queue, or {@code null} if these operations are performed synchronously
+	 */
+	public WriteBehindCacheQueue getCacheWriteBehindQueue();
+
+	/**
+	 * Get the cache of the natural ids known to match no entity
+	 *
+	 * @return The cache, or {@code null} if such misses are not remembered
+	 */
+	public NaturalIdNegativeCache getNaturalIdNegativeCache();
+
+	/**
+	 * Get the batch sizer shared by all sessions for the given entity or collection role, when batch fetching
+	 * uses {@link org.hibernate.loader.BatchFetchStyle#ADAPTIVE}.
+	 *
+	 * @param role The entity name or collection role
+	 * @param maxBatchSize The batch size defined for the entity or collection, used as the upper bound
+	 *
+	 * @return The batch sizer
+	 */
+	public AdaptiveBatchSizer getAdaptiveBatchSizer(String role, int maxBatchSize);
+
+	/**
+	 * Get the initializer used by {@link org.hibernate.Hibernate#initializeConcurrently}.
+	 *
+	 * @return The concurrent initializer
+	 */
+	public ConcurrentInitializer getConcurrentInitializer();
+
 	/**
 	 * Statistics SPI
 	 */
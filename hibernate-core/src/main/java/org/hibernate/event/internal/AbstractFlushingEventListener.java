@@ -215,6 +215,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// So this needs to be safe from concurrent modification problems.
 		// It is safe because of how IdentityMap implements entrySet()
 
+		// In read-only mode the read-only entities hold no loaded state to dirty check against, so they are
+		// skipped entirely; their collections are accounted for in flushCollections()
+		final boolean skipReadOnly = persistenceContext.isReadOnlyMode();
+
 		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
 //		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
 
@@ -223,6 +227,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 			EntityEntry entry = (EntityEntry) me.getValue();
 			Status status = entry.getStatus();
 
+			if ( skipReadOnly && status == Status.READ_ONLY ) {
+				continue;
+			}
+
 			if ( status != Status.LOADING && status != Status.GONE ) {
 				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
 				for ( FlushEntityEventListener listener : flushListeners ) {
@@ -246,6 +254,12 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 				IdentityMap.concurrentEntries( (Map<PersistentCollection,CollectionEntry>) persistenceContext.getCollectionEntries() )) {
 			CollectionEntry ce = me.getValue();
 			if ( !ce.isReached() && !ce.isIgnore() ) {
+				if ( persistenceContext.isReadOnlyMode() && isOwnedByReadOnlyEntity( me.getKey(), persistenceContext ) ) {
+					// the owner was skipped by flushEntities(); leave the collection untouched
+					ce.setReached( true );
+					ce.setProcessed( true );
+					continue;
+				}
 				Collections.processUnreachableCollection( me.getKey(), session );
 			}
 		}
@@ -312,6 +326,15 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 	}
 
+	private boolean isOwnedByReadOnlyEntity(PersistentCollection collection, PersistenceContext persistenceContext) {
+		final Object owner = collection.getOwner();
+		if ( owner == null ) {
+			return false;
+		}
+		final EntityEntry ownerEntry = persistenceContext.getEntry( owner );
+		return ownerEntry != null && ownerEntry.getStatus() == Status.READ_ONLY;
+	}
+
 	/**
 	 * Execute all SQL (and second-level cache updates) in a special order so that foreign-key constraints cannot
 	 * be violated: <ol>
@@ -40,6 +40,7 @@ import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
@@ -284,6 +285,11 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 				source
 		);
 
+		if ( entity instanceof SelfDirtinessTracker ) {
+			// the state being inserted becomes the loaded state, so whatever was tracked so far is not a change
+			( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+		}
+
 		AbstractEntityInsertAction insert = addInsertAction(
 				values, id, entity, persister, useIdentityColumn, source, shouldDelayIdentityInserts
 		);
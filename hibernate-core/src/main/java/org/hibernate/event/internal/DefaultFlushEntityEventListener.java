@@ -36,6 +36,7 @@ import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.action.internal.EntityUpdateAction;
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -49,6 +50,7 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.tuple.NonIdentifierAttribute;
 import org.hibernate.type.Type;
 
 /**
@@ -491,33 +493,43 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				persister.getPropertyTypes()
 		);
 
+		boolean dirtyCheckHandledByTracker = false;
 		if ( dirtyProperties == null ) {
-            if(entity instanceof SelfDirtinessTracker) {
-                if(((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes()) {
-                   dirtyProperties = persister.resolveAttributeIndexes(((SelfDirtinessTracker) entity).$$_hibernate_getDirtyAttributes());
-                }
-            }
-            else {
-                // see if the custom dirtiness strategy can tell us...
-                class DirtyCheckContextImpl implements CustomEntityDirtinessStrategy.DirtyCheckContext {
-                    int[] found = null;
-                    @Override
-                    public void doDirtyChecking(CustomEntityDirtinessStrategy.AttributeChecker attributeChecker) {
-                        found = new DirtyCheckAttributeInfoImpl( event ).visitAttributes( attributeChecker );
-                        if ( found != null && found.length == 0 ) {
-                            found = null;
-                        }
-                    }
-                }
-                DirtyCheckContextImpl context = new DirtyCheckContextImpl();
-                session.getFactory().getCustomEntityDirtinessStrategy().findDirty(
-                        entity,
-                        persister,
-                        (Session) session,
-                        context
-                );
-                dirtyProperties = context.found;
-            }
+			if ( entity instanceof SelfDirtinessTracker ) {
+				if ( loadedState != null && entry.getStatus() != Status.DELETED ) {
+					// the enhanced entity tracked its own changes in-line, so there is no need to compare
+					// its current state against the loaded snapshot, except for values changed in place
+					dirtyProperties = findSelfTrackedDirty(
+							(SelfDirtinessTracker) entity,
+							values,
+							loadedState,
+							persister,
+							session
+					);
+					dirtyCheckHandledByTracker = true;
+				}
+			}
+			else {
+				// see if the custom dirtiness strategy can tell us...
+				class DirtyCheckContextImpl implements CustomEntityDirtinessStrategy.DirtyCheckContext {
+					int[] found = null;
+					@Override
+					public void doDirtyChecking(CustomEntityDirtinessStrategy.AttributeChecker attributeChecker) {
+						found = new DirtyCheckAttributeInfoImpl( event ).visitAttributes( attributeChecker );
+						if ( found != null && found.length == 0 ) {
+							found = null;
+						}
+					}
+				}
+				DirtyCheckContextImpl context = new DirtyCheckContextImpl();
+				session.getFactory().getCustomEntityDirtinessStrategy().findDirty(
+						entity,
+						persister,
+						(Session) session,
+						context
+				);
+				dirtyProperties = context.found;
+			}
 		}
 
 		event.setDatabaseSnapshot(null);
@@ -525,7 +537,11 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final boolean interceptorHandledDirtyCheck;
 		boolean cannotDirtyCheck;
 
-		if ( dirtyProperties==null ) {
+		if ( dirtyCheckHandledByTracker ) {
+			interceptorHandledDirtyCheck = false;
+			cannotDirtyCheck = false;
+		}
+		else if ( dirtyProperties==null ) {
 			// Interceptor returned null, so do the dirtycheck ourself, if possible
 			interceptorHandledDirtyCheck = false;
 
@@ -578,6 +594,43 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	/**
+	 * The tracker only sees values replaced through the enhanced writers; values of mutable types (dates, arrays,
+	 * embeddables...) can also be changed in place, so those are still compared against the loaded state.
+	 */
+	private int[] findSelfTrackedDirty(
+			SelfDirtinessTracker tracker,
+			Object[] values,
+			Object[] loadedState,
+			EntityPersister persister,
+			SessionImplementor session) {
+		final NonIdentifierAttribute[] properties = persister.getEntityMetamodel().getProperties();
+		final boolean[] dirty = new boolean[properties.length];
+		if ( tracker.$$_hibernate_hasDirtyAttributes() ) {
+			for ( int index : persister.resolveAttributeIndexes( tracker.$$_hibernate_getDirtyAttributes() ) ) {
+				dirty[index] = true;
+			}
+		}
+		if ( persister.hasMutableProperties() ) {
+			final boolean uninitializedProperties = persister.hasUninitializedLazyProperties( tracker );
+			for ( int i = 0; i < properties.length; i++ ) {
+				dirty[i] = dirty[i] || ( properties[i].getType().isMutable()
+						&& values[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
+						&& properties[i].isDirtyCheckable( uninitializedProperties )
+						&& properties[i].getType().isDirty( loadedState[i], values[i], session ) );
+			}
+		}
+
+		int count = 0;
+		final int[] dirtyProperties = new int[properties.length];
+		for ( int i = 0; i < dirty.length; i++ ) {
+			if ( dirty[i] ) {
+				dirtyProperties[count++] = i;
+			}
+		}
+		return count == 0 ? ArrayHelper.EMPTY_INT_ARRAY : Arrays.copyOf( dirtyProperties, count );
+	}
+
 	private class DirtyCheckAttributeInfoImpl implements CustomEntityDirtinessStrategy.AttributeInformation {
 		private final FlushEntityEvent event;
 		private final EntityPersister persister;
@@ -24,12 +24,15 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.internal.CachedCollectionElementLoader;
 import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -125,9 +128,15 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
         final SessionFactoryImplementor factory = source.getFactory();
 
         final CacheKey ck = source.generateCacheKey( id, persister.getKeyType(), persister.getRole() );
+        final boolean stats = factory.getStatistics().isStatisticsEnabled();
+        final long start = stats ? System.nanoTime() : 0;
         Object ce = persister.getCacheAccessStrategy().get(ck, source.getTimestamp());
 
-		if ( factory.getStatistics().isStatisticsEnabled() ) {
+		if ( stats ) {
+			factory.getStatisticsImplementor().secondLevelCacheGetTime(
+					persister.getCacheAccessStrategy().getRegion().getName(),
+					System.nanoTime() - start
+			);
             if (ce == null) {
                 factory.getStatisticsImplementor()
 						.secondLevelCacheMiss( persister.getCacheAccessStrategy().getRegion().getName() );
@@ -145,7 +154,17 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 		CollectionCacheEntry cacheEntry = (CollectionCacheEntry)persister.getCacheEntryStructure().destructure(ce, factory);
 
 		final PersistenceContext persistenceContext = source.getPersistenceContext();
-        cacheEntry.assemble(collection, persister, persistenceContext.getCollectionOwner(id, persister));
+		final Set<EntityKey> prefetched = CachedCollectionElementLoader.loadElements(
+				persister,
+				cacheEntry.getState(),
+				source
+		);
+		try {
+			cacheEntry.assemble( collection, persister, persistenceContext.getCollectionOwner( id, persister ) );
+		}
+		finally {
+			persistenceContext.getBatchFetchQueue().removePrefetchedCacheEntries( prefetched );
+		}
         persistenceContext.getCollectionEntry(collection).postInitialize(collection);
         // addInitializedCollection(collection, persister, id);
         return true;
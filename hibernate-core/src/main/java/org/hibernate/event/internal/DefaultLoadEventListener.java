@@ -39,6 +39,7 @@ import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.internal.Versioning;
+import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -547,7 +548,21 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				persister.getRootEntityName()
 		);
 
-		Object ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
+		final BatchFetchQueue batchFetchQueue = source.getPersistenceContext().getBatchFetchQueue();
+		Object ce = batchFetchQueue.hasPrefetchedCacheEntries()
+				? batchFetchQueue.removePrefetchedCacheEntry( source.generateEntityKey( event.getEntityId(), persister ) )
+				: null;
+		if ( ce == null ) {
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			final long start = stats ? System.nanoTime() : 0;
+			ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
+			if ( stats ) {
+				factory.getStatisticsImplementor().secondLevelCacheGetTime(
+						persister.getCacheAccessStrategy().getRegion().getName(),
+						System.nanoTime() - start
+				);
+			}
+		}
 
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
@@ -40,6 +40,7 @@ import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.CascadingActions;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.MergeEvent;
@@ -311,20 +312,43 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 			copyValues(persister, entity, target, source, copyCache);
 
 			//copyValues works by reflection, so explicitly mark the entity instance dirty
-			markInterceptorDirty( entity, target, persister );
+			markInterceptorDirty( entity, target, persister, source );
 
 			event.setResult(result);
 		}
 
 	}
 
-	private void markInterceptorDirty(final Object entity, final Object target, EntityPersister persister) {
+	private void markInterceptorDirty(
+			final Object entity,
+			final Object target,
+			EntityPersister persister,
+			EventSource source) {
 		if ( persister.getInstrumentationMetadata().isInstrumented() ) {
 			FieldInterceptor interceptor = persister.getInstrumentationMetadata().extractInterceptor( target );
 			if ( interceptor != null ) {
 				interceptor.dirty();
 			}
 		}
+		if ( target instanceof SelfDirtinessTracker ) {
+			// the in-line tracker only sees changes made through the enhanced writers, so report
+			// the attributes the copy actually changed
+			final EntityEntry entry = source.getPersistenceContext().getEntry( target );
+			if ( entry != null && entry.getLoadedState() != null ) {
+				final int[] dirtyProperties = persister.findDirty(
+						persister.getPropertyValues( target ),
+						entry.getLoadedState(),
+						target,
+						source
+				);
+				if ( dirtyProperties != null ) {
+					final String[] propertyNames = persister.getPropertyNames();
+					for ( int dirtyProperty : dirtyProperties ) {
+						( (SelfDirtinessTracker) target ).$$_hibernate_trackChange( propertyNames[dirtyProperty] );
+					}
+				}
+			}
+		}
 	}
 
 	private boolean isVersionChanged(Object entity, EventSource source, EntityPersister persister, Object target) {
@@ -28,6 +28,8 @@ import java.io.Serializable;
 import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -119,6 +121,21 @@ public class DefaultResolveNaturalIdEventListener
 	 */
 	protected Serializable loadFromDatasource(final ResolveNaturalIdEvent event) {
 		final SessionFactoryImplementor factory = event.getSession().getFactory();
+		final NaturalIdNegativeCache negativeCache = isNegativeCacheUsable( event )
+				? factory.getNaturalIdNegativeCache()
+				: null;
+		long negativeCacheStamp = 0;
+		if ( negativeCache != null ) {
+			if ( negativeCache.contains( event.getEntityPersister(), event.getOrderedNaturalIdValues(), event.getSession() ) ) {
+				if ( LOG.isTraceEnabled() ) {
+					LOG.tracev( "Natural id known to match no entity: {0}",
+							MessageHelper.infoString( event.getEntityPersister(), event.getNaturalIdValues(), factory ) );
+				}
+				return null;
+			}
+			negativeCacheStamp = negativeCache.getStamp( event.getEntityPersister() );
+		}
+
 		final boolean stats = factory.getStatistics().isStatisticsEnabled();
 		long startTime = 0;
 		if ( stats ) {
@@ -148,7 +165,21 @@ public class DefaultResolveNaturalIdEventListener
 					event.getOrderedNaturalIdValues()
 			);
 		}
+		else if ( negativeCache != null && event.getSession().getCacheMode().isPutEnabled() ) {
+			negativeCache.put(
+					event.getEntityPersister(),
+					event.getOrderedNaturalIdValues(),
+					event.getSession(),
+					negativeCacheStamp
+			);
+		}
 		
 		return pk;
 	}
+
+	private boolean isNegativeCacheUsable(ResolveNaturalIdEvent event) {
+		// a lookup requesting a lock must always go to the database
+		return event.getSession().getCacheMode().isGetEnabled()
+				&& event.getLockOptions().getLockMode().lessThan( LockMode.READ );
+	}
 }
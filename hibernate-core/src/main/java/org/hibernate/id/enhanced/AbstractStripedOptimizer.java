@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * Base for optimizers which, rather than serializing all generation through a single monitor, hand out identifiers
+ * from a number of independent buckets (stripes).  A thread is assigned a stripe based on its id; within a stripe
+ * identifiers are handed out using compare-and-swap, and only obtaining the next bucket from the database is
+ * serialized (per stripe).
+ * <p/>
+ * Since each source value read from the database is interpreted as a bucket of its own, the generated identifiers
+ * are unique, but, unlike with the non-striped optimizers, they are not handed out in increasing order.  At most
+ * one partially used bucket per stripe is lost when the SessionFactory is closed.
+ */
+public abstract class AbstractStripedOptimizer extends AbstractOptimizer {
+	private static final int DEFAULT_STRIPE_COUNT = defaultStripeCount();
+
+	/**
+	 * A bucket of identifier values, {@code [lowerLimit, upperLimit)}, obtained from a single source value.
+	 */
+	protected static final class Bucket {
+		private final IntegralDataTypeHolder sourceValue;
+		private final AtomicLong value;
+		private final long upperLimit;
+
+		protected Bucket(IntegralDataTypeHolder sourceValue, long lowerLimit, long upperLimit) {
+			this.sourceValue = sourceValue;
+			this.value = new AtomicLong( lowerLimit );
+			this.upperLimit = upperLimit;
+		}
+	}
+
+	private static class Stripe {
+		private volatile Bucket bucket;
+	}
+
+	private class GenerationState {
+		private final Stripe[] stripes;
+		private volatile IntegralDataTypeHolder lastSourceValue;
+
+		private GenerationState() {
+			stripes = new Stripe[ stripeMask + 1 ];
+			for ( int i = 0; i < stripes.length; i++ ) {
+				stripes[i] = new Stripe();
+			}
+		}
+	}
+
+	private final int stripeMask;
+	private final GenerationState noTenantState;
+	private final ConcurrentMap<String,GenerationState> tenantSpecificState = new ConcurrentHashMap<String, GenerationState>();
+
+	protected AbstractStripedOptimizer(Class returnClass, int incrementSize) {
+		this( returnClass, incrementSize, DEFAULT_STRIPE_COUNT );
+	}
+
+	/**
+	 * Constructs a striped optimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 * @param stripeCount The number of stripes; rounded up to a power of two
+	 */
+	protected AbstractStripedOptimizer(Class returnClass, int incrementSize, int stripeCount) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		if ( stripeCount < 1 ) {
+			throw new HibernateException( "stripe count cannot be less than 1" );
+		}
+		this.stripeMask = powerOfTwoAtLeast( stripeCount ) - 1;
+		this.noTenantState = new GenerationState();
+	}
+
+	private static int defaultStripeCount() {
+		return Math.min( powerOfTwoAtLeast( Runtime.getRuntime().availableProcessors() ), 32 );
+	}
+
+	private static int powerOfTwoAtLeast(int value) {
+		int result = 1;
+		while ( result < value ) {
+			result <<= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Obtain the next source value from the callback and interpret it as a bucket of identifier values.
+	 *
+	 * @param callback The callback for obtaining source values
+	 *
+	 * @return The bucket
+	 */
+	protected abstract Bucket nextBucket(AccessCallback callback);
+
+	/**
+	 * Convenience access to the value of the holder as a long.
+	 *
+	 * @param holder The holder
+	 *
+	 * @return The held value
+	 */
+	protected static long toLong(IntegralDataTypeHolder holder) {
+		return ( (Number) holder.makeValue() ).longValue();
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+		final Stripe stripe = generationState.stripes[ (int) ( Thread.currentThread().getId() & stripeMask ) ];
+
+		while ( true ) {
+			final Bucket bucket = stripe.bucket;
+			if ( bucket != null ) {
+				final long value = bucket.value.getAndIncrement();
+				if ( value < bucket.upperLimit ) {
+					return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass )
+							.initialize( value )
+							.makeValue();
+				}
+			}
+			synchronized ( stripe ) {
+				// unless another thread already did so, move this stripe on to the next bucket
+				if ( stripe.bucket == bucket ) {
+					final Bucket nextBucket = nextBucket( callback );
+					generationState.lastSourceValue = nextBucket.sourceValue;
+					stripe.bucket = nextBucket;
+				}
+			}
+		}
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		GenerationState state = tenantSpecificState.get( tenantIdentifier );
+		if ( state == null ) {
+			state = new GenerationState();
+			final GenerationState existing = tenantSpecificState.putIfAbsent( tenantIdentifier, state );
+			if ( existing != null ) {
+				state = existing;
+			}
+		}
+		return state;
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		return noTenantState.lastSourceValue;
+	}
+}
@@ -55,7 +55,19 @@ public enum StandardOptimizerDescriptor {
 	 * Describes the optimizer for use with tables/sequences that store the chunk information.  Here, specifically the
 	 * lo value is stored in the database.
 	 */
-	POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true );
+	POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true ),
+	/**
+	 * Describes the striped variant of {@link #HILO}, for generators under heavy concurrent use.
+	 */
+	HILO_STRIPED( "hilo-striped", StripedHiLoOptimizer.class ),
+	/**
+	 * Describes the striped variant of {@link #POOLED}, for generators under heavy concurrent use.
+	 */
+	POOLED_STRIPED( "pooled-striped", StripedPooledOptimizer.class, true ),
+	/**
+	 * Describes the striped variant of {@link #POOLED_LO}, for generators under heavy concurrent use.
+	 */
+	POOLED_LO_STRIPED( "pooled-lo-striped", StripedPooledLoOptimizer.class, true );
 
 	private static final Logger log = Logger.getLogger( StandardOptimizerDescriptor.class );
 
@@ -113,6 +125,15 @@ public enum StandardOptimizerDescriptor {
 		else if ( POOLED_LO.externalName.equals( externalName ) ) {
 			return POOLED_LO;
 		}
+		else if ( HILO_STRIPED.externalName.equals( externalName ) ) {
+			return HILO_STRIPED;
+		}
+		else if ( POOLED_STRIPED.externalName.equals( externalName ) ) {
+			return POOLED_STRIPED;
+		}
+		else if ( POOLED_LO_STRIPED.externalName.equals( externalName ) ) {
+			return POOLED_LO_STRIPED;
+		}
 		else {
 			log.debugf( "Unknown optimizer key [%s]; returning null assuming Optimizer impl class name", externalName );
 			return null;
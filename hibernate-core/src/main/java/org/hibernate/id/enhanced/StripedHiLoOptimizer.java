@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * Striped variant of {@link HiLoOptimizer}: each source value {@code v} read from the database identifies the bucket
+ * {@code [(v * incrementSize) + 1 - incrementSize, (v * incrementSize) + 1)}.
+ *
+ * @see AbstractStripedOptimizer
+ */
+public class StripedHiLoOptimizer extends AbstractStripedOptimizer {
+	/**
+	 * Constructs a StripedHiLoOptimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public StripedHiLoOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+	}
+
+	@Override
+	protected Bucket nextBucket(AccessCallback callback) {
+		IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		while ( sourceValue.lt( 1 ) ) {
+			sourceValue = callback.getNextValue();
+		}
+		final long upperLimit = ( toLong( sourceValue ) * incrementSize ) + 1;
+		return new Bucket( sourceValue, upperLimit - incrementSize, upperLimit );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return false;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * Striped variant of {@link PooledLoOptimizer}: each source value {@code v} read from the database is the low end of
+ * a bucket, {@code [v, v + incrementSize)}.
+ *
+ * @see AbstractStripedOptimizer
+ */
+public class StripedPooledLoOptimizer extends AbstractStripedOptimizer {
+	/**
+	 * Constructs a StripedPooledLoOptimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public StripedPooledLoOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+	}
+
+	@Override
+	protected Bucket nextBucket(AccessCallback callback) {
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		final long lowerLimit = toLong( sourceValue );
+		// handle cases where initial-value is less that one (hsqldb for instance).
+		return new Bucket( sourceValue, Math.max( lowerLimit, 1 ), lowerLimit + incrementSize );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Striped variant of {@link PooledOptimizer}: each source value {@code v} read from the database is the high end of
+ * a bucket, {@code [v - incrementSize, v)}.  As with {@link PooledOptimizer}, the initial value of the database
+ * structure does not define a bucket of its own; it is skipped.
+ *
+ * @see AbstractStripedOptimizer
+ */
+public class StripedPooledOptimizer extends AbstractStripedOptimizer implements InitialValueAwareOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			StripedPooledOptimizer.class.getName()
+	);
+
+	private volatile long initialValue = -1;
+
+	/**
+	 * Constructs a StripedPooledOptimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public StripedPooledOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+	}
+
+	@Override
+	protected Bucket nextBucket(AccessCallback callback) {
+		IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		long hiValue = toLong( sourceValue );
+		if ( hiValue < 1 ) {
+			log.pooledOptimizerReportedInitialValue( sourceValue );
+		}
+		if ( ( initialValue == -1 && hiValue < incrementSize ) || hiValue == initialValue ) {
+			// the call to obtain next-value just gave us the initialValue
+			sourceValue = callback.getNextValue();
+			hiValue = toLong( sourceValue );
+		}
+		return new Bucket( sourceValue, hiValue - incrementSize, hiValue );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+}
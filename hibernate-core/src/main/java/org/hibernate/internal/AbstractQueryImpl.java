@@ -109,6 +109,7 @@ public abstract class AbstractQueryImpl implements Query {
 	private CacheMode sessionCacheMode;
 	private Serializable collectionKey;
 	private Boolean readOnly;
+	private boolean streaming;
 	private ResultTransformer resultTransformer;
 	
 	private HQLQueryPlan queryPlan;
@@ -276,9 +277,24 @@ public abstract class AbstractQueryImpl implements Query {
 
 	@Override
 	public Query setReadOnly(boolean readOnly) {
+		if ( !readOnly && session.getPersistenceContext().isReadOnlyMode() ) {
+			throw new IllegalStateException( "Cannot make entities loaded by a query modifiable in a read-only session" );
+		}
 		this.readOnly = readOnly;
 		return this;
 	}
+
+	@Override
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	@Override
+	public Query setStreaming(boolean streaming) {
+		this.streaming = streaming;
+		return this;
+	}
+
 	@Override
 	public Query setResultTransformer(ResultTransformer transformer) {
 		this.resultTransformer = transformer;
@@ -1009,6 +1025,7 @@ public abstract class AbstractQueryImpl implements Query {
 				resultTransformer
 		);
 		queryParameters.setQueryPlan( queryPlan );
+		queryParameters.setStreaming( streaming );
 		return queryParameters;
 	}
 	
@@ -29,8 +29,10 @@ import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -39,10 +41,16 @@ import org.jboss.logging.Logger;
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.ScrollableResults;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.HolderInstantiator;
 import org.hibernate.loader.Loader;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.type.StandardBasicTypes;
 import org.hibernate.type.Type;
 
@@ -66,6 +74,9 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 	private final Type[] types;
 	private HolderInstantiator holderInstantiator;
 
+	// for streaming results, the entities the loader instantiated for the current row
+	private final List<Object> rowEntities;
+
 	protected AbstractScrollableResults(
 	        ResultSet rs,
 	        PreparedStatement ps,
@@ -83,6 +94,10 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 		this.holderInstantiator = holderInstantiator!=null && holderInstantiator.isRequired()
 		        ? holderInstantiator
 		        : null;
+		// a stateless session keeps no entities anyway
+		this.rowEntities = queryParameters != null && queryParameters.isStreaming() && sess instanceof EventSource
+				? new ArrayList<Object>()
+				: null;
 	}
 
 	protected abstract Object[] getCurrentRow();
@@ -115,8 +130,20 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 		return holderInstantiator;
 	}
 
+	/**
+	 * The list to pass to the loader to collect the entities it instantiates for the current row.
+	 *
+	 * @return The list, or {@code null} if the results are not streaming
+	 */
+	protected List<Object> getRowEntities() {
+		return rowEntities;
+	}
+
 	@Override
 	public final void close() {
+		if ( rowEntities != null && !session.isClosed() ) {
+			evictRowEntities();
+		}
 		// not absolutely necessary, but does help with aggressive release
 		//session.getJDBCContext().getConnectionManager().closeQueryStatement( ps, resultSet );
 		session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
@@ -295,6 +322,50 @@ public abstract class AbstractScrollableResults implements ScrollableResults {
 		);
 	}
 
+	/**
+	 * To be called whenever the cursor is about to leave the current row.  For streaming results, evicts the
+	 * entities the loader instantiated for the current row.  Entities which were already in the session, or which
+	 * the application modified, made new or deleted while on the row, are left alone.
+	 */
+	protected void beforeRowChange() {
+		if ( rowEntities != null ) {
+			evictRowEntities();
+		}
+	}
+
+	private void evictRowEntities() {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( Object entity : rowEntities ) {
+			final EntityEntry entry = persistenceContext.getEntry( entity );
+			if ( entry != null
+					&& entry.isExistsInDatabase()
+					&& ( entry.getStatus() == Status.READ_ONLY
+							|| ( entry.getStatus() == Status.MANAGED && !isModified( entity, entry ) ) ) ) {
+				( (EventSource) session ).evict( entity );
+			}
+		}
+		rowEntities.clear();
+	}
+
+	private boolean isModified(Object entity, EntityEntry entry) {
+		final Object[] loadedState = entry.getLoadedState();
+		if ( loadedState == null ) {
+			// no snapshot to compare against
+			return true;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final Object[] values = persister.getPropertyValues( entity );
+		if ( persister.findDirty( values, loadedState, entity, session ) != null ) {
+			return true;
+		}
+		for ( Object value : values ) {
+			if ( value instanceof PersistentCollection && ( (PersistentCollection) value ).isDirty() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected void afterScrollOperation() {
 		session.afterScrollOperation();
 	}
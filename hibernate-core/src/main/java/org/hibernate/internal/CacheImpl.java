@@ -34,10 +34,12 @@ import org.jboss.logging.Logger;
 
 import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.cfg.Settings;
 import org.hibernate.engine.spi.CacheImplementor;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -59,6 +61,8 @@ public class CacheImpl implements CacheImplementor {
 	private final transient QueryCache queryCache;
 	private final transient RegionFactory regionFactory;
 	private final transient UpdateTimestampsCache updateTimestampsCache;
+	private final transient WriteBehindCacheQueue writeBehindQueue;
+	private final transient NaturalIdNegativeCache naturalIdNegativeCache;
 	private final transient ConcurrentMap<String, QueryCache> queryCaches;
 	private final transient ConcurrentMap<String, Region> allCacheRegions = new ConcurrentHashMap<String, Region>();
 
@@ -68,6 +72,19 @@ public class CacheImpl implements CacheImplementor {
 		//todo should get this from service registry
 		this.regionFactory = settings.getRegionFactory();
 		regionFactory.start( settings, sessionFactory.getProperties() );
+		if ( settings.isSecondLevelCacheEnabled() && settings.getCacheWriteBehindThreads() > 0 ) {
+			writeBehindQueue = new WriteBehindCacheQueue(
+					settings.getCacheWriteBehindThreads(),
+					settings.getCacheWriteBehindQueueSize(),
+					settings.getSessionFactoryName()
+			);
+		}
+		else {
+			writeBehindQueue = null;
+		}
+		naturalIdNegativeCache = settings.getNaturalIdNegativeCacheSize() > 0
+				? new NaturalIdNegativeCache( settings.getNaturalIdNegativeCacheSize() )
+				: null;
 		if ( settings.isQueryCacheEnabled() ) {
 			updateTimestampsCache = new UpdateTimestampsCache(
 					settings,
@@ -159,6 +176,9 @@ public class CacheImpl implements CacheImplementor {
 	@Override
 	public void evictNaturalIdRegion(String entityName) {
 		EntityPersister p = sessionFactory.getEntityPersister( entityName );
+		if ( naturalIdNegativeCache != null && p.hasNaturalIdentifier() ) {
+			naturalIdNegativeCache.invalidate( p );
+		}
 		if ( p.hasNaturalIdCache() ) {
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf( "Evicting natural-id cache: %s", p.getEntityName() );
@@ -274,6 +294,9 @@ public class CacheImpl implements CacheImplementor {
 
 	@Override
 	public void close() {
+		if ( writeBehindQueue != null ) {
+			writeBehindQueue.stop();
+		}
 		if ( settings.isQueryCacheEnabled() ) {
 			queryCache.destroy();
 
@@ -288,6 +311,16 @@ public class CacheImpl implements CacheImplementor {
 		regionFactory.stop();
 	}
 
+	@Override
+	public WriteBehindCacheQueue getWriteBehindQueue() {
+		return writeBehindQueue;
+	}
+
+	@Override
+	public NaturalIdNegativeCache getNaturalIdNegativeCache() {
+		return naturalIdNegativeCache;
+	}
+
 	@Override
 	public QueryCache getQueryCache() {
 		return queryCache;
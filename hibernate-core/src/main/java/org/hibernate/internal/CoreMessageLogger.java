@@ -1637,4 +1637,16 @@ public interface CoreMessageLogger extends BasicLogger {
 			value = "Encountered request for Service by non-primary service role [%s -> %s]; please update usage"
 	)
 	void alternateServiceRole(String requestedRole, String targetRole);
+
+	@LogMessage(level = ERROR)
+	@Message(value = "Unable to perform write-behind second-level cache operation for [%s]", id = 451)
+	void unableToPerformWriteBehindCacheOperation(Object key, @Cause Throwable e);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Stopped write-behind second-level cache thread [%s]; dropped %s queued operations", id = 452)
+	void droppedWriteBehindCacheOperations(String threadName, int count);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Dropped write-behind second-level cache operation for [%s]; the item stays locked until its lock times out", id = 453)
+	void droppedWriteBehindCacheOperation(Object key);
 }
@@ -321,6 +321,9 @@ public class CriteriaImpl implements Criteria, Serializable {
 
 	@Override
 	public Criteria setReadOnly(boolean readOnly) {
+		if ( !readOnly && session != null && session.getPersistenceContext().isReadOnlyMode() ) {
+			throw new IllegalStateException( "Cannot make entities loaded by a criteria modifiable in a read-only session" );
+		}
 		this.readOnly = readOnly;
 		return this;
 	}
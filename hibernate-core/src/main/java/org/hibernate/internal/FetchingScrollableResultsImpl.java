@@ -73,6 +73,7 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 
 	@Override
 	public boolean next() {
+		beforeRowChange();
 		if ( maxPosition != null && maxPosition <= currentPosition ) {
 			currentRow = null;
 			currentPosition = maxPosition + 1;
@@ -89,7 +90,8 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 				getResultSet(),
 				getSession(),
 				getQueryParameters(),
-				false
+				false,
+				getRowEntities()
 		);
 
 
@@ -121,6 +123,7 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 
 	@Override
 	public boolean previous() {
+		beforeRowChange();
 		if ( currentPosition <= 1 ) {
 			currentPosition = 0;
 			currentRow = null;
@@ -132,7 +135,8 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 				getSession(),
 				getQueryParameters(),
 				false,
-		        ( maxPosition != null && currentPosition > maxPosition )
+		        ( maxPosition != null && currentPosition > maxPosition ),
+				getRowEntities()
 		);
 
 		currentRow = new Object[] { loadResult };
@@ -221,6 +225,7 @@ public class FetchingScrollableResultsImpl extends AbstractScrollableResults {
 
 	@Override
 	public void beforeFirst() {
+		beforeRowChange();
 		try {
 			getResultSet().beforeFirst();
 		}
@@ -27,6 +27,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.logging.Logger;
 
@@ -150,6 +156,27 @@ public class NamedQueryRepository {
 	}
 
 	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache) {
+		return checkNamedQueries( queryPlanCache, 1 );
+	}
+
+	/**
+	 * Check the named HQL and native-sql queries, by compiling them into the given query plan cache.  Using more than
+	 * one thread compiles the queries in parallel, the plans being then ready for the first executions.
+	 *
+	 * @param queryPlanCache The query plan cache compiling the queries
+	 * @param threads The number of threads compiling the queries
+	 *
+	 * @return The errors, keyed by the name of the failing query
+	 */
+	public Map<String,HibernateException> checkNamedQueries(QueryPlanCache queryPlanCache, int threads) {
+		final int queryCount = namedQueryDefinitionMap.size() + namedSqlQueryDefinitionMap.size();
+		if ( threads < 2 || queryCount < 2 ) {
+			return checkNamedQueriesSerially( queryPlanCache );
+		}
+		return checkNamedQueriesInParallel( queryPlanCache, Math.min( threads, queryCount ) );
+	}
+
+	private Map<String,HibernateException> checkNamedQueriesSerially(QueryPlanCache queryPlanCache) {
 		Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
 
 		// Check named HQL queries
@@ -157,15 +184,11 @@ public class NamedQueryRepository {
 		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
 			// this will throw an error if there's something wrong.
 			try {
-				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+				checkNamedQuery( namedQueryDefinition, queryPlanCache );
 			}
 			catch ( HibernateException e ) {
 				errors.put( namedQueryDefinition.getName(), e );
 			}
-
-
 		}
 
 		// Check native-sql queries
@@ -173,29 +196,7 @@ public class NamedQueryRepository {
 		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
 			// this will throw an error if there's something wrong.
 			try {
-				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
-					}
-					spec = new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							definition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
-				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							namedSQLQueryDefinition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
-				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
+				checkNamedSqlQuery( namedSQLQueryDefinition, queryPlanCache );
 			}
 			catch ( HibernateException e ) {
 				errors.put( namedSQLQueryDefinition.getName(), e );
@@ -204,4 +205,128 @@ public class NamedQueryRepository {
 
 		return errors;
 	}
+
+	private Map<String,HibernateException> checkNamedQueriesInParallel(
+			final QueryPlanCache queryPlanCache,
+			int threads) {
+		log.debugf(
+				"Checking %s named HQL queries and %s named SQL queries using %s threads",
+				namedQueryDefinitionMap.size(),
+				namedSqlQueryDefinitionMap.size(),
+				threads
+		);
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				threads,
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread(
+								runnable,
+								"hibernate-named-query-check-" + count.incrementAndGet()
+						);
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		try {
+			final Map<String,Future<?>> hqlChecks = new HashMap<String,Future<?>>();
+			for ( final NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+				hqlChecks.put(
+						namedQueryDefinition.getName(),
+						executor.submit(
+								new Runnable() {
+									@Override
+									public void run() {
+										checkNamedQuery( namedQueryDefinition, queryPlanCache );
+									}
+								}
+						)
+				);
+			}
+			final Map<String,Future<?>> sqlChecks = new HashMap<String,Future<?>>();
+			for ( final NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+				sqlChecks.put(
+						namedSQLQueryDefinition.getName(),
+						executor.submit(
+								new Runnable() {
+									@Override
+									public void run() {
+										checkNamedSqlQuery( namedSQLQueryDefinition, queryPlanCache );
+									}
+								}
+						)
+				);
+			}
+
+			final Map<String,HibernateException> errors = new HashMap<String,HibernateException>();
+			collectErrors( hqlChecks, errors );
+			collectErrors( sqlChecks, errors );
+			return errors;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void collectErrors(Map<String,Future<?>> checks, Map<String,HibernateException> errors) {
+		for ( Map.Entry<String,Future<?>> check : checks.entrySet() ) {
+			try {
+				check.getValue().get();
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted while checking named queries", e );
+			}
+			catch ( ExecutionException e ) {
+				final Throwable cause = e.getCause();
+				if ( cause instanceof HibernateException ) {
+					errors.put( check.getKey(), (HibernateException) cause );
+				}
+				else if ( cause instanceof RuntimeException ) {
+					throw (RuntimeException) cause;
+				}
+				else if ( cause instanceof Error ) {
+					throw (Error) cause;
+				}
+				else {
+					throw new HibernateException( "Unable to check named query: " + check.getKey(), cause );
+				}
+			}
+		}
+	}
+
+	private void checkNamedQuery(NamedQueryDefinition namedQueryDefinition, QueryPlanCache queryPlanCache) {
+		log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
+		//TODO: BUG! this currently fails for named queries for non-POJO entities
+		queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+	}
+
+	private void checkNamedSqlQuery(NamedSQLQueryDefinition namedSQLQueryDefinition, QueryPlanCache queryPlanCache) {
+		log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
+		// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+		// currently not doable though because of the resultset-ref stuff...
+		NativeSQLQuerySpecification spec;
+		if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
+			ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+			if ( definition == null ) {
+				throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
+			}
+			spec = new NativeSQLQuerySpecification(
+					namedSQLQueryDefinition.getQueryString(),
+					definition.getQueryReturns(),
+					namedSQLQueryDefinition.getQuerySpaces()
+			);
+		}
+		else {
+			spec =  new NativeSQLQuerySpecification(
+					namedSQLQueryDefinition.getQueryString(),
+					namedSQLQueryDefinition.getQueryReturns(),
+					namedSQLQueryDefinition.getQuerySpaces()
+			);
+		}
+		queryPlanCache.getNativeSQLQueryPlan( spec );
+	}
 }
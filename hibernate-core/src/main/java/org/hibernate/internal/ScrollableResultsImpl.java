@@ -146,6 +146,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 
 	@Override
 	public void afterLast() {
+		beforeRowChange();
 		try {
 			getResultSet().afterLast();
 		}
@@ -159,6 +160,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 
 	@Override
 	public void beforeFirst() {
+		beforeRowChange();
 		try {
 			getResultSet().beforeFirst();
 		}
@@ -229,6 +231,7 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 	}
 
 	private void prepareCurrentRow(boolean underlyingScrollSuccessful) {
+		beforeRowChange();
 		if ( !underlyingScrollSuccessful ) {
 			currentRow = null;
 			return;
@@ -238,7 +241,8 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 				getResultSet(),
 				getSession(),
 				getQueryParameters(),
-				false
+				false,
+				getRowEntities()
 		);
 		if ( result != null && result.getClass().isArray() ) {
 			currentRow = (Object[]) result;
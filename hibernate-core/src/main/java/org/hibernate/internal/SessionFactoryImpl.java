@@ -68,10 +68,12 @@ import org.hibernate.cache.internal.CacheDataDescriptionImpl;
 import org.hibernate.cache.spi.CollectionRegion;
 import org.hibernate.cache.spi.EntityRegion;
 import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
 import org.hibernate.cache.spi.access.AccessType;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
@@ -121,6 +123,8 @@ import org.hibernate.id.UUIDGenerator;
 import org.hibernate.id.factory.IdentifierGeneratorFactory;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.IntegratorService;
+import org.hibernate.loader.AdaptiveBatchSizer;
+import org.hibernate.loader.ConcurrentInitializer;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.RootClass;
@@ -205,6 +209,8 @@ public final class SessionFactoryImpl
 	private final transient SQLFunctionRegistry sqlFunctionRegistry;
 	private final transient SessionFactoryObserverChain observer = new SessionFactoryObserverChain();
 	private final transient ConcurrentHashMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
+	private final transient ConcurrentHashMap<String,AdaptiveBatchSizer> adaptiveBatchSizers = new ConcurrentHashMap<String, AdaptiveBatchSizer>();
+	private final transient ConcurrentInitializer concurrentInitializer;
 	private final transient QueryPlanCache queryPlanCache;
 	private final transient CacheImplementor cacheAccess;
 	private transient boolean isClosed = false;
@@ -256,6 +262,10 @@ public final class SessionFactoryImpl
 		};
 
 		this.settings = settings;
+		this.concurrentInitializer = new ConcurrentInitializer(
+				settings.getConcurrentInitializationThreads(),
+				settings.isConcurrentInitializationInTransactionEnabled()
+		);
 
 		this.properties = new Properties();
 		this.properties.putAll( cfg.getProperties() );
@@ -693,6 +703,10 @@ public final class SessionFactoryImpl
 				properties,
 				metadata.getServiceRegistry()
 		);
+		this.concurrentInitializer = new ConcurrentInitializer(
+				settings.getConcurrentInitializationThreads(),
+				settings.isConcurrentInitializationInTransactionEnabled()
+		);
 
 		this.serviceRegistry =
 				sessionFactoryOptions.getServiceRegistry()
@@ -1083,7 +1097,10 @@ public final class SessionFactoryImpl
 	}
 
 	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
+		return namedQueryRepository.checkNamedQueries(
+				queryPlanCache,
+				settings.getNamedQueryStartupCheckingThreads()
+		);
 	}
 
 	public EntityPersister getEntityPersister(String entityName) throws MappingException {
@@ -1358,6 +1375,8 @@ public final class SessionFactoryImpl
 
 		queryPlanCache.cleanup();
 
+		concurrentInitializer.close();
+
 		if ( settings.isAutoDropSchema() ) {
 			schemaExport.drop( false, true );
 		}
@@ -1413,6 +1432,32 @@ public final class SessionFactoryImpl
 		return cacheAccess.getUpdateTimestampsCache();
 	}
 
+	public WriteBehindCacheQueue getCacheWriteBehindQueue() {
+		return cacheAccess.getWriteBehindQueue();
+	}
+
+	public NaturalIdNegativeCache getNaturalIdNegativeCache() {
+		return cacheAccess.getNaturalIdNegativeCache();
+	}
+
+	@Override
+	public AdaptiveBatchSizer getAdaptiveBatchSizer(String role, int maxBatchSize) {
+		AdaptiveBatchSizer sizer = adaptiveBatchSizers.get( role );
+		if ( sizer == null ) {
+			sizer = new AdaptiveBatchSizer( role, settings.getAdaptiveBatchFetchMinSize(), maxBatchSize );
+			final AdaptiveBatchSizer existing = adaptiveBatchSizers.putIfAbsent( role, sizer );
+			if ( existing != null ) {
+				sizer = existing;
+			}
+		}
+		return sizer;
+	}
+
+	@Override
+	public ConcurrentInitializer getConcurrentInitializer() {
+		return concurrentInitializer;
+	}
+
 	public QueryCache getQueryCache() {
 		return cacheAccess.getQueryCache();
 	}
@@ -1551,6 +1596,7 @@ public final class SessionFactoryImpl
 		private boolean autoJoinTransactions = true;
 		private boolean flushBeforeCompletion;
 		private String tenantIdentifier;
+		private boolean readOnly;
 
 		SessionBuilderImpl(SessionFactoryImpl sessionFactory) {
 			this.sessionFactory = sessionFactory;
@@ -1575,7 +1621,7 @@ public final class SessionFactoryImpl
 		@Override
 		public Session openSession() {
 			log.tracef( "Opening Hibernate Session.  tenant=%s, owner=%s", tenantIdentifier, sessionOwner );
-			return new SessionImpl(
+			final SessionImpl session = new SessionImpl(
 					connection,
 					sessionFactory,
 					sessionOwner,
@@ -1588,6 +1634,10 @@ public final class SessionFactoryImpl
 					connectionReleaseMode,
 					tenantIdentifier
 			);
+			if ( readOnly ) {
+				session.getPersistenceContext().setReadOnlyMode( true );
+			}
+			return session;
 		}
 
 		@Override
@@ -1643,6 +1693,12 @@ public final class SessionFactoryImpl
 			this.tenantIdentifier = tenantIdentifier;
 			return this;
 		}
+
+		@Override
+		public SessionBuilder readOnly(boolean readOnly) {
+			this.readOnly = readOnly;
+			return this;
+		}
 	}
 
 	public static class StatelessSessionBuilderImpl implements StatelessSessionBuilder {
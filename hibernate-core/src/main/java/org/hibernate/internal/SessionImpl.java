@@ -36,11 +36,13 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +64,8 @@ import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.MultiNaturalIdLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.ObjectNotFoundException;
@@ -81,8 +85,14 @@ import org.hibernate.TransientObjectException;
 import org.hibernate.TypeHelper;
 import org.hibernate.UnknownProfileException;
 import org.hibernate.UnresolvableObjectException;
+import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.NaturalIdNegativeCache;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.criterion.Conjunction;
+import org.hibernate.criterion.Disjunction;
 import org.hibernate.criterion.NaturalIdentifier;
+import org.hibernate.criterion.Restrictions;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.engine.jdbc.NonContextualLobCreator;
@@ -148,6 +158,7 @@ import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.loader.criteria.CriteriaLoader;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.OuterJoinLoadable;
@@ -1079,6 +1090,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityName ) );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityClass.getName() ) );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -1099,6 +1120,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new SimpleNaturalIdLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(String entityName) {
+		return new MultiNaturalIdLoadAccessImpl( entityName );
+	}
+
+	@Override
+	public MultiNaturalIdLoadAccess byMultipleNaturalIds(Class entityClass) {
+		return new MultiNaturalIdLoadAccessImpl( entityClass );
+	}
+
 	private void fireLoad(LoadEvent event, LoadType loadType) {
 		errorIfClosed();
 		checkTransactionSynchStatus();
@@ -2390,6 +2421,11 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		public SharedSessionBuilder flushBeforeCompletion(boolean flushBeforeCompletion) {
 			return (SharedSessionBuilder) super.flushBeforeCompletion( flushBeforeCompletion );
 		}
+
+		@Override
+		public SharedSessionBuilder readOnly(boolean readOnly) {
+			return (SharedSessionBuilder) super.readOnly( readOnly );
+		}
 	}
 
 	private class CoordinatingEntityNameResolver implements EntityNameResolver {
@@ -2523,6 +2559,141 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess {
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private int batchSize;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccess with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccess withBatchSize(int batchSize) {
+			if ( batchSize < 1 ) {
+				throw new IllegalArgumentException( "Batch size must be greater than zero: " + batchSize );
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public List multiLoad(Serializable... ids) {
+			return multiLoad( Arrays.asList( ids ) );
+		}
+
+		@Override
+		public List multiLoad(List<? extends Serializable> ids) {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+
+			final IdentifierLoadAccessImpl singleLoadAccess = new IdentifierLoadAccessImpl( entityPersister );
+			if ( lockOptions != null ) {
+				singleLoadAccess.with( lockOptions );
+			}
+			if ( !( entityPersister instanceof OuterJoinLoadable ) ) {
+				final List results = new ArrayList( ids.size() );
+				for ( Serializable id : ids ) {
+					results.add( singleLoadAccess.load( id ) );
+				}
+				return results;
+			}
+
+			// first resolve whatever is already in the persistence context or the second-level cache, using
+			// the regular load process so that lock upgrades, deleted entities, etc are handled as for get()
+			final Object[] results = new Object[ ids.size() ];
+			final boolean[] resolved = new boolean[ ids.size() ];
+			final Set<EntityKey> keysNotInContext = new LinkedHashSet<EntityKey>();
+			for ( int i = 0; i < results.length; i++ ) {
+				final Serializable id = ids.get( i );
+				if ( id == null ) {
+					throw new IllegalArgumentException( "id to load is required for loading" );
+				}
+				final EntityKey key = generateEntityKey( id, entityPersister );
+				if ( persistenceContext.getEntity( key ) != null ) {
+					results[i] = singleLoadAccess.load( id );
+					resolved[i] = true;
+				}
+				else {
+					keysNotInContext.add( key );
+				}
+			}
+
+			// the second-level cache is read with one call, the loads below consume the entries found
+			final Set<EntityKey> cachedKeys = isSecondLevelCacheReadable()
+					? persistenceContext.getBatchFetchQueue().prefetchCacheEntries( entityPersister, keysNotInContext )
+					: Collections.<EntityKey>emptySet();
+			final Set<EntityKey> keysToLoad = new HashSet<EntityKey>();
+			final List<Serializable> idsToLoad = new ArrayList<Serializable>();
+			try {
+				for ( int i = 0; i < results.length; i++ ) {
+					if ( resolved[i] ) {
+						continue;
+					}
+					final Serializable id = ids.get( i );
+					final EntityKey key = generateEntityKey( id, entityPersister );
+					if ( cachedKeys.contains( key ) ) {
+						results[i] = singleLoadAccess.load( id );
+						resolved[i] = true;
+					}
+					else if ( keysToLoad.add( key ) ) {
+						idsToLoad.add( id );
+					}
+				}
+			}
+			finally {
+				persistenceContext.getBatchFetchQueue().removePrefetchedCacheEntries( cachedKeys );
+			}
+
+			if ( !idsToLoad.isEmpty() ) {
+				boolean success = false;
+				try {
+					DynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(
+							(OuterJoinLoadable) entityPersister,
+							idsToLoad.toArray( new Serializable[ idsToLoad.size() ] ),
+							determineBatchSize( idsToLoad.size() ),
+							lockOptions == null ? LockOptions.NONE : lockOptions,
+							SessionImpl.this
+					);
+					success = true;
+				}
+				finally {
+					afterOperation( success );
+				}
+
+				// whatever was found is now part of the persistence context
+				for ( int i = 0; i < results.length; i++ ) {
+					if ( !resolved[i] ) {
+						final Serializable id = ids.get( i );
+						final EntityKey key = generateEntityKey( id, entityPersister );
+						results[i] = persistenceContext.getEntity( key ) == null ? null : singleLoadAccess.load( id );
+					}
+				}
+			}
+			return Arrays.asList( results );
+		}
+
+		private boolean isSecondLevelCacheReadable() {
+			return entityPersister.hasCache()
+					&& getCacheMode().isGetEnabled()
+					&& ( lockOptions == null || lockOptions.getLockMode().lessThan( LockMode.READ ) );
+		}
+
+		private int determineBatchSize(int numberOfIds) {
+			if ( batchSize > 0 ) {
+				return batchSize;
+			}
+			final int inExpressionCountLimit = factory.getDialect().getInExpressionCountLimit();
+			return inExpressionCountLimit > 0 ? Math.min( inExpressionCountLimit, numberOfIds ) : numberOfIds;
+		}
+	}
+
 	private EntityPersister locateEntityPersister(String entityName) {
 		final EntityPersister entityPersister = factory.getEntityPersister( entityName );
 		if ( entityPersister == null ) {
@@ -2636,6 +2807,10 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		protected EntityPersister entityPersister() {
 			return entityPersister;
 		}
+
+		protected LockOptions lockOptions() {
+			return lockOptions;
+		}
 	}
 
 	private class NaturalIdLoadAccessImpl extends BaseNaturalIdLoadAccessImpl implements NaturalIdLoadAccess {
@@ -2764,4 +2939,221 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			return null;
 		}
 	}
+
+	private class MultiNaturalIdLoadAccessImpl extends BaseNaturalIdLoadAccessImpl implements MultiNaturalIdLoadAccess {
+		private final String[] naturalIdAttributeNames;
+		private int batchSize;
+
+		private MultiNaturalIdLoadAccessImpl(EntityPersister entityPersister) {
+			super( entityPersister );
+
+			final int[] naturalIdAttributePositions = entityPersister.getNaturalIdentifierProperties();
+			this.naturalIdAttributeNames = new String[ naturalIdAttributePositions.length ];
+			for ( int i = 0; i < naturalIdAttributePositions.length; i++ ) {
+				naturalIdAttributeNames[i] = entityPersister.getPropertyNames()[ naturalIdAttributePositions[i] ];
+			}
+		}
+
+		private MultiNaturalIdLoadAccessImpl(String entityName) {
+			this( locateEntityPersister( entityName ) );
+		}
+
+		private MultiNaturalIdLoadAccessImpl(Class entityClass) {
+			this( entityClass.getName() );
+		}
+
+		@Override
+		public MultiNaturalIdLoadAccessImpl with(LockOptions lockOptions) {
+			return (MultiNaturalIdLoadAccessImpl) super.with( lockOptions );
+		}
+
+		@Override
+		public MultiNaturalIdLoadAccess withBatchSize(int batchSize) {
+			if ( batchSize < 1 ) {
+				throw new IllegalArgumentException( "Batch size must be greater than zero: " + batchSize );
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public MultiNaturalIdLoadAccessImpl setSynchronizationEnabled(boolean synchronizationEnabled) {
+			super.synchronizationEnabled( synchronizationEnabled );
+			return this;
+		}
+
+		@Override
+		public List multiLoad(Object... naturalIds) {
+			return multiLoad( Arrays.asList( naturalIds ) );
+		}
+
+		@Override
+		public List multiLoad(List<?> naturalIds) {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+			performAnyNeededCrossReferenceSynchronizations();
+
+			final EntityPersister persister = entityPersister();
+			final PersistenceContext.NaturalIdHelper naturalIdHelper = persistenceContext.getNaturalIdHelper();
+			final NaturalIdNegativeCache negativeCache = isNegativeCacheUsable() ? factory.getNaturalIdNegativeCache() : null;
+
+			// first resolve whatever the session or the second-level cache knows about
+			final Object[] results = new Object[ naturalIds.size() ];
+			final Object[][] naturalIdValues = new Object[ naturalIds.size() ][];
+			final List<Integer> unresolved = new ArrayList<Integer>();
+			for ( int i = 0; i < results.length; i++ ) {
+				naturalIdValues[i] = toOrderedNaturalIdValues( naturalIds.get( i ) );
+				final Serializable id = naturalIdHelper.findCachedNaturalIdResolution( persister, naturalIdValues[i] );
+				if ( id != null ) {
+					results[i] = load( id );
+				}
+				else if ( negativeCache == null || !negativeCache.contains( persister, naturalIdValues[i], SessionImpl.this ) ) {
+					unresolved.add( i );
+				}
+			}
+			if ( unresolved.isEmpty() ) {
+				return Arrays.asList( results );
+			}
+
+			final long negativeCacheStamp = negativeCache == null ? 0 : negativeCache.getStamp( persister );
+			final Set<NaturalIdCacheKey> keysToLoad = new HashSet<NaturalIdCacheKey>();
+			final List<Object[]> naturalIdValuesToLoad = new ArrayList<Object[]>();
+			for ( int i : unresolved ) {
+				if ( keysToLoad.add( new NaturalIdCacheKey( naturalIdValues[i], persister, SessionImpl.this ) ) ) {
+					naturalIdValuesToLoad.add( naturalIdValues[i] );
+				}
+			}
+			final int batchSize = determineBatchSize( naturalIdValuesToLoad.size() );
+			for ( int start = 0; start < naturalIdValuesToLoad.size(); start += batchSize ) {
+				loadBatch(
+						naturalIdValuesToLoad.subList( start, Math.min( start + batchSize, naturalIdValuesToLoad.size() ) )
+				);
+			}
+
+			// loading the entities cached their natural-id resolutions
+			final boolean rememberMisses = negativeCache != null && getCacheMode().isPutEnabled();
+			for ( int i : unresolved ) {
+				final Serializable id = naturalIdHelper.findCachedNaturalIdResolution( persister, naturalIdValues[i] );
+				if ( id != null ) {
+					results[i] = load( id );
+				}
+				else if ( rememberMisses ) {
+					negativeCache.put( persister, naturalIdValues[i], SessionImpl.this, negativeCacheStamp );
+				}
+			}
+			return Arrays.asList( results );
+		}
+
+		private Object[] toOrderedNaturalIdValues(Object naturalId) {
+			if ( naturalId == null ) {
+				throw new IllegalArgumentException( "natural-id to load is required for loading" );
+			}
+			final Map<String, Object> naturalIdParameters;
+			if ( naturalIdAttributeNames.length == 1 ) {
+				naturalIdParameters = Collections.singletonMap( naturalIdAttributeNames[0], naturalId );
+			}
+			else if ( naturalId instanceof Map ) {
+				naturalIdParameters = (Map<String, Object>) naturalId;
+			}
+			else {
+				throw new HibernateException(
+						String.format(
+								"Entity [%s] defines its natural-id with %d properties, its natural ids must be given as Maps",
+								entityPersister().getEntityName(),
+								naturalIdAttributeNames.length
+						)
+				);
+			}
+			// the event validates the given natural-id properties
+			return new ResolveNaturalIdEvent( naturalIdParameters, entityPersister(), SessionImpl.this )
+					.getOrderedNaturalIdValues();
+		}
+
+		private void loadBatch(List<Object[]> naturalIdValues) {
+			final Criteria criteria = createCriteria( entityPersister().getEntityName() ).setFlushMode( FlushMode.MANUAL );
+			if ( lockOptions() != null ) {
+				criteria.setLockMode( lockOptions().getLockMode() );
+			}
+			if ( naturalIdAttributeNames.length == 1 ) {
+				final List<Object> values = new ArrayList<Object>( naturalIdValues.size() );
+				boolean nullValue = false;
+				for ( Object[] naturalIdValue : naturalIdValues ) {
+					if ( naturalIdValue[0] == null ) {
+						nullValue = true;
+					}
+					else {
+						values.add( naturalIdValue[0] );
+					}
+				}
+				final Disjunction restriction = Restrictions.disjunction();
+				if ( !values.isEmpty() ) {
+					restriction.add( Restrictions.in( naturalIdAttributeNames[0], values ) );
+				}
+				if ( nullValue ) {
+					restriction.add( Restrictions.isNull( naturalIdAttributeNames[0] ) );
+				}
+				criteria.add( restriction );
+			}
+			else {
+				final Disjunction restriction = Restrictions.disjunction();
+				for ( Object[] naturalIdValue : naturalIdValues ) {
+					final Conjunction naturalIdRestriction = Restrictions.conjunction();
+					for ( int i = 0; i < naturalIdAttributeNames.length; i++ ) {
+						naturalIdRestriction.add( Restrictions.eqOrIsNull( naturalIdAttributeNames[i], naturalIdValue[i] ) );
+					}
+					restriction.add( naturalIdRestriction );
+				}
+				criteria.add( restriction );
+			}
+
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.currentTimeMillis() : 0;
+			criteria.list();
+			if ( stats ) {
+				final NaturalIdRegionAccessStrategy naturalIdCacheAccessStrategy =
+						entityPersister().getNaturalIdCacheAccessStrategy();
+				factory.getStatisticsImplementor().naturalIdQueryExecuted(
+						naturalIdCacheAccessStrategy == null ? null : naturalIdCacheAccessStrategy.getRegion().getName(),
+						System.currentTimeMillis() - startTime
+				);
+			}
+		}
+
+		private Object load(Serializable id) {
+			if ( id == PersistenceContext.NaturalIdHelper.INVALID_NATURAL_ID_REFERENCE ) {
+				return null;
+			}
+			try {
+				return getIdentifierLoadAccess().load( id );
+			}
+			catch (EntityNotFoundException enf) {
+				// OK
+			}
+			catch (ObjectNotFoundException nf) {
+				// OK
+			}
+			return null;
+		}
+
+		private boolean isNegativeCacheUsable() {
+			// a lookup requesting a lock must always go to the database
+			return getCacheMode().isGetEnabled()
+					&& ( lockOptions() == null || lockOptions().getLockMode().lessThan( LockMode.READ ) );
+		}
+
+		private int determineBatchSize(int numberOfNaturalIds) {
+			if ( batchSize > 0 ) {
+				return batchSize;
+			}
+			final int inExpressionCountLimit = factory.getDialect().getInExpressionCountLimit();
+			if ( inExpressionCountLimit > 0 ) {
+				// a compound natural id binds a parameter per natural-id attribute
+				return Math.min(
+						Math.max( inExpressionCountLimit / naturalIdAttributeNames.length, 1 ),
+						numberOfNaturalIds
+				);
+			}
+			return numberOfNaturalIds;
+		}
+	}
 }
@@ -0,0 +1,463 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A hash map using open addressing (linear probing), with keys and values stored next to each other in a single
+ * array.  Unlike {@link java.util.HashMap} no entry object is allocated per mapping, which makes it well suited for
+ * the large, key-lookup dominated maps of the persistence context (keyed by {@link org.hibernate.engine.spi.EntityKey}
+ * or {@link org.hibernate.engine.spi.CollectionKey}, whose hash codes are precomputed).
+ * <p/>
+ * The table is only allocated when the first mapping is added, and released again by {@link #clear()}.
+ * Null keys are not supported; null values are.  Not thread-safe; iterators are fail-fast.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class OpenAddressingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final Object[] EMPTY_TABLE = new Object[0];
+	private static final int MINIMUM_CAPACITY = 8;
+
+	private final int initialCapacity;
+
+	// key at [2 * slot], value at [2 * slot + 1]
+	private Object[] table = EMPTY_TABLE;
+	private int size;
+	private int modCount;
+
+	private transient Set<K> keySet;
+	private transient Collection<V> values;
+	private transient Set<Map.Entry<K,V>> entrySet;
+
+	/**
+	 * Create a map with default sizing.
+	 */
+	public OpenAddressingHashMap() {
+		this( MINIMUM_CAPACITY / 2 );
+	}
+
+	/**
+	 * Create a map sized for the given number of mappings.
+	 *
+	 * @param expectedSize The number of mappings the map is expected to hold
+	 */
+	public OpenAddressingHashMap(int expectedSize) {
+		int capacity = MINIMUM_CAPACITY;
+		// keep the load factor at or below 1/2
+		while ( capacity < expectedSize * 2 ) {
+			capacity <<= 1;
+		}
+		this.initialCapacity = capacity;
+	}
+
+	private static int hash(Object key) {
+		final int h = key.hashCode();
+		return h ^ ( h >>> 16 );
+	}
+
+	private int slotOf(Object key) {
+		if ( size == 0 || key == null ) {
+			return -1;
+		}
+		final Object[] tab = table;
+		final int mask = ( tab.length >> 1 ) - 1;
+		int slot = hash( key ) & mask;
+		while ( true ) {
+			final Object candidate = tab[ slot << 1 ];
+			if ( candidate == null ) {
+				return -1;
+			}
+			if ( candidate == key || candidate.equals( key ) ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slotOf( key ) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		final Object[] tab = table;
+		for ( int i = 0; i < tab.length; i += 2 ) {
+			if ( tab[i] != null ) {
+				final Object candidate = tab[i + 1];
+				if ( candidate == value || ( candidate != null && candidate.equals( value ) ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int slot = slotOf( key );
+		return slot < 0 ? null : (V) table[ ( slot << 1 ) + 1 ];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new NullPointerException( "null keys are not supported" );
+		}
+		if ( table == EMPTY_TABLE ) {
+			table = new Object[ initialCapacity << 1 ];
+		}
+		final Object[] tab = table;
+		final int mask = ( tab.length >> 1 ) - 1;
+		int slot = hash( key ) & mask;
+		while ( true ) {
+			final int index = slot << 1;
+			final Object candidate = tab[index];
+			if ( candidate == null ) {
+				tab[index] = key;
+				tab[index + 1] = value;
+				modCount++;
+				if ( ++size * 2 > ( tab.length >> 1 ) ) {
+					resize( tab.length );
+				}
+				return null;
+			}
+			if ( candidate == key || candidate.equals( key ) ) {
+				final V old = (V) tab[index + 1];
+				tab[index + 1] = value;
+				return old;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+	}
+
+	private void resize(int newCapacity) {
+		final Object[] oldTable = table;
+		final Object[] newTable = new Object[ newCapacity << 1 ];
+		final int mask = newCapacity - 1;
+		for ( int i = 0; i < oldTable.length; i += 2 ) {
+			final Object key = oldTable[i];
+			if ( key != null ) {
+				int slot = hash( key ) & mask;
+				while ( newTable[ slot << 1 ] != null ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				newTable[ slot << 1 ] = key;
+				newTable[ ( slot << 1 ) + 1 ] = oldTable[i + 1];
+			}
+		}
+		table = newTable;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		final int slot = slotOf( key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V old = (V) table[ ( slot << 1 ) + 1 ];
+		removeSlot( slot, null );
+		return old;
+	}
+
+	/**
+	 * Removes the mapping in the given slot, shifting back any following mappings of the same probe sequence so that
+	 * no tombstones are needed.
+	 *
+	 * @param slot The slot to empty
+	 * @param wrapped If not {@code null}, receives (key and value of) any mapping moved from the start of the table
+	 * to beyond the given slot; used by iterators, which visit the table backwards
+	 */
+	private void removeSlot(int slot, List<Object> wrapped) {
+		final Object[] tab = table;
+		final int mask = ( tab.length >> 1 ) - 1;
+		int free = slot;
+		int current = slot;
+		while ( true ) {
+			current = ( current + 1 ) & mask;
+			final Object key = tab[ current << 1 ];
+			if ( key == null ) {
+				break;
+			}
+			final int ideal = hash( key ) & mask;
+			// the mapping may only move back if its ideal slot is not cyclically within (free, current]
+			final boolean stays = free <= current
+					? free < ideal && ideal <= current
+					: free < ideal || ideal <= current;
+			if ( stays ) {
+				continue;
+			}
+			tab[ free << 1 ] = key;
+			tab[ ( free << 1 ) + 1 ] = tab[ ( current << 1 ) + 1 ];
+			if ( wrapped != null && current < free ) {
+				wrapped.add( key );
+				wrapped.add( tab[ ( current << 1 ) + 1 ] );
+			}
+			free = current;
+		}
+		tab[ free << 1 ] = null;
+		tab[ ( free << 1 ) + 1 ] = null;
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		if ( table != EMPTY_TABLE ) {
+			table = EMPTY_TABLE;
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySet == null ) {
+			keySet = new AbstractSet<K>() {
+				@Override
+				public Iterator<K> iterator() {
+					return new TableIterator<K>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						K current() {
+							return (K) currentKey;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+
+				@Override
+				public boolean remove(Object o) {
+					final int slot = slotOf( o );
+					if ( slot < 0 ) {
+						return false;
+					}
+					removeSlot( slot, null );
+					return true;
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( values == null ) {
+			values = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new TableIterator<V>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						V current() {
+							return (V) currentValue;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsValue( o );
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return values;
+	}
+
+	@Override
+	public Set<Map.Entry<K,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<K,V>>() {
+				@Override
+				public Iterator<Map.Entry<K,V>> iterator() {
+					return new TableIterator<Map.Entry<K,V>>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						Map.Entry<K,V> current() {
+							return new Entry( (K) currentKey, (V) currentValue );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Entry handed out by the entry set iterator; writes through to the map.
+	 */
+	private final class Entry extends SimpleEntry<K,V> {
+		private Entry(K key, V value) {
+			super( key, value );
+		}
+
+		@Override
+		public V setValue(V value) {
+			put( getKey(), value );
+			return super.setValue( value );
+		}
+	}
+
+	/**
+	 * Visits the table from its end to its start, so that removals (which only ever shift mappings back) do not
+	 * move unvisited mappings into the visited part of the table, except for those wrapping around from the start
+	 * of the table, which are remembered and visited last.
+	 */
+	private abstract class TableIterator<T> implements Iterator<T> {
+		private int expectedModCount = modCount;
+		private int remaining = size;
+		private int slot = table.length >> 1;
+		private List<Object> wrapped;
+		private int wrappedPosition;
+
+		// the slot of the last returned mapping, or -1 if it came from the wrapped list
+		private int lastSlot = -1;
+		private boolean canRemove;
+
+		Object currentKey;
+		Object currentValue;
+
+		abstract T current();
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public T next() {
+			if ( remaining == 0 ) {
+				throw new NoSuchElementException();
+			}
+			checkForComodification();
+			remaining--;
+			final Object[] tab = table;
+			while ( --slot >= 0 ) {
+				if ( tab[ slot << 1 ] != null ) {
+					lastSlot = slot;
+					currentKey = tab[ slot << 1 ];
+					currentValue = tab[ ( slot << 1 ) + 1 ];
+					canRemove = true;
+					return current();
+				}
+			}
+			slot = -1;
+			lastSlot = -1;
+			currentKey = wrapped.get( wrappedPosition++ );
+			currentValue = wrapped.get( wrappedPosition++ );
+			canRemove = true;
+			return current();
+		}
+
+		@Override
+		public void remove() {
+			if ( !canRemove ) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			if ( lastSlot >= 0 ) {
+				if ( wrapped == null ) {
+					wrapped = new ArrayList<Object>();
+				}
+				removeSlot( lastSlot, wrapped );
+			}
+			else {
+				removeSlot( slotOf( currentKey ), null );
+			}
+			expectedModCount = modCount;
+			canRemove = false;
+		}
+
+		private void checkForComodification() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return size == 0 ? "{}" : super.toString();
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Tunes the batch size of one entity or collection role for {@link BatchFetchStyle#ADAPTIVE} batch fetching.
+ * <p/>
+ * At the end of each unit of work (flush or clear of the session, see
+ * {@link org.hibernate.engine.spi.BatchFetchQueue#clear()}) the number of instances of the role that were
+ * actually initialized by batch loads is {@link #recordDemand recorded}; the batch size follows an
+ * exponentially weighted moving average of that demand, bounded by {@link #getMinBatchSize()} and
+ * {@link #getMaxBatchSize()}.  Within a unit of work that keeps initializing instances of the role the size is
+ * {@link #escalate escalated} so that an N+1 pattern on a new code path costs a logarithmic number of selects.
+ * <p/>
+ * Instances are shared by all sessions of a SessionFactory, see
+ * {@link org.hibernate.engine.spi.SessionFactoryImplementor#getAdaptiveBatchSizer}.
+ */
+public class AdaptiveBatchSizer {
+	private static final Logger log = Logger.getLogger( AdaptiveBatchSizer.class );
+
+	/**
+	 * Weight of the most recent unit of work in the moving average.
+	 */
+	private static final double DEMAND_WEIGHT = 0.25d;
+
+	private final String role;
+	private final int minBatchSize;
+	private final int maxBatchSize;
+
+	private double averageDemand;
+	private volatile int batchSize;
+
+	/**
+	 * Constructs an AdaptiveBatchSizer, starting at the lower bound.
+	 *
+	 * @param role The entity name or collection role
+	 * @param minBatchSize The smallest batch size to tune down to
+	 * @param maxBatchSize The largest batch size to tune up to
+	 */
+	public AdaptiveBatchSizer(String role, int minBatchSize, int maxBatchSize) {
+		this.role = role;
+		this.maxBatchSize = Math.max( maxBatchSize, 1 );
+		this.minBatchSize = Math.min( Math.max( minBatchSize, 1 ), this.maxBatchSize );
+		this.averageDemand = this.minBatchSize;
+		this.batchSize = this.minBatchSize;
+	}
+
+	public String getRole() {
+		return role;
+	}
+
+	public int getMinBatchSize() {
+		return minBatchSize;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * The batch size for the first batch load of the role in a unit of work.
+	 *
+	 * @return The current batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * The batch size for a further batch load of the role in a unit of work whose previous batch load of the
+	 * role used the given size: the instances fetched by that batch did not cover the demand, so at least
+	 * double it.
+	 *
+	 * @param previousBatchSize The size used by the previous batch load of the role
+	 *
+	 * @return The batch size to use
+	 */
+	public int escalate(int previousBatchSize) {
+		return bound( Math.max( batchSize, previousBatchSize * 2 ) );
+	}
+
+	/**
+	 * Records the number of instances of the role initialized by batch loads during a unit of work, and retunes
+	 * the batch size.
+	 *
+	 * @param initialized The number of instances initialized, including the ones which triggered the batch loads
+	 */
+	public synchronized void recordDemand(int initialized) {
+		averageDemand += DEMAND_WEIGHT * ( initialized - averageDemand );
+		final int tuned = bound( (int) Math.ceil( averageDemand ) );
+		if ( tuned != batchSize ) {
+			log.debugf( "Adaptive batch size of %s changed from %s to %s", role, batchSize, tuned );
+			batchSize = tuned;
+		}
+	}
+
+	private int bound(int size) {
+		return Math.min( maxBatchSize, Math.max( minBatchSize, size ) );
+	}
+
+	@Override
+	public String toString() {
+		return "AdaptiveBatchSizer(" + role + ") [batchSize=" + batchSize + ", min=" + minBatchSize
+				+ ", max=" + maxBatchSize + "]";
+	}
+}
@@ -55,7 +55,18 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Builds its SQL dynamically like {@link #DYNAMIC}, but rather than always batching as many ids as the
+	 * batch-size allows, sizes each batch from how many instances of the entity/collection role earlier units
+	 * of work actually initialized.  The size is tuned per role, between the
+	 * "{@value org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ADAPTIVE_MIN_SIZE}" setting and the batch-size
+	 * defined on the entity/collection (or "{@value org.hibernate.cfg.AvailableSettings#DEFAULT_BATCH_FETCH_SIZE}"),
+	 * and doubles within a unit of work that keeps initializing further instances of the same role.
+	 *
+	 * @see AdaptiveBatchSizer
+	 */
+	ADAPTIVE;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
@@ -0,0 +1,528 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.engine.jdbc.CachedResultSetProxy;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcConnectionAccess;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.compare.EqualsHelper;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.Type;
+
+/**
+ * Initializes several proxies and persistent collections of one session by running the queries that load them
+ * concurrently, see {@link Hibernate#initializeConcurrently}.
+ * <p/>
+ * Initialization happens in three steps:<ol>
+ *     <li>the statement loading each target is obtained from its persister, see
+ * 		{@link AbstractCollectionPersister#getInitializeStatement} and {@link AbstractEntityPersister#getLoadStatement};
+ * 		nothing is executed and the session is not touched</li>
+ *     <li>these statements are executed concurrently, each on its own connection obtained through the session's
+ * 		{@link JdbcConnectionAccess}, and their rows are read into memory</li>
+ *     <li>each target is initialized as usual; a loader about to execute one of these statements processes the rows
+ * 		read in the previous step instead</li>
+ * </ol>
+ * Since the persistence context is only ever touched by the calling thread, the result is exactly what
+ * {@link Hibernate#initialize} would produce for each target in turn.  Targets whose statement is not known up front
+ * (cached roles and entities, custom loaders, pessimistic locks, limits, ...) or whose statement changes before it is
+ * executed (for example because an earlier target batch loaded a later one) are simply loaded on the session's
+ * connection.
+ * <p/>
+ * The concurrent statements run outside of the session's transaction and therefore only see committed data.  So as
+ * not to miss the session's own uncommitted changes, the targets are initialized one after another while the
+ * session's connection is not in autocommit mode, unless
+ * {@link org.hibernate.cfg.AvailableSettings#CONCURRENT_INITIALIZATION_IN_TRANSACTION} allows concurrent statements in
+ * a transaction which has not {@link JdbcCoordinator#hasExecutedWrites() written} any data yet.
+ * <p/>
+ * Instances are shared by all sessions of a SessionFactory, see
+ * {@link org.hibernate.engine.spi.SessionFactoryImplementor#getConcurrentInitializer()}.
+ */
+public class ConcurrentInitializer {
+	private static final Logger log = Logger.getLogger( ConcurrentInitializer.class );
+
+	private static final ThreadLocal<Prefetch> CURRENT_PREFETCH = new ThreadLocal<Prefetch>();
+
+	private final int maxThreads;
+	private final boolean inTransaction;
+	private ExecutorService executor;
+	private boolean closed;
+
+	/**
+	 * Constructs a ConcurrentInitializer.
+	 *
+	 * @param maxThreads The maximum number of statements to execute at the same time; 1 or less disables
+	 * concurrent initialization.
+	 * @param inTransaction Whether to execute statements concurrently while the session's transaction is in progress,
+	 * as long as the transaction has not written any data.
+	 */
+	public ConcurrentInitializer(int maxThreads, boolean inTransaction) {
+		this.maxThreads = maxThreads;
+		this.inTransaction = inTransaction;
+	}
+
+	public int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Determine the session the given proxies and collections are to be initialized by.
+	 *
+	 * @param targets The proxies and collections
+	 *
+	 * @return The open session all uninitialized targets are associated with, or {@code null} if there is no such
+	 * session.
+	 */
+	public static SessionImplementor getSession(Object... targets) {
+		SessionImplementor session = null;
+		for ( Object target : targets ) {
+			if ( target == null || Hibernate.isInitialized( target ) ) {
+				continue;
+			}
+			final SessionImplementor targetSession;
+			if ( target instanceof HibernateProxy ) {
+				targetSession = ( (HibernateProxy) target ).getHibernateLazyInitializer().getSession();
+			}
+			else if ( target instanceof AbstractPersistentCollection ) {
+				targetSession = ( (AbstractPersistentCollection) target ).getSession();
+			}
+			else {
+				return null;
+			}
+			if ( targetSession == null || ( session != null && session != targetSession ) ) {
+				return null;
+			}
+			session = targetSession;
+		}
+		return session != null && session.isOpen() && session.isConnected() ? session : null;
+	}
+
+	/**
+	 * Initialize the given proxies and collections of the given session.
+	 *
+	 * @param session The session the targets are associated with, see {@link #getSession}
+	 * @param targets The proxies and collections to initialize
+	 */
+	public void initialize(SessionImplementor session, Object... targets) {
+		final List<Object> uninitialized = new ArrayList<Object>( targets.length );
+		for ( Object target : targets ) {
+			if ( target != null && !Hibernate.isInitialized( target ) ) {
+				uninitialized.add( target );
+			}
+		}
+
+		final ExecutorService executor = uninitialized.size() > 1
+				&& CURRENT_PREFETCH.get() == null
+				&& seesCommittedState( session )
+				? getExecutor()
+				: null;
+		if ( executor == null ) {
+			for ( Object target : uninitialized ) {
+				Hibernate.initialize( target );
+			}
+			return;
+		}
+
+		final Prefetch prefetch = new Prefetch( session );
+		for ( Object target : uninitialized ) {
+			prefetch.addStatementLoading( target );
+		}
+		CURRENT_PREFETCH.set( prefetch );
+		try {
+			prefetch.execute( executor );
+			for ( Object target : uninitialized ) {
+				Hibernate.initialize( target );
+			}
+		}
+		finally {
+			CURRENT_PREFETCH.remove();
+		}
+	}
+
+	/**
+	 * Would statements executed on other connections see the same data as the session's connection?
+	 */
+	private boolean seesCommittedState(SessionImplementor session) {
+		final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+		final boolean committed;
+		if ( session.isTransactionInProgress() ) {
+			committed = inTransaction && !jdbcCoordinator.hasExecutedWrites();
+		}
+		else {
+			committed = jdbcCoordinator.getLogicalConnection().isAutoCommit();
+		}
+		if ( !committed ) {
+			log.debug( "Session may have uncommitted changes; initializing one after another" );
+		}
+		return committed;
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if ( closed || maxThreads < 2 ) {
+			return null;
+		}
+		if ( executor == null ) {
+			final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+					maxThreads,
+					maxThreads,
+					60L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new ThreadFactory() {
+						private final AtomicInteger count = new AtomicInteger();
+
+						@Override
+						public Thread newThread(Runnable runnable) {
+							final Thread thread = new Thread(
+									runnable,
+									"hibernate-concurrent-initialization-" + count.incrementAndGet()
+							);
+							thread.setDaemon( true );
+							return thread;
+						}
+					}
+			);
+			threadPool.allowCoreThreadTimeOut( true );
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	/**
+	 * Stops the threads executing statements, called when the SessionFactory is closed.
+	 */
+	public synchronized void close() {
+		closed = true;
+		if ( executor != null ) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Can a statement built with the given parameters be executed on another connection than the session's?
+	 *
+	 * @param queryParameters The parameters the loader would execute the statement with
+	 * @param limitHandler The limit handler the loader would apply
+	 *
+	 * @return {@code false} for callable statements, limits, offsets and pessimistic locks.
+	 */
+	public static boolean isConcurrentlyExecutable(QueryParameters queryParameters, LimitHandler limitHandler) {
+		final RowSelection selection = queryParameters.getRowSelection();
+		if ( queryParameters.isCallable()
+				|| queryParameters.hasAutoDiscoverScalarTypes()
+				|| LimitHelper.hasFirstRow( selection )
+				|| LimitHelper.useLimit( limitHandler, selection ) ) {
+			return false;
+		}
+		// locks must be acquired by the session's own transaction
+		final LockOptions lockOptions = queryParameters.getLockOptions();
+		if ( lockOptions != null ) {
+			if ( lockOptions.getLockMode().greaterThan( LockMode.READ ) ) {
+				return false;
+			}
+			final Iterator itr = lockOptions.getAliasLockIterator();
+			while ( itr.hasNext() ) {
+				final Map.Entry entry = (Map.Entry) itr.next();
+				if ( ( (LockMode) entry.getValue() ).greaterThan( LockMode.READ ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Take the rows read concurrently for a statement a loader is about to execute.
+	 *
+	 * @param session The session loading
+	 * @param sql The SQL the loader is about to execute
+	 * @param queryParameters The parameters the loader is about to bind
+	 *
+	 * @return The rows, or {@code null} if the statement was not executed concurrently.
+	 */
+	public static ResultSet takePrefetchedResultSet(
+			SessionImplementor session,
+			String sql,
+			QueryParameters queryParameters) {
+		final Prefetch prefetch = CURRENT_PREFETCH.get();
+		return prefetch != null && prefetch.session == session ? prefetch.takeResultSet( sql, queryParameters ) : null;
+	}
+
+	/**
+	 * The statements of one concurrent initialization, and the rows they read.
+	 */
+	private static class Prefetch {
+		private final SessionImplementor session;
+		private final List<PrefetchedStatement> statements = new ArrayList<PrefetchedStatement>();
+		private final Map<PrefetchKey,ResultSet> resultSets = new HashMap<PrefetchKey, ResultSet>();
+
+		private Prefetch(SessionImplementor session) {
+			this.session = session;
+		}
+
+		private void addStatementLoading(Object target) {
+			final LoadStatement statement = target instanceof HibernateProxy
+					? getLoadStatement( ( (HibernateProxy) target ).getHibernateLazyInitializer() )
+					: getInitializeStatement( (PersistentCollection) target );
+			if ( statement != null ) {
+				statements.add( new PrefetchedStatement( statement ) );
+			}
+			else {
+				log.debugf( "No statement known up front for %s; it is initialized as usual", target );
+			}
+		}
+
+		private LoadStatement getLoadStatement(LazyInitializer lazyInitializer) {
+			final EntityPersister persister = session.getFactory().getEntityPersister( lazyInitializer.getEntityName() );
+			// entities in the second-level cache are not loaded from the database
+			if ( persister.hasCache() || !( persister instanceof AbstractEntityPersister ) ) {
+				return null;
+			}
+			final Serializable id = lazyInitializer.getIdentifier();
+			if ( session.getPersistenceContext().getEntity( session.generateEntityKey( id, persister ) ) != null ) {
+				return null;
+			}
+			// the lock options of Session#immediateLoad
+			return ( (AbstractEntityPersister) persister ).getLoadStatement( id, null, new LockOptions(), session );
+		}
+
+		private LoadStatement getInitializeStatement(PersistentCollection collection) {
+			final CollectionEntry entry = session.getPersistenceContext().getCollectionEntry( collection );
+			if ( entry == null ) {
+				return null;
+			}
+			final CollectionPersister persister = entry.getLoadedPersister();
+			// collections in the second-level cache are not loaded from the database
+			if ( persister == null || persister.hasCache() || !( persister instanceof AbstractCollectionPersister ) ) {
+				return null;
+			}
+			return ( (AbstractCollectionPersister) persister ).getInitializeStatement( entry.getLoadedKey(), session );
+		}
+
+		private ResultSet takeResultSet(String sql, QueryParameters queryParameters) {
+			return resultSets.isEmpty() ? null : resultSets.remove( new PrefetchKey( sql, queryParameters ) );
+		}
+
+		private void execute(ExecutorService executor) {
+			if ( statements.isEmpty() ) {
+				return;
+			}
+
+			final JdbcConnectionAccess connectionAccess = session.getJdbcConnectionAccess();
+			final List<Future<ResultSet>> futures = new ArrayList<Future<ResultSet>>( statements.size() );
+			for ( PrefetchedStatement statement : statements ) {
+				session.getFactory().getJdbcServices().getSqlStatementLogger().logStatement( statement.getSql() );
+				statement.connectionAccess = connectionAccess;
+				try {
+					futures.add( executor.submit( statement ) );
+				}
+				catch ( RejectedExecutionException e ) {
+					// the SessionFactory is being closed
+					futures.add( null );
+				}
+			}
+
+			boolean interrupted = false;
+			for ( int i = 0; i < futures.size(); i++ ) {
+				final Future<ResultSet> future = futures.get( i );
+				if ( future == null ) {
+					continue;
+				}
+				final PrefetchedStatement statement = statements.get( i );
+				while ( true ) {
+					try {
+						final ResultSet resultSet = future.get();
+						if ( resultSet != null ) {
+							resultSets.put( statement.key, resultSet );
+						}
+						break;
+					}
+					catch ( InterruptedException e ) {
+						// the connection is released by the thread executing the statement, so wait for it anyway
+						interrupted = true;
+					}
+					catch ( ExecutionException e ) {
+						// the statement is executed again on the session's connection, which reports the failure
+						log.debugf(
+								e.getCause(),
+								"Unable to execute [%s] concurrently; it is executed as usual",
+								statement.getSql()
+						);
+						break;
+					}
+				}
+			}
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * A statement executed on its own connection, reading its rows into memory.
+	 */
+	private static class PrefetchedStatement implements Callable<ResultSet> {
+		private final LoadStatement statement;
+		private final PrefetchKey key;
+		private JdbcConnectionAccess connectionAccess;
+
+		private PrefetchedStatement(LoadStatement statement) {
+			this.statement = statement;
+			this.key = new PrefetchKey( statement.getSql(), statement.getQueryParameters() );
+		}
+
+		private String getSql() {
+			return statement.getSql();
+		}
+
+		@Override
+		public ResultSet call() throws Exception {
+			final Connection connection = connectionAccess.obtainConnection();
+			try {
+				final PreparedStatement preparedStatement = connection.prepareStatement( statement.getSql() );
+				try {
+					statement.bind( preparedStatement );
+					final ResultSet resultSet = preparedStatement.executeQuery();
+					try {
+						return CachedResultSetProxy.cache( resultSet );
+					}
+					finally {
+						resultSet.close();
+					}
+				}
+				finally {
+					preparedStatement.close();
+				}
+			}
+			finally {
+				try {
+					if ( !connection.getAutoCommit() ) {
+						connection.rollback();
+					}
+				}
+				catch ( SQLException e ) {
+					log.debugf( e, "Unable to end the transaction of a concurrent initialization connection" );
+				}
+				connectionAccess.releaseConnection( connection );
+			}
+		}
+	}
+
+	/**
+	 * Identifies a statement by its SQL and parameter values, as seen by the loader before binding.
+	 */
+	private static class PrefetchKey {
+		private final String sql;
+		private final Type[] types;
+		private final Object[] values;
+		private final Map namedParameters;
+
+		private PrefetchKey(String sql, QueryParameters queryParameters) {
+			this.sql = sql;
+			this.types = queryParameters.getFilteredPositionalParameterTypes();
+			this.values = queryParameters.getFilteredPositionalParameterValues();
+			this.namedParameters = queryParameters.getNamedParameters();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if ( this == other ) {
+				return true;
+			}
+			if ( !( other instanceof PrefetchKey ) ) {
+				return false;
+			}
+			final PrefetchKey that = (PrefetchKey) other;
+			if ( !sql.equals( that.sql ) || !valuesEqual( that ) ) {
+				return false;
+			}
+			final boolean noNamedParameters = namedParameters == null || namedParameters.isEmpty();
+			final boolean thatNoNamedParameters = that.namedParameters == null || that.namedParameters.isEmpty();
+			return noNamedParameters
+					? thatNoNamedParameters
+					: EqualsHelper.equals( namedParameters, that.namedParameters );
+		}
+
+		private boolean valuesEqual(PrefetchKey that) {
+			final int length = values == null ? 0 : values.length;
+			final int thatLength = that.values == null ? 0 : that.values.length;
+			if ( length != thatLength ) {
+				return false;
+			}
+			for ( int i = 0; i < length; i++ ) {
+				if ( types[i] != that.types[i] && !types[i].getName().equals( that.types[i].getName() ) ) {
+					return false;
+				}
+				if ( !types[i].isEqual( values[i], that.values[i] ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return sql.hashCode();
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.ResultSetWrapperProxy;
+import org.hibernate.engine.spi.QueryParameters;
+
+/**
+ * The statement a loader would execute for a load: its SQL, the parameters it was built from and the values the
+ * loader binds to it.  Building one executes nothing and leaves the session untouched.
+ *
+ * @see org.hibernate.loader.collection.PrefetchableCollectionInitializer
+ * @see org.hibernate.loader.entity.PrefetchableEntityLoader
+ * @see ConcurrentInitializer
+ */
+public class LoadStatement {
+	private final String sql;
+	private final QueryParameters queryParameters;
+	private final BindingRecorder recorder = new BindingRecorder();
+
+	/**
+	 * Constructs a LoadStatement.
+	 *
+	 * @param sql The SQL the loader would execute, after applying filters, limits, locks and comments
+	 * @param queryParameters The parameters the loader would execute the SQL with
+	 */
+	public LoadStatement(String sql, QueryParameters queryParameters) {
+		this.sql = sql;
+		this.queryParameters = queryParameters;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public QueryParameters getQueryParameters() {
+		return queryParameters;
+	}
+
+	/**
+	 * The statement the loader binds its parameter values to.  It only records the calls made to its setters; any
+	 * other method fails.
+	 *
+	 * @return The recording statement
+	 */
+	public PreparedStatement getBindingRecorder() {
+		return recorder.statement;
+	}
+
+	/**
+	 * Bind the recorded parameter values to the given statement.
+	 *
+	 * @param statement The statement to execute
+	 *
+	 * @throws SQLException Indicates a problem binding the values
+	 */
+	public void bind(PreparedStatement statement) throws SQLException {
+		recorder.replay( statement );
+	}
+
+	/**
+	 * Records the calls the loader makes to bind a statement.
+	 */
+	private static class BindingRecorder implements InvocationHandler {
+		private final List<Method> methods = new ArrayList<Method>();
+		private final List<Object[]> arguments = new ArrayList<Object[]>();
+		private final PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+				ResultSetWrapperProxy.getProxyClassLoader(),
+				new Class[] { PreparedStatement.class },
+				this
+		);
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String methodName = method.getName();
+			if ( methodName.startsWith( "set" ) && method.getReturnType() == void.class ) {
+				methods.add( method );
+				arguments.add( args );
+				return null;
+			}
+			if ( "hashCode".equals( methodName ) ) {
+				return System.identityHashCode( proxy );
+			}
+			if ( "equals".equals( methodName ) ) {
+				return proxy == args[0];
+			}
+			if ( "toString".equals( methodName ) ) {
+				return "LoadStatement(" + methods.size() + " bindings)";
+			}
+			throw new SQLFeatureNotSupportedException( "Not supported while recording bindings : " + methodName );
+		}
+
+		private void replay(PreparedStatement target) throws SQLException {
+			for ( int i = 0; i < methods.size(); i++ ) {
+				try {
+					methods.get( i ).invoke( target, arguments.get( i ) );
+				}
+				catch ( IllegalAccessException e ) {
+					throw new HibernateException( "Unable to bind recorded value", e );
+				}
+				catch ( InvocationTargetException e ) {
+					final Throwable cause = e.getTargetException();
+					if ( cause instanceof SQLException ) {
+						throw (SQLException) cause;
+					}
+					if ( cause instanceof RuntimeException ) {
+						throw (RuntimeException) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw (Error) cause;
+					}
+					throw new HibernateException( "Unable to bind recorded value", cause );
+				}
+			}
+		}
+	}
+}
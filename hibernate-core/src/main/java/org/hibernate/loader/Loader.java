@@ -38,6 +38,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.logging.Logger;
 
@@ -61,6 +64,7 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
+import org.hibernate.engine.internal.EntityCachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.spi.EntityEntry;
@@ -85,6 +89,7 @@ import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.HydrationPlan;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
 import org.hibernate.pretty.MessageHelper;
@@ -114,8 +119,16 @@ public abstract class Loader {
 
     protected static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, Loader.class.getName());
    	protected static final boolean DEBUG_ENABLED = LOG.isDebugEnabled();
+	private static final AtomicReferenceFieldUpdater<Loader, ColumnNameCache> COLUMN_NAME_CACHE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater( Loader.class, ColumnNameCache.class, "columnNameCache" );
+
 	private final SessionFactoryImplementor factory;
-	private ColumnNameCache columnNameCache;
+	// loaders are shared by all the sessions; the first cache published wins, concurrently built ones are dropped
+	private volatile ColumnNameCache columnNameCache;
+	// the hydration plans of the entity types selected by this loader, by persister, by entity alias index
+	// and by whether the lazy properties are fetched
+	private final ConcurrentMap<Loadable, HydrationPlan[]> hydrationPlans =
+			new ConcurrentHashMap<Loadable, HydrationPlan[]>();
 
 	private final boolean referenceCachingEnabled;
 
@@ -339,7 +352,7 @@ public abstract class Loader {
 		if ( queryParameters.isReadOnlyInitialized() ) {
 			// The read-only/modifiable mode for the query was explicitly set.
 			// Temporarily set the default read-only/modifiable setting to the query's setting.
-			persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly() );
+			persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly( session ) );
 		}
 		else {
 			// The read-only/modifiable setting for the query was not initialized.
@@ -380,6 +393,26 @@ public abstract class Loader {
 	        final SessionImplementor session,
 	        final QueryParameters queryParameters,
 	        final boolean returnProxies) throws HibernateException {
+		return loadSingleRow( resultSet, session, queryParameters, returnProxies, null );
+	}
+
+	/**
+	 * Loads a single row from the result set, collecting the entities hydrated from it.
+	 *
+	 * @param resultSet The result set from which to do the load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param returnProxies Should proxies be generated
+	 * @param rowEntities Receives the entities instantiated from the row, or {@code null}
+	 * @return The loaded "row".
+	 * @throws HibernateException
+	 */
+	public Object loadSingleRow(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final boolean returnProxies,
+	        final List rowEntities) throws HibernateException {
 
 		final int entitySpan = getEntityPersisters().length;
 		final List hydratedObjects = entitySpan == 0 ?
@@ -412,6 +445,9 @@ public abstract class Loader {
 				session,
 				queryParameters.isReadOnly( session )
 		);
+		if ( rowEntities != null && hydratedObjects != null ) {
+			rowEntities.addAll( hydratedObjects );
+		}
 		session.getPersistenceContext().initializeNonLazyCollections();
 		return result;
 	}
@@ -421,7 +457,8 @@ public abstract class Loader {
 	        final SessionImplementor session,
 	        final QueryParameters queryParameters,
 	        final boolean returnProxies,
-	        final EntityKey keyToRead) throws HibernateException {
+	        final EntityKey keyToRead,
+	        final List rowEntities) throws HibernateException {
 
 		final int entitySpan = getEntityPersisters().length;
 		final List hydratedObjects = entitySpan == 0 ?
@@ -471,6 +508,9 @@ public abstract class Loader {
 				session,
 				queryParameters.isReadOnly( session )
 		);
+		if ( rowEntities != null && hydratedObjects != null ) {
+			rowEntities.addAll( hydratedObjects );
+		}
 		session.getPersistenceContext().initializeNonLazyCollections();
 		return result;
 	}
@@ -504,6 +544,26 @@ public abstract class Loader {
 	        final SessionImplementor session,
 	        final QueryParameters queryParameters,
 	        final boolean returnProxies) throws HibernateException {
+		return loadSequentialRowsForward( resultSet, session, queryParameters, returnProxies, null );
+	}
+
+	/**
+	 * Loads a single logical row from the result set moving forward, collecting the entities hydrated from it.
+	 *
+	 * @param resultSet The result set from which to do the load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param returnProxies Should proxies be generated
+	 * @param rowEntities Receives the entities instantiated from the logical row, or {@code null}
+	 * @return The loaded "row".
+	 * @throws HibernateException
+	 */
+	public Object loadSequentialRowsForward(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final boolean returnProxies,
+	        final List rowEntities) throws HibernateException {
 
 		// note that for sequential scrolling, we make the assumption that
 		// the first persister element is the "root entity"
@@ -532,7 +592,7 @@ public abstract class Loader {
 					session
 				);
 
-			return sequentialLoad( resultSet, session, queryParameters, returnProxies, currentKey );
+			return sequentialLoad( resultSet, session, queryParameters, returnProxies, currentKey, rowEntities );
 		}
 		catch ( SQLException sqle ) {
 			throw factory.getSQLExceptionHelper().convert(
@@ -562,6 +622,28 @@ public abstract class Loader {
 	        final QueryParameters queryParameters,
 	        final boolean returnProxies,
 	        final boolean isLogicallyAfterLast) throws HibernateException {
+		return loadSequentialRowsReverse( resultSet, session, queryParameters, returnProxies, isLogicallyAfterLast, null );
+	}
+
+	/**
+	 * Loads a single logical row from the result set moving backward, collecting the entities hydrated from it.
+	 *
+	 * @param resultSet The result set from which to do the load.
+	 * @param session The session from which the request originated.
+	 * @param queryParameters The query parameters specified by the user.
+	 * @param returnProxies Should proxies be generated
+	 * @param isLogicallyAfterLast Is the cursor logically positioned after the last row
+	 * @param rowEntities Receives the entities instantiated from the logical row, or {@code null}
+	 * @return The loaded "row".
+	 * @throws HibernateException
+	 */
+	public Object loadSequentialRowsReverse(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final boolean returnProxies,
+	        final boolean isLogicallyAfterLast,
+	        final List rowEntities) throws HibernateException {
 
 		// note that for sequential scrolling, we make the assumption that
 		// the first persister element is the "root entity"
@@ -657,7 +739,7 @@ public abstract class Loader {
 			resultSet.next();
 
 			// and doAfterTransactionCompletion the load
-			return sequentialLoad( resultSet, session, queryParameters, returnProxies, keyToRead );
+			return sequentialLoad( resultSet, session, queryParameters, returnProxies, keyToRead, rowEntities );
 		}
 		catch ( SQLException sqle ) {
 			throw factory.getSQLExceptionHelper().convert(
@@ -919,7 +1001,10 @@ public abstract class Loader {
 			return processResultSet( rs, queryParameters, session, returnProxies, forcedResultTransformer, maxRows, afterLoadActions );
 		}
 		finally {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			// no statement when the rows were read by a ConcurrentInitializer
+			if ( st != null ) {
+				session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			}
 		}
 
 	}
@@ -1111,8 +1196,13 @@ public abstract class Loader {
 			int hydratedObjectsSize = hydratedObjects.size();
 			if ( LOG.isTraceEnabled() )
 			   LOG.tracev( "Total objects hydrated: {0}", hydratedObjectsSize );
+			// with several entities, write them to the second-level cache together (one call per region)
+			final EntityCachePutBatch cachePutBatch = hydratedObjectsSize > 1 ? new EntityCachePutBatch() : null;
 			for ( int i = 0; i < hydratedObjectsSize; i++ ) {
-				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre );
+				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre, cachePutBatch );
+			}
+			if ( cachePutBatch != null ) {
+				cachePutBatch.execute( session );
 			}
 		}
 
@@ -1687,18 +1777,11 @@ public abstract class Loader {
 				session
 			);
 
-		//This is not very nice (and quite slow):
-		final String[][] cols = persister == rootPersister ?
-				getEntityAliases()[i].getSuffixedPropertyAliases() :
-				getEntityAliases()[i].getSuffixedPropertyAliases(persister);
-
 		final Object[] values = persister.hydrate(
 				rs,
 				id,
 				object,
-				rootPersister,
-				cols,
-				eagerPropertyFetch,
+				getHydrationPlan( i, persister, rootPersister, eagerPropertyFetch ),
 				session
 			);
 
@@ -1741,6 +1824,32 @@ public abstract class Loader {
 
 	}
 
+	private HydrationPlan getHydrationPlan(
+			final int i,
+			final Loadable persister,
+			final Loadable rootPersister,
+			final boolean eagerPropertyFetch) {
+		HydrationPlan[] plans = hydrationPlans.get( persister );
+		if ( plans == null ) {
+			plans = new HydrationPlan[ getEntityPersisters().length * 2 ];
+			final HydrationPlan[] previous = hydrationPlans.putIfAbsent( persister, plans );
+			if ( previous != null ) {
+				plans = previous;
+			}
+		}
+		// plans are immutable, so concurrently building the same one is harmless
+		final int planIndex = eagerPropertyFetch ? i * 2 + 1 : i * 2;
+		HydrationPlan plan = plans[planIndex];
+		if ( plan == null ) {
+			final String[][] cols = persister == rootPersister ?
+					getEntityAliases()[i].getSuffixedPropertyAliases() :
+					getEntityAliases()[i].getSuffixedPropertyAliases( persister );
+			plan = persister.buildHydrationPlan( rootPersister, cols, eagerPropertyFetch );
+			plans[planIndex] = plan;
+		}
+		return plan;
+	}
+
 	/**
 	 * Determine the concrete class of an instance in the <tt>ResultSet</tt>
 	 */
@@ -1858,10 +1967,49 @@ public abstract class Loader {
 		// Adding locks and comments.
 		sql = preprocessSQL( sql, queryParameters, getFactory().getDialect(), afterLoadActions );
 
+		if ( !scroll ) {
+			// rows read on another connection by a ConcurrentInitializer
+			final ResultSet rs = ConcurrentInitializer.takePrefetchedResultSet( session, sql, queryParameters );
+			if ( rs != null ) {
+				return new SqlStatementWrapper( null, rs );
+			}
+		}
+
 		final PreparedStatement st = prepareQueryStatement( sql, queryParameters, limitHandler, scroll, session );
 		return new SqlStatementWrapper( st, getResultSet( st, queryParameters.getRowSelection(), limitHandler, queryParameters.hasAutoDiscoverScalarTypes(), session ) );
 	}
 
+	/**
+	 * Process query string the way {@link #executeQueryStatement} does, but bind the parameter values to a
+	 * {@link LoadStatement} instead of executing the statement.
+	 *
+	 * @return The statement, or {@code null} if it can only be executed on the session's connection.
+	 */
+	protected LoadStatement buildLoadStatement(
+			String sqlStatement,
+			QueryParameters queryParameters,
+			SessionImplementor session) throws SQLException {
+		queryParameters.processFilters( sqlStatement, session );
+
+		final LimitHandler limitHandler = getLimitHandler(
+				queryParameters.getFilteredSQL(),
+				queryParameters.getRowSelection()
+		);
+		if ( !ConcurrentInitializer.isConcurrentlyExecutable( queryParameters, limitHandler ) ) {
+			return null;
+		}
+		final String sql = preprocessSQL(
+				limitHandler.getProcessedSql(),
+				queryParameters,
+				getFactory().getDialect(),
+				new ArrayList<AfterLoadAction>()
+		);
+
+		final LoadStatement statement = new LoadStatement( sql, queryParameters );
+		bindQueryStatement( statement.getBindingRecorder(), queryParameters, limitHandler, session );
+		return statement;
+	}
+
 	/**
 	 * Obtain a <tt>PreparedStatement</tt> with all parameters pre-bound.
 	 * Bind JDBC-style <tt>?</tt> parameters, named parameters, and
@@ -1873,7 +2021,6 @@ public abstract class Loader {
 	        final LimitHandler limitHandler,
 	        final boolean scroll,
 	        final SessionImplementor session) throws SQLException, HibernateException {
-		final Dialect dialect = getFactory().getDialect();
 		final RowSelection selection = queryParameters.getRowSelection();
 		boolean useLimit = LimitHelper.useLimit( limitHandler, selection );
 		boolean hasFirstRow = LimitHelper.hasFirstRow( selection );
@@ -1888,61 +2035,72 @@ public abstract class Loader {
 		);
 
 		try {
+			bindQueryStatement( st, queryParameters, limitHandler, session );
+		}
+		catch ( SQLException sqle ) {
+			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			throw sqle;
+		}
+		catch ( HibernateException he ) {
+			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			throw he;
+		}
 
-			int col = 1;
-			//TODO: can we limit stored procedures ?!
-			col += limitHandler.bindLimitParametersAtStartOfQuery( st, col );
+		return st;
+	}
 
-			if (callable) {
-				col = dialect.registerResultSetOutParameter( (CallableStatement)st, col );
-			}
+	private void bindQueryStatement(
+			PreparedStatement st,
+			QueryParameters queryParameters,
+			LimitHandler limitHandler,
+			SessionImplementor session) throws SQLException {
+		final Dialect dialect = getFactory().getDialect();
+		final RowSelection selection = queryParameters.getRowSelection();
+		final boolean callable = queryParameters.isCallable();
+
+		int col = 1;
+		//TODO: can we limit stored procedures ?!
+		col += limitHandler.bindLimitParametersAtStartOfQuery( st, col );
 
-			col += bindParameterValues( st, queryParameters, col, session );
+		if (callable) {
+			col = dialect.registerResultSetOutParameter( (CallableStatement)st, col );
+		}
 
-			col += limitHandler.bindLimitParametersAtEndOfQuery( st, col );
+		col += bindParameterValues( st, queryParameters, col, session );
 
-			limitHandler.setMaxRows( st );
+		col += limitHandler.bindLimitParametersAtEndOfQuery( st, col );
 
-			if ( selection != null ) {
-				if ( selection.getTimeout() != null ) {
-					st.setQueryTimeout( selection.getTimeout() );
-				}
-				if ( selection.getFetchSize() != null ) {
-					st.setFetchSize( selection.getFetchSize() );
-				}
+		limitHandler.setMaxRows( st );
+
+		if ( selection != null ) {
+			if ( selection.getTimeout() != null ) {
+				st.setQueryTimeout( selection.getTimeout() );
+			}
+			if ( selection.getFetchSize() != null ) {
+				st.setFetchSize( selection.getFetchSize() );
 			}
+		}
 
-			// handle lock timeout...
-			LockOptions lockOptions = queryParameters.getLockOptions();
-			if ( lockOptions != null ) {
-				if ( lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
-					if ( !dialect.supportsLockTimeouts() ) {
-						if ( LOG.isDebugEnabled() ) {
-							LOG.debugf(
-									"Lock timeout [%s] requested but dialect reported to not support lock timeouts",
-									lockOptions.getTimeOut()
-							);
-						}
-					}
-					else if ( dialect.isLockTimeoutParameterized() ) {
-						st.setInt( col++, lockOptions.getTimeOut() );
+		// handle lock timeout...
+		LockOptions lockOptions = queryParameters.getLockOptions();
+		if ( lockOptions != null ) {
+			if ( lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
+				if ( !dialect.supportsLockTimeouts() ) {
+					if ( LOG.isDebugEnabled() ) {
+						LOG.debugf(
+								"Lock timeout [%s] requested but dialect reported to not support lock timeouts",
+								lockOptions.getTimeOut()
+						);
 					}
 				}
+				else if ( dialect.isLockTimeoutParameterized() ) {
+					st.setInt( col++, lockOptions.getTimeOut() );
+				}
 			}
-
-			if ( LOG.isTraceEnabled() )
-			   LOG.tracev( "Bound [{0}] parameters total", col );
-		}
-		catch ( SQLException sqle ) {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
-			throw sqle;
-		}
-		catch ( HibernateException he ) {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
-			throw he;
 		}
 
-		return st;
+		if ( LOG.isTraceEnabled() )
+		   LOG.tracev( "Bound [{0}] parameters total", col );
 	}
 
 	/**
@@ -2085,9 +2243,7 @@ public abstract class Loader {
 
 	}
 
-	private synchronized ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
-		// synchronized to avoid multi-thread access issues; defined as method synch to avoid
-		// potential deadlock issues due to nature of code.
+	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
 		if ( session.getFactory().getSettings().isWrapResultSetsEnabled() ) {
 			try {
 			   if ( LOG.isDebugEnabled() )
@@ -2107,12 +2263,13 @@ public abstract class Loader {
 	}
 
 	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
-		if ( columnNameCache == null ) {
-			LOG.trace( "Building columnName -> columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+		final ColumnNameCache cache = columnNameCache;
+		if ( cache != null ) {
+			return cache;
 		}
-
-		return columnNameCache;
+		LOG.trace( "Building columnName -> columnIndex cache" );
+		final ColumnNameCache newCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+		return COLUMN_NAME_CACHE_UPDATER.compareAndSet( this, null, newCache ) ? newCache : columnNameCache;
 	}
 
 	/**
@@ -2342,6 +2499,75 @@ public abstract class Loader {
 		}
 	}
 
+	/**
+	 * Build the statement {@link #loadCollection} would execute, without executing it
+	 */
+	public final LoadStatement getLoadCollectionStatement(
+			final SessionImplementor session,
+			final Serializable id,
+			final Type type) throws HibernateException {
+		final Serializable[] ids = new Serializable[]{id};
+		try {
+			return buildLoadStatement( getSQLString(), new QueryParameters( new Type[]{type}, ids, ids ), session );
+		}
+		catch ( SQLException sqle ) {
+			throw factory.getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind a collection initialization: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], id, getFactory() ),
+					getSQLString()
+				);
+		}
+	}
+
+	/**
+	 * Build the statement {@link #loadCollectionBatch} would execute, without executing it
+	 */
+	public final LoadStatement getLoadCollectionBatchStatement(
+			final SessionImplementor session,
+			final Serializable[] ids,
+			final Type type) throws HibernateException {
+		Type[] idTypes = new Type[ids.length];
+		Arrays.fill( idTypes, type );
+		try {
+			return buildLoadStatement( getSQLString(), new QueryParameters( idTypes, ids, ids ), session );
+		}
+		catch ( SQLException sqle ) {
+			throw factory.getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind a collection batch initialization: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() ),
+					getSQLString()
+				);
+		}
+	}
+
+	/**
+	 * Build the statement {@link #loadCollectionSubselect} would execute, without executing it
+	 */
+	protected final LoadStatement getLoadCollectionSubselectStatement(
+			final SessionImplementor session,
+			final Serializable[] ids,
+			final Object[] parameterValues,
+			final Type[] parameterTypes,
+			final Map<String, TypedValue> namedParameters) throws HibernateException {
+		try {
+			return buildLoadStatement(
+					getSQLString(),
+					new QueryParameters( parameterTypes, parameterValues, namedParameters, ids ),
+					session
+			);
+		}
+		catch ( SQLException sqle ) {
+			throw factory.getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind a collection subselect: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() ),
+					getSQLString()
+				);
+		}
+	}
+
 	/**
 	 * Return the query results, using the query cache, called
 	 * by subclasses that implement cacheable queries
@@ -2467,7 +2693,7 @@ public abstract class Loader {
 			if ( queryParameters.isReadOnlyInitialized() ) {
 				// The read-only/modifiable mode for the query was explicitly set.
 				// Temporarily set the default read-only/modifiable setting to the query's setting.
-				persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly() );
+				persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly( session ) );
 			}
 			else {
 				// The read-only/modifiable setting for the query was not initialized.
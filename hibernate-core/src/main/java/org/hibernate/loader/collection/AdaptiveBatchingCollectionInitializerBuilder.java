@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.collection;
+
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.AdaptiveBatchSizer;
+import org.hibernate.persister.collection.QueryableCollection;
+
+/**
+ * A BatchingCollectionInitializerBuilder that builds CollectionInitializer instances which, like
+ * {@link DynamicBatchingCollectionInitializerBuilder}, build their batch-fetch SQL dynamically, and size their
+ * batches through the {@link AdaptiveBatchSizer} of the collection role.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ADAPTIVE
+ */
+public class AdaptiveBatchingCollectionInitializerBuilder extends DynamicBatchingCollectionInitializerBuilder {
+	public static final AdaptiveBatchingCollectionInitializerBuilder INSTANCE = new AdaptiveBatchingCollectionInitializerBuilder();
+
+	@Override
+	protected CollectionInitializer createRealBatchingCollectionInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return new AdaptiveBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+	}
+
+	@Override
+	protected CollectionInitializer createRealBatchingOneToManyInitializer(
+			QueryableCollection persister,
+			int maxBatchSize,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return new AdaptiveBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+	}
+
+	public static class AdaptiveBatchingCollectionInitializer extends DynamicBatchingCollectionInitializer {
+		private final AdaptiveBatchSizer sizer;
+
+		public AdaptiveBatchingCollectionInitializer(
+				QueryableCollection collectionPersister,
+				int maxBatchSize,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
+			super( collectionPersister, maxBatchSize, factory, influencers );
+			this.sizer = factory.getAdaptiveBatchSizer( collectionPersister.getRole(), maxBatchSize );
+		}
+
+		@Override
+		protected int determineBatchSize(SessionImplementor session) {
+			return session.getPersistenceContext().getBatchFetchQueue().getAdaptiveBatchSize( sizer );
+		}
+
+		@Override
+		protected void afterLoad(SessionImplementor session, int batchSize, int numberOfIds) {
+			session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.recordAdaptiveCollectionBatch( sizer, batchSize, numberOfIds );
+		}
+	}
+}
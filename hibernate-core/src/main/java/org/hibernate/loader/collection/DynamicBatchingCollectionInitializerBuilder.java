@@ -101,12 +101,14 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 		@Override
 		public void initialize(Serializable id, SessionImplementor session) throws HibernateException {
 			// first, figure out how many batchable ids we have...
+			final int batchSize = determineBatchSize( session );
 			final Serializable[] batch = session.getPersistenceContext()
 					.getBatchFetchQueue()
-					.getCollectionBatch( collectionPersister(), id, maxBatchSize );
+					.getCollectionBatch( collectionPersister(), id, batchSize );
 			final int numberOfIds = ArrayHelper.countNonNull( batch );
 			if ( numberOfIds <= 1 ) {
 				singleKeyLoader.loadCollection( session, id, collectionPersister().getKeyType() );
+				afterLoad( session, batchSize, 1 );
 				return;
 			}
 
@@ -114,6 +116,28 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
 
 			batchLoader.doBatchedCollectionLoad( session, idsToLoad, collectionPersister().getKeyType() );
+			afterLoad( session, batchSize, numberOfIds );
+		}
+
+		/**
+		 * The maximum number of keys to batch load for the given session.
+		 *
+		 * @param session The session
+		 *
+		 * @return The batch size; by default the batch size this initializer was built for
+		 */
+		protected int determineBatchSize(SessionImplementor session) {
+			return maxBatchSize;
+		}
+
+		/**
+		 * Callback after loading the requested collection, along with any others batched with it.
+		 *
+		 * @param session The session
+		 * @param batchSize The batch size which was used
+		 * @param numberOfIds The number of collections loaded; 1 if there was nothing to batch
+		 */
+		protected void afterLoad(SessionImplementor session, int batchSize, int numberOfIds) {
 		}
 	}
 
@@ -212,7 +236,7 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				if ( queryParameters.isReadOnlyInitialized() ) {
 					// The read-only/modifiable mode for the query was explicitly set.
 					// Temporarily set the default read-only/modifiable setting to the query's setting.
-					persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly() );
+					persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly( session ) );
 				}
 				else {
 					// The read-only/modifiable setting for the query was not initialized.
@@ -261,7 +285,10 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				processResultSet( rs, queryParameters, session, true, null, maxRows, afterLoadActions );
 			}
 			finally {
-				session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+				// no statement when the rows were read by a ConcurrentInitializer
+				if ( st != null ) {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+				}
 			}
 		}
 
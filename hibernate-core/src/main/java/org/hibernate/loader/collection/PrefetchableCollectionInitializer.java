@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.collection;
+
+import java.io.Serializable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.LoadStatement;
+
+/**
+ * A collection initializer able to tell which statement {@link #initialize} would execute, without executing it.
+ *
+ * @see org.hibernate.loader.ConcurrentInitializer
+ */
+public interface PrefetchableCollectionInitializer extends CollectionInitializer {
+	/**
+	 * Build the statement {@link #initialize} would execute for the given collection key.  Nothing is executed and
+	 * the session's persistence context is not modified.
+	 *
+	 * @param id The collection key
+	 * @param session The session the collection belongs to
+	 *
+	 * @return The statement, or {@code null} if it can only be executed on the session's connection
+	 *
+	 * @throws HibernateException Indicates a problem building the statement
+	 */
+	public LoadStatement getLoadStatement(Serializable id, SessionImplementor session) throws HibernateException;
+}
@@ -36,6 +36,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.type.Type;
 
@@ -43,7 +44,7 @@ import org.hibernate.type.Type;
  * Implements subselect fetching for a collection
  * @author Gavin King
  */
-public class SubselectCollectionLoader extends BasicCollectionLoader {
+public class SubselectCollectionLoader extends BasicCollectionLoader implements PrefetchableCollectionInitializer {
 	
 	private final Serializable[] keys;
 	private final Type[] types;
@@ -88,6 +89,11 @@ public class SubselectCollectionLoader extends BasicCollectionLoader {
 		);
 	}
 
+	@Override
+	public LoadStatement getLoadStatement(Serializable id, SessionImplementor session) throws HibernateException {
+		return getLoadCollectionSubselectStatement( session, keys, values, types, namedParameters );
+	}
+
 	@Override
 	public int[] getNamedParameterLocs(String name) {
 		return namedParameterLocMap.get( name );
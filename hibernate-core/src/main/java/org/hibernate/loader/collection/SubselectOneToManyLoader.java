@@ -36,6 +36,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.type.Type;
 
@@ -43,7 +44,7 @@ import org.hibernate.type.Type;
  * Implements subselect fetching for a one to many association
  * @author Gavin King
  */
-public class SubselectOneToManyLoader extends OneToManyLoader {
+public class SubselectOneToManyLoader extends OneToManyLoader implements PrefetchableCollectionInitializer {
 	
 	private final Serializable[] keys;
 	private final Type[] types;
@@ -85,6 +86,11 @@ public class SubselectOneToManyLoader extends OneToManyLoader {
 				getKeyType() 
 		);
 	}
+
+	@Override
+	public LoadStatement getLoadStatement(Serializable id, SessionImplementor session) throws HibernateException {
+		return getLoadCollectionSubselectStatement( session, keys, values, types, namedParameters );
+	}
 	@Override
 	public int[] getNamedParameterLocs(String name) {
 		return namedParameterLocMap.get( name );
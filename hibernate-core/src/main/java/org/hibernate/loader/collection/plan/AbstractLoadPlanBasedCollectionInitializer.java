@@ -34,7 +34,8 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.loader.collection.CollectionInitializer;
+import org.hibernate.loader.LoadStatement;
+import org.hibernate.loader.collection.PrefetchableCollectionInitializer;
 import org.hibernate.loader.plan2.build.internal.FetchStyleLoadPlanBuildingAssociationVisitationStrategy;
 import org.hibernate.loader.plan2.build.spi.MetamodelDrivenLoadPlanBuilder;
 import org.hibernate.loader.plan2.exec.internal.AbstractLoadPlanBasedLoader;
@@ -53,7 +54,7 @@ import org.hibernate.type.Type;
  * @author Gail Badner
  */
 public abstract class AbstractLoadPlanBasedCollectionInitializer
-		extends AbstractLoadPlanBasedLoader  implements CollectionInitializer {
+		extends AbstractLoadPlanBasedLoader  implements PrefetchableCollectionInitializer {
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( AbstractLoadPlanBasedCollectionInitializer.class );
 
 	private final QueryableCollection collectionPersister;
@@ -98,16 +99,10 @@ public abstract class AbstractLoadPlanBasedCollectionInitializer
 		}
 
 
-		final Serializable[] ids = new Serializable[]{id};
 		try {
-			final QueryParameters qp = new QueryParameters();
-			qp.setPositionalParameterTypes( new Type[]{ collectionPersister.getKeyType() } );
-			qp.setPositionalParameterValues( ids );
-			qp.setCollectionKeys( ids );
-
 			executeLoad(
 					session,
-					qp,
+					buildQueryParameters( id ),
 					staticLoadQuery,
 					true,
 					null
@@ -126,6 +121,30 @@ public abstract class AbstractLoadPlanBasedCollectionInitializer
 		log.debug( "Done loading collection" );
 	}
 
+	@Override
+	public LoadStatement getLoadStatement(Serializable id, SessionImplementor session) throws HibernateException {
+		try {
+			return buildLoadStatement( staticLoadQuery.getSqlStatement(), buildQueryParameters( id ), session );
+		}
+		catch ( SQLException sqle ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind a collection initialization: " +
+							MessageHelper.collectionInfoString( collectionPersister, id, getFactory() ),
+					staticLoadQuery.getSqlStatement()
+			);
+		}
+	}
+
+	private QueryParameters buildQueryParameters(Serializable id) {
+		final Serializable[] ids = new Serializable[]{id};
+		final QueryParameters qp = new QueryParameters();
+		qp.setPositionalParameterTypes( new Type[]{ collectionPersister.getKeyType() } );
+		qp.setPositionalParameterValues( ids );
+		qp.setCollectionKeys( ids );
+		return qp;
+	}
+
 	protected QueryableCollection collectionPersister() {
 		return collectionPersister;
 	}
@@ -31,10 +31,12 @@ import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.loader.Loader;
 import org.hibernate.loader.collection.BasicCollectionLoader;
 import org.hibernate.loader.collection.CollectionInitializer;
 import org.hibernate.loader.collection.OneToManyLoader;
+import org.hibernate.loader.collection.PrefetchableCollectionInitializer;
 import org.hibernate.persister.collection.QueryableCollection;
 
 /**
@@ -74,7 +76,8 @@ public class LegacyBatchingCollectionInitializerBuilder extends AbstractBatching
 	}
 
 
-	public static class LegacyBatchingCollectionInitializer extends BatchingCollectionInitializer {
+	public static class LegacyBatchingCollectionInitializer extends BatchingCollectionInitializer
+			implements PrefetchableCollectionInitializer {
 		private final int[] batchSizes;
 		private final Loader[] loaders;
 
@@ -104,5 +107,22 @@ public class LegacyBatchingCollectionInitializerBuilder extends AbstractBatching
 
 			loaders[batchSizes.length-1].loadCollection( session, id, getCollectionPersister().getKeyType() );
 		}
+
+		@Override
+		public LoadStatement getLoadStatement(Serializable id, SessionImplementor session) throws HibernateException {
+			Serializable[] batch = session.getPersistenceContext().getBatchFetchQueue()
+					.getCollectionBatch( getCollectionPersister(), id, batchSizes[0] );
+
+			for ( int i=0; i<batchSizes.length-1; i++) {
+				final int smallBatchSize = batchSizes[i];
+				if ( batch[smallBatchSize-1]!=null ) {
+					Serializable[] smallBatch = new Serializable[smallBatchSize];
+					System.arraycopy(batch, 0, smallBatch, 0, smallBatchSize);
+					return loaders[i].getLoadCollectionBatchStatement( session, smallBatch, getCollectionPersister().getKeyType() );
+				}
+			}
+
+			return loaders[batchSizes.length-1].getLoadCollectionStatement( session, id, getCollectionPersister().getKeyType() );
+		}
 	}
 }
@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.AdaptiveBatchSizer;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+
+/**
+ * A BatchingEntityLoaderBuilder that builds UniqueEntityLoader instances which, like
+ * {@link DynamicBatchingEntityLoaderBuilder}, build their batch-fetch SQL dynamically, and size their batches
+ * through the {@link AdaptiveBatchSizer} of the entity.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ADAPTIVE
+ */
+public class AdaptiveBatchingEntityLoaderBuilder extends DynamicBatchingEntityLoaderBuilder {
+	public static final AdaptiveBatchingEntityLoaderBuilder INSTANCE = new AdaptiveBatchingEntityLoaderBuilder();
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return new AdaptiveBatchingEntityLoader( persister, batchSize, lockMode, factory, influencers );
+	}
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return new AdaptiveBatchingEntityLoader( persister, batchSize, lockOptions, factory, influencers );
+	}
+
+	public static class AdaptiveBatchingEntityLoader extends DynamicBatchingEntityLoader {
+		private final AdaptiveBatchSizer sizer;
+
+		public AdaptiveBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				LockMode lockMode,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister, maxBatchSize, lockMode, factory, loadQueryInfluencers );
+			this.sizer = factory.getAdaptiveBatchSizer( persister.getEntityName(), maxBatchSize );
+		}
+
+		public AdaptiveBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				LockOptions lockOptions,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister, maxBatchSize, lockOptions, factory, loadQueryInfluencers );
+			this.sizer = factory.getAdaptiveBatchSizer( persister.getEntityName(), maxBatchSize );
+		}
+
+		@Override
+		protected int determineBatchSize(SessionImplementor session) {
+			return session.getPersistenceContext().getBatchFetchQueue().getAdaptiveBatchSize( sizer );
+		}
+
+		@Override
+		protected void afterLoad(SessionImplementor session, Serializable id, int batchSize, Serializable[] ids) {
+			session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.recordAdaptiveEntityBatch( sizer, batchSize, persister(), id, ids );
+		}
+	}
+}
@@ -28,6 +28,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.logging.Logger;
@@ -46,6 +47,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
 
 /**
  * A BatchingEntityLoaderBuilder that builds UniqueEntityLoader instances capable of dynamically building
@@ -78,6 +80,58 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		return new DynamicBatchingEntityLoader( persister, batchSize, lockOptions, factory, influencers );
 	}
 
+	/**
+	 * Loads the entities with the given ids from the database, using one select restricting the ids by an IN-list
+	 * per chunk of (at most) {@code batchSize} ids.  No attempt is made to resolve the entities from the
+	 * persistence context or the second-level cache first; that is the responsibility of the caller.
+	 *
+	 * @param persister The persister for the entities to load
+	 * @param ids The ids of the entities to load
+	 * @param batchSize The maximum number of ids per select
+	 * @param lockOptions The lock options to apply
+	 * @param session The session into which the entities are loaded
+	 *
+	 * @return The loaded entities, in no particular order
+	 */
+	public List multiLoad(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionImplementor session) {
+		final DynamicEntityLoader dynamicLoader = new DynamicEntityLoader(
+				persister,
+				batchSize,
+				lockOptions,
+				session.getFactory(),
+				session.getLoadQueryInfluencers()
+		);
+
+		final Type[] types = new Type[ Math.min( batchSize, ids.length ) ];
+		Arrays.fill( types, persister.getIdentifierType() );
+
+		final List results = new ArrayList( ids.length );
+		for ( int start = 0; start < ids.length; start += batchSize ) {
+			final int numberOfIds = Math.min( batchSize, ids.length - start );
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( ids, start, idsToLoad, 0, numberOfIds );
+
+			if ( log.isDebugEnabled() ) {
+				log.debugf( "Multi-loading entities: %s", MessageHelper.infoString( persister, idsToLoad, session.getFactory() ) );
+			}
+
+			final QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes(
+					numberOfIds == types.length ? types : Arrays.copyOf( types, numberOfIds )
+			);
+			qp.setPositionalParameterValues( idsToLoad );
+			qp.setLockOptions( lockOptions );
+
+			results.addAll( dynamicLoader.doEntityBatchFetch( session, qp, idsToLoad ) );
+		}
+		return results;
+	}
+
 	public static class DynamicBatchingEntityLoader extends BatchingEntityLoader {
 		private final int maxBatchSize;
 		private final UniqueEntityLoader singleKeyLoader;
@@ -113,13 +167,16 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				Object optionalObject,
 				SessionImplementor session,
 				LockOptions lockOptions) {
+			final int batchSize = determineBatchSize( session );
 			final Serializable[] batch = session.getPersistenceContext()
 					.getBatchFetchQueue()
-					.getEntityBatch( persister(), id, maxBatchSize, persister().getEntityMode() );
+					.getEntityBatch( persister(), id, batchSize, persister().getEntityMode() );
 
 			final int numberOfIds = ArrayHelper.countNonNull( batch );
 			if ( numberOfIds <= 1 ) {
-				return singleKeyLoader.load( id, optionalObject, session );
+				final Object result = singleKeyLoader.load( id, optionalObject, session );
+				afterLoad( session, id, batchSize, new Serializable[] { id } );
+				return result;
 			}
 
 			final Serializable[] idsToLoad = new Serializable[numberOfIds];
@@ -131,8 +188,31 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 
 			QueryParameters qp = buildQueryParameters( id, idsToLoad, optionalObject, lockOptions );
 			List results = dynamicLoader.doEntityBatchFetch( session, qp, idsToLoad );
+			afterLoad( session, id, batchSize, idsToLoad );
 			return getObjectFromList( results, id, session );
 		}
+
+		/**
+		 * The maximum number of ids to batch load for the given session.
+		 *
+		 * @param session The session
+		 *
+		 * @return The batch size; by default the batch size this loader was built for
+		 */
+		protected int determineBatchSize(SessionImplementor session) {
+			return maxBatchSize;
+		}
+
+		/**
+		 * Callback after loading the requested entity, along with any others batched with it.
+		 *
+		 * @param session The session
+		 * @param id The identifier of the requested entity
+		 * @param batchSize The batch size which was used
+		 * @param ids The identifiers of all the entities loaded; just {@code id} if there was nothing to batch
+		 */
+		protected void afterLoad(SessionImplementor session, Serializable id, int batchSize, Serializable[] ids) {
+		}
 	}
 
 
@@ -211,7 +291,7 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				if ( queryParameters.isReadOnlyInitialized() ) {
 					// The read-only/modifiable mode for the query was explicitly set.
 					// Temporarily set the default read-only/modifiable setting to the query's setting.
-					persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly() );
+					persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly( session ) );
 				}
 				else {
 					// The read-only/modifiable setting for the query was not initialized.
@@ -263,7 +343,10 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				return processResultSet( rs, queryParameters, session, false, null, maxRows, afterLoadActions );
 			}
 			finally {
-				session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+				// no statement when the rows were read by a ConcurrentInitializer
+				if ( st != null ) {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+				}
 			}
 		}
 	}
@@ -0,0 +1,58 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.LoadStatement;
+
+/**
+ * An entity loader able to tell which statement {@link #load(Serializable, Object, SessionImplementor, LockOptions)}
+ * would execute, without executing it.
+ *
+ * @see org.hibernate.loader.ConcurrentInitializer
+ */
+public interface PrefetchableEntityLoader extends UniqueEntityLoader {
+	/**
+	 * Build the statement {@link #load(Serializable, Object, SessionImplementor, LockOptions)} would execute for
+	 * the given arguments.  Nothing is executed and the session's persistence context is not modified.
+	 *
+	 * @param id The id to be loaded
+	 * @param optionalObject The (optional) entity instance in to which to load the state
+	 * @param session The session from which the request originated
+	 * @param lockOptions The lock options.
+	 *
+	 * @return The statement, or {@code null} if it can only be executed on the session's connection
+	 *
+	 * @throws HibernateException Indicates a problem building the statement
+	 */
+	public LoadStatement getLoadStatement(
+			Serializable id,
+			Object optionalObject,
+			SessionImplementor session,
+			LockOptions lockOptions) throws HibernateException;
+}
@@ -39,7 +39,8 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.loader.entity.UniqueEntityLoader;
+import org.hibernate.loader.LoadStatement;
+import org.hibernate.loader.entity.PrefetchableEntityLoader;
 import org.hibernate.loader.plan2.build.internal.FetchGraphLoadPlanBuildingStrategy;
 import org.hibernate.loader.plan2.build.internal.FetchStyleLoadPlanBuildingAssociationVisitationStrategy;
 import org.hibernate.loader.plan2.build.internal.LoadGraphLoadPlanBuildingStrategy;
@@ -62,7 +63,7 @@ import org.hibernate.type.Type;
  *
  * @author Steve Ebersole
  */
-public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlanBasedLoader implements UniqueEntityLoader {
+public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlanBasedLoader implements PrefetchableEntityLoader {
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( AbstractLoadPlanBasedEntityLoader.class );
 
 	private final OuterJoinLoadable entityPersister;
@@ -137,18 +138,11 @@ public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlan
 			log.debugf( "Batch loading entity: %s", MessageHelper.infoString( persister, ids, getFactory() ) );
 		}
 
-		final Type[] types = new Type[ids.length];
-		Arrays.fill( types, idType );
 		List result;
 		try {
-			final QueryParameters qp = new QueryParameters();
-			qp.setPositionalParameterTypes( types );
-			qp.setPositionalParameterValues( ids );
-			qp.setLockOptions( lockOptions );
-
 			result = executeLoad(
 					session,
-					qp,
+					buildBatchQueryParameters( ids, idType, lockOptions ),
 					staticLoadQuery,
 					false,
 					null
@@ -168,6 +162,40 @@ public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlan
 
 	}
 
+	/**
+	 * Build the statement {@link #loadEntityBatch} would execute, without executing it
+	 */
+	public final LoadStatement getLoadEntityBatchStatement(
+			final SessionImplementor session,
+			final Serializable[] ids,
+			final Type idType,
+			LockOptions lockOptions) throws HibernateException {
+		try {
+			return buildLoadStatement(
+					staticLoadQuery.getSqlStatement(),
+					buildBatchQueryParameters( ids, idType, lockOptions ),
+					session
+			);
+		}
+		catch ( SQLException sqle ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind an entity batch load: " + MessageHelper.infoString( entityPersister, ids, getFactory() ),
+					staticLoadQuery.getSqlStatement()
+			);
+		}
+	}
+
+	private QueryParameters buildBatchQueryParameters(Serializable[] ids, Type idType, LockOptions lockOptions) {
+		final Type[] types = new Type[ids.length];
+		Arrays.fill( types, idType );
+		final QueryParameters qp = new QueryParameters();
+		qp.setPositionalParameterTypes( types );
+		qp.setPositionalParameterValues( ids );
+		qp.setLockOptions( lockOptions );
+		return qp;
+	}
+
 	@Override
 	@Deprecated
 	public Object load(Serializable id, Object optionalObject, SessionImplementor session) throws HibernateException {
@@ -179,17 +207,9 @@ public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlan
 
 		final Object result;
 		try {
-			final QueryParameters qp = new QueryParameters();
-			qp.setPositionalParameterTypes( new Type[] { entityPersister.getIdentifierType() } );
-			qp.setPositionalParameterValues( new Object[] { id } );
-			qp.setOptionalObject( optionalObject );
-			qp.setOptionalEntityName( entityPersister.getEntityName() );
-			qp.setOptionalId( id );
-			qp.setLockOptions( lockOptions );
-
 			final List results = executeLoad(
 					session,
-					qp,
+					buildQueryParameters( id, optionalObject, lockOptions ),
 					staticLoadQuery,
 					false,
 					null
@@ -213,6 +233,44 @@ public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlan
 		return result;
 	}
 
+	@Override
+	public LoadStatement getLoadStatement(
+			Serializable id,
+			Object optionalObject,
+			SessionImplementor session,
+			LockOptions lockOptions) {
+		try {
+			return buildLoadStatement(
+					staticLoadQuery.getSqlStatement(),
+					buildQueryParameters( id, optionalObject, lockOptions ),
+					session
+			);
+		}
+		catch ( SQLException sqle ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not bind an entity load: " + MessageHelper.infoString(
+							entityPersister,
+							id,
+							entityPersister.getIdentifierType(),
+							getFactory()
+					),
+					staticLoadQuery.getSqlStatement()
+			);
+		}
+	}
+
+	private QueryParameters buildQueryParameters(Serializable id, Object optionalObject, LockOptions lockOptions) {
+		final QueryParameters qp = new QueryParameters();
+		qp.setPositionalParameterTypes( new Type[] { entityPersister.getIdentifierType() } );
+		qp.setPositionalParameterValues( new Object[] { id } );
+		qp.setOptionalObject( optionalObject );
+		qp.setOptionalEntityName( entityPersister.getEntityName() );
+		qp.setOptionalId( id );
+		qp.setLockOptions( lockOptions );
+		return qp;
+	}
+
 	protected Object extractEntityResult(List results) {
 		if ( results.size() == 0 ) {
 			return null;
@@ -291,7 +349,10 @@ public abstract class AbstractLoadPlanBasedEntityLoader extends AbstractLoadPlan
 			throw new HibernateException( "Unable to interpret given query results in terms of a load-entity query" );
 		}
 		finally {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( wrapper.getStatement() );
+			// no statement when the rows were read by a ConcurrentInitializer
+			if ( wrapper.getStatement() != null ) {
+				session.getTransactionCoordinator().getJdbcCoordinator().release( wrapper.getStatement() );
+			}
 		}
 	}
 
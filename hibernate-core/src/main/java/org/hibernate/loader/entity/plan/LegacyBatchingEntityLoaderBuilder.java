@@ -32,6 +32,8 @@ import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.LoadStatement;
+import org.hibernate.loader.entity.PrefetchableEntityLoader;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 
@@ -63,7 +65,7 @@ public class LegacyBatchingEntityLoaderBuilder extends AbstractBatchingEntityLoa
 		return new LegacyBatchingEntityLoader( persister, batchSize, lockOptions, factory, influencers );
 	}
 
-	public static class LegacyBatchingEntityLoader extends BatchingEntityLoader  {
+	public static class LegacyBatchingEntityLoader extends BatchingEntityLoader implements PrefetchableEntityLoader {
 		private final int[] batchSizes;
 		private final EntityLoader[] loaders;
 
@@ -129,6 +131,32 @@ public class LegacyBatchingEntityLoaderBuilder extends AbstractBatchingEntityLoa
 			}
 			return ( loaders[batchSizes.length-1] ).load( id, optionalObject, session, lockOptions );
 		}
+
+		@Override
+		public LoadStatement getLoadStatement(
+				Serializable id,
+				Object optionalObject,
+				SessionImplementor session,
+				LockOptions lockOptions) {
+			final Serializable[] batch = session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getEntityBatch( persister(), id, batchSizes[0], persister().getEntityMode() );
+
+			for ( int i = 0; i < batchSizes.length-1; i++) {
+				final int smallBatchSize = batchSizes[i];
+				if ( batch[smallBatchSize-1] != null ) {
+					Serializable[] smallBatch = new Serializable[smallBatchSize];
+					System.arraycopy(batch, 0, smallBatch, 0, smallBatchSize);
+					return loaders[i].getLoadEntityBatchStatement(
+							session,
+							smallBatch,
+							persister().getIdentifierType(),
+							lockOptions
+					);
+				}
+			}
+			return ( loaders[batchSizes.length-1] ).getLoadStatement( id, optionalObject, session, lockOptions );
+		}
 	}
 
 }
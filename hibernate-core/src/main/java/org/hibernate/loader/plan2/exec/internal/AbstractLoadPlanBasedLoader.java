@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockOptions;
@@ -50,6 +51,8 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.loader.ConcurrentInitializer;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.loader.plan2.exec.query.spi.NamedParameterContext;
 import org.hibernate.loader.plan2.exec.spi.LoadQueryDetails;
 import org.hibernate.loader.spi.AfterLoadAction;
@@ -63,10 +66,13 @@ import org.hibernate.type.Type;
  */
 public abstract class AbstractLoadPlanBasedLoader {
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( AbstractLoadPlanBasedLoader.class );
+	private static final AtomicReferenceFieldUpdater<AbstractLoadPlanBasedLoader, ColumnNameCache> COLUMN_NAME_CACHE_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater( AbstractLoadPlanBasedLoader.class, ColumnNameCache.class, "columnNameCache" );
 
 	private final SessionFactoryImplementor factory;
 
-	private ColumnNameCache columnNameCache;
+	// loaders are shared by all the sessions; the first cache published wins, concurrently built ones are dropped
+	private volatile ColumnNameCache columnNameCache;
 
 	public AbstractLoadPlanBasedLoader(
 			SessionFactoryImplementor factory) {
@@ -112,7 +118,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 		if ( queryParameters.isReadOnlyInitialized() ) {
 			// The read-only/modifiable mode for the query was explicitly set.
 			// Temporarily set the default read-only/modifiable setting to the query's setting.
-			persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly() );
+			persistenceContext.setDefaultReadOnly( queryParameters.isReadOnly( session ) );
 		}
 		else {
 			// The read-only/modifiable setting for the query was not initialized.
@@ -143,7 +149,8 @@ public abstract class AbstractLoadPlanBasedLoader {
 				);
 			}
 			finally {
-				if ( wrapper != null ) {
+				// no statement when the rows were read by a ConcurrentInitializer
+				if ( wrapper != null && wrapper.getStatement() != null ) {
 					session.getTransactionCoordinator().getJdbcCoordinator().release(
 							wrapper.getResultSet(),
 							wrapper.getStatement()
@@ -188,10 +195,49 @@ public abstract class AbstractLoadPlanBasedLoader {
 		// Adding locks and comments.
 		sql = preprocessSQL( sql, queryParameters, getFactory().getDialect(), afterLoadActions );
 
+		if ( !scroll ) {
+			// rows read on another connection by a ConcurrentInitializer
+			final ResultSet rs = ConcurrentInitializer.takePrefetchedResultSet( session, sql, queryParameters );
+			if ( rs != null ) {
+				return new SqlStatementWrapper( null, rs );
+			}
+		}
+
 		final PreparedStatement st = prepareQueryStatement( sql, queryParameters, limitHandler, scroll, session );
 		return new SqlStatementWrapper( st, getResultSet( st, queryParameters.getRowSelection(), limitHandler, queryParameters.hasAutoDiscoverScalarTypes(), session ) );
 	}
 
+	/**
+	 * Process query string the way {@link #executeQueryStatement} does, but bind the parameter values to a
+	 * {@link LoadStatement} instead of executing the statement.
+	 *
+	 * @return The statement, or {@code null} if it can only be executed on the session's connection.
+	 */
+	protected LoadStatement buildLoadStatement(
+			String sqlStatement,
+			QueryParameters queryParameters,
+			SessionImplementor session) throws SQLException {
+		queryParameters.processFilters( sqlStatement, session );
+
+		final LimitHandler limitHandler = getLimitHandler(
+				queryParameters.getFilteredSQL(),
+				queryParameters.getRowSelection()
+		);
+		if ( !ConcurrentInitializer.isConcurrentlyExecutable( queryParameters, limitHandler ) ) {
+			return null;
+		}
+		final String sql = preprocessSQL(
+				limitHandler.getProcessedSql(),
+				queryParameters,
+				getFactory().getDialect(),
+				new ArrayList<AfterLoadAction>()
+		);
+
+		final LoadStatement statement = new LoadStatement( sql, queryParameters );
+		bindQueryStatement( statement.getBindingRecorder(), queryParameters, limitHandler, session );
+		return statement;
+	}
+
 	/**
 	 * Build LIMIT clause handler applicable for given selection criteria. Returns {@link org.hibernate.dialect.pagination.NoopLimitHandler} delegate
 	 * if dialect does not support LIMIT expression or processed query does not use pagination.
@@ -236,7 +282,6 @@ public abstract class AbstractLoadPlanBasedLoader {
 			final LimitHandler limitHandler,
 			final boolean scroll,
 			final SessionImplementor session) throws SQLException, HibernateException {
-		final Dialect dialect = getFactory().getDialect();
 		final RowSelection selection = queryParameters.getRowSelection();
 		final boolean useLimit = LimitHelper.useLimit( limitHandler, selection );
 		final boolean hasFirstRow = LimitHelper.hasFirstRow( selection );
@@ -248,62 +293,73 @@ public abstract class AbstractLoadPlanBasedLoader {
 				.getStatementPreparer().prepareQueryStatement( sql, callable, scrollMode );
 
 		try {
+			bindQueryStatement( st, queryParameters, limitHandler, session );
+		}
+		catch ( SQLException sqle ) {
+			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			throw sqle;
+		}
+		catch ( HibernateException he ) {
+			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			throw he;
+		}
 
-			int col = 1;
-			//TODO: can we limit stored procedures ?!
-			col += limitHandler.bindLimitParametersAtStartOfQuery( st, col );
+		return st;
+	}
 
-			if (callable) {
-				col = dialect.registerResultSetOutParameter( (CallableStatement)st, col );
-			}
+	private void bindQueryStatement(
+			PreparedStatement st,
+			QueryParameters queryParameters,
+			LimitHandler limitHandler,
+			SessionImplementor session) throws SQLException {
+		final Dialect dialect = getFactory().getDialect();
+		final RowSelection selection = queryParameters.getRowSelection();
+		final boolean callable = queryParameters.isCallable();
+
+		int col = 1;
+		//TODO: can we limit stored procedures ?!
+		col += limitHandler.bindLimitParametersAtStartOfQuery( st, col );
 
-			col += bindParameterValues( st, queryParameters, col, session );
+		if (callable) {
+			col = dialect.registerResultSetOutParameter( (CallableStatement)st, col );
+		}
 
-			col += limitHandler.bindLimitParametersAtEndOfQuery( st, col );
+		col += bindParameterValues( st, queryParameters, col, session );
 
-			limitHandler.setMaxRows( st );
+		col += limitHandler.bindLimitParametersAtEndOfQuery( st, col );
 
-			if ( selection != null ) {
-				if ( selection.getTimeout() != null ) {
-					st.setQueryTimeout( selection.getTimeout() );
-				}
-				if ( selection.getFetchSize() != null ) {
-					st.setFetchSize( selection.getFetchSize() );
-				}
+		limitHandler.setMaxRows( st );
+
+		if ( selection != null ) {
+			if ( selection.getTimeout() != null ) {
+				st.setQueryTimeout( selection.getTimeout() );
 			}
+			if ( selection.getFetchSize() != null ) {
+				st.setFetchSize( selection.getFetchSize() );
+			}
+		}
 
-			// handle lock timeout...
-			final LockOptions lockOptions = queryParameters.getLockOptions();
-			if ( lockOptions != null ) {
-				if ( lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
-					if ( !dialect.supportsLockTimeouts() ) {
-						if ( log.isDebugEnabled() ) {
-							log.debugf(
-									"Lock timeout [%s] requested but dialect reported to not support lock timeouts",
-									lockOptions.getTimeOut()
-							);
-						}
-					}
-					else if ( dialect.isLockTimeoutParameterized() ) {
-						st.setInt( col++, lockOptions.getTimeOut() );
+		// handle lock timeout...
+		final LockOptions lockOptions = queryParameters.getLockOptions();
+		if ( lockOptions != null ) {
+			if ( lockOptions.getTimeOut() != LockOptions.WAIT_FOREVER ) {
+				if ( !dialect.supportsLockTimeouts() ) {
+					if ( log.isDebugEnabled() ) {
+						log.debugf(
+								"Lock timeout [%s] requested but dialect reported to not support lock timeouts",
+								lockOptions.getTimeOut()
+						);
 					}
 				}
+				else if ( dialect.isLockTimeoutParameterized() ) {
+					st.setInt( col++, lockOptions.getTimeOut() );
+				}
 			}
-
-			if ( log.isTraceEnabled() ) {
-				log.tracev( "Bound [{0}] parameters total", col );
-			}
-		}
-		catch ( SQLException sqle ) {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
-			throw sqle;
-		}
-		catch ( HibernateException he ) {
-			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
-			throw he;
 		}
 
-		return st;
+		if ( log.isTraceEnabled() ) {
+			log.tracev( "Bound [{0}] parameters total", col );
+		}
 	}
 
 	protected ScrollMode getScrollMode(boolean scroll, boolean hasFirstRow, boolean useLimitOffSet, QueryParameters queryParameters) {
@@ -473,9 +529,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 		}
 	}
 
-	private synchronized ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
-		// synchronized to avoid multi-thread access issues; defined as method synch to avoid
-		// potential deadlock issues due to nature of code.
+	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SessionImplementor session) {
 		if ( session.getFactory().getSettings().isWrapResultSetsEnabled() ) {
 			try {
 				if ( log.isDebugEnabled() ) {
@@ -496,12 +550,13 @@ public abstract class AbstractLoadPlanBasedLoader {
 	}
 
 	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
-		if ( columnNameCache == null ) {
-			log.trace( "Building columnName->columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+		final ColumnNameCache cache = columnNameCache;
+		if ( cache != null ) {
+			return cache;
 		}
-
-		return columnNameCache;
+		log.trace( "Building columnName->columnIndex cache" );
+		final ColumnNameCache newCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+		return COLUMN_NAME_CACHE_UPDATER.compareAndSet( this, null, newCache ) ? newCache : columnNameCache;
 	}
 
 	/**
@@ -33,6 +33,7 @@ import java.util.Map;
 
 import org.jboss.logging.Logger;
 
+import org.hibernate.engine.internal.EntityCachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.PostLoadEvent;
@@ -238,14 +239,20 @@ public abstract class AbstractRowReader implements RowReader {
 			return;
 		}
 
+		// with several entities, write them to the second-level cache together (one call per region)
+		final EntityCachePutBatch cachePutBatch = numberOfHydratedObjects > 1 ? new EntityCachePutBatch() : null;
 		for ( HydratedEntityRegistration registration : hydratedEntityRegistrations ) {
 			TwoPhaseLoad.initializeEntity(
 					registration.getInstance(),
 					context.isReadOnly(),
 					context.getSession(),
-					preLoadEvent
+					preLoadEvent,
+					cachePutBatch
 			);
 		}
+		if ( cachePutBatch != null ) {
+			cachePutBatch.execute( context.getSession() );
+		}
 	}
 
 	private void finishLoadingCollections(ResultSetProcessingContextImpl context) {
@@ -67,7 +67,9 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.loader.collection.CollectionInitializer;
+import org.hibernate.loader.collection.PrefetchableCollectionInitializer;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Formula;
@@ -692,6 +694,24 @@ public abstract class AbstractCollectionPersister
 		getAppropriateInitializer( key, session ).initialize( key, session );
 	}
 
+	/**
+	 * Build the statement {@link #initialize} would execute, without executing it.
+	 *
+	 * @param key The collection key
+	 * @param session The session the collection belongs to
+	 *
+	 * @return The statement, or {@code null} if the initializer cannot tell or the statement can only be executed
+	 * on the session's connection
+	 *
+	 * @see org.hibernate.loader.ConcurrentInitializer
+	 */
+	public LoadStatement getInitializeStatement(Serializable key, SessionImplementor session) throws HibernateException {
+		final CollectionInitializer initializer = getAppropriateInitializer( key, session );
+		return initializer instanceof PrefetchableCollectionInitializer
+				? ( (PrefetchableCollectionInitializer) initializer ).getLoadStatement( key, session )
+				: null;
+	}
+
 	protected CollectionInitializer getAppropriateInitializer(Serializable key, SessionImplementor session) {
 		if ( queryLoaderName != null ) {
 			// if there is a user-specified loader, return that
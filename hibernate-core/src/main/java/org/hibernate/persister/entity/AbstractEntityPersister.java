@@ -56,6 +56,7 @@ import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
@@ -95,9 +96,11 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.LoadStatement;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
+import org.hibernate.loader.entity.PrefetchableEntityLoader;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
@@ -134,6 +137,7 @@ import org.hibernate.tuple.NonIdentifierAttribute;
 import org.hibernate.tuple.ValueGeneration;
 import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.tuple.entity.EntityTuplizer;
+import org.hibernate.type.AbstractStandardBasicType;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
@@ -806,6 +810,10 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSettings().isBinaryCacheEntriesEnabled() ) {
+			return new BinaryCacheEntryHelper( this );
+		}
+
 		return factory.getSettings().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
@@ -2155,18 +2163,23 @@ public abstract class AbstractEntityPersister
 	}
 
     @Override
-    public int[] resolveAttributeIndexes(Set<String> properties) {
-        Iterator<String> iter = properties.iterator();
-        int[] fields = new int[properties.size()];
-        int counter = 0;
-        while(iter.hasNext()) {
-            Integer index = entityMetamodel.getPropertyIndexOrNull(iter.next());
-            if(index != null)
-                fields[counter++] = index;
-        }
-
-        return fields;
-    }
+	public int[] resolveAttributeIndexes(Set<String> properties) {
+		final boolean[] seen = new boolean[ entityMetamodel.getPropertySpan() ];
+		final int[] fields = new int[ properties.size() ];
+		int counter = 0;
+		for ( String property : properties ) {
+			// changes to an embeddable are reported as "embeddedName.attributeName"; dirty the whole embedded
+			final int dot = property.indexOf( '.' );
+			final String rootProperty = dot < 0 ? property : property.substring( 0, dot );
+			final Integer index = entityMetamodel.getPropertyIndexOrNull( rootProperty );
+			if ( index != null && !seen[index] ) {
+				seen[index] = true;
+				fields[counter++] = index;
+			}
+		}
+
+		return counter == fields.length ? fields : Arrays.copyOf( fields, counter );
+	}
 
 	protected String[] getSubclassPropertySubclassNameClosure() {
 		return subclassPropertySubclassNameClosure;
@@ -2897,81 +2910,141 @@ public abstract class AbstractEntityPersister
 	        final String[][] suffixedPropertyColumns,
 	        final boolean allProperties,
 	        final SessionImplementor session) throws SQLException, HibernateException {
+		return hydrate(
+				rs,
+				id,
+				object,
+				buildHydrationPlan( rootLoadable, suffixedPropertyColumns, allProperties ),
+				session
+		);
+	}
+
+	public HydrationPlan buildHydrationPlan(
+			final Loadable rootLoadable,
+			final String[][] suffixedPropertyColumns,
+			final boolean allProperties) {
+		final AbstractEntityPersister rootPersister = (AbstractEntityPersister) rootLoadable;
+		final boolean hasDeferred = rootPersister.hasSequentialSelect();
+
+		final String[] propNames = getPropertyNames();
+		final Type[] types = getPropertyTypes();
+		final boolean[] laziness = getPropertyLaziness();
+		final String[] propSubclassNames = getSubclassPropertySubclassNameClosure();
+		final byte[] actions = new byte[types.length];
+		final String[][] columnAliases = new String[types.length][];
+
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !propertySelectable[i] ) {
+				actions[i] = HydrationPlan.UNSELECTABLE;
+			}
+			else if ( allProperties || !laziness[i] ) {
+				//decide which ResultSet to get the property value from:
+				final boolean propertyIsDeferred = hasDeferred &&
+						rootPersister.isSubclassPropertyDeferred( propNames[i], propSubclassNames[i] );
+				if ( propertyIsDeferred ) {
+					actions[i] = HydrationPlan.READ_DEFERRED;
+				}
+				else if ( types[i] instanceof AbstractStandardBasicType ) {
+					actions[i] = HydrationPlan.READ_BY_INDEX;
+				}
+				else {
+					actions[i] = HydrationPlan.READ;
+				}
+				columnAliases[i] = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
+			}
+			else {
+				actions[i] = HydrationPlan.UNFETCHED;
+			}
+		}
+
+		return new HydrationPlan(
+				rootPersister,
+				hasDeferred ? rootPersister.getSequentialSelect( getEntityName() ) : null,
+				actions,
+				types,
+				columnAliases
+		);
+	}
+
+	public Object[] hydrate(
+			final ResultSet rs,
+			final Serializable id,
+			final Object object,
+			final HydrationPlan plan,
+			final SessionImplementor session) throws SQLException, HibernateException {
 
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracev( "Hydrating entity: {0}", MessageHelper.infoString( this, id, getFactory() ) );
 		}
 
-		final AbstractEntityPersister rootPersister = (AbstractEntityPersister) rootLoadable;
-
-		final boolean hasDeferred = rootPersister.hasSequentialSelect();
 		PreparedStatement sequentialSelect = null;
 		ResultSet sequentialResultSet = null;
 		boolean sequentialSelectEmpty = false;
 		try {
 
-			if ( hasDeferred ) {
-				final String sql = rootPersister.getSequentialSelect( getEntityName() );
-				if ( sql != null ) {
-					//TODO: I am not so sure about the exception handling in this bit!
-					sequentialSelect = session.getTransactionCoordinator()
-							.getJdbcCoordinator()
-							.getStatementPreparer()
-							.prepareStatement( sql );
-					rootPersister.getIdentifierType().nullSafeSet( sequentialSelect, id, 1, session );
-					sequentialResultSet = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( sequentialSelect );
-					if ( !sequentialResultSet.next() ) {
-						// TODO: Deal with the "optional" attribute in the <join> mapping;
-						// this code assumes that optional defaults to "true" because it
-						// doesn't actually seem to work in the fetch="join" code
-						//
-						// Note that actual proper handling of optional-ality here is actually
-						// more involved than this patch assumes.  Remember that we might have
-						// multiple <join/> mappings associated with a single entity.  Really
-						// a couple of things need to happen to properly handle optional here:
-						//  1) First and foremost, when handling multiple <join/>s, we really
-						//      should be using the entity root table as the driving table;
-						//      another option here would be to choose some non-optional joined
-						//      table to use as the driving table.  In all likelihood, just using
-						//      the root table is much simplier
-						//  2) Need to add the FK columns corresponding to each joined table
-						//      to the generated select list; these would then be used when
-						//      iterating the result set to determine whether all non-optional
-						//      data is present
-						// My initial thoughts on the best way to deal with this would be
-						// to introduce a new SequentialSelect abstraction that actually gets
-						// generated in the persisters (ok, SingleTable...) and utilized here.
-						// It would encapsulated all this required optional-ality checking...
-						sequentialSelectEmpty = true;
-					}
+			if ( plan.sequentialSelect != null ) {
+				//TODO: I am not so sure about the exception handling in this bit!
+				sequentialSelect = session.getTransactionCoordinator()
+						.getJdbcCoordinator()
+						.getStatementPreparer()
+						.prepareStatement( plan.sequentialSelect );
+				plan.rootPersister.getIdentifierType().nullSafeSet( sequentialSelect, id, 1, session );
+				sequentialResultSet = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( sequentialSelect );
+				if ( !sequentialResultSet.next() ) {
+					// TODO: Deal with the "optional" attribute in the <join> mapping;
+					// this code assumes that optional defaults to "true" because it
+					// doesn't actually seem to work in the fetch="join" code
+					//
+					// Note that actual proper handling of optional-ality here is actually
+					// more involved than this patch assumes.  Remember that we might have
+					// multiple <join/> mappings associated with a single entity.  Really
+					// a couple of things need to happen to properly handle optional here:
+					//  1) First and foremost, when handling multiple <join/>s, we really
+					//      should be using the entity root table as the driving table;
+					//      another option here would be to choose some non-optional joined
+					//      table to use as the driving table.  In all likelihood, just using
+					//      the root table is much simplier
+					//  2) Need to add the FK columns corresponding to each joined table
+					//      to the generated select list; these would then be used when
+					//      iterating the result set to determine whether all non-optional
+					//      data is present
+					// My initial thoughts on the best way to deal with this would be
+					// to introduce a new SequentialSelect abstraction that actually gets
+					// generated in the persisters (ok, SingleTable...) and utilized here.
+					// It would encapsulated all this required optional-ality checking...
+					sequentialSelectEmpty = true;
 				}
 			}
 
-			final String[] propNames = getPropertyNames();
-			final Type[] types = getPropertyTypes();
-			final Object[] values = new Object[types.length];
-			final boolean[] laziness = getPropertyLaziness();
-			final String[] propSubclassNames = getSubclassPropertySubclassNameClosure();
+			final byte[] actions = plan.actions;
+			final Type[] types = plan.types;
+			final String[][] columnAliases = plan.columnAliases;
+			final int[] columnIndexes = plan.hasIndexedProperties() ? plan.getColumnIndexes( rs ) : null;
+			final Object[] values = new Object[actions.length];
 
-			for ( int i = 0; i < types.length; i++ ) {
-				if ( !propertySelectable[i] ) {
-					values[i] = BackrefPropertyAccessor.UNKNOWN;
-				}
-				else if ( allProperties || !laziness[i] ) {
-					//decide which ResultSet to get the property value from:
-					final boolean propertyIsDeferred = hasDeferred &&
-							rootPersister.isSubclassPropertyDeferred( propNames[i], propSubclassNames[i] );
-					if ( propertyIsDeferred && sequentialSelectEmpty ) {
-						values[i] = null;
+			for ( int i = 0; i < actions.length; i++ ) {
+				switch ( actions[i] ) {
+					case HydrationPlan.READ_BY_INDEX: {
+						values[i] = ( (AbstractStandardBasicType) types[i] ).nullSafeGet( rs, columnIndexes[i], session );
+						break;
 					}
-					else {
-						final ResultSet propertyResultSet = propertyIsDeferred ? sequentialResultSet : rs;
-						final String[] cols = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
-						values[i] = types[i].hydrate( propertyResultSet, cols, session, object );
+					case HydrationPlan.READ: {
+						values[i] = types[i].hydrate( rs, columnAliases[i], session, object );
+						break;
+					}
+					case HydrationPlan.READ_DEFERRED: {
+						values[i] = sequentialSelectEmpty
+								? null
+								: types[i].hydrate( sequentialResultSet, columnAliases[i], session, object );
+						break;
+					}
+					case HydrationPlan.UNFETCHED: {
+						values[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+						break;
+					}
+					default: {
+						values[i] = BackrefPropertyAccessor.UNKNOWN;
 					}
-				}
-				else {
-					values[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
 				}
 			}
 
@@ -4121,6 +4194,26 @@ public abstract class AbstractEntityPersister
 		return loader.load( id, optionalObject, session, lockOptions );
 	}
 
+	/**
+	 * Build the statement {@link #load(Serializable, Object, LockOptions, SessionImplementor)} would execute, without
+	 * executing it.
+	 *
+	 * @return The statement, or {@code null} if the loader cannot tell or the statement can only be executed on the
+	 * session's connection
+	 *
+	 * @see org.hibernate.loader.ConcurrentInitializer
+	 */
+	public LoadStatement getLoadStatement(
+			Serializable id,
+			Object optionalObject,
+			LockOptions lockOptions,
+			SessionImplementor session) throws HibernateException {
+		final UniqueEntityLoader loader = getAppropriateLoader( lockOptions, session );
+		return loader instanceof PrefetchableEntityLoader
+				? ( (PrefetchableEntityLoader) loader ).getLoadStatement( id, optionalObject, session, lockOptions )
+				: null;
+	}
+
 	public void registerAffectingFetchProfile(String fetchProfileName) {
 		affectingFetchProfileNames.add( fetchProfileName );
 	}
@@ -5293,6 +5386,33 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class BinaryCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final BinaryCacheEntry structure;
+
+		private BinaryCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+			this.structure = new BinaryCacheEntry( persister );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SessionImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					persister.hasUninitializedLazyProperties( entity ),
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * The precomputed steps of {@link Loadable#hydrate(java.sql.ResultSet, java.io.Serializable, Object, HydrationPlan,
+ * org.hibernate.engine.spi.SessionImplementor) hydrating} the rows of an entity type selected by a given SQL
+ * statement: for each property, whether it is read from the result set (and using which column aliases), from the
+ * sequential select, or not at all.  A loader builds the plans of the entity types it selects once, and then reuses
+ * them for every row.
+ * <p/>
+ * Properties of a {@link AbstractStandardBasicType standard basic type} are read by column index rather than by
+ * alias.  The indexes are resolved from the aliases once per result set, so that reading them is a plain loop over
+ * the JDBC getters.
+ *
+ * @see Loadable#buildHydrationPlan
+ */
+public final class HydrationPlan {
+	static final byte UNSELECTABLE = 0;
+	static final byte UNFETCHED = 1;
+	static final byte READ = 2;
+	static final byte READ_DEFERRED = 3;
+	static final byte READ_BY_INDEX = 4;
+
+	final AbstractEntityPersister rootPersister;
+	final String sequentialSelect;
+	final byte[] actions;
+	final Type[] types;
+	final String[][] columnAliases;
+	private final int firstIndexedProperty;
+
+	// the column indexes resolved for the result set last hydrated from, shared by the sessions using the loader
+	private volatile ColumnIndexes columnIndexes;
+
+	HydrationPlan(
+			AbstractEntityPersister rootPersister,
+			String sequentialSelect,
+			byte[] actions,
+			Type[] types,
+			String[][] columnAliases) {
+		this.rootPersister = rootPersister;
+		this.sequentialSelect = sequentialSelect;
+		this.actions = actions;
+		this.types = types;
+		this.columnAliases = columnAliases;
+
+		int first = -1;
+		for ( int i = 0; i < actions.length; i++ ) {
+			if ( actions[i] == READ_BY_INDEX ) {
+				first = i;
+				break;
+			}
+		}
+		this.firstIndexedProperty = first;
+	}
+
+	/**
+	 * Get the indexes of the columns of the properties read by index, resolving them if the given result set is
+	 * not the one they were last resolved for.
+	 *
+	 * @param rs The result set being hydrated from
+	 *
+	 * @return The column index of each property read by index; the other elements are undefined
+	 *
+	 * @throws SQLException Indicates a problem resolving a column alias
+	 */
+	int[] getColumnIndexes(ResultSet rs) throws SQLException {
+		final ColumnIndexes current = columnIndexes;
+		if ( current != null && current.resultSet.get() == rs ) {
+			return current.indexes;
+		}
+
+		final int[] indexes;
+		if ( current != null
+				&& rs.findColumn( columnAliases[firstIndexedProperty][0] ) == current.indexes[firstIndexedProperty] ) {
+			// another execution of the same statement, laid out the same way
+			indexes = current.indexes;
+		}
+		else {
+			// first execution, or the statement was rewritten (by a limit clause for instance)
+			indexes = new int[actions.length];
+			for ( int i = 0; i < actions.length; i++ ) {
+				if ( actions[i] == READ_BY_INDEX ) {
+					indexes[i] = rs.findColumn( columnAliases[i][0] );
+				}
+			}
+		}
+		columnIndexes = new ColumnIndexes( rs, indexes );
+		return indexes;
+	}
+
+	boolean hasIndexedProperties() {
+		return firstIndexedProperty >= 0;
+	}
+
+	private static final class ColumnIndexes {
+		// weak, not to keep the rows of closed result sets reachable from the loader
+		private final WeakReference<ResultSet> resultSet;
+		private final int[] indexes;
+
+		private ColumnIndexes(ResultSet resultSet, int[] indexes) {
+			this.resultSet = new WeakReference<ResultSet>( resultSet );
+			this.indexes = indexes;
+		}
+	}
+}
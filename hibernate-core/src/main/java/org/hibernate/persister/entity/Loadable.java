@@ -110,6 +110,32 @@ public interface Loadable extends EntityPersister {
 			SessionImplementor session)
 	throws SQLException, HibernateException;
 
+	/**
+	 * Build the plan of {@link #hydrate(ResultSet, Serializable, Object, HydrationPlan, SessionImplementor) hydrating}
+	 * the rows of this entity type selected using the given column aliases.
+	 *
+	 * @param rootLoadable The persister of the entity type the rows were selected as
+	 * @param suffixedPropertyColumns The column aliases of the properties
+	 * @param allProperties Whether the lazy properties were selected too
+	 *
+	 * @return The plan
+	 */
+	public HydrationPlan buildHydrationPlan(
+			Loadable rootLoadable,
+			String[][] suffixedPropertyColumns,
+			boolean allProperties);
+
+	/**
+	 * Retrieve property values from one row of a result set, according to a previously built plan
+	 */
+	public Object[] hydrate(
+			ResultSet rs,
+			Serializable id,
+			Object object,
+			HydrationPlan plan,
+			SessionImplementor session)
+	throws SQLException, HibernateException;
+
 	public boolean isAbstract();
 
 	/**
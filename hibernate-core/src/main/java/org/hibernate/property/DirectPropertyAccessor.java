@@ -117,6 +117,15 @@ public class DirectPropertyAccessor implements PropertyAccessor {
 			this.name = name;
 		}
 
+		/**
+		 * The field written by this setter.
+		 *
+		 * @return The field
+		 */
+		public Field getMember() {
+			return field;
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -46,4 +46,38 @@ public interface SecondLevelCacheStatistics extends Serializable {
 	long getSizeInMemory();
 
 	Map getEntries();
+
+	/**
+	 * The number of hits within the last {@link #RECENT_WINDOW_SECONDS} seconds.
+	 */
+	long getRecentHitCount();
+
+	/**
+	 * The number of misses within the last {@link #RECENT_WINDOW_SECONDS} seconds.
+	 */
+	long getRecentMissCount();
+
+	/**
+	 * The ratio of hits to gets within the last {@link #RECENT_WINDOW_SECONDS} seconds, between 0 and 1; 0 if there
+	 * were no gets.
+	 */
+	double getRecentHitRatio();
+
+	/**
+	 * The latency histogram of the gets from the region: element 0 counts the gets which took less than 1
+	 * microsecond, element {@code i} those which took at least {@code 2^(i-1)} and less than {@code 2^i}
+	 * microseconds, and the last element all slower gets.  A bulk get counts as one.
+	 */
+	long[] getGetLatencyHistogram();
+
+	/**
+	 * The latency histogram of the puts into the region, see {@link #getGetLatencyHistogram()}.  A bulk put counts
+	 * as one.
+	 */
+	long[] getPutLatencyHistogram();
+
+	/**
+	 * The length of the window of the recent hit and miss counts.
+	 */
+	int RECENT_WINDOW_SECONDS = 60;
 }
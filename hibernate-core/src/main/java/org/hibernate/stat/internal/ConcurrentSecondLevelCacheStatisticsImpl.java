@@ -26,8 +26,16 @@ package org.hibernate.stat.internal;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
 
+import org.hibernate.AssertionFailure;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.stat.SecondLevelCacheStatistics;
@@ -38,10 +46,50 @@ import org.hibernate.stat.SecondLevelCacheStatistics;
  * @author Alex Snaps
  */
 public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatistics implements SecondLevelCacheStatistics {
+	private static final String[] ITEM_NAMES = {
+			"region", "hitCount", "missCount", "putCount",
+			"recentHitRatio", "recentHitsPerSecond", "recentMissesPerSecond",
+			"getLatencyP50Micros", "getLatencyP90Micros", "getLatencyP99Micros",
+			"putLatencyP50Micros", "putLatencyP90Micros", "putLatencyP99Micros"
+	};
+
+	/**
+	 * The open type of the {@link #toCompositeData() composite data} of the region statistics.
+	 */
+	static final CompositeType COMPOSITE_TYPE;
+	static {
+		final OpenType[] itemTypes = {
+				SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+				SimpleType.DOUBLE, SimpleType.DOUBLE, SimpleType.DOUBLE,
+				SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+				SimpleType.LONG, SimpleType.LONG, SimpleType.LONG
+		};
+		try {
+			COMPOSITE_TYPE = new CompositeType(
+					"SecondLevelCacheStatistics",
+					"Second level cache statistics of a region",
+					ITEM_NAMES,
+					ITEM_NAMES,
+					itemTypes
+			);
+		}
+		catch (OpenDataException e) {
+			throw new AssertionFailure( "Invalid second level cache statistics type", e );
+		}
+	}
+
 	private final transient Region region;
 	private AtomicLong hitCount = new AtomicLong();
 	private AtomicLong missCount = new AtomicLong();
 	private AtomicLong putCount = new AtomicLong();
+	private final SlidingWindowCounter recentHitCount = new SlidingWindowCounter(
+			TimeUnit.SECONDS.toMillis( RECENT_WINDOW_SECONDS ), 12
+	);
+	private final SlidingWindowCounter recentMissCount = new SlidingWindowCounter(
+			TimeUnit.SECONDS.toMillis( RECENT_WINDOW_SECONDS ), 12
+	);
+	private final LatencyHistogram getLatency = new LatencyHistogram();
+	private final LatencyHistogram putLatency = new LatencyHistogram();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
 		super( region.getName() );
@@ -82,12 +130,65 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 		return map;
 	}
 
+	public long getRecentHitCount() {
+		return recentHitCount.get();
+	}
+
+	public long getRecentMissCount() {
+		return recentMissCount.get();
+	}
+
+	public double getRecentHitRatio() {
+		final long hits = recentHitCount.get();
+		final long gets = hits + recentMissCount.get();
+		return gets == 0 ? 0 : (double) hits / gets;
+	}
+
+	public long[] getGetLatencyHistogram() {
+		return getLatency.getCounts();
+	}
+
+	public long[] getPutLatencyHistogram() {
+		return putLatency.getCounts();
+	}
+
+	/**
+	 * The statistics of the region as open data, see {@link StatisticsMBean#getSecondLevelCacheRegionStatistics()}.
+	 *
+	 * @return The composite data, of type {@link #COMPOSITE_TYPE}
+	 */
+	CompositeData toCompositeData() {
+		final long[] gets = getLatency.getCounts();
+		final long[] puts = putLatency.getCounts();
+		final Object[] values = {
+				getCategoryName(), getHitCount(), getMissCount(), getPutCount(),
+				getRecentHitRatio(),
+				(double) getRecentHitCount() / RECENT_WINDOW_SECONDS,
+				(double) getRecentMissCount() / RECENT_WINDOW_SECONDS,
+				LatencyHistogram.percentileMicros( gets, 50 ),
+				LatencyHistogram.percentileMicros( gets, 90 ),
+				LatencyHistogram.percentileMicros( gets, 99 ),
+				LatencyHistogram.percentileMicros( puts, 50 ),
+				LatencyHistogram.percentileMicros( puts, 90 ),
+				LatencyHistogram.percentileMicros( puts, 99 )
+		};
+		try {
+			return new CompositeDataSupport( COMPOSITE_TYPE, ITEM_NAMES, values );
+		}
+		catch (OpenDataException e) {
+			throw new AssertionFailure( "Invalid second level cache statistics", e );
+		}
+	}
+
 	public String toString() {
 		StringBuilder buf = new StringBuilder()
 				.append("SecondLevelCacheStatistics")
 				.append("[hitCount=").append(this.hitCount)
 				.append(",missCount=").append(this.missCount)
-				.append(",putCount=").append(this.putCount);
+				.append(",putCount=").append(this.putCount)
+				.append(",recentHitRatio=").append(this.getRecentHitRatio())
+				.append(",getLatency=").append(this.getLatency)
+				.append(",putLatency=").append(this.putLatency);
 		//not sure if this would ever be null but wanted to be careful
 		if (region != null) {
 			buf.append(",elementCountInMemory=").append(this.getElementCountInMemory())
@@ -100,10 +201,20 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 
 	void incrementHitCount() {
 		hitCount.getAndIncrement();
+		recentHitCount.increment();
 	}
 
 	void incrementMissCount() {
 		missCount.getAndIncrement();
+		recentMissCount.increment();
+	}
+
+	void recordGetLatency(long nanos) {
+		getLatency.record( nanos );
+	}
+
+	void recordPutLatency(long nanos) {
+		putLatency.record( nanos );
 	}
 
 	void incrementPutCount() {
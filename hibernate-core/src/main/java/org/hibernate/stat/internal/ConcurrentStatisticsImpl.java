@@ -26,14 +26,24 @@ package org.hibernate.stat.internal;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
 
 import org.jboss.logging.Logger;
 
+import org.hibernate.AssertionFailure;
+import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.service.Service;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
@@ -47,10 +57,25 @@ import org.hibernate.stat.spi.StatisticsImplementor;
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl implements StatisticsImplementor, StatisticsMBean, Service, Manageable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
+	private static final TabularType SECOND_LEVEL_CACHE_REGION_STATISTICS_TYPE;
+	static {
+		try {
+			SECOND_LEVEL_CACHE_REGION_STATISTICS_TYPE = new TabularType(
+					"SecondLevelCacheRegionStatistics",
+					"Second level cache statistics per region",
+					ConcurrentSecondLevelCacheStatisticsImpl.COMPOSITE_TYPE,
+					new String[] { "region" }
+			);
+		}
+		catch (OpenDataException e) {
+			throw new AssertionFailure( "Invalid second level cache region statistics type", e );
+		}
+	}
+
 	private SessionFactoryImplementor sessionFactory;
 
 	private volatile boolean isStatisticsEnabled;
@@ -356,6 +381,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return slcs;
 	}
 
+	@Override
+	public TabularData getSecondLevelCacheRegionStatistics() {
+		final TabularDataSupport data = new TabularDataSupport( SECOND_LEVEL_CACHE_REGION_STATISTICS_TYPE );
+		for ( String regionName : getSecondLevelCacheRegionNames() ) {
+			final ConcurrentSecondLevelCacheStatisticsImpl slcs
+					= (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName );
+			if ( slcs != null ) {
+				data.put( slcs.toCompositeData() );
+			}
+		}
+		return data;
+	}
+
 	public void secondLevelCachePut(String regionName) {
 		secondLevelCachePutCount.getAndIncrement();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementPutCount();
@@ -370,6 +408,16 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		secondLevelCacheMissCount.getAndIncrement();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
+
+	@Override
+	public void secondLevelCacheGetTime(String regionName, long nanos) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).recordGetLatency( nanos );
+	}
+
+	@Override
+	public void secondLevelCachePutTime(String regionName, long nanos) {
+		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).recordPutLatency( nanos );
+	}
 	
 	@Override
 	public void naturalIdCachePut(String regionName) {
@@ -904,4 +952,29 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public String getQueryExecutionMaxTimeQueryString() {
 		return queryExecutionMaxTimeQueryString;
 	}
+
+	@Override
+	public String getManagementDomain() {
+		return AvailableSettings.JMX_DEFAULT_OBJ_NAME_DOMAIN;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		return "Statistics";
+	}
+
+	/**
+	 * Exposes the {@link StatisticsMBean} contract in JMX (when enabled by
+	 * {@link org.hibernate.cfg.AvailableSettings#JMX_ENABLED}), the per-region second-level cache statistics as the
+	 * open-type {@code SecondLevelCacheRegionStatistics} attribute.
+	 */
+	@Override
+	public Object getManagementBean() {
+		try {
+			return new StandardMBean( this, StatisticsMBean.class );
+		}
+		catch (NotCompliantMBeanException e) {
+			throw new HibernateException( "Unable to build the statistics MBean", e );
+		}
+	}
 }
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of operation latencies with buckets of exponentially growing width: bucket 0 counts the
+ * operations which took less than 1 microsecond, bucket {@code i} those which took at least {@code 2^(i-1)} and less
+ * than {@code 2^i} microseconds, and the last bucket all slower operations.
+ */
+final class LatencyHistogram implements Serializable {
+	/**
+	 * The number of buckets; the last bucket counts the operations which took more than about half a minute.
+	 */
+	static final int BUCKETS = 27;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+
+	void record(long nanos) {
+		final long micros = TimeUnit.NANOSECONDS.toMicros( nanos );
+		final int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros( micros );
+		counts.incrementAndGet( Math.min( bucket, BUCKETS - 1 ) );
+	}
+
+	long[] getCounts() {
+		final long[] result = new long[BUCKETS];
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			result[i] = counts.get( i );
+		}
+		return result;
+	}
+
+	/**
+	 * Estimate a percentile of the latencies counted by a histogram, as the upper bound of the bucket it falls into.
+	 *
+	 * @param counts The bucket counts, as returned by {@link #getCounts()}
+	 * @param percentile The percentile, between 0 (exclusive) and 100 (inclusive)
+	 *
+	 * @return The percentile in microseconds; 0 if nothing was counted, and the lower bound of the last bucket if
+	 * the percentile falls into it
+	 */
+	static long percentileMicros(long[] counts, double percentile) {
+		long total = 0;
+		for ( long count : counts ) {
+			total += count;
+		}
+		if ( total == 0 ) {
+			return 0;
+		}
+		final long rank = (long) Math.ceil( total * percentile / 100 );
+		long cumulative = 0;
+		for ( int i = 0; i < counts.length - 1; i++ ) {
+			cumulative += counts[i];
+			if ( cumulative >= rank ) {
+				return 1L << i;
+			}
+		}
+		return 1L << ( counts.length - 2 );
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder buf = new StringBuilder( "[" );
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			final long count = counts.get( i );
+			if ( count > 0 ) {
+				if ( buf.length() > 1 ) {
+					buf.append( ',' );
+				}
+				buf.append( "<" ).append( 1L << i ).append( "us=" ).append( count );
+			}
+		}
+		return buf.append( ']' ).toString();
+	}
+}
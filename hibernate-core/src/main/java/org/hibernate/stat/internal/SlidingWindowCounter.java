@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events over a sliding time window, divided into a fixed number of slots.  Each slot holds the count of one
+ * slot-length interval; a slot is reset when it gets reused for a new interval.  Counts racing with that reset may
+ * get lost, which is acceptable for statistics.
+ */
+final class SlidingWindowCounter implements Serializable {
+	private final long slotMillis;
+	private final int slotCount;
+	private final AtomicLongArray intervals;
+	private final AtomicLongArray counts;
+
+	SlidingWindowCounter(long windowMillis, int slotCount) {
+		this.slotMillis = windowMillis / slotCount;
+		this.slotCount = slotCount;
+		this.intervals = new AtomicLongArray( slotCount );
+		this.counts = new AtomicLongArray( slotCount );
+	}
+
+	void increment() {
+		final long interval = System.currentTimeMillis() / slotMillis;
+		final int slot = (int) ( interval % slotCount );
+		final long slotInterval = intervals.get( slot );
+		if ( slotInterval != interval ) {
+			if ( slotInterval < interval && intervals.compareAndSet( slot, slotInterval, interval ) ) {
+				counts.set( slot, 0 );
+			}
+		}
+		counts.incrementAndGet( slot );
+	}
+
+	/**
+	 * The number of events within the window.
+	 *
+	 * @return The count
+	 */
+	long get() {
+		final long interval = System.currentTimeMillis() / slotMillis;
+		long sum = 0;
+		for ( int slot = 0; slot < slotCount; slot++ ) {
+			if ( interval - intervals.get( slot ) < slotCount ) {
+				sum += counts.get( slot );
+			}
+		}
+		return sum;
+	}
+}
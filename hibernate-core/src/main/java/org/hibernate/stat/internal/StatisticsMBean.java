@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import javax.management.openmbean.TabularData;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * The management interface of the statistics, as registered with the
+ * {@link org.hibernate.jmx.spi.JmxService}: the {@link Statistics} contract, plus the per-region second-level cache
+ * statistics as open data which generic JMX consoles can display.
+ */
+public interface StatisticsMBean extends Statistics {
+	/**
+	 * The statistics of all second-level cache regions, one row per region (keyed by {@code region}) with the
+	 * counts, the hit and miss rates of the last {@link org.hibernate.stat.SecondLevelCacheStatistics#RECENT_WINDOW_SECONDS}
+	 * seconds and the 50th, 90th and 99th percentiles of the get and put latencies in microseconds.
+	 *
+	 * @return The region statistics
+	 */
+	TabularData getSecondLevelCacheRegionStatistics();
+}
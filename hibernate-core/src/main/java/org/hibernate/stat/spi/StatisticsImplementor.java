@@ -171,6 +171,22 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 * @param regionName The name of the cache region
 	 */
 	public void secondLevelCacheMiss(String regionName);
+
+	/**
+	 * Callback indicating the duration of a (possibly bulk) get from second level cache.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param nanos The duration, in nanoseconds
+	 */
+	public void secondLevelCacheGetTime(String regionName, long nanos);
+
+	/**
+	 * Callback indicating the duration of a (possibly bulk) put into second level cache.
+	 *
+	 * @param regionName The name of the cache region
+	 * @param nanos The duration, in nanoseconds
+	 */
+	public void secondLevelCachePutTime(String regionName, long nanos);
 	
 	/**
 	 * Callback indicating a put into natural id cache.
@@ -118,6 +118,9 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 
 	/**
 	 * Build an appropriate Instantiator for the given mapped entity.
+	 * <p/>
+	 * Called from the constructor once the property getters and setters have been built, and therefore
+	 * before the field initializers of any subclass have run.
 	 *
 	 * @param mappingInfo The mapping information regarding the mapped entity.
 	 * @return An appropriate Instantiator instance.
@@ -154,6 +157,9 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 
 	/**
 	 * Build an appropriate Instantiator for the given mapped entity.
+	 * <p/>
+	 * Called from the constructor once the property getters and setters have been built, and therefore
+	 * before the field initializers of any subclass have run.
 	 *
 	 * @param mappingInfo The mapping information regarding the mapped entity.
 	 * @return An appropriate Instantiator instance.
@@ -23,6 +23,7 @@
  */
 package org.hibernate.tuple.entity;
 
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashSet;
@@ -39,9 +40,14 @@ import org.hibernate.MappingException;
 import org.hibernate.PropertyNotFoundException;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.bytecode.spi.AccessorGeneratingBytecodeProvider;
+import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.cfg.Environment;
 import org.hibernate.classic.Lifecycle;
+import org.hibernate.engine.spi.CompositeOwner;
+import org.hibernate.engine.spi.CompositeTracker;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
@@ -51,6 +57,8 @@ import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Subclass;
 import org.hibernate.metamodel.binding.AttributeBinding;
 import org.hibernate.metamodel.binding.EntityBinding;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.DirectPropertyAccessor;
 import org.hibernate.property.Getter;
 import org.hibernate.property.PropertyAccessor;
 import org.hibernate.property.PropertyAccessorFactory;
@@ -60,6 +68,7 @@ import org.hibernate.proxy.ProxyFactory;
 import org.hibernate.tuple.Instantiator;
 import org.hibernate.tuple.PojoInstantiator;
 import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
 
 /**
  * An {@link EntityTuplizer} specific to the pojo entity mode.
@@ -75,7 +84,8 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	private final Class proxyInterface;
 	private final boolean lifecycleImplementor;
 	private final Set lazyPropertyNames = new HashSet();
-	private final ReflectionOptimizer optimizer;
+	// assigned by buildInstantiator(), which runs during super construction; must not have an initializer
+	private ReflectionOptimizer optimizer;
 	private final boolean isInstrumented;
 
 	public PojoEntityTuplizer(EntityMetamodel entityMetamodel, PersistentClass mappedEntity) {
@@ -92,27 +102,6 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 				lazyPropertyNames.add( property.getName() );
 			}
 		}
-
-		String[] getterNames = new String[propertySpan];
-		String[] setterNames = new String[propertySpan];
-		Class[] propTypes = new Class[propertySpan];
-		for ( int i = 0; i < propertySpan; i++ ) {
-			getterNames[i] = getters[i].getMethodName();
-			setterNames[i] = setters[i].getMethodName();
-			propTypes[i] = getters[i].getReturnType();
-		}
-
-		if ( hasCustomAccessors || !Environment.useReflectionOptimizer() ) {
-			optimizer = null;
-		}
-		else {
-			// todo : YUCK!!!
-			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer( mappedClass, getterNames, setterNames, propTypes );
-//			optimizer = getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
-//					mappedClass, getterNames, setterNames, propTypes
-//			);
-		}
-
 	}
 
 	public PojoEntityTuplizer(EntityMetamodel entityMetamodel, EntityBinding mappedEntity) {
@@ -127,28 +116,81 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 				lazyPropertyNames.add( property.getAttribute().getName() );
 			}
 		}
+	}
+
+	/**
+	 * Builds the optimizer used for bulk property access by the classic
+	 * {@link Environment#USE_REFLECTION_OPTIMIZER} path.
+	 */
+	private ReflectionOptimizer buildReflectionOptimizer(Class mappedClass) {
+		if ( hasCustomAccessors || !Environment.useReflectionOptimizer() ) {
+			return null;
+		}
 
 		String[] getterNames = new String[propertySpan];
 		String[] setterNames = new String[propertySpan];
-		Class[] propTypes = new Class[propertySpan];
 		for ( int i = 0; i < propertySpan; i++ ) {
-			getterNames[i] = getters[ i ].getMethodName();
-			setterNames[i] = setters[ i ].getMethodName();
-			propTypes[i] = getters[ i ].getReturnType();
+			getterNames[i] = getters[i].getMethodName();
+			setterNames[i] = setters[i].getMethodName();
 		}
+		// todo : YUCK!!!
+		return Environment.getBytecodeProvider().getReflectionOptimizer( mappedClass, getterNames, setterNames, getPropertyTypes() );
+//		return getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
+//				mappedClass, getterNames, setterNames, propTypes
+//		);
+	}
 
-		if ( hasCustomAccessors || ! Environment.useReflectionOptimizer() ) {
-			optimizer = null;
+	private Class[] getPropertyTypes() {
+		Class[] propTypes = new Class[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			propTypes[i] = getters[i].getReturnType();
 		}
-		else {
-			// todo : YUCK!!!
-			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer(
-					mappedClass, getterNames, setterNames, propTypes
+		return propTypes;
+	}
+
+	/**
+	 * Builds the accessor generated from the resolved getters and setters when
+	 * {@link org.hibernate.cfg.AvailableSettings#GENERATE_ENTITY_ACCESSORS} is enabled.
+	 */
+	private ReflectionOptimizer buildGeneratedAccessor(Class mappedClass) {
+		if ( !getFactory().getSettings().isGenerateEntityAccessorsEnabled() ) {
+			return null;
+		}
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		if ( !( bytecodeProvider instanceof AccessorGeneratingBytecodeProvider ) ) {
+			LOG.debugf(
+					"Generated accessor disabled for %s: bytecode provider %s does not generate accessors",
+					mappedClass.getName(),
+					bytecodeProvider.getClass().getName()
 			);
-//			optimizer = getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
-//					mappedClass, getterNames, setterNames, propTypes
-//			);
+			return null;
+		}
+
+		Member[] getterMembers = new Member[propertySpan];
+		Member[] setterMembers = new Member[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( getters[i] instanceof BasicPropertyAccessor.BasicGetter
+					&& setters[i] instanceof BasicPropertyAccessor.BasicSetter ) {
+				getterMembers[i] = getters[i].getMethod();
+				setterMembers[i] = setters[i].getMethod();
+			}
+			else if ( getters[i] instanceof DirectPropertyAccessor.DirectGetter
+					&& setters[i] instanceof DirectPropertyAccessor.DirectSetter ) {
+				getterMembers[i] = getters[i].getMember();
+				setterMembers[i] = ( (DirectPropertyAccessor.DirectSetter) setters[i] ).getMember();
+			}
+			else {
+				LOG.debugf(
+						"Generated accessor disabled for %s: property %s uses a custom accessor",
+						mappedClass.getName(),
+						getEntityMetamodel().getPropertyNames()[i]
+				);
+				return null;
+			}
 		}
+		return ( (AccessorGeneratingBytecodeProvider) bytecodeProvider ).getReflectionOptimizer(
+				mappedClass, getterMembers, setterMembers, getPropertyTypes()
+		);
 	}
 
 	/**
@@ -252,15 +294,20 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 
 	/**
 	 * {@inheritDoc}
+	 * <p/>
+	 * Also assigns {@link #optimizer}: this is called from the super constructor, so the field must
+	 * not have an initializer, which would run afterwards and reset it.
 	 */
 	@Override
-    protected Instantiator buildInstantiator(PersistentClass persistentClass) {
-		if ( optimizer == null ) {
-			return new PojoInstantiator( persistentClass, null );
-		}
-		else {
+	protected Instantiator buildInstantiator(PersistentClass persistentClass) {
+		final Class mappedClass = persistentClass.getMappedClass();
+		optimizer = buildGeneratedAccessor( mappedClass );
+		if ( optimizer != null ) {
 			return new PojoInstantiator( persistentClass, optimizer.getInstantiationOptimizer() );
 		}
+		// the classic reflection optimizer is used for property access only, instantiation stays reflective
+		optimizer = buildReflectionOptimizer( mappedClass );
+		return new PojoInstantiator( persistentClass, null );
 	}
 
 	/**
@@ -356,15 +403,20 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 
 	/**
 	 * {@inheritDoc}
+	 * <p/>
+	 * Also assigns {@link #optimizer}: this is called from the super constructor, so the field must
+	 * not have an initializer, which would run afterwards and reset it.
 	 */
 	@Override
 	protected Instantiator buildInstantiator(EntityBinding entityBinding) {
-		if ( optimizer == null ) {
-			return new PojoInstantiator( entityBinding, null );
-		}
-		else {
+		final Class mappedClass = entityBinding.getEntity().getClassReference();
+		optimizer = buildGeneratedAccessor( mappedClass );
+		if ( optimizer != null ) {
 			return new PojoInstantiator( entityBinding, optimizer.getInstantiationOptimizer() );
 		}
+		// the classic reflection optimizer is used for property access only, instantiation stays reflective
+		optimizer = buildReflectionOptimizer( mappedClass );
+		return new PojoInstantiator( entityBinding, null );
 	}
 
 	/**
@@ -510,11 +562,33 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 			//TODO: if we support multiple fetch groups, we would need
 			//      to clone the set of lazy properties!
 			FieldInterceptionHelper.injectFieldInterceptor( entity, getEntityName(), lazyProps, session );
+		}
 
-            //also clear the fields that are marked as dirty in the dirtyness tracker
-            if(entity instanceof org.hibernate.engine.spi.SelfDirtinessTracker) {
-                ((org.hibernate.engine.spi.SelfDirtinessTracker) entity).$$_hibernate_clearDirtyAttributes();
-            }
+		if ( entity instanceof SelfDirtinessTracker ) {
+			// the values just set by hydration are not changes; the loaded state is now the tracking baseline
+			if ( entity instanceof CompositeOwner ) {
+				registerCompositeOwner( (CompositeOwner) entity );
+			}
+			( (SelfDirtinessTracker) entity ).$$_hibernate_clearDirtyAttributes();
+		}
+	}
+
+	/**
+	 * Embeddables are set through reflection during hydration, which bypasses the enhanced writer that would
+	 * normally register the entity as their owner.  Do it here so that in-place changes to the embeddable
+	 * are reported back to the entity's dirty tracker.
+	 */
+	private void registerCompositeOwner(CompositeOwner entity) {
+		final Type[] types = getEntityMetamodel().getPropertyTypes();
+		final boolean[] laziness = getEntityMetamodel().getPropertyLaziness();
+		final String[] names = getEntityMetamodel().getPropertyNames();
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( types[i].isComponentType() && !laziness[i] ) {
+				final Object value = getters[i].get( entity );
+				if ( value instanceof CompositeTracker ) {
+					( (CompositeTracker) value ).$$_hibernate_setOwner( names[i], entity );
+				}
+			}
 		}
 	}
 
@@ -42,9 +42,11 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.relational.Size;
+import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 import org.hibernate.type.descriptor.java.MutabilityPlan;
+import org.hibernate.type.descriptor.sql.BasicExtractor;
 import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
 
 /**
@@ -262,6 +264,27 @@ public abstract class AbstractStandardBasicType<T>
 		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
 	}
 
+	/**
+	 * Read the value of the column at the given index, rather than looking the column up by name.
+	 *
+	 * @param rs The result set
+	 * @param index The index (position) of the column in the result set
+	 * @param session The originating session
+	 *
+	 * @return The extracted value
+	 *
+	 * @throws SQLException Indicates a problem accessing the result set
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public final T nullSafeGet(ResultSet rs, int index, final SessionImplementor session) throws SQLException {
+		final WrapperOptions options = getOptions(session);
+		final ValueExtractor<T> extractor = remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor );
+		if ( extractor instanceof BasicExtractor ) {
+			return ( (BasicExtractor<T>) extractor ).extract( rs, index, options );
+		}
+		return extractor.extract( rs, rs.getMetaData().getColumnLabel( index ), options );
+	}
+
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
 		return nullSafeGet( rs, name, session );
 	}
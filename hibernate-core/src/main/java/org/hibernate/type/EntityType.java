@@ -200,6 +200,15 @@ public abstract class EntityType extends AbstractType implements AssociationType
 		return referenceToPrimaryKey;
 	}
 
+	/**
+	 * Is eager fetching enabled, i.e. are references resolved to loaded entities rather than proxies?
+	 *
+	 * @return True if eager fetching is enabled.
+	 */
+	public boolean isEager() {
+		return eager;
+	}
+
 	public String getRHSUniqueKeyPropertyName() {
 		// Return null if this type references a PK.  This is important for
 		// associations' use of mappedBy referring to a derived ID.
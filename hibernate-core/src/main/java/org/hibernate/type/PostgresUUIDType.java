@@ -86,6 +86,11 @@ public class PostgresUUIDType extends AbstractSingleColumnStandardBasicType<UUID
 					return javaTypeDescriptor.wrap( rs.getObject( name ), options );
 				}
 
+				@Override
+				protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+					return javaTypeDescriptor.wrap( rs.getObject( index ), options );
+				}
+
 				@Override
 				protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 					return javaTypeDescriptor.wrap( statement.getObject( index ), options );
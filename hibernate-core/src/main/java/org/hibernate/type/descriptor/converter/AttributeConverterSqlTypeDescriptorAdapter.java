@@ -115,6 +115,14 @@ public class AttributeConverterSqlTypeDescriptorAdapter implements SqlTypeDescri
 				return doConversion( realExtractor.extract( rs, name, options ) );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+				if ( realExtractor instanceof BasicExtractor ) {
+					return doConversion( ( (BasicExtractor) realExtractor ).extract( rs, index, options ) );
+				}
+				return super.doExtract( rs, index, options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return doConversion( realExtractor.extract( statement, index, options ) );
@@ -102,6 +102,63 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 */
 	protected abstract J doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
 
+	/**
+	 * Extract value from result set by column index rather than by name, sparing the driver the column lookup
+	 * when the index of the column is already known.
+	 *
+	 * @param rs The result set from which to extract the value
+	 * @param index The index (position) of the column in the result set
+	 * @param options The options
+	 *
+	 * @return The extracted value
+	 *
+	 * @throws SQLException Indicates a JDBC error occurred.
+	 */
+	public J extract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, index, options );
+		final boolean traceEnabled = log.isTraceEnabled();
+		if ( value == null || rs.wasNull() ) {
+			if ( traceEnabled ) {
+				log.tracef(
+						"extracted value ([%s] : [%s]) - [null]",
+						index,
+						JdbcTypeNameMapper.getTypeName( getSqlDescriptor().getSqlType() )
+				);
+			}
+			return null;
+		}
+		else {
+			if ( traceEnabled ) {
+				log.tracef(
+						"extracted value ([%s] : [%s]) - [%s]",
+						index,
+						JdbcTypeNameMapper.getTypeName( getSqlDescriptor().getSqlType() ),
+						getJavaDescriptor().extractLoggableRepresentation( value )
+				);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Perform the extraction.
+	 * <p/>
+	 * Called from {@link #extract(ResultSet, int, WrapperOptions)}.  Null checking of the value (as well as
+	 * consulting {@link ResultSet#wasNull}) is done there.  The default implementation looks up the label of
+	 * the column and extracts by name; the standard descriptors override it.
+	 *
+	 * @param rs The result set
+	 * @param index The index (position) of the column in the result set
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	protected J doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+		return doExtract( rs, rs.getMetaData().getColumnLabel( index ), options );
+	}
+
 	@Override
 	public J extract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 		final J value = doExtract( statement, index, options );
@@ -65,6 +65,11 @@ public abstract class BlobTypeDescriptor implements SqlTypeDescriptor {
 				return javaTypeDescriptor.wrap( rs.getBlob( name ), options );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getBlob( index ), options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( statement.getBlob( index ), options );
@@ -71,6 +71,11 @@ public class BooleanTypeDescriptor implements SqlTypeDescriptor {
 				return javaTypeDescriptor.wrap( rs.getBoolean( name ), options );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getBoolean( index ), options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( statement.getBoolean( index ), options );
@@ -75,6 +75,11 @@ public class DateTypeDescriptor implements SqlTypeDescriptor {
 				return javaTypeDescriptor.wrap( rs.getDate( name ), options );
 			}
 
+			@Override
+			protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getDate( index ), options );
+			}
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( statement.getDate( index ), options );
@@ -61,6 +61,11 @@ public abstract class NClobTypeDescriptor implements SqlTypeDescriptor {
                 return javaTypeDescriptor.wrap( rs.getNClob( name ), options );
             }
 
+			@Override
+            protected X doExtract(ResultSet rs, int index, WrapperOptions options) throws SQLException {
+                return javaTypeDescriptor.wrap( rs.getNClob( index ), options );
+            }
+
 			@Override
 			protected X doExtract(CallableStatement statement, int index, WrapperOptions options)
 					throws SQLException {
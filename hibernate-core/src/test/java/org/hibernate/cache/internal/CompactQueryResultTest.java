@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the column-wise storage of cached query results.
+ */
+public class CompactQueryResultTest extends BaseUnitTestCase {
+	@Test
+	public void testColumns() throws Exception {
+		final Serializable[][] columns = new Serializable[][] {
+				{ 1L, 2L, 3L },
+				{ 4, 5, 6 },
+				{ "a", null, "c" },
+				{ 7L, 8, 9L }
+		};
+		final CompactQueryResult result = (CompactQueryResult) SerializationHelper.clone(
+				CompactQueryResult.fromColumns( columns, 3 )
+		);
+
+		assertEquals( 3, result.size() );
+		assertArrayEquals( new Serializable[] { 1L, 2L, 3L }, result.getColumn( 0 ) );
+		assertArrayEquals( new Serializable[] { 4, 5, 6 }, result.getColumn( 1 ) );
+		assertArrayEquals( new Serializable[] { "a", null, "c" }, result.getColumn( 2 ) );
+		assertArrayEquals( new Serializable[] { 7L, 8, 9L }, result.getColumn( 3 ) );
+
+		final Object[] stored = storedColumns( result );
+		assertTrue( stored[0] instanceof long[] );
+		assertTrue( stored[1] instanceof int[] );
+		assertTrue( stored[2] instanceof Serializable[] );
+		assertTrue( stored[3] instanceof Serializable[] );
+	}
+
+	private static Object[] storedColumns(CompactQueryResult result) throws Exception {
+		final Field columns = CompactQueryResult.class.getDeclaredField( "columns" );
+		columns.setAccessible( true );
+		return (Object[]) columns.get( result );
+	}
+}
@@ -23,6 +23,13 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
 import org.junit.Test;
 
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -30,6 +37,7 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -254,6 +262,78 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testStripedOptimizersSingleThreaded() {
+		// used from a single thread, the striped optimizers behave just like their non-striped counterparts
+		final StandardOptimizerDescriptor[][] pairs = new StandardOptimizerDescriptor[][] {
+				{ StandardOptimizerDescriptor.HILO, StandardOptimizerDescriptor.HILO_STRIPED },
+				{ StandardOptimizerDescriptor.POOLED, StandardOptimizerDescriptor.POOLED_STRIPED },
+				{ StandardOptimizerDescriptor.POOLED_LO, StandardOptimizerDescriptor.POOLED_LO_STRIPED },
+		};
+		for ( StandardOptimizerDescriptor[] pair : pairs ) {
+			final int increment = pair[0].isPooled() ? 10 : 1;
+			final SourceMock sequence = new SourceMock( 1, increment );
+			final SourceMock stripedSequence = new SourceMock( 1, increment );
+			final Optimizer optimizer = buildOptimizer( pair[0], 1, 10 );
+			final Optimizer stripedOptimizer = buildOptimizer( pair[1], 1, 10 );
+			for ( int i = 0; i < 35; i++ ) {
+				assertEquals( optimizer.generate( sequence ), stripedOptimizer.generate( stripedSequence ) );
+			}
+			assertEquals( sequence.getTimesCalled(), stripedSequence.getTimesCalled() );
+			assertEquals( optimizer.getLastSourceValue(), stripedOptimizer.getLastSourceValue() );
+		}
+	}
+
+	@Test
+	public void testStripedOptimizerConcurrentUsage() throws Exception {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildOptimizer( StandardOptimizerDescriptor.POOLED_STRIPED, 1, 10 );
+		final AccessCallback callback = new AccessCallback() {
+			@Override
+			public synchronized IntegralDataTypeHolder getNextValue() {
+				return sequence.getNextValue();
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+
+		final int threadCount = 8;
+		final int idsPerThread = 5000;
+		final Set<Object> ids = Collections.newSetFromMap( new ConcurrentHashMap<Object, Boolean>() );
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final List<Thread> threads = new ArrayList<Thread>();
+		for ( int i = 0; i < threadCount; i++ ) {
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int j = 0; j < idsPerThread; j++ ) {
+						ids.add( optimizer.generate( callback ) );
+					}
+				}
+			};
+			thread.start();
+			threads.add( thread );
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		// no duplicates were handed out
+		assertEquals( threadCount * idsPerThread, ids.size() );
+		// and no more buckets were consumed than necessary
+		assertTrue( sequence.getTimesCalled() <= ( threadCount * idsPerThread ) / 10 + threadCount + 1 );
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -0,0 +1,232 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.loader.AdaptiveBatchSizer;
+import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BatchFetchStyle#ADAPTIVE} batch fetching.
+ */
+public class AdaptiveBatchFetchTest extends BaseCoreFunctionalTestCase {
+	private static final int DEPARTMENTS = 40;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Department.class, Employee.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.ADAPTIVE.name() );
+		configuration.setProperty( AvailableSettings.BATCH_FETCH_ADAPTIVE_MIN_SIZE, "2" );
+		configuration.setProperty( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, "100" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= DEPARTMENTS; i++ ) {
+			final Department department = new Department( i );
+			s.save( department );
+			s.save( new Employee( i, department ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Employee" ).executeUpdate();
+		s.createQuery( "delete Department" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEntityBatchSizeAdapts() {
+		final AdaptiveBatchSizer sizer = sessionFactory().getAdaptiveBatchSizer( Department.class.getName(), 100 );
+		assertEquals( 2, sizer.getBatchSize() );
+		assertEquals( 100, sizer.getMaxBatchSize() );
+
+		// the batch size doubles while the departments keep being initialized: 2, 4, 8, 16 and the remaining 10
+		assertEquals( 5, initializeDepartments( DEPARTMENTS ) );
+		assertEquals( 12, sizer.getBatchSize() );
+
+		int previousSelects = Integer.MAX_VALUE;
+		for ( int i = 0; i < 20; i++ ) {
+			final int selects = initializeDepartments( DEPARTMENTS );
+			assertTrue( selects <= previousSelects );
+			previousSelects = selects;
+		}
+		assertEquals( 1, previousSelects );
+		assertEquals( DEPARTMENTS, sizer.getBatchSize() );
+
+		// using just a few of the batch-fetched departments tunes the size down again
+		assertEquals( 1, initializeDepartments( 5 ) );
+		assertTrue( sizer.getBatchSize() < DEPARTMENTS );
+	}
+
+	@Test
+	public void testCollectionBatchSizeAdapts() {
+		final AdaptiveBatchSizer sizer = sessionFactory().getAdaptiveBatchSizer(
+				Department.class.getName() + ".employees",
+				100
+		);
+		assertEquals( 2, sizer.getBatchSize() );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		Session s = openSession();
+		s.beginTransaction();
+		final List departments = s.createQuery( "from Department" ).list();
+		for ( Object department : departments ) {
+			assertEquals( 1, ( (Department) department ).getEmployees().size() );
+		}
+		s.getTransaction().commit();
+		s.close();
+		// the query, then batches of 2, 4, 8, 16 and the remaining 10
+		assertEquals( 6, statistics.getPrepareStatementCount() );
+		assertEquals( 12, sizer.getBatchSize() );
+	}
+
+	/**
+	 * Initializes the department proxies of the first {@code count} employees in a new session.
+	 *
+	 * @return The number of selects issued for the departments
+	 */
+	private int initializeDepartments(int count) {
+		final Statistics statistics = sessionFactory().getStatistics();
+		Session s = openSession();
+		s.beginTransaction();
+		final List employees = s.createQuery( "from Employee e order by e.id" ).list();
+		statistics.clear();
+		for ( int i = 0; i < count; i++ ) {
+			final Department department = ( (Employee) employees.get( i ) ).getDepartment();
+			assertEquals( "department " + ( i + 1 ), department.getName() );
+		}
+		final int selects = (int) statistics.getPrepareStatementCount();
+		s.getTransaction().commit();
+		s.close();
+		return selects;
+	}
+
+	@Entity( name = "Department" )
+	public static class Department {
+		private Integer id;
+		private String name;
+		private Set<Employee> employees = new HashSet<Employee>();
+
+		public Department() {
+		}
+
+		public Department(Integer id) {
+			this.id = id;
+			this.name = "department " + id;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@OneToMany( mappedBy = "department" )
+		public Set<Employee> getEmployees() {
+			return employees;
+		}
+
+		public void setEmployees(Set<Employee> employees) {
+			this.employees = employees;
+		}
+	}
+
+	@Entity( name = "Employee" )
+	public static class Employee {
+		private Integer id;
+		private Department department;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, Department department) {
+			this.id = id;
+			this.department = department;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		@ManyToOne( fetch = FetchType.LAZY )
+		public Department getDepartment() {
+			return department;
+		}
+
+		public void setDepartment(Department department) {
+			this.department = department;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2006-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Batch fetching of cached entities, which probes and fills the second-level cache a batch at a time.
+ */
+public class CachedBatchFetchTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CachedBatchEntity.class, CachedBatchSubEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+	}
+
+	@Test
+	public void testCachedEntitiesAreLeftOutOfBatch() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 6; i++ ) {
+			s.save( new CachedBatchEntity( i, "entity " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegions();
+
+		// get 2 and 4 into the cache
+		s = openSession();
+		s.beginTransaction();
+		s.get( CachedBatchEntity.class, 2 );
+		s.get( CachedBatchEntity.class, 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final CachedBatchEntity[] proxies = new CachedBatchEntity[6];
+		for ( int i = 1; i <= 6; i++ ) {
+			proxies[i - 1] = (CachedBatchEntity) s.load( CachedBatchEntity.class, i );
+		}
+		Hibernate.initialize( proxies[0] );
+
+		// one batch, for the four entities which were not cached
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 4, statistics.getEntityLoadCount() );
+		assertEquals( 4, s.getStatistics().getEntityCount() );
+		assertFalse( Hibernate.isInitialized( proxies[1] ) );
+		assertFalse( Hibernate.isInitialized( proxies[3] ) );
+
+		final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(
+				sessionFactory().getEntityPersister( CachedBatchEntity.class.getName() )
+						.getCacheAccessStrategy()
+						.getRegion()
+						.getName()
+		);
+		assertEquals( 4, regionStatistics.getPutCount() );
+
+		Hibernate.initialize( proxies[1] );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 1, regionStatistics.getHitCount() );
+		assertEquals( "entity 2", proxies[1].getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		// everything is cached now
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 6; i++ ) {
+			assertEquals( "entity " + i, ( (CachedBatchEntity) s.get( CachedBatchEntity.class, i ) ).getName() );
+		}
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.createQuery( "delete CachedBatchEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCachedSubclassEntitiesAreLeftOutOfBatch() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 6; i++ ) {
+			s.save( new CachedBatchSubEntity( i, "entity " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegions();
+
+		// get 2 and 4 into the cache, which keys the entries by the root entity name
+		s = openSession();
+		s.beginTransaction();
+		s.get( CachedBatchSubEntity.class, 2 );
+		s.get( CachedBatchSubEntity.class, 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final CachedBatchSubEntity[] proxies = new CachedBatchSubEntity[6];
+		for ( int i = 1; i <= 6; i++ ) {
+			proxies[i - 1] = (CachedBatchSubEntity) s.load( CachedBatchSubEntity.class, i );
+		}
+		Hibernate.initialize( proxies[0] );
+
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 4, statistics.getEntityLoadCount() );
+		assertFalse( Hibernate.isInitialized( proxies[1] ) );
+		assertFalse( Hibernate.isInitialized( proxies[3] ) );
+		s.createQuery( "delete CachedBatchEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity( name = "CachedBatchEntity" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	@BatchSize( size = 10 )
+	public static class CachedBatchEntity {
+		private Integer id;
+		private String name;
+
+		public CachedBatchEntity() {
+		}
+
+		public CachedBatchEntity(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "CachedBatchSubEntity" )
+	@BatchSize( size = 10 )
+	public static class CachedBatchSubEntity extends CachedBatchEntity {
+		public CachedBatchSubEntity() {
+		}
+
+		public CachedBatchSubEntity(Integer id, String name) {
+			super( id, name );
+		}
+	}
+}
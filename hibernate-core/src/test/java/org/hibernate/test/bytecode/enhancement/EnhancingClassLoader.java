@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.ManyToMany;
+import javax.persistence.OneToMany;
+import javax.persistence.Transient;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.LoaderClassPath;
+import javassist.Modifier;
+
+import org.hibernate.bytecode.enhance.spi.EnhancementContext;
+import org.hibernate.bytecode.enhance.spi.Enhancer;
+
+/**
+ * Loads the given classes enhanced for in-line dirty tracking, delegating every other class to its parent.
+ */
+public class EnhancingClassLoader extends ClassLoader {
+	private final Set<String> classNames;
+	private final Enhancer enhancer;
+
+	public EnhancingClassLoader(ClassLoader parent, Class... classes) {
+		super( parent );
+		this.classNames = new HashSet<String>();
+		for ( Class clazz : classes ) {
+			classNames.add( clazz.getName() );
+		}
+		this.enhancer = new Enhancer( new InlineDirtyCheckingContext( parent ) );
+	}
+
+	@Override
+	protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		if ( !classNames.contains( name ) ) {
+			return super.loadClass( name, resolve );
+		}
+		Class<?> loaded = findLoadedClass( name );
+		if ( loaded == null ) {
+			final byte[] enhanced = enhance( name );
+			loaded = defineClass( name, enhanced, 0, enhanced.length );
+		}
+		if ( resolve ) {
+			resolveClass( loaded );
+		}
+		return loaded;
+	}
+
+	private byte[] enhance(String name) throws ClassNotFoundException {
+		final ClassPool classPool = new ClassPool( false );
+		classPool.appendClassPath( new LoaderClassPath( getParent() ) );
+		try {
+			final CtClass ctClass = classPool.get( name );
+			final byte[] original = ctClass.toBytecode();
+			final byte[] enhanced = ctClass.hasAnnotation( Embeddable.class )
+					? enhancer.enhanceComposite( name, original )
+					: enhancer.enhance( name, original );
+			if ( Arrays.equals( original, enhanced ) ) {
+				throw new ClassNotFoundException( "Could not enhance " + name );
+			}
+			return enhanced;
+		}
+		catch (ClassNotFoundException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new ClassNotFoundException( "Could not enhance " + name, e );
+		}
+	}
+
+	private static class InlineDirtyCheckingContext implements EnhancementContext {
+		private final ClassLoader loadingClassLoader;
+
+		private InlineDirtyCheckingContext(ClassLoader loadingClassLoader) {
+			this.loadingClassLoader = loadingClassLoader;
+		}
+
+		@Override
+		public ClassLoader getLoadingClassLoader() {
+			return loadingClassLoader;
+		}
+
+		@Override
+		public boolean isEntityClass(CtClass classDescriptor) {
+			return classDescriptor.hasAnnotation( Entity.class );
+		}
+
+		@Override
+		public boolean isCompositeClass(CtClass classDescriptor) {
+			return classDescriptor.hasAnnotation( Embeddable.class );
+		}
+
+		@Override
+		public boolean doDirtyCheckingInline(CtClass classDescriptor) {
+			return true;
+		}
+
+		@Override
+		public boolean hasLazyLoadableAttributes(CtClass classDescriptor) {
+			return false;
+		}
+
+		@Override
+		public boolean isLazyLoadable(CtField field) {
+			return false;
+		}
+
+		@Override
+		public boolean isMappedCollection(CtField field) {
+			return field.hasAnnotation( OneToMany.class )
+					|| field.hasAnnotation( ManyToMany.class )
+					|| field.hasAnnotation( ElementCollection.class );
+		}
+
+		@Override
+		public boolean isPersistentField(CtField ctField) {
+			return !Modifier.isTransient( ctField.getModifiers() ) && !ctField.hasAnnotation( Transient.class );
+		}
+
+		@Override
+		public CtField[] order(CtField[] persistentFields) {
+			return persistentFields;
+		}
+	}
+}
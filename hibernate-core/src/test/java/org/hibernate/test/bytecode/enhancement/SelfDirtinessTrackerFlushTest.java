@@ -0,0 +1,293 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Date;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that flushing relies on the in-line dirty tracking of {@link SelfDirtinessTracker} entities rather than
+ * on comparing against the loaded state, using entities enhanced by the {@link org.hibernate.bytecode.enhance.spi.Enhancer}.
+ */
+public class SelfDirtinessTrackerFlushTest extends BaseCoreFunctionalTestCase {
+	private static final EnhancingClassLoader ENHANCING_CLASS_LOADER = new EnhancingClassLoader(
+			SelfDirtinessTrackerFlushTest.class.getClassLoader(),
+			TrackedEntity.class,
+			TrackedAddress.class
+	);
+
+	private static final long CREATED = 1000000000000L;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { enhancedClass( TrackedEntity.class ) };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void buildSessionFactory() {
+		// mapped classes are resolved by name through the context class loader
+		final Thread thread = Thread.currentThread();
+		final ClassLoader original = thread.getContextClassLoader();
+		thread.setContextClassLoader( ENHANCING_CLASS_LOADER );
+		try {
+			super.buildSessionFactory();
+		}
+		finally {
+			thread.setContextClassLoader( original );
+		}
+	}
+
+	@Test
+	public void testEntityIsEnhanced() throws Exception {
+		final Object entity = newEntity();
+		assertTrue( entity instanceof SelfDirtinessTracker );
+		invoke( entity, "setName", "changed" );
+		assertTrue( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() );
+	}
+
+	@Test
+	public void testTrackedChangesAreFlushed() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Object entity = s.get( entityClass(), 1L );
+		assertFalse( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() );
+		invoke( entity, "setName", "changed" );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		entity = s.get( entityClass(), 1L );
+		assertEquals( "changed", invoke( entity, "getName" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testUnchangedEntityIsNotUpdated() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.get( entityClass(), 1L );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testUntrackedChangesOfImmutableValuesAreNotDirtyChecked() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Object entity = s.get( entityClass(), 1L );
+		// bypass the enhanced writer
+		final Field description = entityClass().getDeclaredField( "description" );
+		description.setAccessible( true );
+		description.set( entity, "changed" );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 0, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testInPlaceChangesOfMutableValuesAreFlushed() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Object entity = s.get( entityClass(), 1L );
+		( (Date) invoke( entity, "getCreated" ) ).setTime( CREATED + 1000L );
+		assertFalse( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		entity = s.get( entityClass(), 1L );
+		assertEquals( CREATED + 1000L, ( (Date) invoke( entity, "getCreated" ) ).getTime() );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testNoUpdateAfterInsert() throws Exception {
+		sessionFactory().getStatistics().clear();
+		Session s = openSession();
+		s.beginTransaction();
+		final Object entity = newEntity();
+		s.persist( entity );
+		s.flush();
+		invoke( entity, "setDescription", "described" );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityInsertCount() );
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testEmbeddableChangesAreTracked() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Object entity = s.get( entityClass(), 1L );
+		assertFalse( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() );
+		invoke( invoke( entity, "getAddress" ), "setStreet", "Evergreen Terrace" );
+		assertTrue( ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		entity = s.get( entityClass(), 1L );
+		assertEquals( "Evergreen Terrace", invoke( invoke( entity, "getAddress" ), "getStreet" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntity();
+	}
+
+	@Test
+	public void testMergedChangesAreTracked() throws Exception {
+		createEntity();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Object detached = s.get( entityClass(), 1L );
+		s.getTransaction().commit();
+		s.close();
+
+		invoke( detached, "setDescription", "merged" );
+
+		s = openSession();
+		s.beginTransaction();
+		s.get( entityClass(), 1L );
+		s.merge( detached );
+		sessionFactory().getStatistics().clear();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		final Object entity = s.get( entityClass(), 1L );
+		assertEquals( "merged", invoke( entity, "getDescription" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		deleteEntity();
+	}
+
+	private static Class<?> enhancedClass(Class<?> original) {
+		try {
+			return ENHANCING_CLASS_LOADER.loadClass( original.getName() );
+		}
+		catch (ClassNotFoundException e) {
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static Class<?> entityClass() {
+		return enhancedClass( TrackedEntity.class );
+	}
+
+	private static Object newEntity() throws Exception {
+		final Object address = enhancedClass( TrackedAddress.class ).newInstance();
+		invoke( address, "setStreet", "Main Street" );
+		invoke( address, "setCity", "Springfield" );
+		final Object entity = entityClass().newInstance();
+		invoke( entity, "setId", 1L );
+		invoke( entity, "setName", "initial" );
+		invoke( entity, "setCreated", new Date( CREATED ) );
+		invoke( entity, "setAddress", address );
+		return entity;
+	}
+
+	private static Object invoke(Object target, String methodName, Object... arguments) throws Exception {
+		for ( Method method : target.getClass().getMethods() ) {
+			if ( method.getName().equals( methodName ) && method.getParameterTypes().length == arguments.length ) {
+				return method.invoke( target, arguments );
+			}
+		}
+		throw new NoSuchMethodException( methodName );
+	}
+
+	private void createEntity() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( newEntity() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void deleteEntity() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete TrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link AvailableSettings#GENERATE_ENTITY_ACCESSORS}.
+ */
+public class GeneratedEntityAccessorTest extends BaseCoreFunctionalTestCase {
+	private static final String GENERATED_CLASS_MARKER = "_$$_bulkaccess_";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Customer.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_ENTITY_ACCESSORS, "true" );
+	}
+
+	@Test
+	public void testFieldAccess() {
+		Session s = openSession();
+		s.beginTransaction();
+		Item item = new Item();
+		item.id = 1L;
+		item.createdBy = "admin";
+		item.name = "widget";
+		item.quantity = 5L;
+		item.price = 1.5d;
+		item.active = true;
+		item.data = new byte[] { 1, 2, 3 };
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Item.instantiatedBy = null;
+		item = (Item) s.get( Item.class, 1L );
+		assertTrue( Item.instantiatedBy, Item.instantiatedBy.contains( GENERATED_CLASS_MARKER ) );
+		assertEquals( "admin", item.createdBy );
+		assertEquals( "widget", item.name );
+		assertEquals( 5L, item.quantity );
+		assertEquals( 1.5d, item.price, 0d );
+		assertTrue( item.active );
+		assertArrayEquals( new byte[] { 1, 2, 3 }, item.data );
+		// dirty checking reads the state back through the generated accessor
+		item.quantity = 7L;
+		item.active = false;
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (Item) s.get( Item.class, 1L );
+		assertEquals( 7L, item.quantity );
+		assertFalse( item.active );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPropertyAccess() {
+		Session s = openSession();
+		s.beginTransaction();
+		Customer customer = new Customer();
+		customer.setId( 1 );
+		customer.setName( "Acme" );
+		customer.setRating( 3 );
+		s.persist( customer );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Customer.instantiatedBy = null;
+		customer = (Customer) s.get( Customer.class, 1 );
+		assertTrue( Customer.instantiatedBy, Customer.instantiatedBy.contains( GENERATED_CLASS_MARKER ) );
+		assertEquals( "Acme", customer.getName() );
+		assertEquals( 3, customer.getRating() );
+		customer.setRating( 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		customer = (Customer) s.get( Customer.class, 1 );
+		assertEquals( 4, customer.getRating() );
+		s.delete( customer );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	static String caller() {
+		return new Throwable().getStackTrace()[2].getClassName();
+	}
+
+	@MappedSuperclass
+	public static class Audited {
+		String createdBy;
+	}
+
+	@Entity(name = "Item")
+	public static class Item extends Audited {
+		static String instantiatedBy;
+
+		@Id
+		Long id;
+		String name;
+		long quantity;
+		double price;
+		boolean active;
+		byte[] data;
+
+		public Item() {
+			instantiatedBy = caller();
+		}
+	}
+
+	@Entity(name = "Customer")
+	public static class Customer {
+		static String instantiatedBy;
+
+		private int id;
+		private String name;
+		private int rating;
+
+		public Customer() {
+			instantiatedBy = caller();
+		}
+
+		@Id
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getRating() {
+			return rating;
+		}
+
+		public void setRating(int rating) {
+			this.rating = rating;
+		}
+	}
+}
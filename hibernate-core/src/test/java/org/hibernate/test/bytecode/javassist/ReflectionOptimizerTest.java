@@ -23,9 +23,13 @@
  */
 package org.hibernate.test.bytecode.javassist;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+
 import org.junit.Test;
 
 import org.hibernate.bytecode.internal.javassist.BulkAccessor;
+import org.hibernate.bytecode.internal.javassist.BulkInstantiationOptimizerAdapter;
 import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.test.bytecode.Bean;
@@ -34,6 +38,8 @@ import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -72,6 +78,41 @@ public class ReflectionOptimizerTest extends BaseUnitTestCase {
 		assertEquivalent( values, BeanReflectionHelper.TEST_VALUES );
 	}
 
+	@Test
+	public void testGeneratedAccessorFromMembers() throws Exception {
+		final String[] getterNames = BeanReflectionHelper.getGetterNames();
+		final String[] setterNames = BeanReflectionHelper.getSetterNames();
+		final Class[] types = BeanReflectionHelper.getTypes();
+		final Member[] getters = new Member[types.length];
+		final Member[] setters = new Member[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			getters[i] = Bean.class.getMethod( getterNames[i] );
+			setters[i] = Bean.class.getMethod( setterNames[i], types[i] );
+		}
+
+		BytecodeProviderImpl provider = new BytecodeProviderImpl();
+		ReflectionOptimizer optimizer = provider.getReflectionOptimizer( Bean.class, getters, setters, types );
+		assertNotNull( optimizer );
+		assertTrue( optimizer.getInstantiationOptimizer() instanceof BulkInstantiationOptimizerAdapter );
+
+		Bean bean = (Bean) optimizer.getInstantiationOptimizer().newInstance();
+		optimizer.getAccessOptimizer().setPropertyValues( bean, BeanReflectionHelper.TEST_VALUES );
+		assertEquals( bean.getSomeString(), BeanReflectionHelper.TEST_VALUES[0] );
+		assertEquivalent( optimizer.getAccessOptimizer().getPropertyValues( bean ), BeanReflectionHelper.TEST_VALUES );
+	}
+
+	@Test
+	public void testGeneratedAccessorRejectsPrivateFields() throws Exception {
+		final Field field = Bean.class.getDeclaredField( "someString" );
+		ReflectionOptimizer optimizer = new BytecodeProviderImpl().getReflectionOptimizer(
+				Bean.class,
+				new Member[] { field },
+				new Member[] { field },
+				new Class[] { String.class }
+		);
+		assertNull( optimizer );
+	}
+
 	private void assertEquivalent(Object[] checkValues, Object[] values) {
 		assertEquals( "Different lengths", checkValues.length, values.length );
 		for ( int i = 0; i < checkValues.length; i++ ) {
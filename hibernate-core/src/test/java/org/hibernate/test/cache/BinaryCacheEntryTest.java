@@ -0,0 +1,363 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Date;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link org.hibernate.cache.spi.entry.BinaryCacheEntry}
+ */
+public class BinaryCacheEntryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.USE_BINARY_CACHE_ENTRIES, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Measurement.class };
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Measurement.class.getName() );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		final Serializable[] state = new Serializable[persister.getPropertyNames().length];
+		state[0] = new Date( 1234567890L );
+		state[1] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+		state[2] = "été ☃";
+		state[3] = Boolean.TRUE;
+		state[4] = -3.25d;
+		state[5] = null;
+		state[6] = Long.MIN_VALUE;
+		state[7] = -7;
+		final CacheEntry entry = new TestCacheEntry( state, Measurement.class.getName(), 42 );
+
+		final Object structured = structure.structure( entry );
+		assertTrue( structured instanceof byte[] );
+
+		final CacheEntry copy = (CacheEntry) structure.destructure( structured, sessionFactory() );
+		assertEquals( Measurement.class.getName(), copy.getSubclass() );
+		assertEquals( 42, copy.getVersion() );
+		assertTrue( copy.areLazyPropertiesUnfetched() );
+		assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, copy.getDisassembledState()[1] );
+		assertArrayEquals( state, copy.getDisassembledState() );
+	}
+
+	@Test
+	public void testUnpairedSurrogatesSurviveRoundTrip() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Measurement.class.getName() );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		final Serializable[] state = new Serializable[persister.getPropertyNames().length];
+		// a lone high surrogate, a lone low surrogate and a proper pair
+		state[2] = "a\ud800b\udc00c\ud83d\ude00";
+		final CacheEntry entry = new TestCacheEntry( state, Measurement.class.getName(), 1 );
+
+		final CacheEntry copy = (CacheEntry) structure.destructure( structure.structure( entry ), sessionFactory() );
+		assertEquals( state[2], copy.getDisassembledState()[2] );
+	}
+
+	@Test
+	public void testTemporalNumericEnumBinaryAndComponentValues() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Measurement.class.getName() );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		final Timestamp version = new Timestamp( 1380000000123L );
+		version.setNanos( 123456789 );
+		final Serializable[] state = new Serializable[persister.getPropertyNames().length];
+		state[0] = new Timestamp( -86400000L );
+		state[1] = new BigDecimal( "-12345.6789" );
+		state[2] = new BigInteger( "123456789012345678901234567890" );
+		state[3] = Unit.CELSIUS;
+		state[4] = new byte[] { 1, 2, 3, -128, 127 };
+		state[5] = new java.sql.Date( 1380000000000L );
+		// a disassembled component
+		state[6] = new Object[] { "north", Unit.KELVIN, new Date( 5L ), null, new Object[] { Unit.CELSIUS, 1 } };
+		state[7] = new Date( 1380000000000L );
+		final CacheEntry entry = new TestCacheEntry( state, Measurement.class.getName(), version );
+
+		final CacheEntry copy = (CacheEntry) structure.destructure( structure.structure( entry ), sessionFactory() );
+		assertEquals( version, copy.getVersion() );
+		assertEquals( version.getNanos(), ( (Timestamp) copy.getVersion() ).getNanos() );
+		final Serializable[] copied = copy.getDisassembledState();
+		assertEquals( state[0], copied[0] );
+		assertEquals( state[1], copied[1] );
+		assertEquals( state[2], copied[2] );
+		assertSame( Unit.CELSIUS, copied[3] );
+		assertArrayEquals( (byte[]) state[4], (byte[]) copied[4] );
+		assertEquals( state[5], copied[5] );
+		assertTrue( copied[5] instanceof java.sql.Date );
+		assertArrayEquals( (Object[]) state[6], (Object[]) copied[6] );
+		assertEquals( state[7], copied[7] );
+		assertEquals( Date.class, copied[7].getClass() );
+	}
+
+	@Test
+	public void testEntriesAreSmallerThanSerializedState() {
+		final EntityPersister persister = sessionFactory().getEntityPersister( Measurement.class.getName() );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		final Serializable[] state = new Serializable[persister.getPropertyNames().length];
+		state[0] = new Timestamp( 1380000000123L );
+		state[1] = new BigDecimal( "19.99" );
+		state[2] = Unit.KELVIN;
+		state[3] = new byte[] { 1, 2, 3 };
+		state[4] = new Object[] { "north", new Date( 1380000000000L ), Unit.CELSIUS, new BigDecimal( "0.5" ) };
+		state[5] = new Date( 1380000000000L );
+		state[6] = BigInteger.TEN;
+		state[7] = 7;
+		final Timestamp version = new Timestamp( 1380000000456L );
+		final byte[] structured = (byte[]) structure.structure(
+				new TestCacheEntry( state, Measurement.class.getName(), version )
+		);
+
+		// the standard entry serializes (at least) the state and the version
+		final int serialized = SerializationHelper.serialize( state ).length
+				+ SerializationHelper.serialize( version ).length;
+		assertTrue(
+				"binary entry of " + structured.length + " bytes is not smaller than serialized state of " + serialized,
+				structured.length * 3 < serialized
+		);
+		// no class descriptors but the enum class name, which is written once
+		assertTrue( "binary entry unexpectedly large : " + structured.length, structured.length < 256 );
+	}
+
+	@Test
+	public void testEntriesAreStoredAsBytes() {
+		Session s = openSession();
+		s.beginTransaction();
+		Measurement measurement = new Measurement();
+		measurement.setId( 1L );
+		measurement.setSensor( "north" );
+		measurement.setReading( 12.5d );
+		measurement.setCount( 3 );
+		measurement.setValid( true );
+		measurement.setTakenAt( new Date( 1000L ) );
+		s.persist( measurement );
+		s.getTransaction().commit();
+		s.close();
+
+		// nonstrict-read-write only caches on load
+		s = openSession();
+		s.beginTransaction();
+		s.get( Measurement.class, 1L );
+		s.getTransaction().commit();
+		s.close();
+
+		final EntityPersister persister = sessionFactory().getEntityPersister( Measurement.class.getName() );
+		final CacheKey key = new CacheKey(
+				1L,
+				persister.getIdentifierType(),
+				persister.getRootEntityName(),
+				null,
+				sessionFactory()
+		);
+		final Object cached = persister.getCacheAccessStrategy().get( key, Long.MAX_VALUE );
+		assertTrue( cached instanceof byte[] );
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		measurement = (Measurement) s.get( Measurement.class, 1L );
+		assertEquals( 1, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( "north", measurement.getSensor() );
+		assertEquals( 12.5d, measurement.getReading(), 0d );
+		assertEquals( 3, measurement.getCount() );
+		assertTrue( measurement.isValid() );
+		assertEquals( 1000L, measurement.getTakenAt().getTime() );
+		assertNull( measurement.getNote() );
+		s.delete( measurement );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class TestCacheEntry implements CacheEntry {
+		private final Serializable[] state;
+		private final String subclass;
+		private final Object version;
+
+		private TestCacheEntry(Serializable[] state, String subclass, Object version) {
+			this.state = state;
+			this.subclass = subclass;
+			this.version = version;
+		}
+
+		@Override
+		public boolean isReferenceEntry() {
+			return false;
+		}
+
+		@Override
+		public String getSubclass() {
+			return subclass;
+		}
+
+		@Override
+		public Object getVersion() {
+			return version;
+		}
+
+		@Override
+		public boolean areLazyPropertiesUnfetched() {
+			return true;
+		}
+
+		@Override
+		public Serializable[] getDisassembledState() {
+			return state;
+		}
+	}
+
+	public static enum Unit {
+		CELSIUS,
+		KELVIN
+	}
+
+	@Entity( name = "Measurement" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class Measurement {
+		private Long id;
+		private Integer version;
+		private String sensor;
+		private double reading;
+		private int count;
+		private boolean valid;
+		private Date takenAt;
+		private String note;
+		private Long total;
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		@Version
+		public Integer getVersion() {
+			return version;
+		}
+
+		public void setVersion(Integer version) {
+			this.version = version;
+		}
+
+		public String getSensor() {
+			return sensor;
+		}
+
+		public void setSensor(String sensor) {
+			this.sensor = sensor;
+		}
+
+		public double getReading() {
+			return reading;
+		}
+
+		public void setReading(double reading) {
+			this.reading = reading;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public boolean isValid() {
+			return valid;
+		}
+
+		public void setValid(boolean valid) {
+			this.valid = valid;
+		}
+
+		@Temporal( TemporalType.TIMESTAMP )
+		public Date getTakenAt() {
+			return takenAt;
+		}
+
+		public void setTakenAt(Date takenAt) {
+			this.takenAt = takenAt;
+		}
+
+		public String getNote() {
+			return note;
+		}
+
+		public void setNote(String note) {
+			this.note = note;
+		}
+
+		public Long getTotal() {
+			return total;
+		}
+
+		public void setTotal(Long total) {
+			this.total = total;
+		}
+	}
+}
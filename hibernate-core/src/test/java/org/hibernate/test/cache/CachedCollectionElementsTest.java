@@ -0,0 +1,168 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the bulk resolution of the entities referenced by cached collections, see
+ * {@link org.hibernate.engine.internal.CachedCollectionElementLoader}.
+ */
+public class CachedCollectionElementsTest extends BaseCoreFunctionalTestCase {
+	private static final int CHILDREN = 20;
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Parent.class, Child.class };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		final Parent parent = new Parent();
+		parent.id = 1L;
+		s.persist( parent );
+		for ( int i = 0; i < CHILDREN; i++ ) {
+			final Child child = new Child();
+			child.id = (long) i;
+			child.parent = parent;
+			s.persist( child );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// caches the collection and its elements
+		s = openSession();
+		s.beginTransaction();
+		Hibernate.initialize( ( (Parent) s.get( Parent.class, 1L ) ).children );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Child" ).executeUpdate();
+		s.createQuery( "delete Parent" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testElementsFromSecondLevelCache() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final SecondLevelCacheStatistics childStatistics = statistics.getSecondLevelCacheStatistics(
+				sessionFactory().getEntityPersister( Child.class.getName() ).getCacheAccessStrategy().getRegion().getName()
+		);
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Parent parent = (Parent) s.get( Parent.class, 1L );
+		assertEquals( CHILDREN, parent.children.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( CHILDREN, childStatistics.getHitCount() );
+		assertEquals( 0, childStatistics.getMissCount() );
+	}
+
+	@Test
+	public void testElementsLoadedWithOneSelect() {
+		sessionFactory().getCache().evictEntityRegion( Child.class );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Parent parent = (Parent) s.get( Parent.class, 1L );
+		assertEquals( CHILDREN, parent.children.size() );
+		for ( Child child : parent.children ) {
+			assertTrue( Hibernate.isInitialized( child ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// the parent and its collection come from the second-level cache
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( CHILDREN, statistics.getEntityLoadCount() );
+	}
+
+	@Entity(name = "Parent")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Parent {
+		@Id
+		private Long id;
+
+		@OneToMany(mappedBy = "parent")
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+		private Set<Child> children = new HashSet<Child>();
+	}
+
+	@Entity(name = "Child")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Child {
+		@Id
+		private Long id;
+
+		@ManyToOne
+		private Parent parent;
+	}
+}
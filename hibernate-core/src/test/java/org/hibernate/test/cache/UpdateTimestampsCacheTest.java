@@ -0,0 +1,269 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the coalesced writes of {@link UpdateTimestampsCache}
+ */
+public class UpdateTimestampsCacheTest extends BaseCoreFunctionalTestCase {
+	private static final int TIMEOUT = 1000;
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.CACHE_REGION_FACTORY, ControlledRegionFactory.class.getName() );
+	}
+
+	private UpdateTimestampsCache updateTimestampsCache() {
+		return sessionFactory().getUpdateTimestampsCache();
+	}
+
+	private ControlledTimestampsRegion region() {
+		return (ControlledTimestampsRegion) updateTimestampsCache().getRegion();
+	}
+
+	@Test
+	public void testTimestampIssuedLastWins() {
+		final Serializable[] spaces = { "ITEM" };
+
+		region().clock.set( 199 );
+		updateTimestampsCache().invalidate( spaces );
+		assertEquals( 200L, region().get( "ITEM" ) );
+
+		// an invalidation issued before the one written already does not replace it
+		region().clock.set( 99 );
+		updateTimestampsCache().invalidate( spaces );
+		assertEquals( 200L, region().get( "ITEM" ) );
+		assertFalse( updateTimestampsCache().isUpToDate( Collections.<Serializable>singleton( "ITEM" ), 150L ) );
+
+		// a later pre-invalidation does
+		region().clock.set( 299 );
+		updateTimestampsCache().preinvalidate( spaces );
+		assertEquals( 300L + TIMEOUT, region().get( "ITEM" ) );
+
+		// and so does the invalidation following it
+		region().clock.set( 399 );
+		updateTimestampsCache().invalidate( spaces );
+		assertEquals( 400L, region().get( "ITEM" ) );
+
+		// but not a pre-invalidation issued before that invalidation
+		region().clock.set( 349 );
+		updateTimestampsCache().preinvalidate( spaces );
+		assertEquals( 400L, region().get( "ITEM" ) );
+		assertTrue( updateTimestampsCache().isUpToDate( Collections.<Serializable>singleton( "ITEM" ), 401L ) );
+	}
+
+	@Test
+	public void testConcurrentWritesAreCoalesced() throws Exception {
+		final ControlledTimestampsRegion region = region();
+		region.blockPuts();
+
+		final Thread first = invalidateInThread( "ITEM" );
+		assertTrue( region.awaitBlockedPut() );
+
+		// the writes queued while the first one is being written wait for it, and are then written together
+		final Thread second = invalidateInThread( "ITEM" );
+		final Thread third = invalidateInThread( "ORDERS" );
+		awaitWaiting( second );
+		awaitWaiting( third );
+		assertEquals( 1, region.puts.size() );
+
+		region.unblockPuts();
+		first.join( 10000 );
+		second.join( 10000 );
+		third.join( 10000 );
+		assertFalse( first.isAlive() || second.isAlive() || third.isAlive() );
+
+		assertEquals( 3, region.puts.size() );
+		assertEquals( "ITEM", region.puts.get( 0 ) );
+		assertTrue( region.puts.subList( 1, 3 ).contains( "ITEM" ) );
+		assertTrue( region.puts.subList( 1, 3 ).contains( "ORDERS" ) );
+	}
+
+	private Thread invalidateInThread(final String space) {
+		final Thread thread = new Thread() {
+			@Override
+			public void run() {
+				updateTimestampsCache().invalidate( new Serializable[] { space } );
+			}
+		};
+		thread.start();
+		return thread;
+	}
+
+	private void awaitWaiting(Thread thread) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 10000;
+		while ( thread.getState() != Thread.State.WAITING ) {
+			assertTrue( "Writer neither done nor waiting: " + thread.getState(), thread.isAlive() );
+			assertTrue( "Writer not waiting: " + thread.getState(), System.currentTimeMillis() < deadline );
+			Thread.sleep( 10 );
+		}
+	}
+
+	public static class ControlledRegionFactory extends CachingRegionFactory {
+		@SuppressWarnings("UnusedDeclaration")
+		public ControlledRegionFactory() {
+		}
+
+		@SuppressWarnings("UnusedDeclaration")
+		public ControlledRegionFactory(Properties properties) {
+			super( properties );
+		}
+
+		@Override
+		public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+			return new ControlledTimestampsRegion( super.buildTimestampsRegion( regionName, properties ) );
+		}
+	}
+
+	/**
+	 * Issues timestamps from a settable clock, records the keys put and can hold up the puts.
+	 */
+	public static class ControlledTimestampsRegion implements TimestampsRegion {
+		private final TimestampsRegion delegate;
+		private final AtomicLong clock = new AtomicLong();
+		private final List<Object> puts = Collections.synchronizedList( new ArrayList<Object>() );
+		private volatile CountDownLatch blockedPut;
+		private volatile CountDownLatch release;
+
+		private ControlledTimestampsRegion(TimestampsRegion delegate) {
+			this.delegate = delegate;
+		}
+
+		private void blockPuts() {
+			blockedPut = new CountDownLatch( 1 );
+			release = new CountDownLatch( 1 );
+		}
+
+		private boolean awaitBlockedPut() throws InterruptedException {
+			return blockedPut.await( 10, TimeUnit.SECONDS );
+		}
+
+		private void unblockPuts() {
+			release.countDown();
+		}
+
+		@Override
+		public Object get(Object key) throws CacheException {
+			return delegate.get( key );
+		}
+
+		@Override
+		public void put(Object key, Object value) throws CacheException {
+			puts.add( key );
+			if ( release != null ) {
+				blockedPut.countDown();
+				try {
+					release.await( 10, TimeUnit.SECONDS );
+				}
+				catch (InterruptedException e) {
+					throw new CacheException( e );
+				}
+			}
+			delegate.put( key, value );
+		}
+
+		@Override
+		public void evict(Object key) throws CacheException {
+			delegate.evict( key );
+		}
+
+		@Override
+		public void evictAll() throws CacheException {
+			delegate.evictAll();
+		}
+
+		@Override
+		public String getName() {
+			return delegate.getName();
+		}
+
+		@Override
+		public void destroy() throws CacheException {
+			delegate.destroy();
+		}
+
+		@Override
+		public boolean contains(Object key) {
+			return delegate.contains( key );
+		}
+
+		@Override
+		public long getSizeInMemory() {
+			return delegate.getSizeInMemory();
+		}
+
+		@Override
+		public long getElementCountInMemory() {
+			return delegate.getElementCountInMemory();
+		}
+
+		@Override
+		public long getElementCountOnDisk() {
+			return delegate.getElementCountOnDisk();
+		}
+
+		@Override
+		public Map toMap() {
+			return delegate.toMap();
+		}
+
+		@Override
+		public long nextTimestamp() {
+			return clock.incrementAndGet();
+		}
+
+		@Override
+		public int getTimeout() {
+			return TIMEOUT;
+		}
+	}
+}
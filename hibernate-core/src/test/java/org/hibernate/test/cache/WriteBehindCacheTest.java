@@ -0,0 +1,207 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.WriteBehindCacheQueue;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.type.StandardBasicTypes;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the second-level cache puts performed in the background after transaction completion,
+ * see {@link AvailableSettings#CACHE_WRITE_BEHIND_THREADS}.
+ */
+public class WriteBehindCacheTest extends BaseCoreFunctionalTestCase {
+	private static final long TIMEOUT_MILLIS = 10000;
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.CACHE_WRITE_BEHIND_THREADS, "2" );
+		configuration.setProperty( AvailableSettings.CACHE_WRITE_BEHIND_QUEUE_SIZE, "4" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Test
+	public void testInsertAndUpdate() throws Exception {
+		assertNotNull( sessionFactory().getCacheWriteBehindQueue() );
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics(
+						sessionFactory().getEntityPersister( CacheableItem.class.getName() )
+								.getCacheAccessStrategy()
+								.getRegion()
+								.getName()
+				);
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new CacheableItem( "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+		awaitPuts( statistics, 10 );
+		assertEquals( 10, statistics.getElementCountInMemory() );
+
+		s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = (CacheableItem) s.get( CacheableItem.class, 1L );
+		item.setName( "updated" );
+		s.getTransaction().commit();
+		s.close();
+		awaitPuts( statistics, 11 );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "updated", ( (CacheableItem) s.get( CacheableItem.class, 1L ) ).getName() );
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, statistics.getHitCount() );
+	}
+
+	@Test
+	public void testInterruptedSubmitToFullQueue() throws Exception {
+		final WriteBehindCacheQueue queue = new WriteBehindCacheQueue( 1, 1, "test" );
+		try {
+			final CacheKey key = new CacheKey( 1L, StandardBasicTypes.LONG, "item", null, sessionFactory() );
+			final CountDownLatch running = new CountDownLatch( 1 );
+			final CountDownLatch release = new CountDownLatch( 1 );
+			final List<Integer> performed = Collections.synchronizedList( new ArrayList<Integer>() );
+
+			// the background thread is held up by the first operation, the second one fills the queue
+			queue.submit( key, new Runnable() {
+				@Override
+				public void run() {
+					running.countDown();
+					try {
+						release.await( TIMEOUT_MILLIS, TimeUnit.MILLISECONDS );
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					performed.add( 1 );
+				}
+			} );
+			assertTrue( running.await( TIMEOUT_MILLIS, TimeUnit.MILLISECONDS ) );
+			queue.submit( key, recording( performed, 2 ) );
+
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						Thread.sleep( 100 );
+					}
+					catch (InterruptedException ignore) {
+					}
+					release.countDown();
+				}
+			}.start();
+
+			Thread.currentThread().interrupt();
+			queue.submit( key, recording( performed, 3 ) );
+			assertTrue( "Interrupt status not restored", Thread.interrupted() );
+
+			final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while ( performed.size() < 3 && System.currentTimeMillis() < deadline ) {
+				Thread.sleep( 10 );
+			}
+			assertEquals( Arrays.asList( 1, 2, 3 ), performed );
+		}
+		finally {
+			queue.stop();
+		}
+	}
+
+	@Test
+	public void testStopPerformsQueuedOperationsAndRejectsLaterOnes() throws Exception {
+		final WriteBehindCacheQueue queue = new WriteBehindCacheQueue( 2, 4, "test" );
+		final List<Integer> performed = Collections.synchronizedList( new ArrayList<Integer>() );
+		for ( int i = 1; i <= 3; i++ ) {
+			queue.submit(
+					new CacheKey( (long) i, StandardBasicTypes.LONG, "item", null, sessionFactory() ),
+					recording( performed, i )
+			);
+		}
+		queue.stop();
+		Collections.sort( performed );
+		assertEquals( Arrays.asList( 1, 2, 3 ), performed );
+
+		try {
+			queue.submit(
+					new CacheKey( 4L, StandardBasicTypes.LONG, "item", null, sessionFactory() ),
+					recording( performed, 4 )
+			);
+			fail( "Expecting the operation to be rejected" );
+		}
+		catch (CacheException expected) {
+		}
+		assertEquals( 3, performed.size() );
+		// stopping again is harmless
+		queue.stop();
+	}
+
+	private static Runnable recording(final List<Integer> performed, final int operation) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				performed.add( operation );
+			}
+		};
+	}
+
+	private static void awaitPuts(SecondLevelCacheStatistics statistics, long puts) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while ( statistics.getPutCount() < puts && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertEquals( puts, statistics.getPutCount() );
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.concurrentinitialization;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.ConcurrentInitializer;
+import org.hibernate.loader.LoadStatement;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Hibernate#initializeConcurrently}.
+ */
+public class ConcurrentInitializationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Customer.class, Purchase.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.CONCURRENT_INITIALIZATION_THREADS, "4" );
+		configuration.setProperty( AvailableSettings.CONCURRENT_INITIALIZATION_IN_TRANSACTION, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 3; i++ ) {
+			final Customer customer = new Customer( i, "customer " + i );
+			for ( int j = 1; j <= i; j++ ) {
+				customer.tags.add( "tag " + j );
+				s.save( new Purchase( i * 10 + j, customer ) );
+			}
+			s.save( customer );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from Purchase" ).executeUpdate();
+		for ( Object customer : s.createQuery( "from Customer" ).list() ) {
+			s.delete( customer );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCollectionsAreInitializedConcurrently() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Customer first = (Customer) s.get( Customer.class, 1 );
+		final Customer third = (Customer) s.get( Customer.class, 3 );
+		assertFalse( Hibernate.isInitialized( first.purchases ) );
+		assertFalse( Hibernate.isInitialized( third.purchases ) );
+		assertFalse( Hibernate.isInitialized( third.tags ) );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		Hibernate.initializeConcurrently( first.purchases, third.purchases, third.tags, null );
+
+		assertTrue( Hibernate.isInitialized( first.purchases ) );
+		assertTrue( Hibernate.isInitialized( third.purchases ) );
+		assertTrue( Hibernate.isInitialized( third.tags ) );
+		assertEquals( 1, first.purchases.size() );
+		assertEquals( 3, third.purchases.size() );
+		assertEquals( 3, third.tags.size() );
+		for ( Purchase purchase : third.purchases ) {
+			assertTrue( purchase.customer == third );
+		}
+		assertEquals( 3, statistics.getCollectionLoadCount() );
+		// none of the queries ran on the session's connection
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testProxiesAreInitializedConcurrently() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Customer first = (Customer) s.load( Customer.class, 1 );
+		final Customer second = (Customer) s.load( Customer.class, 2 );
+		final Customer third = (Customer) s.get( Customer.class, 3 );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		Hibernate.initializeConcurrently( first, second, third, third.purchases );
+
+		assertTrue( Hibernate.isInitialized( first ) );
+		assertTrue( Hibernate.isInitialized( second ) );
+		assertTrue( Hibernate.isInitialized( third.purchases ) );
+		assertEquals( "customer 1", first.getName() );
+		assertEquals( "customer 2", second.getName() );
+		assertEquals( 3, third.purchases.size() );
+		assertEquals( 2, statistics.getEntityLoadCount() - 3 );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testInitializeStatementIsBuiltWithoutLoading() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Customer third = (Customer) s.get( Customer.class, 3 );
+		final SessionImplementor session = (SessionImplementor) s;
+		final CollectionEntry entry = session.getPersistenceContext()
+				.getCollectionEntry( (PersistentCollection) third.purchases );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final LoadStatement statement = ( (AbstractCollectionPersister) entry.getLoadedPersister() )
+				.getInitializeStatement( entry.getLoadedKey(), session );
+
+		assertNotNull( statement );
+		assertFalse( Hibernate.isInitialized( third.purchases ) );
+		assertEquals( 0, statistics.getCollectionLoadCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSingleTargetIsInitializedAsUsual() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Customer second = (Customer) s.get( Customer.class, 2 );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		Hibernate.initializeConcurrently( second.purchases );
+
+		assertTrue( Hibernate.isInitialized( second.purchases ) );
+		assertEquals( 2, second.purchases.size() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testFlushedChangesAreSeen() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Customer first = (Customer) s.get( Customer.class, 1 );
+		final Customer third = (Customer) s.get( Customer.class, 3 );
+		final Purchase purchase = new Purchase( 34, third );
+		s.save( purchase );
+		s.flush();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		Hibernate.initializeConcurrently( first.purchases, third.purchases );
+
+		assertTrue( Hibernate.isInitialized( first.purchases ) );
+		assertTrue( Hibernate.isInitialized( third.purchases ) );
+		assertEquals( 1, first.purchases.size() );
+		assertEquals( 4, third.purchases.size() );
+		assertTrue( third.purchases.contains( purchase ) );
+		// the transaction has written data, so both queries ran on the session's connection
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testTransactionIsInitializedAsUsualByDefault() {
+		final ConcurrentInitializer initializer = new ConcurrentInitializer( 4, false );
+		try {
+			Session s = openSession();
+			s.beginTransaction();
+			final Customer first = (Customer) s.get( Customer.class, 1 );
+			final Customer third = (Customer) s.get( Customer.class, 3 );
+
+			final Statistics statistics = sessionFactory().getStatistics();
+			statistics.clear();
+			initializer.initialize( (SessionImplementor) s, first.purchases, third.purchases );
+
+			assertTrue( Hibernate.isInitialized( first.purchases ) );
+			assertTrue( Hibernate.isInitialized( third.purchases ) );
+			assertEquals( 3, third.purchases.size() );
+			assertEquals( 2, statistics.getPrepareStatementCount() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			initializer.close();
+		}
+	}
+
+	@Entity( name = "Customer" )
+	public static class Customer {
+		@Id
+		private Integer id;
+		private String name;
+		@OneToMany( mappedBy = "customer" )
+		private Set<Purchase> purchases = new HashSet<Purchase>();
+		@ElementCollection
+		private Set<String> tags = new HashSet<String>();
+
+		public Customer() {
+		}
+
+		public Customer(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity( name = "Purchase" )
+	public static class Purchase {
+		@Id
+		private Integer id;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private Customer customer;
+
+		public Purchase() {
+		}
+
+		public Purchase(Integer id, Customer customer) {
+			this.id = id;
+			this.customer = customer;
+		}
+	}
+}
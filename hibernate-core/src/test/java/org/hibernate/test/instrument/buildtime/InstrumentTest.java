@@ -35,6 +35,7 @@ import org.hibernate.test.instrument.cases.TestIsPropertyInitializedExecutable;
 import org.hibernate.test.instrument.cases.TestLazyExecutable;
 import org.hibernate.test.instrument.cases.TestLazyManyToOneExecutable;
 import org.hibernate.test.instrument.cases.TestLazyPropertyCustomTypeExecutable;
+import org.hibernate.test.instrument.cases.TestLazyPropertyHydrationExecutable;
 import org.hibernate.test.instrument.cases.TestManyToOneProxyExecutable;
 import org.hibernate.test.instrument.cases.TestSharedPKOneToOneExecutable;
 import org.hibernate.test.instrument.domain.Document;
@@ -89,6 +90,11 @@ public class InstrumentTest extends BaseUnitTestCase {
 		execute( new TestLazyPropertyCustomTypeExecutable() );
 	}
 
+	@Test
+	public void testLazyPropertyHydration() throws Exception {
+		execute( new TestLazyPropertyHydrationExecutable() );
+	}
+
 	@Test
 	public void testSharedPKOneToOne() throws Exception {
 		execute( new TestSharedPKOneToOneExecutable() );
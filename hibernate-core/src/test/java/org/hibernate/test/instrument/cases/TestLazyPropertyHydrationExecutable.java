@@ -0,0 +1,88 @@
+package org.hibernate.test.instrument.cases;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.test.instrument.domain.Document;
+import org.hibernate.test.instrument.domain.Folder;
+import org.hibernate.test.instrument.domain.Owner;
+
+/**
+ * Checks the rows hydrated by the same query, with and without {@code fetch all properties}, once the loaders
+ * reuse their hydration plans.
+ */
+public class TestLazyPropertyHydrationExecutable extends AbstractExecutable {
+	public void execute() {
+		Session s = getFactory().openSession();
+		Transaction t = s.beginTransaction();
+		Owner o = new Owner();
+		o.setName( "gavin" );
+		Folder fol = new Folder();
+		fol.setName( "books" );
+		s.persist( o );
+		s.persist( fol );
+		for ( int i = 0; i < 3; i++ ) {
+			Document doc = new Document();
+			doc.setName( "doc " + i );
+			doc.setSummary( "summary " + i );
+			doc.updateText( "text " + i );
+			doc.setOwner( o );
+			doc.setFolder( fol );
+			fol.getDocuments().add( doc );
+			s.persist( doc );
+		}
+		t.commit();
+		s.close();
+
+		// twice, the second time using the plans built by the first
+		for ( int run = 0; run < 2; run++ ) {
+			s = getFactory().openSession();
+			t = s.beginTransaction();
+			List docs = s.createQuery( "from Document d order by d.name" ).list();
+			Assert.assertEquals( 3, docs.size() );
+			for ( int i = 0; i < docs.size(); i++ ) {
+				Document doc = (Document) docs.get( i );
+				Assert.assertEquals( "doc " + i, doc.getName() );
+				Assert.assertFalse( Hibernate.isPropertyInitialized( doc, "summary" ) );
+				Assert.assertFalse( Hibernate.isPropertyInitialized( doc, "text" ) );
+			}
+			for ( int i = 0; i < docs.size(); i++ ) {
+				Document doc = (Document) docs.get( i );
+				Assert.assertEquals( "summary " + i, doc.getSummary() );
+				Assert.assertEquals( "text " + i, doc.getText() );
+			}
+			t.commit();
+			s.close();
+
+			s = getFactory().openSession();
+			t = s.beginTransaction();
+			docs = s.createQuery( "from Document d fetch all properties order by d.name" ).list();
+			Assert.assertEquals( 3, docs.size() );
+			for ( int i = 0; i < docs.size(); i++ ) {
+				Document doc = (Document) docs.get( i );
+				Assert.assertTrue( Hibernate.isPropertyInitialized( doc, "summary" ) );
+				Assert.assertTrue( Hibernate.isPropertyInitialized( doc, "text" ) );
+				Assert.assertTrue( Hibernate.isPropertyInitialized( doc, "upperCaseName" ) );
+				Assert.assertEquals( "summary " + i, doc.getSummary() );
+				Assert.assertEquals( "text " + i, doc.getText() );
+				Assert.assertEquals( "DOC " + i, doc.getUpperCaseName() );
+			}
+			t.commit();
+			s.close();
+		}
+
+		s = getFactory().openSession();
+		t = s.beginTransaction();
+		List docs = s.createQuery( "from Document" ).list();
+		for ( Object doc : docs ) {
+			s.delete( doc );
+		}
+		s.delete( o );
+		s.delete( fol );
+		t.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the loading of entities by many threads sharing the same loaders when the result sets are
+ * {@link AvailableSettings#WRAP_RESULT_SETS wrapped}.
+ */
+public class WrappedResultSetConcurrencyTest extends BaseCoreFunctionalTestCase {
+	private static final int THREADS = 8;
+	private static final int ENTITIES = 50;
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.WRAP_RESULT_SETS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Widget.class };
+	}
+
+	@Test
+	public void testConcurrentLoads() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < ENTITIES; i++ ) {
+			s.persist( new Widget( i, "widget #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+		try {
+			final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for ( int t = 0; t < THREADS; t++ ) {
+				results.add(
+						executor.submit(
+								new Callable<Integer>() {
+									@Override
+									public Integer call() {
+										int found = 0;
+										for ( int i = 0; i < ENTITIES; i++ ) {
+											final Session session = openSession();
+											try {
+												final Widget widget = (Widget) session.get( Widget.class, i );
+												if ( ( "widget #" + i ).equals( widget.getName() ) ) {
+													found++;
+												}
+											}
+											finally {
+												session.close();
+											}
+										}
+										return found;
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Integer> result : results ) {
+				assertEquals( ENTITIES, result.get().intValue() );
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Widget" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Widget")
+	public static class Widget {
+		private int id;
+		private String name;
+
+		public Widget() {
+		}
+
+		public Widget(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2006-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.join;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the rows hydrated through the hydration plans the loaders build once and then reuse: subclass rows
+ * selected through a root alias, properties read by the sequential select of a {@code <join>}, and the column
+ * indexes resolved again when a limit clause rewrites the statement.
+ */
+public class HydrationPlanTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "join/Person.hbm.xml" };
+	}
+
+	@Test
+	public void testSubclassRowsThroughRootAlias() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		Person ann = new Person();
+		ann.setName( "Ann" );
+		ann.setSex( 'F' );
+		Employee bob = new Employee();
+		bob.setName( "Bob" );
+		bob.setSex( 'M' );
+		bob.setTitle( "sales" );
+		bob.setAddress( "buckhead" );
+		bob.setZip( "30305" );
+		Customer cid = new Customer();
+		cid.setName( "Cid" );
+		cid.setSex( 'M' );
+		cid.setComments( "demanding" );
+		cid.setSalesperson( bob );
+		cid.setCountry( "USA" );
+		User dee = new User();
+		dee.setName( "Dee" );
+		dee.setSex( 'F' );
+		dee.setLogin( "dee" );
+		s.save( ann );
+		s.save( bob );
+		s.save( cid );
+		s.save( dee );
+		t.commit();
+		s.close();
+
+		// twice, the second time using the plans built by the first
+		for ( int run = 0; run < 2; run++ ) {
+			s = openSession();
+			t = s.beginTransaction();
+			List people = s.createQuery( "from Person p order by p.name" ).list();
+			assertEquals( 4, people.size() );
+
+			final Person person = (Person) people.get( 0 );
+			assertSame( Person.class, person.getClass() );
+			assertEquals( "Ann", person.getName() );
+			assertNull( person.getAddress() );
+
+			final Employee employee = (Employee) people.get( 1 );
+			assertEquals( "Bob", employee.getName() );
+			assertEquals( "sales", employee.getTitle() );
+			assertEquals( "buckhead", employee.getAddress() );
+			assertEquals( "30305", employee.getZip() );
+			assertNull( employee.getManager() );
+
+			final Customer customer = (Customer) people.get( 2 );
+			assertEquals( "Cid", customer.getName() );
+			assertEquals( "demanding", customer.getComments() );
+			assertEquals( "USA", customer.getCountry() );
+			assertSame( employee, customer.getSalesperson() );
+
+			final User user = (User) people.get( 3 );
+			assertEquals( "Dee", user.getName() );
+			assertEquals( "dee", user.getLogin() );
+			t.commit();
+			s.close();
+		}
+
+		s = openSession();
+		t = s.beginTransaction();
+		s.delete( s.get( Customer.class, cid.getId() ) );
+		s.delete( s.get( Employee.class, bob.getId() ) );
+		s.delete( s.get( Person.class, ann.getId() ) );
+		s.delete( s.get( User.class, dee.getId() ) );
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testEmptySequentialSelect() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		// no optional join rows are inserted for Eve
+		User eve = new User();
+		eve.setName( "Eve" );
+		eve.setSex( 'F' );
+		User fay = new User();
+		fay.setName( "Fay" );
+		fay.setSex( 'F' );
+		fay.setLogin( "fay" );
+		s.save( eve );
+		s.save( fay );
+		t.commit();
+		s.close();
+
+		for ( int run = 0; run < 2; run++ ) {
+			s = openSession();
+			t = s.beginTransaction();
+			List users = s.createQuery( "from Person p order by p.name" ).list();
+			assertEquals( 2, users.size() );
+			assertEquals( "Eve", ( (User) users.get( 0 ) ).getName() );
+			assertNull( ( (User) users.get( 0 ) ).getLogin() );
+			assertNull( ( (User) users.get( 0 ) ).getPasswordExpiryDays() );
+			assertEquals( "Fay", ( (User) users.get( 1 ) ).getName() );
+			assertEquals( "fay", ( (User) users.get( 1 ) ).getLogin() );
+			t.commit();
+			s.close();
+		}
+
+		s = openSession();
+		t = s.beginTransaction();
+		s.delete( s.get( User.class, eve.getId() ) );
+		s.delete( s.get( User.class, fay.getId() ) );
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testLimitedAndUnlimitedExecutions() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		Employee gus = new Employee();
+		gus.setName( "Gus" );
+		gus.setSex( 'M' );
+		gus.setTitle( "clerk" );
+		gus.setAddress( "midtown" );
+		gus.setZip( "30306" );
+		Employee hal = new Employee();
+		hal.setName( "Hal" );
+		hal.setSex( 'M' );
+		hal.setTitle( "manager" );
+		hal.setAddress( "midtown" );
+		hal.setZip( "30307" );
+		s.save( gus );
+		s.save( hal );
+		t.commit();
+		s.close();
+
+		// the same loader, alternately with and without a limit clause
+		for ( int run = 0; run < 4; run++ ) {
+			s = openSession();
+			t = s.beginTransaction();
+			final Query query = s.createQuery( "from Employee e order by e.name" );
+			if ( run % 2 == 1 ) {
+				query.setFirstResult( 1 ).setMaxResults( 1 );
+				final List employees = query.list();
+				assertEquals( 1, employees.size() );
+				assertEquals( "Hal", ( (Employee) employees.get( 0 ) ).getName() );
+				assertEquals( "manager", ( (Employee) employees.get( 0 ) ).getTitle() );
+				assertEquals( "30307", ( (Employee) employees.get( 0 ) ).getZip() );
+			}
+			else {
+				final List employees = query.list();
+				assertEquals( 2, employees.size() );
+				assertEquals( "Gus", ( (Employee) employees.get( 0 ) ).getName() );
+				assertEquals( "clerk", ( (Employee) employees.get( 0 ) ).getTitle() );
+				assertEquals( 'M', ( (Employee) employees.get( 0 ) ).getSex() );
+				assertEquals( "Hal", ( (Employee) employees.get( 1 ) ).getName() );
+				assertEquals( "30307", ( (Employee) employees.get( 1 ) ).getZip() );
+			}
+			t.commit();
+			s.close();
+		}
+
+		s = openSession();
+		t = s.beginTransaction();
+		s.delete( s.get( Employee.class, gus.getId() ) );
+		s.delete( s.get( Employee.class, hal.getId() ) );
+		t.commit();
+		s.close();
+	}
+}
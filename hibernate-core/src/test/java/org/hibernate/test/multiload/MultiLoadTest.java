@@ -0,0 +1,209 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.multiload;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link org.hibernate.Session#byMultipleIds}.
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 60; i++ ) {
+			s.save( new SimpleEntity( i, "Entity #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegions();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBasicMultiLoad() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 5, 1, 99, 3 );
+		assertEquals( 4, list.size() );
+		assertEquals( 5, ( (SimpleEntity) list.get( 0 ) ).getId().intValue() );
+		assertEquals( 1, ( (SimpleEntity) list.get( 1 ) ).getId().intValue() );
+		assertNull( list.get( 2 ) );
+		assertEquals( 3, ( (SimpleEntity) list.get( 3 ) ).getId().intValue() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultiLoadInChunks() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Integer[] ids = new Integer[56];
+		for ( int i = 0; i < ids.length; i++ ) {
+			ids[i] = i + 1;
+		}
+		List list = s.byMultipleIds( SimpleEntity.class ).withBatchSize( 10 ).multiLoad( ids );
+		assertEquals( 56, list.size() );
+		for ( int i = 0; i < ids.length; i++ ) {
+			assertEquals( ids[i], ( (SimpleEntity) list.get( i ) ).getId() );
+		}
+		assertEquals( 6, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPersistenceContextIsChecked() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		SimpleEntity first = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+		SimpleEntity second = (SimpleEntity) s.get( SimpleEntity.class, 2 );
+		s.delete( second );
+		statistics.clear();
+
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3, 1 );
+		assertSame( first, list.get( 0 ) );
+		// entities scheduled for removal are not returned
+		assertNull( list.get( 1 ) );
+		assertNotNull( list.get( 2 ) );
+		assertSame( first, list.get( 3 ) );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().rollback();
+		s.close();
+	}
+
+	@Test
+	public void testSecondLevelCacheIsChecked() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 3, list.size() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( 3, statistics.getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		s.setCacheMode( CacheMode.IGNORE );
+		list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 3, list.size() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSecondLevelCacheIsReadOnce() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntity( SimpleEntity.class, 2 );
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertEquals( 3, list.size() );
+		assertEquals( 2, ( (SimpleEntity) list.get( 1 ) ).getId().intValue() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getSecondLevelCacheMissCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// the entries found are assembled as read, without reading the region again per entity
+		final String regionName = sessionFactory().getEntityPersister( SimpleEntity.class.getName() )
+				.getCacheAccessStrategy()
+				.getRegion()
+				.getName();
+		final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics( regionName );
+		long gets = 0;
+		for ( long count : regionStatistics.getGetLatencyHistogram() ) {
+			gets += count;
+		}
+		assertEquals( 1, gets );
+	}
+}
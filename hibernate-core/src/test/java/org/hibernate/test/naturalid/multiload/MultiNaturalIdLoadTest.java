@@ -0,0 +1,339 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.naturalid.multiload;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link org.hibernate.Session#byMultipleNaturalIds} and the natural-id negative cache.
+ */
+public class MultiNaturalIdLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Product.class, Account.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.NATURAL_ID_NEGATIVE_CACHE_SIZE, "100" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 10; i++ ) {
+			s.save( new Product( i, "sku-" + i ) );
+			s.save( new Account( i, "system-" + ( i % 2 ), "number-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Product" ).executeUpdate();
+		s.createQuery( "delete Account" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultiLoad() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final List products = s.byMultipleNaturalIds( Product.class ).multiLoad( "sku-3", "sku-1", "unknown", "sku-3" );
+		assertEquals( 4, products.size() );
+		assertEquals( 3, ( (Product) products.get( 0 ) ).getId() );
+		assertEquals( 1, ( (Product) products.get( 1 ) ).getId() );
+		assertNull( products.get( 2 ) );
+		assertSame( products.get( 0 ), products.get( 3 ) );
+		assertEquals( 1, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultiLoadResolvesFromSession() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Product product = (Product) s.bySimpleNaturalId( Product.class ).load( "sku-2" );
+		assertEquals( 1, statistics.getNaturalIdQueryExecutionCount() );
+		final List products = s.byMultipleNaturalIds( Product.class ).multiLoad( "sku-2" );
+		assertSame( product, products.get( 0 ) );
+		assertEquals( 1, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultiLoadInBatches() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Object[] skus = new Object[10];
+		for ( int i = 0; i < skus.length; i++ ) {
+			skus[i] = "sku-" + ( i + 1 );
+		}
+		final List products = s.byMultipleNaturalIds( Product.class ).withBatchSize( 3 ).multiLoad( skus );
+		for ( int i = 0; i < skus.length; i++ ) {
+			assertEquals( i + 1, ( (Product) products.get( i ) ).getId() );
+		}
+		assertEquals( 4, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testMultiLoadCompoundNaturalIds() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List accounts = s.byMultipleNaturalIds( Account.class ).multiLoad(
+				accountNaturalId( "system-1", "number-5" ),
+				accountNaturalId( "system-0", "number-5" ),
+				accountNaturalId( "system-0", "number-4" )
+		);
+		assertEquals( 5, ( (Account) accounts.get( 0 ) ).getId() );
+		assertNull( accounts.get( 1 ) );
+		assertEquals( 4, ( (Account) accounts.get( 2 ) ).getId() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNegativeCache() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		assertNull( s.byMultipleNaturalIds( Product.class ).multiLoad( "sku-11" ).get( 0 ) );
+		assertEquals( 1, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// the miss is remembered, by both the bulk and the single lookups
+		s = openSession();
+		s.beginTransaction();
+		assertNull( s.byMultipleNaturalIds( Product.class ).multiLoad( "sku-11" ).get( 0 ) );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-11" ) );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-12" ) );
+		assertEquals( 2, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// inserting a product forgets the misses
+		s = openSession();
+		s.beginTransaction();
+		s.save( new Product( 11, "sku-11" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertNotNull( s.byMultipleNaturalIds( Product.class ).multiLoad( "sku-11" ).get( 0 ) );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-12" ) );
+		assertEquals( 4, statistics.getNaturalIdQueryExecutionCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		// so does changing a mutable natural id
+		s = openSession();
+		s.beginTransaction();
+		( (Product) s.get( Product.class, 1 ) ).setSku( "sku-12" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 1, ( (Product) s.bySimpleNaturalId( Product.class ).load( "sku-12" ) ).getId() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNegativeCacheInvalidatedByBulkStatements() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-13" ) );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-14" ) );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "number-1" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// an HQL update
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "update Product set sku = 'sku-13' where id = 2" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 2, ( (Product) s.bySimpleNaturalId( Product.class ).load( "sku-13" ) ).getId() );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "sku-14" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// a native statement synchronized on the entity
+		s = openSession();
+		s.beginTransaction();
+		s.createSQLQuery( "insert into Product (id, sku) values (14, 'sku-14')" )
+				.addSynchronizedEntityClass( Product.class )
+				.executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 14, ( (Product) s.bySimpleNaturalId( Product.class ).load( "sku-14" ) ).getId() );
+		assertNull( s.bySimpleNaturalId( Product.class ).load( "number-1" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		// an HQL insert-select
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "insert into Product (id, sku) select a.id + 100, a.number from Account a where a.id = 1" )
+				.executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 101, ( (Product) s.bySimpleNaturalId( Product.class ).load( "number-1" ) ).getId() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Map<String, Object> accountNaturalId(String system, String number) {
+		final Map<String, Object> naturalId = new HashMap<String, Object>();
+		naturalId.put( "system", system );
+		naturalId.put( "number", number );
+		return naturalId;
+	}
+
+	@Entity(name = "Product")
+	public static class Product {
+		private int id;
+		private String sku;
+
+		public Product() {
+		}
+
+		public Product(int id, String sku) {
+			this.id = id;
+			this.sku = sku;
+		}
+
+		@Id
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		@NaturalId(mutable = true)
+		public String getSku() {
+			return sku;
+		}
+
+		public void setSku(String sku) {
+			this.sku = sku;
+		}
+	}
+
+	@Entity(name = "Account")
+	public static class Account {
+		private int id;
+		private String system;
+		private String number;
+
+		public Account() {
+		}
+
+		public Account(int id, String system, String number) {
+			this.id = id;
+			this.system = system;
+			this.number = number;
+		}
+
+		@Id
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		@NaturalId
+		public String getSystem() {
+			return system;
+		}
+
+		public void setSystem(String system) {
+			this.system = system;
+		}
+
+		@NaturalId
+		public String getNumber() {
+			return number;
+		}
+
+		public void setNumber(String number) {
+			this.number = number;
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for query cache regions invalidated by entity id, see
+ * {@link AvailableSettings#QUERY_CACHE_ID_INVALIDATION_REGIONS}.
+ */
+public class QueryCacheIdInvalidationTest extends BaseCoreFunctionalTestCase {
+	private static final String REGION = "items";
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "querycache/Item.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.QUERY_CACHE_ID_INVALIDATION_REGIONS, REGION );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			Item item = new Item();
+			item.setName( "a" + i );
+			item.setDescription( "a" + i );
+			s.persist( item );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getCache().evictDefaultQueryRegion();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testUpdateOfOtherEntityKeepsResult() {
+		assertEquals( 2, queryA0A1( REGION ).size() );
+		assertEquals( 0, hits() );
+
+		updateDescription( "a2" );
+		assertEquals( 2, queryA0A1( REGION ).size() );
+		assertEquals( 1, hits() );
+
+		updateDescription( "a1" );
+		assertEquals( 2, queryA0A1( REGION ).size() );
+		assertEquals( 1, hits() );
+		assertEquals( 2, queryA0A1( REGION ).size() );
+		assertEquals( 2, hits() );
+	}
+
+	@Test
+	public void testDeleteAndInsertInvalidateResult() {
+		assertEquals( 2, queryA0A1( REGION ).size() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( findByName( s, "a0" ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, queryA0A1( REGION ).size() );
+		assertEquals( 0, hits() );
+
+		s = openSession();
+		s.beginTransaction();
+		Item item = new Item();
+		item.setName( "a0" );
+		item.setDescription( "again" );
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, queryA0A1( REGION ).size() );
+		assertEquals( 0, hits() );
+	}
+
+	@Test
+	public void testDefaultRegionInvalidatedBySpace() {
+		assertEquals( 2, queryA0A1( null ).size() );
+		updateDescription( "a2" );
+		assertEquals( 2, queryA0A1( null ).size() );
+		assertEquals( 0, hits() );
+	}
+
+	@Test
+	public void testScalarResultInvalidatedBySpace() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "select i.description from Item i where i.name = 'a0'" )
+				.setCacheable( true )
+				.setCacheRegion( REGION )
+				.list();
+		s.getTransaction().commit();
+		s.close();
+
+		updateDescription( "a2" );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "select i.description from Item i where i.name = 'a0'" )
+				.setCacheable( true )
+				.setCacheRegion( REGION )
+				.list();
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 0, hits() );
+	}
+
+	private List queryA0A1(String region) {
+		Session s = openSession();
+		s.beginTransaction();
+		Query query = s.createQuery( "from Item i where i.name in ('a0', 'a1') order by i.id" ).setCacheable( true );
+		if ( region != null ) {
+			query.setCacheRegion( region );
+		}
+		List result = query.list();
+		s.getTransaction().commit();
+		s.close();
+		return result;
+	}
+
+	private void updateDescription(String name) {
+		Session s = openSession();
+		s.beginTransaction();
+		findByName( s, name ).setDescription( "changed" );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Item findByName(Session s, String name) {
+		return (Item) s.createQuery( "from Item i where i.name = :name" ).setParameter( "name", name ).uniqueResult();
+	}
+
+	private long hits() {
+		return sessionFactory().getStatistics().getQueryCacheHitCount();
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.querycache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests putting query results into, and getting them from, the {@link org.hibernate.cache.internal.StandardQueryCache}.
+ */
+public class StandardQueryCacheTest extends BaseCoreFunctionalTestCase {
+	private static final String QUERY = "select i, i.name from Item i order by i.id";
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "querycache/Item.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected String getCacheConcurrencyStrategy() {
+		return "nonstrict-read-write";
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			final Item item = new Item();
+			item.setName( "item" + i );
+			item.setDescription( "description" + i );
+			s.persist( item );
+		}
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPutAndGet() {
+		final List<Object[]> uncached = list();
+		assertEquals( 3, uncached.size() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCachePutCount() );
+		assertEquals( 1, region().toMap().size() );
+
+		final List<Object[]> cached = list();
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertResultsEqual( uncached, cached );
+	}
+
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testEntryInAnotherFormatIsAMiss() {
+		final List<Object[]> uncached = list();
+		final Map.Entry entry = (Map.Entry) region().toMap().entrySet().iterator().next();
+
+		// the format used before the rows were stored by column: the timestamp, then a row per result
+		final List oldFormat = new ArrayList();
+		oldFormat.add( ( (List) entry.getValue() ).get( 0 ) );
+		for ( Object[] row : uncached ) {
+			oldFormat.add( new Serializable[] { ( (Item) row[0] ).getId(), (Serializable) row[1] } );
+		}
+		region().put( entry.getKey(), oldFormat );
+
+		final List<Object[]> reloaded = list();
+		assertEquals( 0, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertEquals( 2, sessionFactory().getStatistics().getQueryCacheMissCount() );
+		assertResultsEqual( uncached, reloaded );
+		// the entry was replaced by one in the current format
+		assertNotSame( oldFormat, region().get( entry.getKey() ) );
+
+		list();
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+	}
+
+	@SuppressWarnings( {"unchecked"})
+	private List<Object[]> list() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Object[]> results = s.createQuery( QUERY ).setCacheable( true ).list();
+		s.getTransaction().commit();
+		s.close();
+		return results;
+	}
+
+	private QueryResultsRegion region() {
+		return sessionFactory().getQueryCache().getRegion();
+	}
+
+	private static void assertResultsEqual(List<Object[]> expected, List<Object[]> actual) {
+		assertEquals( expected.size(), actual.size() );
+		for ( int i = 0; i < expected.size(); i++ ) {
+			assertTrue( actual.get( i )[0] instanceof Item );
+			assertEquals( ( (Item) expected.get( i )[0] ).getId(), ( (Item) actual.get( i )[0] ).getId() );
+			assertEquals( expected.get( i )[1], actual.get( i )[1] );
+		}
+	}
+}
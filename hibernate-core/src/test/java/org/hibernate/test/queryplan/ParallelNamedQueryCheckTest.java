@@ -0,0 +1,107 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.NamedQueryDefinitionBuilder;
+import org.hibernate.engine.spi.NamedSQLQueryDefinitionBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AvailableSettings#QUERY_STARTUP_CHECKING_THREADS}.
+ */
+public class ParallelNamedQueryCheckTest extends BaseUnitTestCase {
+	@Test
+	public void testQueriesAreCompiledInParallel() {
+		final Configuration cfg = buildConfiguration();
+		for ( int i = 0; i < 20; i++ ) {
+			addNamedQuery( cfg, "persons" + i, "from Person p where p.id > " + i );
+		}
+		final SessionFactory sessionFactory = buildSessionFactory( cfg );
+		try {
+			final HQLQueryPlan plan = ( (SessionFactoryImplementor) sessionFactory ).getQueryPlanCache()
+					.getHQLQueryPlan( "from Person p where p.id > 7", false, Collections.EMPTY_MAP );
+			assertNotNull( plan );
+		}
+		finally {
+			sessionFactory.close();
+		}
+	}
+
+	@Test
+	public void testErrorsAreReported() {
+		final Configuration cfg = buildConfiguration();
+		for ( int i = 0; i < 10; i++ ) {
+			addNamedQuery( cfg, "persons" + i, "from Person" );
+		}
+		addNamedQuery( cfg, "brokenHql", "from NoSuchEntity" );
+		cfg.getNamedSQLQueries().put(
+				"brokenSql",
+				new NamedSQLQueryDefinitionBuilder( "brokenSql" )
+						.setQuery( "select * from person" )
+						.setResultSetRef( "noSuchMapping" )
+						.createNamedQueryDefinition()
+		);
+		try {
+			buildSessionFactory( cfg ).close();
+			fail( "expecting the broken named queries to be reported" );
+		}
+		catch (HibernateException expected) {
+			assertTrue( expected.getMessage().contains( "brokenHql" ) );
+			assertTrue( expected.getMessage().contains( "brokenSql" ) );
+		}
+	}
+
+	private static Configuration buildConfiguration() {
+		return new Configuration()
+				.addResource( "org/hibernate/test/queryplan/filter-defs.hbm.xml" )
+				.addResource( "org/hibernate/test/queryplan/Joined.hbm.xml" )
+				.setProperty( AvailableSettings.QUERY_STARTUP_CHECKING_THREADS, "4" );
+	}
+
+	private static void addNamedQuery(Configuration cfg, String name, String query) {
+		cfg.getNamedQueries().put(
+				name,
+				new NamedQueryDefinitionBuilder( name ).setQuery( query ).createNamedQueryDefinition()
+		);
+	}
+
+	@SuppressWarnings("deprecation")
+	private static SessionFactory buildSessionFactory(Configuration cfg) {
+		return cfg.buildSessionFactory();
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.readonly;
+
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for sessions opened through {@link org.hibernate.SessionBuilder#readOnly(boolean)}.
+ */
+public class ReadOnlySessionModeTest extends AbstractReadOnlyTest {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "readonly/VersionedNode.hbm.xml" };
+	}
+
+	private Session openReadOnlySession() {
+		Session s = sessionFactory().withOptions().readOnly( true ).openSession();
+		s.setCacheMode( getSessionCacheMode() );
+		return s;
+	}
+
+	private void createParentAndChild() {
+		Session s = openSession();
+		s.beginTransaction();
+		VersionedNode parent = new VersionedNode( "parent", "parent" );
+		VersionedNode child = new VersionedNode( "child", "child" );
+		parent.addChild( child );
+		s.persist( parent );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( VersionedNode.class, "parent" ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNoLoadedStateIsKept() {
+		createParentAndChild();
+
+		Session s = openReadOnlySession();
+		s.beginTransaction();
+		assertTrue( s.isDefaultReadOnly() );
+		VersionedNode parent = (VersionedNode) s.get( VersionedNode.class, "parent" );
+		VersionedNode child = (VersionedNode) s.createQuery( "from VersionedNode where id = 'child'" ).uniqueResult();
+		for ( Object entity : new Object[] { parent, child } ) {
+			assertTrue( s.isReadOnly( entity ) );
+			EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( entity );
+			assertEquals( Status.READ_ONLY, entry.getStatus() );
+			assertNull( entry.getLoadedState() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testChangesAreNotFlushed() {
+		createParentAndChild();
+
+		clearCounts();
+
+		Session s = openReadOnlySession();
+		s.beginTransaction();
+		VersionedNode parent = (VersionedNode) s.get( VersionedNode.class, "parent" );
+		Hibernate.initialize( parent.getChildren() );
+		parent.setName( "new name" );
+		// dereference the loaded collection; it must not be scheduled for removal
+		parent.setChildren( new HashSet() );
+		s.flush();
+		s.getTransaction().commit();
+		s.close();
+
+		assertUpdateCount( 0 );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionRemoveCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionRecreateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		parent = (VersionedNode) s.get( VersionedNode.class, "parent" );
+		assertEquals( "parent", parent.getName() );
+		assertEquals( 1, parent.getChildren().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testEntitiesCannotBeMadeModifiable() {
+		createParentAndChild();
+
+		Session s = openReadOnlySession();
+		s.beginTransaction();
+		VersionedNode parent = (VersionedNode) s.get( VersionedNode.class, "parent" );
+		try {
+			s.setReadOnly( parent, false );
+			fail( "should have failed" );
+		}
+		catch (IllegalStateException expected) {
+		}
+		try {
+			s.setDefaultReadOnly( false );
+			fail( "should have failed" );
+		}
+		catch (IllegalStateException expected) {
+		}
+		assertTrue( s.isReadOnly( parent ) );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testQueriesCannotLoadModifiableEntities() {
+		createParentAndChild();
+
+		Session s = openReadOnlySession();
+		s.beginTransaction();
+		try {
+			s.createQuery( "from VersionedNode" ).setReadOnly( false );
+			fail( "should have failed" );
+		}
+		catch (IllegalStateException expected) {
+		}
+		try {
+			s.createCriteria( VersionedNode.class ).setReadOnly( false );
+			fail( "should have failed" );
+		}
+		catch (IllegalStateException expected) {
+		}
+
+		// an explicit modifiable setting made outside of the session is overridden
+		QueryParameters queryParameters = new QueryParameters();
+		queryParameters.setReadOnly( false );
+		assertTrue( queryParameters.isReadOnly( (SessionImplementor) s ) );
+
+		VersionedNode child = (VersionedNode) s.createQuery( "from VersionedNode where id = 'child'" )
+				.setReadOnly( true )
+				.uniqueResult();
+		EntityEntry entry = ( (SessionImplementor) s ).getPersistenceContext().getEntry( child );
+		assertEquals( Status.READ_ONLY, entry.getStatus() );
+		assertNull( entry.getLoadedState() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+}
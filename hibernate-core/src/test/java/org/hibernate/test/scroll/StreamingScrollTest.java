@@ -0,0 +1,270 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.scroll;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for streaming scrolls, see {@link org.hibernate.Query#setStreaming(boolean)}.
+ */
+public class StreamingScrollTest extends BaseCoreFunctionalTestCase {
+	private static final int CATEGORIES = 5;
+	private static final int ITEMS_PER_CATEGORY = 10;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Category.class, Item.class };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < CATEGORIES; i++ ) {
+			final Category category = new Category( i, "Category #" + i );
+			s.save( category );
+			for ( int j = 0; j < ITEMS_PER_CATEGORY; j++ ) {
+				final int id = i * ITEMS_PER_CATEGORY + j;
+				s.save( new Item( id, "Item #" + id, category ) );
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.createQuery( "delete Category" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingEvictsPreviousRows() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Category preloaded = (Category) s.get( Category.class, 0 );
+
+		ScrollableResults results = s.createQuery( "from Item i order by i.id" )
+				.setStreaming( true )
+				.setFetchSize( 5 )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		int count = 0;
+		Item previous = null;
+		while ( results.next() ) {
+			final Item item = (Item) results.get( 0 );
+			// the lazy association can be navigated while on the row
+			assertTrue( item.getCategory().getName().startsWith( "Category #" ) );
+			assertTrue( s.contains( item ) );
+			if ( previous != null ) {
+				assertFalse( s.contains( previous ) );
+			}
+			// the current item, plus the categories, which were loaded through their proxies rather than by the scroll
+			assertTrue( s.getStatistics().getEntityCount() <= 1 + CATEGORIES );
+			previous = item;
+			count++;
+		}
+		assertEquals( CATEGORIES * ITEMS_PER_CATEGORY, count );
+		assertFalse( s.contains( previous ) );
+		results.close();
+
+		// the entity loaded before the scroll stays managed
+		assertTrue( s.contains( preloaded ) );
+		assertEquals( CATEGORIES, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testLazyAssociationsOfEvictedRow() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from Category c order by c.id" )
+				.setStreaming( true )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results.next() );
+		final Category category = (Category) results.get( 0 );
+		assertTrue( results.next() );
+		try {
+			category.getItems().size();
+			fail( "expecting LazyInitializationException" );
+		}
+		catch (LazyInitializationException expected) {
+		}
+		results.close();
+
+		results = s.createQuery( "from Item i where i.category.id = 1 order by i.id" )
+				.setStreaming( true )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results.next() );
+		final Item item = (Item) results.get( 0 );
+		assertFalse( Hibernate.isInitialized( item.getCategory() ) );
+		assertTrue( results.next() );
+		// the proxy is still usable, and what it loads was not read from a row, so it is not evicted
+		assertEquals( "Category #1", item.getCategory().getName() );
+		assertTrue( results.next() );
+		assertTrue( s.contains( item.getCategory() ) );
+		results.close();
+		assertEquals( 1, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingWithCollectionFetch() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "select c from Category c join fetch c.items order by c.id" )
+				.setStreaming( true )
+				.scroll();
+		int count = 0;
+		while ( results.next() ) {
+			final Category category = (Category) results.get( 0 );
+			assertEquals( ITEMS_PER_CATEGORY, category.getItems().size() );
+			assertEquals( 1 + ITEMS_PER_CATEGORY, s.getStatistics().getEntityCount() );
+			count++;
+		}
+		assertEquals( CATEGORIES, count );
+		results.close();
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+		assertEquals( 0, s.getStatistics().getCollectionCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEntitiesLoadedByOtherMeansAreKept() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from Item i where i.category.id = 0 order by i.id" )
+				.setStreaming( true )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results.next() );
+		final Item item = (Item) results.get( 0 );
+		final Item other = (Item) s.get( Item.class, ITEMS_PER_CATEGORY );
+		assertTrue( results.next() );
+		assertFalse( s.contains( item ) );
+		assertTrue( s.contains( other ) );
+		results.close();
+		assertTrue( s.contains( other ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testModifiedEntitiesAreKept() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from Item i order by i.id" )
+				.setStreaming( true )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( results.next() );
+		final Item modified = (Item) results.get( 0 );
+		modified.setName( "Modified" );
+		assertTrue( results.next() );
+		final Item unmodified = (Item) results.get( 0 );
+		assertTrue( results.next() );
+		assertTrue( s.contains( modified ) );
+		assertFalse( s.contains( unmodified ) );
+		results.close();
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "Modified", ( (Item) s.get( Item.class, 0 ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNestedScrolls() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults categories = s.createQuery( "from Category c order by c.id" )
+				.setStreaming( true )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		Category previous = null;
+		while ( categories.next() ) {
+			final Category category = (Category) categories.get( 0 );
+			if ( previous != null ) {
+				assertFalse( s.contains( previous ) );
+			}
+			ScrollableResults items = s.createQuery( "from Item i where i.category = :category order by i.id" )
+					.setParameter( "category", category )
+					.setStreaming( true )
+					.scroll( ScrollMode.FORWARD_ONLY );
+			int count = 0;
+			Item previousItem = null;
+			while ( items.next() ) {
+				final Item item = (Item) items.get( 0 );
+				if ( previousItem != null ) {
+					assertFalse( s.contains( previousItem ) );
+				}
+				previousItem = item;
+				count++;
+			}
+			items.close();
+			assertEquals( ITEMS_PER_CATEGORY, count );
+			assertFalse( s.contains( previousItem ) );
+			// the inner scroll does not affect the row of the outer one
+			assertTrue( s.contains( category ) );
+			assertEquals( 1, s.getStatistics().getEntityCount() );
+			previous = category;
+		}
+		categories.close();
+		assertEquals( 0, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testNonStreamingKeepsRows() {
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "from Item" ).scroll( ScrollMode.FORWARD_ONLY );
+		while ( results.next() ) {
+			results.get( 0 );
+		}
+		results.close();
+		assertEquals( CATEGORIES * ITEMS_PER_CATEGORY, s.getStatistics().getEntityCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
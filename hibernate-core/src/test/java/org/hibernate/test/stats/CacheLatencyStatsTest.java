@@ -0,0 +1,173 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.service.spi.Manageable;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.test.cache.CacheableItem;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the latency histograms and recent hit ratios of the second-level cache regions.
+ */
+public class CacheLatencyStatsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Test
+	public void testLatencyHistogramsAndRecentHitRatio() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(
+				sessionFactory().getEntityPersister( CacheableItem.class.getName() )
+						.getCacheAccessStrategy()
+						.getRegion()
+						.getName()
+		);
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( "item" );
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+		assertTrue( sum( regionStatistics.getPutLatencyHistogram() ) > 0 );
+
+		s = openSession();
+		s.beginTransaction();
+		s.get( CacheableItem.class, item.getId() );
+		s.get( CacheableItem.class, item.getId() + 1 );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 2, sum( regionStatistics.getGetLatencyHistogram() ) );
+		assertEquals( 1, regionStatistics.getRecentHitCount() );
+		assertEquals( 1, regionStatistics.getRecentMissCount() );
+		assertEquals( 0.5d, regionStatistics.getRecentHitRatio(), 0.001d );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStatisticsMBean() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final String regionName = sessionFactory().getEntityPersister( CacheableItem.class.getName() )
+				.getCacheAccessStrategy()
+				.getRegion()
+				.getName();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final CacheableItem item = new CacheableItem( "item" );
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.get( CacheableItem.class, item.getId() );
+		s.getTransaction().commit();
+		s.close();
+
+		final Manageable manageable = (Manageable) statistics;
+		assertNotNull( manageable.getManagementDomain() );
+		assertNotNull( manageable.getManagementServiceType() );
+
+		final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+		final ObjectName objectName = new ObjectName(
+				manageable.getManagementDomain(),
+				"serviceType",
+				manageable.getManagementServiceType()
+		);
+		mBeanServer.registerMBean( manageable.getManagementBean(), objectName );
+
+		MBeanAttributeInfo regionStatisticsInfo = null;
+		for ( MBeanAttributeInfo attributeInfo : mBeanServer.getMBeanInfo( objectName ).getAttributes() ) {
+			if ( "SecondLevelCacheRegionStatistics".equals( attributeInfo.getName() ) ) {
+				regionStatisticsInfo = attributeInfo;
+			}
+		}
+		assertNotNull( regionStatisticsInfo );
+		assertEquals( TabularData.class.getName(), regionStatisticsInfo.getType() );
+
+		final TabularData regionStatistics = (TabularData) mBeanServer.getAttribute(
+				objectName,
+				"SecondLevelCacheRegionStatistics"
+		);
+		final CompositeData row = regionStatistics.get( new Object[] { regionName } );
+		assertNotNull( row );
+		assertEquals( 1L, row.get( "hitCount" ) );
+		assertEquals( 1L, row.get( "putCount" ) );
+		assertEquals( 1.0d, (Double) row.get( "recentHitRatio" ), 0.001d );
+		assertTrue( (Double) row.get( "recentHitsPerSecond" ) > 0 );
+		assertTrue( (Long) row.get( "getLatencyP50Micros" ) > 0 );
+		assertTrue( (Long) row.get( "getLatencyP99Micros" ) >= (Long) row.get( "getLatencyP50Micros" ) );
+		assertTrue( (Long) row.get( "putLatencyP90Micros" ) > 0 );
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static long sum(long[] histogram) {
+		long sum = 0;
+		for ( long count : histogram ) {
+			sum += count;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OpenAddressingHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		Map<String,Integer> map = new OpenAddressingHashMap<String,Integer>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( "a" ) );
+		assertNull( map.remove( "a" ) );
+
+		assertNull( map.put( "a", 1 ) );
+		assertEquals( Integer.valueOf( 1 ), map.put( "a", 2 ) );
+		map.put( "b", null );
+		assertEquals( 2, map.size() );
+		assertEquals( Integer.valueOf( 2 ), map.get( "a" ) );
+		assertTrue( map.containsKey( "b" ) );
+		assertTrue( map.containsValue( null ) );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertFalse( map.containsKey( "a" ) );
+		map.put( "c", 3 );
+		assertEquals( Integer.valueOf( 3 ), map.get( "c" ) );
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		final Random random = new Random( 42 );
+		final Map<CollidingKey,Integer> expected = new HashMap<CollidingKey,Integer>();
+		final Map<CollidingKey,Integer> map = new OpenAddressingHashMap<CollidingKey,Integer>();
+		for ( int i = 0; i < 20000; i++ ) {
+			final CollidingKey key = new CollidingKey( random.nextInt( 500 ) );
+			if ( random.nextInt( 3 ) == 0 ) {
+				assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				assertEquals( expected.put( key, i ), map.put( key, i ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		for ( CollidingKey key : expected.keySet() ) {
+			assertEquals( expected.get( key ), map.get( key ) );
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Random random = new Random( 7 );
+		for ( int round = 0; round < 50; round++ ) {
+			final Map<CollidingKey,Integer> map = new OpenAddressingHashMap<CollidingKey,Integer>();
+			for ( int i = 0; i < 200; i++ ) {
+				map.put( new CollidingKey( random.nextInt( 1000 ) ), i );
+			}
+			final Set<CollidingKey> kept = new HashSet<CollidingKey>();
+			final Set<CollidingKey> seen = new HashSet<CollidingKey>();
+			final Iterator<CollidingKey> itr = map.keySet().iterator();
+			while ( itr.hasNext() ) {
+				final CollidingKey key = itr.next();
+				assertTrue( "visited twice : " + key.value, seen.add( key ) );
+				if ( random.nextBoolean() ) {
+					itr.remove();
+				}
+				else {
+					kept.add( key );
+				}
+			}
+			assertEquals( kept, map.keySet() );
+			for ( CollidingKey key : kept ) {
+				assertTrue( map.containsKey( key ) );
+			}
+		}
+	}
+
+	private static class CollidingKey {
+		private final int value;
+
+		private CollidingKey(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CollidingKey && ( (CollidingKey) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			// forces long probe sequences
+			return value / 8;
+		}
+	}
+}
@@ -27,8 +27,10 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Properties;
 
+import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.util.ClassLoaderUtil;
 
 import org.jboss.logging.Logger;
@@ -76,6 +78,25 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
 	 */
 	public static final String NET_SF_EHCACHE_CONFIGURATION_RESOURCE_NAME = "net.sf.ehcache.configurationResourceName";
 
+	/**
+	 * The Hibernate system property specifying the amount of off-heap memory (e.g. "512m" or "2g") for the entity and
+	 * query-results regions which are not configured in the ehcache configuration.
+	 * <p/>
+	 * A region specific value may be given by appending the region name, e.g.
+	 * {@code net.sf.ehcache.hibernate.offheap.max_memory.org.hibernate.cache.internal.StandardQueryCache}.
+	 * <p/>
+	 * Entries in the off-heap store are kept serialized in direct memory and evicted by the store itself; this requires
+	 * the Ehcache off-heap store (BigMemory), and its license, to be available at runtime.  If the store is missing or
+	 * cannot be started, building the region, and so the SessionFactory, fails with an error naming this setting rather
+	 * than falling back to on-heap storage.  If not set, the regions stay on-heap.
+	 * <p/>
+	 * Caches configured in the ehcache configuration are used as configured; a warning is logged if off-heap storage
+	 * is requested for one which does not enable {@code overflowToOffHeap}.
+	 */
+	public static final String NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY = "net.sf.ehcache.hibernate.offheap.max_memory";
+
+	private static final String OFF_HEAP_STORE_CLASS_NAME = "net.sf.ehcache.store.offheap.OffHeapStore";
+
 	private static final EhCacheMessageLogger LOG = Logger.getMessageLogger(
 			EhCacheMessageLogger.class,
 			AbstractEhcacheRegionFactory.class.getName()
@@ -124,7 +145,13 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
 	@Override
 	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
 			throws CacheException {
-		return new EhcacheEntityRegion( accessStrategyFactory, getCache( regionName ), settings, metadata, properties );
+		return new EhcacheEntityRegion(
+				accessStrategyFactory,
+				getCache( regionName, getOffHeapMaxMemory( regionName, properties ) ),
+				settings,
+				metadata,
+				properties
+		);
 	}
 
 	@Override
@@ -156,7 +183,11 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
 
 	@Override
 	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
-		return new EhcacheQueryResultsRegion( accessStrategyFactory, getCache( regionName ), properties );
+		return new EhcacheQueryResultsRegion(
+				accessStrategyFactory,
+				getCache( regionName, getOffHeapMaxMemory( regionName, properties ) ),
+				properties
+		);
 	}
 
 	@InjectService
@@ -173,14 +204,24 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
 	}
 
 	private Ehcache getCache(String name) throws CacheException {
+		return getCache( name, null );
+	}
+
+	private Ehcache getCache(String name, String offHeapMaxMemory) throws CacheException {
 		try {
 			Ehcache cache = manager.getEhcache( name );
 			if ( cache == null ) {
 				LOG.unableToFindEhCacheConfiguration( name );
 				manager.addCache( name );
 				cache = manager.getEhcache( name );
+				if ( offHeapMaxMemory != null ) {
+					cache = moveToOffHeap( cache, offHeapMaxMemory );
+				}
 				LOG.debug( "started EHCache region: " + name );
 			}
+			else if ( offHeapMaxMemory != null && !cache.getCacheConfiguration().isOverflowToOffHeap() ) {
+				LOG.unableToApplyOffHeapConfiguration( name );
+			}
 			HibernateEhcacheUtils.validateEhcache( cache );
 			return cache;
 		}
@@ -190,6 +231,73 @@ abstract class AbstractEhcacheRegionFactory implements RegionFactory {
 
 	}
 
+	/**
+	 * Ehcache only allows the off-heap tier to be enabled before a cache is initialized, so the cache created from the
+	 * default configuration is replaced by one using a copy of that configuration with off-heap storage enabled.
+	 * Rather than silently keeping the region on-heap, this fails if the off-heap store is missing or cannot be
+	 * started (without a BigMemory license, for instance).
+	 */
+	private Ehcache moveToOffHeap(Ehcache defaultCache, String offHeapMaxMemory) {
+		final String name = defaultCache.getName();
+		manager.removeCache( name );
+		if ( !isOffHeapStoreAvailable() ) {
+			throw new CacheException(
+					"Off-heap storage was requested for cache[" + name + "] through " + NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY
+							+ ", but the Ehcache off-heap store (" + OFF_HEAP_STORE_CLASS_NAME + ") is not available; "
+							+ "add BigMemory to the classpath or remove the setting"
+			);
+		}
+		final CacheConfiguration configuration = offHeapConfiguration(
+				defaultCache.getCacheConfiguration(),
+				offHeapMaxMemory
+		);
+		try {
+			manager.addCache( new Cache( configuration ) );
+		}
+		catch (RuntimeException e) {
+			manager.removeCache( name );
+			throw new CacheException(
+					"Unable to start the off-heap storage requested for cache[" + name + "] through "
+							+ NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY + " (BigMemory requires a license key); "
+							+ "fix the BigMemory configuration or remove the setting",
+					e
+			);
+		}
+		LOG.debugf( "Configured EHCache region %s with %s of off-heap storage", name, offHeapMaxMemory );
+		return manager.getEhcache( name );
+	}
+
+	static boolean isOffHeapStoreAvailable() {
+		try {
+			Class.forName( OFF_HEAP_STORE_CLASS_NAME, false, Cache.class.getClassLoader() );
+			return true;
+		}
+		catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	static CacheConfiguration offHeapConfiguration(CacheConfiguration configuration, String offHeapMaxMemory) {
+		final CacheConfiguration offHeapConfiguration = configuration.clone();
+		offHeapConfiguration.setOverflowToOffHeap( true );
+		offHeapConfiguration.setMaxMemoryOffHeap( offHeapMaxMemory );
+		return offHeapConfiguration;
+	}
+
+	static String getOffHeapMaxMemory(String regionName, Properties properties) {
+		if ( properties == null ) {
+			return null;
+		}
+		String maxMemory = properties.getProperty( NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY + '.' + regionName );
+		if ( maxMemory == null ) {
+			maxMemory = properties.getProperty( NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY );
+		}
+		if ( maxMemory == null || maxMemory.trim().length() == 0 ) {
+			return null;
+		}
+		return maxMemory.trim();
+	}
+
 	/**
 	 * Load a resource from the classpath.
 	 */
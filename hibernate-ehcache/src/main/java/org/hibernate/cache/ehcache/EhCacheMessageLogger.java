@@ -133,4 +133,18 @@ public interface EhCacheMessageLogger extends CoreMessageLogger {
 	)
 	void softLockedCacheExpired(String regionName, Object key, String lock);
 
+	/**
+	 * Log a message (WARN) about an off-heap setting which cannot be applied to a cache configured in ehcache.xml.
+	 *
+	 * @param cacheName The name of the cache
+	 */
+	@LogMessage(level = WARN)
+	@Message(
+			value = "Off-heap storage was requested for cache[%s], but that cache is configured in the ehcache " +
+					"configuration without overflowToOffHeap.  Configure overflowToOffHeap and maxMemoryOffHeap on " +
+					"the cache element instead; the cache will stay on-heap",
+			id = 20009
+	)
+	void unableToApplyOffHeapConfiguration(String cacheName);
+
 }
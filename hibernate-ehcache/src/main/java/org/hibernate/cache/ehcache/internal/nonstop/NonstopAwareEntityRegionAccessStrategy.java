@@ -23,10 +23,16 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +43,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy {
+public class NonstopAwareEntityRegionAccessStrategy implements BulkEntityRegionAccessStrategy {
 	private final EntityRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -113,6 +119,27 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
 		}
 	}
 
+	@Override
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkEntityRegionAccessStrategy ) {
+				return ( (BulkEntityRegionAccessStrategy) actualStrategy ).getAll( keys, txTimestamp );
+			}
+			final Map<Object,Object> result = new HashMap<Object,Object>();
+			for ( Object key : keys ) {
+				final Object value = actualStrategy.get( key, txTimestamp );
+				if ( value != null ) {
+					result.put( key, value );
+				}
+			}
+			return result;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptyMap();
+		}
+	}
+
 	@Override
 	public boolean insert(Object key, Object value, Object version) throws CacheException {
 		try {
@@ -169,6 +196,28 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
 		}
 	}
 
+	@Override
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkEntityRegionAccessStrategy ) {
+				return ( (BulkEntityRegionAccessStrategy) actualStrategy )
+						.putAllFromLoad( keys, values, txTimestamp, versions, minimalPutOverride );
+			}
+			int count = 0;
+			for ( int i = 0; i < keys.length; i++ ) {
+				if ( actualStrategy.putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride ) ) {
+					count++;
+				}
+			}
+			return count;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return 0;
+		}
+	}
+
 	@Override
 	public void remove(Object key) throws CacheException {
 		try {
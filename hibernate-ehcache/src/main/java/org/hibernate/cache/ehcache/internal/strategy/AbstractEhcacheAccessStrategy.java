@@ -23,6 +23,10 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
 import org.hibernate.cache.spi.access.SoftLock;
@@ -86,6 +90,50 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
 	public abstract boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
 			throws CacheException;
 
+	/**
+	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
+	 * hierarchy.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public abstract Object get(Object key, long txTimestamp) throws CacheException;
+
+	/**
+	 * Retrieves each key through {@link #get}, so the strategy specific readability checks apply.  Ehcache 2.4 has
+	 * no bulk read operation, so this does not save any round trips to a clustered cache yet; it only gives batch
+	 * loading a single call to make.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object,Object> result = new HashMap<Object,Object>();
+		for ( Object key : keys ) {
+			final Object value = get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Puts each item through {@link #putFromLoad(Object, Object, long, Object, boolean)}, so the strategy specific
+	 * locking applies.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy#putAllFromLoad(Object[], Object[], long, Object[], boolean)
+	 */
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException {
+		int count = 0;
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride ) ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Region locks are not supported.
 	 *
@@ -26,7 +26,7 @@ package org.hibernate.cache.ehcache.internal.strategy;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
-import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
 
@@ -38,7 +38,7 @@ import org.hibernate.cfg.Settings;
  */
 public class NonStrictReadWriteEhcacheEntityRegionAccessStrategy
 		extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements BulkEntityRegionAccessStrategy {
 
 	/**
 	 * Create a non-strict read/write access strategy accessing the given collection region.
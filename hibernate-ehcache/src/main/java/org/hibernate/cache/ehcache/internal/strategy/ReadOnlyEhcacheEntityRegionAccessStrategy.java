@@ -26,7 +26,7 @@ package org.hibernate.cache.ehcache.internal.strategy;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
-import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
 
@@ -37,7 +37,7 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class ReadOnlyEhcacheEntityRegionAccessStrategy extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements BulkEntityRegionAccessStrategy {
 
 	/**
 	 * Create a read-only access strategy accessing the given entity region.
@@ -29,7 +29,7 @@ import net.sf.ehcache.Element;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
-import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
 
@@ -41,7 +41,7 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class TransactionalEhcacheEntityRegionAccessStrategy extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements BulkEntityRegionAccessStrategy {
 
 	private final Ehcache ehcache;
 
@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.ehcache;
+
+import java.util.Properties;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import org.jboss.byteman.contrib.bmunit.BMRule;
+import org.jboss.byteman.contrib.bmunit.BMUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
+import org.hibernate.cache.internal.CacheDataDescriptionImpl;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.testing.byteman.BytemanHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@value AbstractEhcacheRegionFactory#NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY} setting
+ */
+@RunWith(BMUnitRunner.class)
+public class OffHeapRegionTest {
+	private final CacheDataDescription metadata = new CacheDataDescriptionImpl( true, false, null );
+	private EhCacheRegionFactory factory;
+
+	@Before
+	public void startRegionFactory() {
+		factory = new EhCacheRegionFactory();
+		factory.start( null, new Properties() );
+	}
+
+	@After
+	public void stopRegionFactory() {
+		factory.stop();
+	}
+
+	@Test
+	public void testRegionSpecificSettingOverridesGlobalOne() {
+		final Properties properties = new Properties();
+		assertNull( AbstractEhcacheRegionFactory.getOffHeapMaxMemory( "org.acme.Item", properties ) );
+
+		properties.setProperty( AbstractEhcacheRegionFactory.NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY, "64m" );
+		properties.setProperty( AbstractEhcacheRegionFactory.NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY + ".org.acme.Item", " 1g " );
+		assertEquals( "1g", AbstractEhcacheRegionFactory.getOffHeapMaxMemory( "org.acme.Item", properties ) );
+		assertEquals( "64m", AbstractEhcacheRegionFactory.getOffHeapMaxMemory( "org.acme.Order", properties ) );
+	}
+
+	@Test
+	public void testDefaultConfigurationCacheIsReplaced() {
+		final CacheConfiguration defaultConfiguration = new CacheConfiguration( "org.acme.Item", 1000 );
+		final CacheConfiguration configuration = AbstractEhcacheRegionFactory.offHeapConfiguration(
+				defaultConfiguration,
+				"64m"
+		);
+		assertTrue( configuration.isOverflowToOffHeap() );
+		assertEquals( "64m", configuration.getMaxMemoryOffHeap() );
+		assertEquals( "org.acme.Item", configuration.getName() );
+		assertEquals( 1000, configuration.getMaxElementsInMemory() );
+		assertFalse( defaultConfiguration.isOverflowToOffHeap() );
+
+		final Properties properties = new Properties();
+		properties.setProperty( AbstractEhcacheRegionFactory.NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY, "64m" );
+		final EhcacheEntityRegion region;
+		try {
+			region = (EhcacheEntityRegion) factory.buildEntityRegion( "org.acme.Item", properties, metadata );
+		}
+		catch (CacheException e) {
+			// without the off-heap store, building the region fails rather than falling back to on-heap storage
+			assertFalse( "Off-heap store is available", AbstractEhcacheRegionFactory.isOffHeapStoreAvailable() );
+			assertTrue( e.getMessage().contains( AbstractEhcacheRegionFactory.NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY ) );
+			assertNull( "On-heap cache left behind", factory.manager.getEhcache( "org.acme.Item" ) );
+			return;
+		}
+		assertTrue( "Off-heap store is not available", AbstractEhcacheRegionFactory.isOffHeapStoreAvailable() );
+		final Ehcache cache = region.getEhcache();
+		assertSame( factory.manager.getEhcache( "org.acme.Item" ), cache );
+		assertTrue( cache.getCacheConfiguration().isOverflowToOffHeap() );
+		assertEquals( "64m", cache.getCacheConfiguration().getMaxMemoryOffHeap() );
+	}
+
+	@Test
+	@BMRule(targetClass = "org.hibernate.cache.ehcache.EhCacheMessageLogger_$logger",
+			targetMethod = "unableToApplyOffHeapConfiguration",
+			helper = "org.hibernate.testing.byteman.BytemanHelper",
+			action = "countInvocation()",
+			name = "testCacheConfiguredInEhcacheXmlIsKept")
+	public void testCacheConfiguredInEhcacheXmlIsKept() {
+		final Ehcache configured = factory.manager.getEhcache( "sampleCache1" );
+		final Properties properties = new Properties();
+		properties.setProperty( AbstractEhcacheRegionFactory.NET_SF_EHCACHE_OFF_HEAP_MAX_MEMORY, "64m" );
+
+		final EhcacheEntityRegion region = (EhcacheEntityRegion) factory.buildEntityRegion(
+				"sampleCache1",
+				properties,
+				metadata
+		);
+		assertSame( configured, region.getEhcache() );
+		assertFalse( region.getEhcache().getCacheConfiguration().isOverflowToOffHeap() );
+		assertEquals( "HHH020009 should be logged once", 1, BytemanHelper.getAndResetInvocationCount() );
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2013, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.ehcache;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.ehcache.internal.strategy.ItemValueExtractor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.transaction.internal.jdbc.JdbcTransactionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that Ehcache regions hold the {@code byte[]} of binary cache entries as is, see
+ * {@link AvailableSettings#USE_BINARY_CACHE_ENTRIES}.
+ */
+public class EhCacheBinaryEntryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String getBaseForMappings() {
+		return "org/hibernate/test/cache/ehcache/";
+	}
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "Item.hbm.xml" };
+	}
+
+	@Override
+	public String getCacheConcurrencyStrategy() {
+		return "read-write";
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.USE_BINARY_CACHE_ENTRIES, "true" );
+		cfg.setProperty( AvailableSettings.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		cfg.setProperty( AvailableSettings.CACHE_PROVIDER_CONFIG, "ehcache.xml" );
+		cfg.setProperty( AvailableSettings.TRANSACTION_STRATEGY, JdbcTransactionFactory.class.getName() );
+	}
+
+	@Test
+	public void testEntryIsStoredAsBytes() {
+		Session s = openSession();
+		s.beginTransaction();
+		Item item = new Item();
+		item.setName( "widget" );
+		item.setDescription( "A really top-quality, full-featured widget." );
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+
+		final SecondLevelCacheStatistics statistics = sessionFactory().getStatistics()
+				.getSecondLevelCacheStatistics( Item.class.getName() );
+		assertEquals( 1, statistics.getPutCount() );
+		final Object value = ItemValueExtractor.getValue( statistics.getEntries().get( item.getId() ) );
+		assertTrue( value instanceof byte[] );
+
+		s = openSession();
+		s.beginTransaction();
+		item = (Item) s.get( Item.class, item.getId() );
+		assertEquals( 1, statistics.getHitCount() );
+		assertEquals( "widget", item.getName() );
+		assertEquals( "A really top-quality, full-featured widget.", item.getDescription() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -23,6 +23,14 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.transaction.Transaction;
 
 import org.infinispan.AdvancedCache;
@@ -86,6 +94,84 @@ public class TransactionalAccessDelegate {
 		return val;
 	}
 
+   /**
+    * Attempt to retrieve a number of objects from the cache.  On a clustered, non-transactional
+    * cache all the reads are issued before waiting on any of them, so that fetching the batch from
+    * remote owners costs a single round trip rather than one per key.
+    *
+    * @param keys The keys of the items to be retrieved
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @return the cached objects keyed by their key; keys not cached are absent
+    * @throws CacheException if the cache retrieval failed
+    */
+	@SuppressWarnings("unchecked")
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		if ( !region.checkValid() ) {
+			return Collections.emptyMap();
+		}
+		final Map<Object, Object> result = new HashMap<Object, Object>();
+		if ( region.isTransactionAware() || !Caches.isClustered( cache ) ) {
+			// async reads would not take part in the transaction, and local reads gain nothing from them
+			for ( Object key : keys ) {
+				final Object val = get( key, txTimestamp );
+				if ( val != null ) {
+					result.put( key, val );
+				}
+			}
+			return result;
+		}
+
+		final List<Future<Object>> futures = new ArrayList<Future<Object>>( keys.size() );
+		for ( Object key : keys ) {
+			futures.add( cache.getAsync( key ) );
+		}
+		int i = 0;
+		for ( Object key : keys ) {
+			final Object val;
+			try {
+				val = futures.get( i++ ).get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CacheException( e );
+			}
+			catch (ExecutionException e) {
+				throw new CacheException( e.getCause() );
+			}
+			if ( val == null ) {
+				putValidator.registerPendingPut( key );
+			}
+			else {
+				result.put( key, val );
+			}
+		}
+		return result;
+	}
+
+   /**
+    * Attempt to cache a number of objects, after loading them from the database.
+    * {@code putForExternalRead} does not wait for remote nodes, so the items are
+    * simply put one after another.
+    *
+    * @param keys The item keys
+    * @param values The items
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @param versions the item version numbers
+    * @param minimalPutOverride Explicit minimalPut flag
+    * @return the number of objects actually cached
+    * @throws CacheException if storing the objects failed
+    */
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException {
+		int count = 0;
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride ) ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
    /**
     * Attempt to cache an object, after loading from the database.
     *
@@ -23,10 +23,13 @@
  */
 package org.hibernate.cache.infinispan.entity;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.access.TransactionalAccessDelegate;
 import org.hibernate.cache.spi.EntityRegion;
-import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
 /**
@@ -36,7 +39,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Galder Zamarreño
  * @since 3.5
  */
-class TransactionalAccess implements EntityRegionAccessStrategy {
+class TransactionalAccess implements BulkEntityRegionAccessStrategy {
 
 	private final EntityRegionImpl region;
 
@@ -59,6 +62,10 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
 		return delegate.get( key, txTimestamp );
 	}
 
+	public Map<Object, Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return delegate.getAll( keys, txTimestamp );
+	}
+
 	public EntityRegion getRegion() {
 		return this.region;
 	}
@@ -76,6 +83,11 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
 		return delegate.putFromLoad( key, value, txTimestamp, version, minimalPutOverride );
 	}
 
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException {
+		return delegate.putAllFromLoad( keys, values, txTimestamp, versions, minimalPutOverride );
+	}
+
 	public void remove(Object key) throws CacheException {
 		delegate.remove( key );
 	}
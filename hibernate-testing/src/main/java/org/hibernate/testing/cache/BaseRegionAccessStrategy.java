@@ -23,6 +23,10 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.jboss.logging.Logger;
 
 import org.hibernate.cache.CacheException;
@@ -69,6 +73,38 @@ abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
 
 	}
 
+	/**
+	 * Local, in-memory regions gain nothing from batching, so this simply loops over {@link #get}.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy#getAll
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object,Object> result = new HashMap<Object,Object>();
+		for ( Object key : keys ) {
+			final Object value = get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Local, in-memory regions gain nothing from batching, so this simply loops over {@link #putFromLoad}.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkEntityRegionAccessStrategy#putAllFromLoad
+	 */
+	public int putAllFromLoad(Object[] keys, Object[] values, long txTimestamp, Object[] versions, boolean minimalPutOverride)
+			throws CacheException {
+		int count = 0;
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride ) ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Region locks are not supported.
 	 *